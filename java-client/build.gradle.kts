@@ -349,6 +349,34 @@ publishing {
     }
 }
 
+val jmh: SourceSet = sourceSets.create("jmh") {
+  java {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+    srcDir("src/jmh/java")
+  }
+}
+
+dependencies {
+  "jmhImplementation"("org.openjdk.jmh", "jmh-core", "1.37")
+  "jmhAnnotationProcessor"("org.openjdk.jmh", "jmh-generator-annprocess", "1.37")
+  // The transports are compile only dependencies of the client, the round trip benchmarks need them at runtime
+  "jmhImplementation"("org.opensearch.client", "opensearch-rest-client", opensearchVersion)
+  "jmhImplementation"("software.amazon.awssdk","sdk-core","[2.15,3.0)")
+  "jmhImplementation"("software.amazon.awssdk","auth","[2.15,3.0)")
+}
+
+// Runs the JMH benchmarks, e.g. ./gradlew :java-client:jmh -Pjmh.args="JsonpMapperBenchmark -f 1"
+// Allocations per operation are reported by the gc profiler, which is enabled unless other profilers are given.
+val jmhBenchmark = task<JavaExec>("jmh") {
+  group = "benchmark"
+  description = "Runs the JMH benchmarks"
+  classpath = jmh.runtimeClasspath
+  mainClass.set("org.openjdk.jmh.Main")
+  val jmhArgs = (project.findProperty("jmh.args")?.toString() ?: "").split(" ").filter { it.isNotBlank() }
+  args(if (jmhArgs.contains("-prof")) jmhArgs else jmhArgs + listOf("-prof", "gc"))
+}
+
 if (runtimeJavaVersion >= JavaVersion.VERSION_11) {
   val java11: SourceSet = sourceSets.create("java11") {
     java {
@@ -0,0 +1,209 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+
+/**
+ * Documents and response bodies shared by the benchmarks. The responses are built once, as the server would send
+ * them, so that the benchmarks only measure the client side.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {}
+
+    /**
+     * Returns the mapper for a {@code mapperName} benchmark parameter, either {@code jackson} or {@code jsonb}.
+     */
+    public static JsonpMapper mapper(String name) {
+        switch (name) {
+            case "jackson":
+                return new JacksonJsonpMapper();
+            case "jsonb":
+                return new JsonbJsonpMapper();
+            default:
+                throw new IllegalArgumentException("unknown mapper [" + name + "]");
+        }
+    }
+
+    public static Product product(int i) {
+        final Product product = new Product();
+        product.name = "product-" + i;
+        product.description = "A product with a description that is long enough to be representative, number " + i;
+        product.category = "category-" + (i % 10);
+        product.price = 10.0 + (i % 100) / 4.0;
+        product.stock = i % 50;
+        product.available = i % 3 != 0;
+        product.timestamp = 1697500000000L + i * 1000L;
+        product.tags = Arrays.asList("tag-" + (i % 7), "tag-" + (i % 13));
+        return product;
+    }
+
+    /**
+     * A search response with {@code hits} products as sources.
+     */
+    public static byte[] searchResponse(int hits) {
+        final StringBuilder sb = new StringBuilder(256 + hits * 320);
+        sb.append("{\"took\":12,\"timed_out\":false,");
+        sb.append("\"_shards\":{\"total\":5,\"successful\":5,\"skipped\":0,\"failed\":0},");
+        sb.append("\"hits\":{\"total\":{\"value\":").append(hits * 10).append(",\"relation\":\"eq\"},\"max_score\":1.0,\"hits\":[");
+        for (int i = 0; i < hits; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            final Product product = product(i);
+            sb.append("{\"_index\":\"products\",\"_id\":\"").append(i).append("\",\"_score\":1.0,\"_source\":{");
+            sb.append("\"name\":\"").append(product.name).append("\",");
+            sb.append("\"description\":\"").append(product.description).append("\",");
+            sb.append("\"category\":\"").append(product.category).append("\",");
+            sb.append("\"price\":").append(product.price).append(',');
+            sb.append("\"stock\":").append(product.stock).append(',');
+            sb.append("\"available\":").append(product.available).append(',');
+            sb.append("\"timestamp\":").append(product.timestamp).append(',');
+            sb.append("\"tags\":[\"").append(product.tags.get(0)).append("\",\"").append(product.tags.get(1)).append("\"]");
+            sb.append("}}");
+        }
+        sb.append("]}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A size 0 search response with typed keys aggregations: a terms aggregation with {@code buckets} buckets, each
+     * with a metric and a date histogram sub-aggregation, and a few top-level metrics.
+     */
+    public static byte[] aggregationsResponse(int buckets) {
+        final StringBuilder sb = new StringBuilder(512 + buckets * 600);
+        sb.append("{\"took\":25,\"timed_out\":false,");
+        sb.append("\"_shards\":{\"total\":5,\"successful\":5,\"skipped\":0,\"failed\":0},");
+        sb.append("\"hits\":{\"total\":{\"value\":10000,\"relation\":\"gte\"},\"max_score\":null,\"hits\":[]},");
+        sb.append("\"aggregations\":{");
+        sb.append("\"max#max_price\":{\"value\":125.5},");
+        sb.append("\"avg#avg_price\":{\"value\":42.25},");
+        sb.append("\"cardinality#categories\":{\"value\":").append(buckets).append("},");
+        sb.append("\"sterms#by_category\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,\"buckets\":[");
+        for (int i = 0; i < buckets; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"key\":\"category-").append(i).append("\",\"doc_count\":").append(1000 - i % 1000).append(',');
+            sb.append("\"avg#avg_price\":{\"value\":").append(10.0 + i % 100).append("},");
+            sb.append("\"sum#stock\":{\"value\":").append(i * 3).append(".0},");
+            sb.append("\"date_histogram#per_day\":{\"buckets\":[");
+            for (int day = 0; day < 5; day++) {
+                if (day > 0) {
+                    sb.append(',');
+                }
+                final long key = 1697414400000L + day * 86400000L;
+                sb.append("{\"key_as_string\":\"2023-10-").append(16 + day).append("T00:00:00.000Z\",");
+                sb.append("\"key\":").append(key).append(",\"doc_count\":").append(day + i % 7).append('}');
+            }
+            sb.append("]}}");
+        }
+        sb.append("]}}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A search response with typed keys whose aggregations are nested like those of a dashboard: a terms aggregation
+     * with {@code buckets} buckets, each holding a 10-bucket date histogram whose buckets hold 10 metrics.
+     */
+    public static byte[] nestedAggregationsResponse(int buckets) {
+        final String[] metrics = { "avg", "sum", "min", "max", "value_count" };
+        final StringBuilder sb = new StringBuilder(512 + buckets * 4000);
+        sb.append("{\"took\":25,\"timed_out\":false,");
+        sb.append("\"_shards\":{\"total\":5,\"successful\":5,\"skipped\":0,\"failed\":0},");
+        sb.append("\"hits\":{\"total\":{\"value\":10000,\"relation\":\"gte\"},\"max_score\":null,\"hits\":[]},");
+        sb.append("\"aggregations\":{\"sterms#by_host\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,\"buckets\":[");
+        for (int i = 0; i < buckets; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"key\":\"host-").append(i).append("\",\"doc_count\":").append(1000 - i % 1000).append(',');
+            sb.append("\"date_histogram#per_hour\":{\"buckets\":[");
+            for (int hour = 0; hour < 10; hour++) {
+                if (hour > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"key\":").append(1697414400000L + hour * 3600000L).append(",\"doc_count\":").append(hour + i % 7);
+                for (int m = 0; m < 10; m++) {
+                    final String metric = metrics[m % metrics.length];
+                    sb.append(",\"").append(metric).append('#').append(metric).append("_field_").append(m).append("\":{\"value\":");
+                    sb.append(m * 10 + hour).append(".5}");
+                }
+                sb.append('}');
+            }
+            sb.append("]}}");
+        }
+        sb.append("]}}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A get mapping response for an index with {@code fields} fields, as returned by the server: each property starts
+     * with its {@code type}, and every tenth field is an object with a few sub-fields.
+     */
+    public static byte[] mappingResponse(int fields) {
+        final String[] types = { "keyword", "long", "date", "double", "boolean" };
+        final StringBuilder sb = new StringBuilder(64 + fields * 80);
+        sb.append("{\"products\":{\"mappings\":{\"dynamic\":\"strict\",\"properties\":{");
+        for (int i = 0; i < fields; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("\"field_").append(i).append("\":");
+            if (i % 10 == 9) {
+                sb.append("{\"properties\":{");
+                sb.append("\"name\":{\"type\":\"text\",\"fields\":{\"raw\":{\"type\":\"keyword\",\"ignore_above\":256}}},");
+                sb.append("\"count\":{\"type\":\"integer\"}}}");
+            } else {
+                sb.append("{\"type\":\"").append(types[i % types.length]).append('"');
+                if (i % 3 == 0) {
+                    sb.append(",\"index\":false");
+                }
+                sb.append('}');
+            }
+        }
+        sb.append("}}}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A successful bulk response for {@code operations} index operations.
+     */
+    public static byte[] bulkResponse(int operations) {
+        final StringBuilder sb = new StringBuilder(64 + operations * 200);
+        sb.append("{\"took\":30,\"errors\":false,\"items\":[");
+        for (int i = 0; i < operations; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"index\":{\"_index\":\"products\",\"_id\":\"").append(i).append("\",\"_version\":1,\"result\":\"created\",");
+            sb.append("\"_shards\":{\"total\":2,\"successful\":1,\"failed\":0},\"_seq_no\":").append(i);
+            sb.append(",\"_primary_term\":1,\"status\":201}}");
+        }
+        sb.append("]}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static class Product {
+        public String name;
+        public String description;
+        public String category;
+        public double price;
+        public int stock;
+        public boolean available;
+        public long timestamp;
+        public List<String> tags;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.BenchmarkData.Product;
+
+/**
+ * Conversions of {@link JsonData}: from a parser, as done for untyped values of responses, to a class or a
+ * {@link JsonValue}, and serialization of a wrapped object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonDataBenchmark {
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    private JsonpMapper mapper;
+    private byte[] json;
+    private JsonData parsed;
+    private JsonData wrapped;
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkData.mapper(mapperName);
+        final Product product = BenchmarkData.product(1);
+        wrapped = JsonData.of(product, mapper);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            wrapped.serialize(generator, mapper);
+        }
+        json = out.toByteArray();
+        parsed = fromParser();
+    }
+
+    @Benchmark
+    public JsonData fromParser() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(json))) {
+            return JsonData.from(parser, mapper);
+        }
+    }
+
+    @Benchmark
+    public Product parsedToClass() {
+        return parsed.to(Product.class);
+    }
+
+    @Benchmark
+    public JsonValue parsedToJson() {
+        return parsed.toJson();
+    }
+
+    @Benchmark
+    public Product wrappedToClass() {
+        return wrapped.to(Product.class);
+    }
+
+    @Benchmark
+    public JsonValue wrappedToJson() {
+        return wrapped.toJson();
+    }
+
+    @Benchmark
+    public String serializeWrapped() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            wrapped.serialize(generator, mapper);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import jakarta.json.stream.JsonParser;
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch._types.ShardStatistics;
+
+/**
+ * Per-document cost of {@link JsonpMapper#deserialize(JsonParser, Class)}, which is the path used to decode
+ * user-typed documents and {@link JsonData#to(Class)}.
+ * <p>
+ * {@code reflectiveLookup} measures the annotation and field lookup that was previously done for every call,
+ * {@code cachedLookup} the same lookup once cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonpMapperBenchmark {
+
+    private static final String SHARDS = "{\"failed\":0,\"successful\":5,\"total\":5,\"skipped\":0}";
+    private static final String DOCUMENT = "{\"name\":\"opensearch\",\"count\":42,\"enabled\":true}";
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    private JsonpMapper mapper;
+
+    @Setup
+    public void setup() {
+        mapper = "jackson".equals(mapperName) ? new JacksonJsonpMapper() : new JsonbJsonpMapper();
+    }
+
+    @Benchmark
+    public Object reflectiveLookup() throws Exception {
+        JsonpDeserializable annotation = ShardStatistics.class.getAnnotation(JsonpDeserializable.class);
+        Field field = ShardStatistics.class.getDeclaredField(annotation.field());
+        return field.get(null);
+    }
+
+    @Benchmark
+    public Object cachedLookup() {
+        return JsonpMapperBase.findDeserializer(ShardStatistics.class);
+    }
+
+    @Benchmark
+    public ShardStatistics deserializeAnnotatedClass() {
+        JsonParser parser = mapper.jsonProvider().createParser(new StringReader(SHARDS));
+        return mapper.deserialize(parser, ShardStatistics.class);
+    }
+
+    @Benchmark
+    public Document deserializeDocument() {
+        JsonParser parser = mapper.jsonProvider().createParser(new StringReader(DOCUMENT));
+        return mapper.deserialize(parser, Document.class);
+    }
+
+    public static class Document {
+        public String name;
+        public int count;
+        public boolean enabled;
+    }
+}
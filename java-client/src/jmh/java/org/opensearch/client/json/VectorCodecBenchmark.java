@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.opensearch._helpers.knn.KnnVectorDocument;
+
+/**
+ * Cost of writing and reading a k-NN vector. The {@code legacy} benchmarks are the way {@code KnnQuery} used to
+ * handle vectors: each float written as a double through JSON-P, and read as a list of boxed floats. The
+ * {@code pojoDocument} benchmark is a document with a {@code float[]} field mapped by the {@link JsonpMapper}, and
+ * {@code vectorDocument} the same document as a {@link KnnVectorDocument}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorCodecBenchmark {
+
+    private static final JsonpDeserializer<List<Float>> LEGACY_DESERIALIZER = JsonpDeserializer.arrayDeserializer(
+        JsonpDeserializer.floatDeserializer()
+    );
+
+    @Param({ "768", "1536" })
+    public int dimension;
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    private JsonpMapper mapper;
+    private float[] vector;
+    private byte[] json;
+    private Document document;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkData.mapper(mapperName);
+        final Random random = new Random(0);
+        vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            // Normalized embeddings, as produced by most models
+            vector[i] = (float) random.nextGaussian() / (float) Math.sqrt(dimension);
+        }
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < dimension; i++) {
+            sb.append(i == 0 ? "" : ",").append(vector[i]);
+        }
+        json = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        document = new Document();
+        document.title = "product";
+        document.embedding = vector;
+    }
+
+    @Benchmark
+    public int writeLegacy() {
+        out.reset();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            generator.writeStartArray();
+            for (float value : vector) {
+                generator.write(value);
+            }
+            generator.writeEnd();
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeCodec() {
+        out.reset();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            VectorCodec.writeFloatVector(generator, vector);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public float[] readLegacy() {
+        final JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(json));
+        final List<Float> values = LEGACY_DESERIALIZER.deserialize(parser, mapper);
+        final float[] result = new float[values.size()];
+        int i = 0;
+        for (Float value : values) {
+            result[i++] = value;
+        }
+        return result;
+    }
+
+    @Benchmark
+    public float[] readCodec() {
+        final JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(json));
+        return VectorCodec.floatVectorDeserializer().deserialize(parser, mapper);
+    }
+
+    @Benchmark
+    public int pojoDocument() {
+        out.reset();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            mapper.serialize(document, generator);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public int vectorDocument() {
+        out.reset();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            final KnnVectorDocument vectorDocument = KnnVectorDocument.of(
+                d -> d.field("title", document.title).vector("embedding", document.embedding)
+            );
+            mapper.serialize(vectorDocument, generator);
+        }
+        return out.size();
+    }
+
+    public static class Document {
+        public String title;
+        public float[] embedding;
+    }
+}
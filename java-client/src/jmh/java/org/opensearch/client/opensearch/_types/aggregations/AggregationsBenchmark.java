@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._types.aggregations;
+
+import jakarta.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch.core.SearchResponse;
+
+/**
+ * Decoding of aggregation-heavy search responses with typed keys: a terms aggregation whose buckets each hold
+ * metrics and a date histogram, and a deeper terms, date histogram and metrics tree whose date histogram buckets can
+ * be decoded as columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationsBenchmark {
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    @Param({ "10", "100", "1000" })
+    public int buckets;
+
+    private JsonpMapper mapper;
+    private JsonpMapper columnsMapper;
+    private byte[] response;
+    private byte[] nestedResponse;
+    private JsonpDeserializer<SearchResponse<JsonData>> deserializer;
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkData.mapper(mapperName);
+        columnsMapper = BucketColumns.decodeAsColumns(mapper, "per_hour", "avg_field_0", "max_field_3");
+        response = BenchmarkData.aggregationsResponse(buckets);
+        nestedResponse = BenchmarkData.nestedAggregationsResponse(buckets);
+        deserializer = SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(JsonData.class));
+    }
+
+    @Benchmark
+    public SearchResponse<JsonData> decode() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(response))) {
+            return deserializer.deserialize(parser, mapper);
+        }
+    }
+
+    @Benchmark
+    public SearchResponse<JsonData> decodeNested() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(nestedResponse))) {
+            return deserializer.deserialize(parser, mapper);
+        }
+    }
+
+    @Benchmark
+    public SearchResponse<JsonData> decodeNestedAsColumns() {
+        try (JsonParser parser = columnsMapper.jsonProvider().createParser(new ByteArrayInputStream(nestedResponse))) {
+            return deserializer.deserialize(parser, columnsMapper);
+        }
+    }
+}
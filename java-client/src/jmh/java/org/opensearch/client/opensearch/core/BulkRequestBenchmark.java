@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.core;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+/**
+ * Serialization of a {@link BulkRequest} to nd-json, through the {@link OpenSearchRequestBodyBuffer} used by the
+ * transports to capture request bodies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkRequestBenchmark {
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    @Param({ "100", "1000" })
+    public int operations;
+
+    private JsonpMapper mapper;
+    private BulkRequest request;
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkData.mapper(mapperName);
+        final List<BulkOperation> ops = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            final String id = Integer.toString(i);
+            final BenchmarkData.Product product = BenchmarkData.product(i);
+            ops.add(BulkOperation.of(b -> b.index(o -> o.index("products").id(id).document(product))));
+        }
+        request = BulkRequest.of(b -> b.operations(ops));
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        final OpenSearchRequestBodyBuffer buffer = new OpenSearchRequestBodyBuffer(mapper, Integer.MAX_VALUE);
+        try {
+            buffer.addContent(request);
+            buffer.close();
+            return buffer.getContentLength();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Benchmark
+    public long serializeCompressed() throws IOException {
+        final OpenSearchRequestBodyBuffer buffer = new OpenSearchRequestBodyBuffer(mapper, 0);
+        try {
+            buffer.addContent(request);
+            buffer.close();
+            return buffer.getContentLength();
+        } finally {
+            buffer.release();
+        }
+    }
+}
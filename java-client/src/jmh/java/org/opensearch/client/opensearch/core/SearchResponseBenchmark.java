@@ -0,0 +1,75 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.core;
+
+import jakarta.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.BenchmarkData.Product;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.JsonpMapper;
+
+/**
+ * Decoding of a {@link SearchResponse} from the response bytes, as done by the transports, with the hits sources
+ * either bound to a class or kept as {@link JsonData}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchResponseBenchmark {
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    @Param({ "10", "100", "1000" })
+    public int hits;
+
+    private JsonpMapper mapper;
+    private byte[] response;
+    private JsonpDeserializer<SearchResponse<Product>> productDeserializer;
+    private JsonpDeserializer<SearchResponse<JsonData>> jsonDataDeserializer;
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkData.mapper(mapperName);
+        response = BenchmarkData.searchResponse(hits);
+        productDeserializer = SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(Product.class));
+        jsonDataDeserializer = SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.of(JsonData.class));
+    }
+
+    @Benchmark
+    public SearchResponse<Product> decodeTyped() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(response))) {
+            return productDeserializer.deserialize(parser, mapper);
+        }
+    }
+
+    @Benchmark
+    public SearchResponse<JsonData> decodeJsonData() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(response))) {
+            return jsonDataDeserializer.deserialize(parser, mapper);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.indices;
+
+import jakarta.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.json.JsonpMapper;
+
+/**
+ * Decoding of a get mapping response with many fields, where every property is a {@code type}-tagged union that is
+ * looked ahead. Run with {@code -prof gc} to compare allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetMappingResponseBenchmark {
+
+    @Param({ "jackson", "jsonb" })
+    public String mapperName;
+
+    @Param({ "100", "5000" })
+    public int fields;
+
+    private JsonpMapper mapper;
+    private byte[] response;
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkData.mapper(mapperName);
+        response = BenchmarkData.mappingResponse(fields);
+    }
+
+    @Benchmark
+    public GetMappingResponse decode() {
+        try (JsonParser parser = mapper.jsonProvider().createParser(new ByteArrayInputStream(response))) {
+            return GetMappingResponse._DESERIALIZER.deserialize(parser, mapper);
+        }
+    }
+}
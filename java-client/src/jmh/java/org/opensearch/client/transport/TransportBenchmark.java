@@ -0,0 +1,223 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.core5.http.HttpHost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.BenchmarkData.Product;
+import org.opensearch.client.RestClient;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.transport.aws.AwsSdk2Transport;
+import org.opensearch.client.transport.aws.AwsSdk2TransportOptions;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5TransportBuilder;
+import org.opensearch.client.transport.rest_client.RestClientTransport;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * Full round trips through the transports: request serialization, sending, receiving and response decoding.
+ * <p>
+ * The {@code httpclient5} and {@code restclient} transports talk to an in-process HTTP server that answers with
+ * canned responses. {@code AwsSdk2Transport} only speaks https, so it uses an in-memory {@link SdkHttpClient} that
+ * answers the same responses: its numbers include request signing but no network I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final int SEARCH_HITS = 10;
+    private static final int BULK_OPERATIONS = 100;
+    private static final byte[] SEARCH_RESPONSE = BenchmarkData.searchResponse(SEARCH_HITS);
+    private static final byte[] BULK_RESPONSE = BenchmarkData.bulkResponse(BULK_OPERATIONS);
+
+    @Param({ "httpclient5", "restclient", "awssdk2" })
+    public String transportName;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private OpenSearchTransport transport;
+    private OpenSearchClient client;
+    private BulkRequest bulkRequest;
+
+    @Setup
+    public void setup() throws IOException {
+        final JacksonJsonpMapper mapper = new JacksonJsonpMapper();
+        switch (transportName) {
+            case "httpclient5":
+                startServer();
+                transport = ApacheHttpClient5TransportBuilder.builder(new HttpHost("http", "127.0.0.1", server.getAddress().getPort()))
+                    .setMapper(mapper)
+                    .build();
+                break;
+            case "restclient":
+                startServer();
+                transport = new RestClientTransport(
+                    RestClient.builder(new HttpHost("http", "127.0.0.1", server.getAddress().getPort())).build(),
+                    mapper
+                );
+                break;
+            case "awssdk2":
+                transport = new AwsSdk2Transport(
+                    new StubSdkHttpClient(),
+                    "search-benchmark.us-east-1.es.amazonaws.com",
+                    Region.US_EAST_1,
+                    AwsSdk2TransportOptions.builder()
+                        .setCredentials(StaticCredentialsProvider.create(AwsBasicCredentials.create("access-key", "secret-key")))
+                        .setMapper(mapper)
+                        .build()
+                );
+                break;
+            default:
+                throw new IllegalArgumentException("unknown transport [" + transportName + "]");
+        }
+        client = new OpenSearchClient(transport);
+
+        final List<BulkOperation> operations = new ArrayList<>(BULK_OPERATIONS);
+        for (int i = 0; i < BULK_OPERATIONS; i++) {
+            final String id = Integer.toString(i);
+            final Product product = BenchmarkData.product(i);
+            operations.add(BulkOperation.of(b -> b.index(o -> o.index("products").id(id).document(product))));
+        }
+        bulkRequest = BulkRequest.of(b -> b.operations(operations));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        transport.close();
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public SearchResponse<Product> search() throws IOException {
+        return client.search(
+            s -> s.index("products").query(q -> q.match(m -> m.field("name").query(v -> v.stringValue("product")))),
+            Product.class
+        );
+    }
+
+    @Benchmark
+    public BulkResponse bulk() throws IOException {
+        return client.bulk(bulkRequest);
+    }
+
+    private void startServer() throws IOException {
+        // The server writes the response headers and body separately, without this the round trips are dominated by
+        // the delayed acknowledgements of Nagle's algorithm. Must be set before the server configuration is loaded.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                drain(body);
+            }
+            respond(exchange, responseFor(exchange.getRequestURI().getPath()));
+        });
+        server.start();
+    }
+
+    private static byte[] responseFor(String path) {
+        return path.endsWith("/_bulk") ? BULK_RESPONSE : SEARCH_RESPONSE;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void drain(InputStream in) throws IOException {
+        final byte[] buffer = new byte[8192];
+        while (in.read(buffer) >= 0) {
+            // Discard the request body
+        }
+    }
+
+    /**
+     * Answers the canned responses without any network I/O.
+     */
+    private static final class StubSdkHttpClient implements SdkHttpClient {
+        @Override
+        public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() throws IOException {
+                    if (request.contentStreamProvider().isPresent()) {
+                        try (InputStream body = request.contentStreamProvider().get().newStream()) {
+                            drain(body);
+                        }
+                    }
+                    final byte[] body = responseFor(request.httpRequest().encodedPath());
+                    return HttpExecuteResponse.builder()
+                        .response(
+                            SdkHttpResponse.builder()
+                                .statusCode(200)
+                                .putHeader("Content-Type", "application/json")
+                                .putHeader("Content-Length", Integer.toString(body.length))
+                                .build()
+                        )
+                        .responseBody(AbortableInputStream.create(new ByteArrayInputStream(body)))
+                        .build();
+                }
+
+                @Override
+                public void abort() {}
+            };
+        }
+
+        @Override
+        public void close() {}
+    }
+}
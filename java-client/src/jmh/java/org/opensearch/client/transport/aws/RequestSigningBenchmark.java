@@ -0,0 +1,135 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.client.BenchmarkData;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.auth.signer.Aws4Signer;
+import software.amazon.awssdk.auth.signer.params.Aws4SignerParams;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.regions.Region;
+
+/**
+ * The per-request cost of preparing a signed request in {@link AwsSdk2Transport}: serializing the body, if any, and
+ * signing it. {@code sdkSigner} is the way requests used to be signed, with a new {@code Aws4Signer} per request,
+ * {@code sharedSigner} is the way they are now signed, with the transport's signer. Both sign the same request, so the
+ * payload is hashed by the signer in either case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestSigningBenchmark {
+
+    private static final Region REGION = Region.US_EAST_1;
+
+    /**
+     * The number of bulk operations in the request body, 0 for a request without a body.
+     */
+    @Param({ "0", "100" })
+    public int operations;
+
+    private final JsonpMapper mapper = new JacksonJsonpMapper();
+    private final AwsCredentialsProvider credentials = StaticCredentialsProvider.create(
+        AwsBasicCredentials.create("access-key", "secret-key")
+    );
+    private final Aws4Signer signer = Aws4Signer.create();
+    private BulkRequest request;
+    private URI uri;
+
+    @Setup
+    public void setup() {
+        final List<BulkOperation> ops = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            final String id = Integer.toString(i);
+            final BenchmarkData.Product product = BenchmarkData.product(i);
+            ops.add(BulkOperation.of(b -> b.index(o -> o.index("products").id(id).document(product))));
+        }
+        request = BulkRequest.of(b -> b.operations(ops));
+        uri = URI.create(
+            "https://search-benchmark.us-east-1.es.amazonaws.com" + (operations > 0 ? "/_bulk" : "/products/_doc/1?routing=r1")
+        );
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest sdkSigner() throws IOException {
+        final OpenSearchRequestBodyBuffer body = operations > 0 ? serialize() : null;
+        try {
+            final SdkHttpFullRequest.Builder req = newRequest(body);
+            return Aws4Signer.create().sign(req.build(), signerParams(credentials));
+        } finally {
+            if (body != null) {
+                body.release();
+            }
+        }
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest sharedSigner() throws IOException {
+        final OpenSearchRequestBodyBuffer body = operations > 0 ? serialize() : null;
+        try {
+            return signer.sign(newRequest(body).build(), signerParams(credentials));
+        } finally {
+            if (body != null) {
+                body.release();
+            }
+        }
+    }
+
+    private static Aws4SignerParams signerParams(AwsCredentialsProvider provider) {
+        return Aws4SignerParams.builder().awsCredentials(provider.resolveCredentials()).signingName("es").signingRegion(REGION).build();
+    }
+
+    private OpenSearchRequestBodyBuffer serialize() throws IOException {
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(mapper, Integer.MAX_VALUE);
+        body.addContent(request);
+        body.close();
+        return body;
+    }
+
+    private SdkHttpFullRequest.Builder newRequest(OpenSearchRequestBodyBuffer body) {
+        final SdkHttpFullRequest.Builder req = SdkHttpFullRequest.builder()
+            .method(body != null ? SdkHttpMethod.POST : SdkHttpMethod.GET)
+            .uri(uri)
+            .putHeader("Accept-Encoding", "gzip");
+        if (body != null) {
+            req.putHeader("Content-Type", body.getContentType());
+            req.putHeader("Content-Length", String.valueOf(body.getContentLength()));
+            req.contentStreamProvider(body::getInputStream);
+            req.putHeader("x-amz-content-sha256", "required");
+        }
+        return req;
+    }
+}
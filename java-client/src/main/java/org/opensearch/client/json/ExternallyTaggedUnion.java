@@ -42,6 +42,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import javax.annotation.Nullable;
@@ -66,21 +67,37 @@ public class ExternallyTaggedUnion {
         private final Function<Member, Union> unionCtor;
         @Nullable
         private final BiFunction<String, JsonData, Union> unKnownUnionCtor;
+        private final String[] types;
+        private final JsonpDeserializer<? extends Member>[] typeDeserializers;
+        private final int typeMask;
 
         public Deserializer(Map<String, JsonpDeserializer<? extends Member>> deserializers, Function<Member, Union> unionCtor) {
-            this.deserializers = deserializers;
-            this.unionCtor = unionCtor;
-            this.unKnownUnionCtor = null;
+            this(deserializers, unionCtor, null);
         }
 
+        @SuppressWarnings({ "unchecked", "rawtypes" })
         public Deserializer(
             Map<String, JsonpDeserializer<? extends Member>> deserializers,
             Function<Member, Union> unionCtor,
-            BiFunction<String, JsonData, Union> unKnownUnionCtor
+            @Nullable BiFunction<String, JsonData, Union> unKnownUnionCtor
         ) {
             this.deserializers = deserializers;
             this.unionCtor = unionCtor;
             this.unKnownUnionCtor = unKnownUnionCtor;
+
+            // Open addressing table of the type names, hashed like String.hashCode()
+            int size = Integer.highestOneBit(Math.max(deserializers.size(), 1) * 2 - 1) << 2;
+            this.types = new String[size];
+            this.typeDeserializers = new JsonpDeserializer[size];
+            this.typeMask = size - 1;
+            for (Map.Entry<String, JsonpDeserializer<? extends Member>> entry : deserializers.entrySet()) {
+                int i = slot(entry.getKey().hashCode());
+                while (types[i] != null) {
+                    i = (i + 1) & typeMask;
+                }
+                types[i] = entry.getKey();
+                typeDeserializers[i] = entry.getValue();
+            }
         }
 
         public Union deserialize(String type, JsonParser parser, JsonpMapper mapper, Event event) {
@@ -94,6 +111,47 @@ public class ExternallyTaggedUnion {
             return unionCtor.apply(deserializer.deserialize(parser, mapper, event));
         }
 
+        Union deserialize(TypedKey key, JsonParser parser, JsonpMapper mapper, Event event) {
+            if (key.deserializer == null) {
+                return deserialize(key.type, parser, mapper, event);
+            }
+            @SuppressWarnings("unchecked")
+            Member member = (Member) key.deserializer.deserialize(parser, mapper, event);
+            return unionCtor.apply(member);
+        }
+
+        /**
+         * Splits a {@code type#name} key, looking up the type from the characters of the key.
+         */
+        TypedKey resolve(String key, JsonParser parser) {
+            int h = 0;
+            int hashPos = 0;
+            char c;
+            while (hashPos < key.length() && (c = key.charAt(hashPos)) != '#') {
+                h = 31 * h + c;
+                hashPos++;
+            }
+            if (hashPos == key.length()) {
+                throw new JsonParsingException(
+                    "Property name '" + key + "' is not in the 'type#name' format. Make sure the request has 'typed_keys' set.",
+                    parser.getLocation()
+                );
+            }
+
+            String name = key.substring(hashPos + 1);
+            String type;
+            for (int i = slot(h); (type = types[i]) != null; i = (i + 1) & typeMask) {
+                if (type.length() == hashPos && key.startsWith(type)) {
+                    return new TypedKey(type, name, typeDeserializers[i]);
+                }
+            }
+            return new TypedKey(key.substring(0, hashPos), name, null);
+        }
+
+        private int slot(int hash) {
+            return (hash ^ (hash >>> 16)) & typeMask;
+        }
+
         /**
          * Deserialize an externally tagged union encoded as typed keys, a JSON dictionary whose property names combine type and name
          * in a single string.
@@ -103,8 +161,29 @@ public class ExternallyTaggedUnion {
         }
     }
 
+    /**
+     * The type, name and member deserializer of a {@code type#name} key.
+     */
+    static final class TypedKey {
+        final String type;
+        final String name;
+        @Nullable
+        final JsonpDeserializer<?> deserializer;
+
+        TypedKey(String type, String name, @Nullable JsonpDeserializer<?> deserializer) {
+            this.type = type;
+            this.name = name;
+            this.deserializer = deserializer;
+        }
+    }
+
     public static class TypedKeysDeserializer<Union extends TaggedUnion<?, ?>> extends JsonpDeserializerBase<Map<String, Union>> {
+        private static final AtomicInteger IDS = new AtomicInteger();
+
         Deserializer<Union, ?> deserializer;
+        // Aggregation and suggester names are few and repeated in every bucket: the keys resolved while reading a
+        // response are kept in a mapper attribute, so that its nested maps share their names.
+        private final String keysAttribute = TypedKeysDeserializer.class.getName() + ".keys." + IDS.incrementAndGet();
 
         protected TypedKeysDeserializer(Deserializer<Union, ?> deser) {
             super(EnumSet.of(Event.START_OBJECT));
@@ -113,6 +192,7 @@ public class ExternallyTaggedUnion {
 
         @Override
         public Map<String, Union> deserialize(JsonParser parser, JsonpMapper mapper, Event event) {
+            mapper = withResolvedKeys(mapper);
             Map<String, Union> result = new HashMap<>();
             while ((event = parser.next()) != Event.END_OBJECT) {
                 JsonpUtils.expectEvent(parser, event, Event.KEY_NAME);
@@ -122,18 +202,38 @@ public class ExternallyTaggedUnion {
         }
 
         public void deserializeEntry(String key, JsonParser parser, JsonpMapper mapper, Map<String, Union> targetMap) {
-            int hashPos = key.indexOf('#');
-            if (hashPos == -1) {
-                throw new JsonParsingException(
-                    "Property name '" + key + "' is not in the 'type#name' format. Make sure the request has 'typed_keys' set.",
-                    parser.getLocation()
-                );
-            }
+            TypedKey typedKey = typedKey(key, parser, mapper);
+            targetMap.put(typedKey.name, deserializer.deserialize(typedKey, parser, mapper, parser.next()));
+        }
 
-            String type = key.substring(0, hashPos);
-            String name = key.substring(hashPos + 1);
+        /**
+         * Returns the name of a {@code type#name} key, resolved like the keys of the entries.
+         */
+        protected String name(String key, JsonParser parser, JsonpMapper mapper) {
+            return typedKey(key, parser, mapper).name;
+        }
+
+        /**
+         * Returns a mapper that keeps the keys resolved by this deserializer, unless the mapper already does.
+         */
+        JsonpMapper withResolvedKeys(JsonpMapper mapper) {
+            if (mapper.attribute(keysAttribute) != null) {
+                return mapper;
+            }
+            return mapper.withAttribute(keysAttribute, new HashMap<String, TypedKey>());
+        }
 
-            targetMap.put(name, deserializer.deserialize(type, parser, mapper, parser.next()));
+        TypedKey typedKey(String key, JsonParser parser, JsonpMapper mapper) {
+            Map<String, TypedKey> keys = mapper.attribute(keysAttribute);
+            if (keys == null) {
+                return deserializer.resolve(key, parser);
+            }
+            TypedKey typedKey = keys.get(key);
+            if (typedKey == null) {
+                typedKey = deserializer.resolve(key, parser);
+                keys.put(key, typedKey);
+            }
+            return typedKey;
         }
     }
 
@@ -141,27 +241,19 @@ public class ExternallyTaggedUnion {
         TypedKeysDeserializer<T> deserializer
     ) {
         return JsonpDeserializer.of(EnumSet.of(Event.START_OBJECT), (parser, mapper, event) -> {
+            mapper = deserializer.withResolvedKeys(mapper);
             Map<String, List<T>> result = new HashMap<>();
-            String key = null;
             while ((event = parser.next()) != Event.END_OBJECT) {
                 JsonpUtils.expectEvent(parser, event, Event.KEY_NAME);
                 // Split key and type
-                key = parser.getString();
-                int hashPos = key.indexOf('#');
-
-                String type = key.substring(0, hashPos);
-                String name = key.substring(hashPos + 1);
+                TypedKey typedKey = deserializer.typedKey(parser.getString(), parser, mapper);
 
                 List<T> list = new ArrayList<>();
                 JsonpUtils.expectNextEvent(parser, Event.START_ARRAY);
-                try {
-                    while ((event = parser.next()) != Event.END_ARRAY) {
-                        list.add(deserializer.deserializer.deserialize(type, parser, mapper, event));
-                    }
-                } catch (Exception e) {
-                    throw e;
+                while ((event = parser.next()) != Event.END_ARRAY) {
+                    list.add(deserializer.deserializer.deserialize(typedKey, parser, mapper, event));
                 }
-                result.put(name, list);
+                result.put(typedKey.name, list);
             }
             return result;
         });
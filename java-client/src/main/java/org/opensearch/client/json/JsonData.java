@@ -104,9 +104,19 @@ public interface JsonData extends JsonpSerializable {
      * {@link #deserialize(JsonpDeserializer)}.
      */
     static JsonData from(JsonParser parser, JsonpMapper mapper) {
-        parser.next(); // Need to be at the beginning of the value to read
-        return of(parser.getValue(), mapper);
+        return from(parser, mapper, parser.next());
     }
 
-    JsonpDeserializer<JsonData> _DESERIALIZER = JsonpDeserializer.of(EnumSet.allOf(JsonParser.Event.class), JsonData::from);
+    /**
+     * Creates a raw JSON value from a parser positioned on the first event of the value. The events are captured in a
+     * {@link JsonEventBuffer} so that conversions don't need to serialize and parse the value again.
+     */
+    static JsonData from(JsonParser parser, JsonpMapper mapper, JsonParser.Event event) {
+        return new JsonDataImpl(JsonEventBuffer.copyOf(parser, event), mapper);
+    }
+
+    JsonpDeserializer<JsonData> _DESERIALIZER = JsonpDeserializer.of(
+        EnumSet.allOf(JsonParser.Event.class),
+        (JsonParser parser, JsonpMapper mapper, JsonParser.Event event) -> from(parser, mapper, event)
+    );
 }
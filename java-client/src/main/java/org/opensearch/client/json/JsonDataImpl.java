@@ -49,6 +49,7 @@ class JsonDataImpl implements JsonData {
 
     @Override
     public String toString() {
+        // JsonValue and JsonEventBuffer both render as JSON
         return value.toString();
     }
 
@@ -63,6 +64,10 @@ class JsonDataImpl implements JsonData {
             return (JsonValue) value;
         }
 
+        if (value instanceof JsonEventBuffer) {
+            return ((JsonEventBuffer) value).toJsonValue();
+        }
+
         // Provided mapper has precedence over the one that was optionally set at creation time
         mapper = mapper != null ? mapper : this.mapper;
         if (mapper == null) {
@@ -83,7 +88,15 @@ class JsonDataImpl implements JsonData {
 
     @Override
     public <T> T to(Class<T> clazz, JsonpMapper mapper) {
-        if (clazz.isAssignableFrom(value.getClass())) {
+        if (value instanceof JsonEventBuffer) {
+            // The buffer is an implementation detail: tree representations are built from it
+            if (clazz == Object.class || JsonValue.class.isAssignableFrom(clazz)) {
+                JsonValue json = ((JsonEventBuffer) value).toJsonValue();
+                if (clazz.isInstance(json)) {
+                    return clazz.cast(json);
+                }
+            }
+        } else if (clazz.isAssignableFrom(value.getClass())) {
             return (T) value;
         }
 
@@ -109,6 +122,8 @@ class JsonDataImpl implements JsonData {
     public void serialize(JsonGenerator generator, JsonpMapper mapper) {
         if (value instanceof JsonValue) {
             generator.write((JsonValue) value);
+        } else if (value instanceof JsonEventBuffer) {
+            ((JsonEventBuffer) value).copyTo(generator);
         } else {
             // Mapper provided at creation time has precedence
             (this.mapper != null ? this.mapper : mapper).serialize(value, generator);
@@ -126,7 +141,11 @@ class JsonDataImpl implements JsonData {
     }
 
     private JsonParser getParser(JsonpMapper mapper) {
-        // FIXME: inefficient roundtrip through a string. Should be replaced by an Event buffer structure.
+        if (value instanceof JsonEventBuffer) {
+            return ((JsonEventBuffer) value).newParser();
+        }
+
+        // Values provided by the application are converted through their textual representation.
         StringWriter sw = new StringWriter();
         JsonGenerator generator = mapper.jsonProvider().createGenerator(sw);
 
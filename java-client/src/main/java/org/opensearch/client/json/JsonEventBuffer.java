@@ -0,0 +1,532 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * A compact and immutable sequence of JSON events, captured once from a {@link JsonParser} and that can be replayed
+ * any number of times as a {@link JsonParser} or written to a {@link JsonGenerator}, without going through a textual
+ * representation of the JSON value.
+ * <p>
+ * Structural events only take a byte. Property names, strings and numbers are kept as strings, numbers being kept in
+ * their original textual form so that no precision is lost.
+ */
+public final class JsonEventBuffer implements JsonpSerializable {
+
+    private static final Event[] EVENTS = Event.values();
+
+    private static class DefaultJsonProvider {
+        private static final JsonProvider INSTANCE = JsonProvider.provider();
+    }
+
+    private final byte[] events;
+    private final int eventCount;
+    private final String[] strings;
+    private final JsonLocation location;
+
+    private JsonEventBuffer(byte[] events, int eventCount, String[] strings, JsonLocation location) {
+        this.events = events;
+        this.eventCount = eventCount;
+        this.strings = strings;
+        this.location = location;
+    }
+
+    /**
+     * Copies the next value of a parser.
+     */
+    public static JsonEventBuffer copyOf(JsonParser parser) {
+        return copyOf(parser, parser.next());
+    }
+
+    /**
+     * Copies the value of a parser that starts at its current event, leaving the parser on the last event of the value.
+     *
+     * @param parser the parser to copy from.
+     * @param event the current event of the parser.
+     */
+    public static JsonEventBuffer copyOf(JsonParser parser, Event event) {
+        final JsonLocation location = parser.getLocation();
+        final Builder builder = new Builder();
+        builder.copyValue(parser, event);
+        return builder.build(location);
+    }
+
+    /**
+     * Accumulates events, which don't have to make a complete value, e.g. the beginning of an object that has been
+     * read while looking ahead.
+     */
+    static final class Builder {
+        private byte[] events = new byte[16];
+        private String[] strings = new String[8];
+        private int eventCount = 0;
+        private int stringCount = 0;
+
+        /**
+         * Adds an event, along with its string if it has one.
+         */
+        void add(Event event, @Nullable String string) {
+            if (eventCount == events.length) {
+                events = Arrays.copyOf(events, eventCount << 1);
+            }
+            events[eventCount++] = (byte) event.ordinal();
+            if (hasString(event)) {
+                if (stringCount == strings.length) {
+                    strings = Arrays.copyOf(strings, stringCount << 1);
+                }
+                strings[stringCount++] = string;
+            }
+        }
+
+        /**
+         * Adds the value of a parser that starts at its current event, leaving the parser on the last event of the value.
+         */
+        void copyValue(JsonParser parser, Event event) {
+            int depth = 0;
+            while (true) {
+                switch (event) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        depth++;
+                        add(event, null);
+                        break;
+
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        depth--;
+                        add(event, null);
+                        break;
+
+                    case KEY_NAME:
+                    case VALUE_STRING:
+                    case VALUE_NUMBER:
+                        add(event, parser.getString());
+                        break;
+
+                    default:
+                        // No data attached to the event
+                        add(event, null);
+                        break;
+                }
+
+                if (depth == 0) {
+                    return;
+                }
+                event = parser.next();
+            }
+        }
+
+        JsonEventBuffer build(JsonLocation location) {
+            return new JsonEventBuffer(events, eventCount, strings, location);
+        }
+    }
+
+    /**
+     * Creates a new parser that replays the events of this buffer. Parsers are independent from each other.
+     */
+    public JsonParser newParser() {
+        return new Parser();
+    }
+
+    /**
+     * Converts this buffer to a JSON node tree.
+     */
+    public JsonValue toJsonValue() {
+        Parser parser = new Parser();
+        return parser.readValue(parser.next());
+    }
+
+    /**
+     * Writes the events of this buffer to a generator.
+     */
+    public void copyTo(JsonGenerator generator) {
+        int stringIdx = 0;
+        for (int i = 0; i < eventCount; i++) {
+            switch (EVENTS[events[i]]) {
+                case START_OBJECT:
+                    generator.writeStartObject();
+                    break;
+
+                case START_ARRAY:
+                    generator.writeStartArray();
+                    break;
+
+                case END_OBJECT:
+                case END_ARRAY:
+                    generator.writeEnd();
+                    break;
+
+                case KEY_NAME:
+                    generator.writeKey(strings[stringIdx++]);
+                    break;
+
+                case VALUE_STRING:
+                    generator.write(strings[stringIdx++]);
+                    break;
+
+                case VALUE_NUMBER:
+                    String number = strings[stringIdx++];
+                    if (isIntegral(number)) {
+                        writeInteger(number, generator);
+                    } else {
+                        generator.write(new BigDecimal(number));
+                    }
+                    break;
+
+                case VALUE_TRUE:
+                    generator.write(true);
+                    break;
+
+                case VALUE_FALSE:
+                    generator.write(false);
+                    break;
+
+                case VALUE_NULL:
+                    generator.writeNull();
+                    break;
+            }
+        }
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        copyTo(generator);
+    }
+
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = DefaultJsonProvider.INSTANCE.createGenerator(writer)) {
+            copyTo(generator);
+        }
+        return writer.toString();
+    }
+
+    private static boolean isIntegral(String number) {
+        for (int i = 0; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c == '.' || c == 'e' || c == 'E') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean fitsInLong(String number) {
+        // 18 digits (plus an optional sign) always fit in a long
+        return number.length() <= (number.charAt(0) == '-' ? 19 : 18) && isIntegral(number);
+    }
+
+    /**
+     * Writes an integer as a {@code long} if it fits, and as a {@code BigInteger} otherwise.
+     */
+    static void writeInteger(String number, JsonGenerator generator) {
+        if (fitsInLong(number)) {
+            generator.write(Long.parseLong(number));
+            return;
+        }
+        BigInteger value = new BigInteger(number);
+        if (value.bitLength() < Long.SIZE) {
+            generator.write(value.longValue());
+        } else {
+            generator.write(value);
+        }
+    }
+
+    /**
+     * A parser replaying the events of the buffer. Since the whole value is available, looking ahead doesn't require
+     * any additional buffering: the parser is simply moved back to the beginning of the object.
+     */
+    private class Parser implements LookAheadJsonParser {
+        // Index of the current event
+        private int eventIdx = -1;
+        // Index of the string attached to the current event, or the previous one if the current event has none
+        private int stringIdx = -1;
+
+        @Override
+        public boolean hasNext() {
+            return eventIdx + 1 < eventCount;
+        }
+
+        @Override
+        public Event next() {
+            if (eventIdx + 1 >= eventCount) {
+                throw new NoSuchElementException();
+            }
+            Event event = EVENTS[events[++eventIdx]];
+            if (hasString(event)) {
+                stringIdx++;
+            }
+            return event;
+        }
+
+        public Event currentEvent() {
+            return eventIdx < 0 ? null : EVENTS[events[eventIdx]];
+        }
+
+        @Override
+        public String getString() {
+            Event event = currentEvent();
+            if (event == null || !hasString(event)) {
+                throw new IllegalStateException("Cannot get a string value on event '" + event + "'");
+            }
+            return strings[stringIdx];
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return isIntegral(getNumber());
+        }
+
+        @Override
+        public int getInt() {
+            String number = getNumber();
+            if (number.length() <= 9 && isIntegral(number)) {
+                return Integer.parseInt(number);
+            }
+            try {
+                return new BigDecimal(number).setScale(0, RoundingMode.DOWN).intValueExact();
+            } catch (ArithmeticException e) {
+                throw new JsonParsingException("Numeric value (" + number + ") out of range of int", e, location);
+            }
+        }
+
+        @Override
+        public long getLong() {
+            String number = getNumber();
+            if (fitsInLong(number)) {
+                return Long.parseLong(number);
+            }
+            try {
+                return new BigDecimal(number).setScale(0, RoundingMode.DOWN).longValueExact();
+            } catch (ArithmeticException e) {
+                throw new JsonParsingException("Numeric value (" + number + ") out of range of long", e, location);
+            }
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return new BigDecimal(getNumber());
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            // Locations are those of the start of the captured value
+            return location;
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public JsonObject getObject() {
+            Event event = currentEvent();
+            if (event != Event.START_OBJECT) {
+                throw new IllegalStateException("Unexpected event '" + event + "'");
+            }
+            return (JsonObject) readValue(event);
+        }
+
+        @Override
+        public JsonArray getArray() {
+            Event event = currentEvent();
+            if (event != Event.START_ARRAY) {
+                throw new IllegalStateException("Unexpected event '" + event + "'");
+            }
+            return (JsonArray) readValue(event);
+        }
+
+        @Override
+        public JsonValue getValue() {
+            Event event = currentEvent();
+            if (event == null || event == Event.KEY_NAME || event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                throw new IllegalStateException("Unexpected event '" + event + "'");
+            }
+            return readValue(event);
+        }
+
+        @Override
+        public Stream<Map.Entry<String, JsonValue>> getObjectStream() {
+            return getObject().entrySet().stream();
+        }
+
+        @Override
+        public Stream<JsonValue> getArrayStream() {
+            return getArray().stream();
+        }
+
+        @Override
+        public void skipObject() {
+            if (currentEvent() == Event.START_OBJECT) {
+                skipStructure();
+            }
+        }
+
+        @Override
+        public void skipArray() {
+            if (currentEvent() == Event.START_ARRAY) {
+                skipStructure();
+            }
+        }
+
+        @Override
+        public Map.Entry<String, JsonParser> lookAheadFieldValue(String name, String defaultValue) {
+            String result = defaultValue;
+
+            int stringPos = stringIdx;
+            int depth = 0;
+            for (int i = eventIdx; i < eventCount; i++) {
+                Event event = EVENTS[events[i]];
+                if (i > eventIdx && hasString(event)) {
+                    stringPos++;
+                }
+                if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                    depth++;
+                } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                    if (--depth == 0) {
+                        break;
+                    }
+                } else if (depth == 1 && event == Event.KEY_NAME && strings[stringPos].equals(name)) {
+                    Event valueEvent = EVENTS[events[i + 1]];
+                    if (valueEvent != Event.VALUE_STRING) {
+                        throw new UnexpectedJsonEventException(this, valueEvent, Event.VALUE_STRING);
+                    }
+                    result = strings[stringPos + 1];
+                    break;
+                }
+            }
+
+            return new AbstractMap.SimpleImmutableEntry<>(result, rewind());
+        }
+
+        @Override
+        public <Variant> Map.Entry<Variant, JsonParser> findVariant(Map<String, Variant> variants) {
+            Variant result = null;
+
+            int stringPos = stringIdx;
+            int depth = 0;
+            for (int i = eventIdx; i < eventCount; i++) {
+                Event event = EVENTS[events[i]];
+                if (i > eventIdx && hasString(event)) {
+                    stringPos++;
+                }
+                if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                    depth++;
+                } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                    if (--depth == 0) {
+                        break;
+                    }
+                } else if (depth == 1 && event == Event.KEY_NAME) {
+                    result = variants.get(strings[stringPos]);
+                    if (result != null) {
+                        break;
+                    }
+                }
+            }
+
+            return new AbstractMap.SimpleImmutableEntry<>(result, rewind());
+        }
+
+        /**
+         * Moves back before the current START_OBJECT event, so that the object can be read again from this parser.
+         */
+        private JsonParser rewind() {
+            if (currentEvent() != Event.START_OBJECT) {
+                throw new IllegalStateException("Look ahead requires the parser to be on a START_OBJECT event");
+            }
+            // START_OBJECT has no string attached, so only the event index moves
+            eventIdx--;
+            return this;
+        }
+
+        private String getNumber() {
+            Event event = currentEvent();
+            if (event != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("Cannot get a number value on event '" + event + "'");
+            }
+            return strings[stringIdx];
+        }
+
+        private void skipStructure() {
+            int depth = 1;
+            do {
+                Event event = next();
+                if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                    depth++;
+                } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                    depth--;
+                }
+            } while (depth > 0);
+        }
+
+        private JsonValue readValue(Event event) {
+            JsonProvider provider = DefaultJsonProvider.INSTANCE;
+            switch (event) {
+                case START_OBJECT:
+                    JsonObjectBuilder ob = provider.createObjectBuilder();
+                    while (next() != Event.END_OBJECT) {
+                        String name = strings[stringIdx];
+                        ob.add(name, readValue(next()));
+                    }
+                    return ob.build();
+
+                case START_ARRAY:
+                    JsonArrayBuilder ab = provider.createArrayBuilder();
+                    Event item;
+                    while ((item = next()) != Event.END_ARRAY) {
+                        ab.add(readValue(item));
+                    }
+                    return ab.build();
+
+                case VALUE_STRING:
+                    return provider.createValue(strings[stringIdx]);
+
+                case VALUE_NUMBER:
+                    String number = strings[stringIdx];
+                    return fitsInLong(number) ? provider.createValue(Long.parseLong(number)) : provider.createValue(new BigDecimal(number));
+
+                case VALUE_TRUE:
+                    return JsonValue.TRUE;
+
+                case VALUE_FALSE:
+                    return JsonValue.FALSE;
+
+                case VALUE_NULL:
+                    return JsonValue.NULL;
+
+                default:
+                    throw new UnexpectedJsonEventException(this, event);
+            }
+        }
+    }
+
+    private static boolean hasString(Event event) {
+        return event == Event.KEY_NAME || event == Event.VALUE_STRING || event == Event.VALUE_NUMBER;
+    }
+}
@@ -32,7 +32,6 @@
 
 package org.opensearch.client.json;
 
-import jakarta.json.JsonNumber;
 import jakarta.json.JsonValue;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
@@ -164,7 +163,7 @@ public abstract class JsonpDeserializerBase<V> implements JsonpDeserializer<V> {
             if (event == Event.VALUE_STRING) {
                 return Float.valueOf(parser.getString());
             }
-            return parser.getBigDecimal().floatValue();
+            return JsonpUtils.floatValue(parser);
         }
     };
 
@@ -177,7 +176,7 @@ public abstract class JsonpDeserializerBase<V> implements JsonpDeserializer<V> {
             if (event == Event.VALUE_STRING) {
                 return Double.valueOf(parser.getString());
             }
-            return parser.getBigDecimal().doubleValue();
+            return JsonpUtils.doubleValue(parser);
         }
     };
 
@@ -199,7 +198,7 @@ public abstract class JsonpDeserializerBase<V> implements JsonpDeserializer<V> {
             if (event == Event.VALUE_STRING) {
                 return Double.valueOf(parser.getString());
             }
-            return parser.getBigDecimal().doubleValue();
+            return JsonpUtils.doubleValue(parser);
         }
     }
 
@@ -267,7 +266,7 @@ public abstract class JsonpDeserializerBase<V> implements JsonpDeserializer<V> {
             if (event == Event.VALUE_STRING) {
                 return Double.valueOf(parser.getString());
             }
-            return parser.getBigDecimal().doubleValue();
+            return JsonpUtils.doubleValue(parser);
         }
     };
 
@@ -280,7 +279,7 @@ public abstract class JsonpDeserializerBase<V> implements JsonpDeserializer<V> {
             if (event == Event.VALUE_STRING) {
                 return Double.valueOf(parser.getString());
             }
-            return ((JsonNumber) parser.getValue()).numberValue();
+            return JsonpUtils.numberValue(parser);
         }
     };
 
@@ -36,10 +36,27 @@ import jakarta.json.JsonValue;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
 import java.lang.reflect.Field;
+import java.util.Optional;
 import javax.annotation.Nullable;
 
 public abstract class JsonpMapperBase implements JsonpMapper {
 
+    // Deserializers and serializers found on a class only depend on that class, and are shared by all mappers.
+    // ClassValue keeps them attached to the class itself, so that they don't prevent class unloading.
+    private static final ClassValue<Optional<JsonpDeserializer<?>>> DESERIALIZERS = new ClassValue<Optional<JsonpDeserializer<?>>>() {
+        @Override
+        protected Optional<JsonpDeserializer<?>> computeValue(Class<?> clazz) {
+            return Optional.ofNullable(lookupDeserializer(clazz));
+        }
+    };
+
+    private static final ClassValue<Optional<JsonpSerializer<?>>> SERIALIZERS = new ClassValue<Optional<JsonpSerializer<?>>>() {
+        @Override
+        protected Optional<JsonpSerializer<?>> computeValue(Class<?> clazz) {
+            return Optional.ofNullable(lookupSerializer(clazz));
+        }
+    };
+
     /** Get a serializer when none of the builtin ones are applicable */
     protected abstract <T> JsonpDeserializer<T> getDefaultDeserializer(Class<T> clazz);
 
@@ -56,11 +73,22 @@ public abstract class JsonpMapperBase implements JsonpMapper {
     @Nullable
     @SuppressWarnings("unchecked")
     public static <T> JsonpDeserializer<T> findDeserializer(Class<T> clazz) {
+        return (JsonpDeserializer<T>) DESERIALIZERS.get(clazz).orElse(null);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static <T> JsonpSerializer<T> findSerializer(T value) {
+        return (JsonpSerializer<T>) SERIALIZERS.get(value.getClass()).orElse(null);
+    }
+
+    @Nullable
+    private static JsonpDeserializer<?> lookupDeserializer(Class<?> clazz) {
         JsonpDeserializable annotation = clazz.getAnnotation(JsonpDeserializable.class);
         if (annotation != null) {
             try {
                 Field field = clazz.getDeclaredField(annotation.field());
-                return (JsonpDeserializer<T>) field.get(null);
+                return (JsonpDeserializer<?>) field.get(null);
             } catch (Exception e) {
                 throw new RuntimeException("No deserializer found in '" + clazz.getName() + "." + annotation.field() + "'");
             }
@@ -70,15 +98,13 @@ public abstract class JsonpMapperBase implements JsonpMapper {
     }
 
     @Nullable
-    @SuppressWarnings("unchecked")
-    public static <T> JsonpSerializer<T> findSerializer(T value) {
-        Class<?> valueClass = value.getClass();
+    private static JsonpSerializer<?> lookupSerializer(Class<?> valueClass) {
         if (JsonpSerializable.class.isAssignableFrom(valueClass)) {
-            return (JsonpSerializer<T>) JsonpSerializableSerializer.INSTANCE;
+            return JsonpSerializableSerializer.INSTANCE;
         }
 
         if (JsonValue.class.isAssignableFrom(valueClass)) {
-            return (JsonpSerializer<T>) JsonpValueSerializer.INSTANCE;
+            return JsonpValueSerializer.INSTANCE;
         }
 
         return null;
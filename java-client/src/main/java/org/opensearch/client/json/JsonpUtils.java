@@ -32,6 +32,7 @@
 
 package org.opensearch.client.json;
 
+import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
@@ -41,10 +42,11 @@ import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
 import jakarta.json.stream.JsonParsingException;
 import java.io.StringReader;
-import java.util.AbstractMap;
+import java.math.BigDecimal;
 import java.util.Map;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
+import org.opensearch.client.json.jackson.JacksonJsonpParser;
 import org.opensearch.client.util.ObjectBuilder;
 
 public class JsonpUtils {
@@ -108,6 +110,114 @@ public class JsonpUtils {
         }
     }
 
+    /**
+     * Reads the current number of a parser as a {@code double}. Jackson parsers read it natively, other parsers
+     * through {@link JsonParser#getBigDecimal()}.
+     */
+    public static double doubleValue(JsonParser parser) {
+        if (parser instanceof JacksonJsonpParser) {
+            return ((JacksonJsonpParser) parser).getDouble();
+        }
+        return parser.getBigDecimal().doubleValue();
+    }
+
+    /**
+     * Reads the current number of a parser as a {@code float}. Jackson parsers read it natively, other parsers
+     * through {@link JsonParser#getBigDecimal()}.
+     */
+    public static float floatValue(JsonParser parser) {
+        if (parser instanceof JacksonJsonpParser) {
+            return ((JacksonJsonpParser) parser).getFloat();
+        }
+        return parser.getBigDecimal().floatValue();
+    }
+
+    /**
+     * Reads the current number of a parser as the {@code numberValue()} of its {@code JsonNumber}. Jackson parsers
+     * read it without creating the {@code JsonNumber}.
+     */
+    public static Number numberValue(JsonParser parser) {
+        if (parser instanceof JacksonJsonpParser) {
+            return ((JacksonJsonpParser) parser).getNumber();
+        }
+        return ((JsonNumber) parser.getValue()).numberValue();
+    }
+
+    /**
+     * Writes the current number of a parser to a generator. Integers that don't fit in a {@code long}, which
+     * {@link JsonParser#getLong()} would wrap, are written as a {@code BigInteger}.
+     */
+    private static void copyNumber(JsonParser parser, JsonGenerator generator) {
+        if (!parser.isIntegralNumber()) {
+            generator.write(parser.getBigDecimal());
+        } else if (parser instanceof JacksonJsonpParser) {
+            Number number = ((JacksonJsonpParser) parser).getNumber();
+            if (number instanceof BigDecimal) {
+                generator.write(((BigDecimal) number).toBigInteger());
+            } else {
+                generator.write(number.longValue());
+            }
+        } else {
+            JsonEventBuffer.writeInteger(parser.getString(), generator);
+        }
+    }
+
+    /**
+     * Copies the value at the current position of the parser to a generator. The parser is left on the last event
+     * of the value.
+     */
+    public static void copy(JsonParser parser, Event event, JsonGenerator generator) {
+        int depth = 0;
+        while (true) {
+            switch (event) {
+                case START_OBJECT:
+                    generator.writeStartObject();
+                    depth++;
+                    break;
+
+                case START_ARRAY:
+                    generator.writeStartArray();
+                    depth++;
+                    break;
+
+                case END_OBJECT:
+                case END_ARRAY:
+                    generator.writeEnd();
+                    depth--;
+                    break;
+
+                case KEY_NAME:
+                    generator.writeKey(parser.getString());
+                    break;
+
+                case VALUE_STRING:
+                    generator.write(parser.getString());
+                    break;
+
+                case VALUE_NUMBER:
+                    copyNumber(parser, generator);
+                    break;
+
+                case VALUE_NULL:
+                    generator.writeNull();
+                    break;
+
+                case VALUE_TRUE:
+                    generator.write(true);
+                    break;
+
+                case VALUE_FALSE:
+                    generator.write(false);
+                    break;
+            }
+
+            if (depth == 0) {
+                return;
+            }
+            event = parser.next();
+        }
+    }
+
     public static <T> T buildVariant(JsonParser parser, ObjectBuilder<T> builder) {
         if (builder == null) {
             throw new JsonParsingException("No variant found", parser.getLocation());
@@ -140,44 +250,14 @@ public class JsonpUtils {
     ) {
         JsonLocation location = parser.getLocation();
 
-        if (parser instanceof LookAheadJsonParser) {
-            // Fast buffered path
-            Map.Entry<String, JsonParser> result = ((LookAheadJsonParser) parser).lookAheadFieldValue(name, defaultValue);
-            if (result.getKey() == null) {
-                throw new JsonParsingException("Property '" + name + "' not found", location);
-            }
-            return result;
-
-        } else {
-            // Unbuffered path: parse the object into a JsonObject, then extract the value and parse it again
-            JsonObject object = parser.getObject();
-            String result = object.getString(name, null);
-
-            if (result == null) {
-                result = defaultValue;
-            }
-
-            if (result == null) {
-                throw new JsonParsingException("Property '" + name + "' not found", location);
-            }
-
-            JsonParser newParser = objectParser(object, mapper);
-
-            // Pin location to the start of the look ahead, as the new parser will return locations in its own buffer
-            newParser = new DelegatingJsonParser(newParser) {
-                @Override
-                public JsonLocation getLocation() {
-                    return new JsonLocationImpl(location.getLineNumber(), location.getColumnNumber(), location.getStreamOffset()) {
-                        @Override
-                        public String toString() {
-                            return "(in object at " + super.toString().substring(1);
-                        }
-                    };
-                }
-            };
-
-            return new AbstractMap.SimpleImmutableEntry<>(result, newParser);
+        // Only the properties that precede the looked up one are buffered
+        Map.Entry<String, JsonParser> result = parser instanceof LookAheadJsonParser
+            ? ((LookAheadJsonParser) parser).lookAheadFieldValue(name, defaultValue)
+            : PrefixedJsonParser.lookAheadFieldValue(parser, name, defaultValue);
+        if (result.getKey() == null) {
+            throw new JsonParsingException("Property '" + name + "' not found", location);
         }
+        return result;
     }
 
     /**
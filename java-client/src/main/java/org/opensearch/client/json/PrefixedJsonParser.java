@@ -0,0 +1,225 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonLocation;
+import jakarta.json.stream.JsonParser;
+import java.math.BigDecimal;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * Look ahead for parsers that don't implement {@link LookAheadJsonParser}. Only the properties of the object that
+ * precede the one that was looked up are buffered: the resulting parser replays them, and then reads the rest of the
+ * object from the original parser.
+ */
+final class PrefixedJsonParser implements JsonParser {
+
+    private static final int BEFORE_OBJECT = 0;
+    private static final int ON_START_OBJECT = 1;
+    private static final int REPLAYING = 2;
+    private static final int DELEGATING = 3;
+
+    private final JsonParser prefix;
+    private final JsonParser parser;
+    // The current event of the original parser, which follows the buffered events
+    private final Event parserEvent;
+    private int state = BEFORE_OBJECT;
+
+    private PrefixedJsonParser(JsonParser prefix, JsonParser parser, Event parserEvent) {
+        this.prefix = prefix;
+        this.parser = parser;
+        this.parserEvent = parserEvent;
+    }
+
+    /**
+     * See {@link LookAheadJsonParser#lookAheadFieldValue(String, String)}.
+     */
+    static Map.Entry<String, JsonParser> lookAheadFieldValue(JsonParser parser, String name, String defaultValue) {
+        final JsonLocation location = parser.getLocation();
+        final JsonEventBuffer.Builder buffer = new JsonEventBuffer.Builder();
+        buffer.add(Event.START_OBJECT, null);
+
+        Event event;
+        while ((event = parser.next()) != Event.END_OBJECT) {
+            JsonpUtils.expectEvent(parser, Event.KEY_NAME, event);
+            final String fieldName = parser.getString();
+            buffer.add(Event.KEY_NAME, fieldName);
+            if (fieldName.equals(name)) {
+                JsonpUtils.expectNextEvent(parser, Event.VALUE_STRING);
+                return new AbstractMap.SimpleImmutableEntry<>(
+                    parser.getString(),
+                    new PrefixedJsonParser(buffer.build(location).newParser(), parser, Event.VALUE_STRING)
+                );
+            }
+            buffer.copyValue(parser, parser.next());
+        }
+
+        // Field not found: the whole object has been buffered
+        buffer.add(Event.END_OBJECT, null);
+        return new AbstractMap.SimpleImmutableEntry<>(defaultValue, buffer.build(location).newParser());
+    }
+
+    /**
+     * See {@link LookAheadJsonParser#findVariant(Map)}.
+     */
+    static <Variant> Map.Entry<Variant, JsonParser> findVariant(JsonParser parser, Map<String, Variant> variants) {
+        final JsonLocation location = parser.getLocation();
+        final JsonEventBuffer.Builder buffer = new JsonEventBuffer.Builder();
+        buffer.add(Event.START_OBJECT, null);
+
+        Event event;
+        while ((event = parser.next()) != Event.END_OBJECT) {
+            JsonpUtils.expectEvent(parser, Event.KEY_NAME, event);
+            final String fieldName = parser.getString();
+            final Variant variant = variants.get(fieldName);
+            if (variant != null) {
+                return new AbstractMap.SimpleImmutableEntry<>(
+                    variant,
+                    new PrefixedJsonParser(buffer.build(location).newParser(), parser, Event.KEY_NAME)
+                );
+            }
+            buffer.add(Event.KEY_NAME, fieldName);
+            buffer.copyValue(parser, parser.next());
+        }
+
+        // No variant found: the whole object has been buffered
+        buffer.add(Event.END_OBJECT, null);
+        return new AbstractMap.SimpleImmutableEntry<>(null, buffer.build(location).newParser());
+    }
+
+    private JsonParser current() {
+        return state == DELEGATING ? parser : prefix;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return state != DELEGATING || parser.hasNext();
+    }
+
+    @Override
+    public Event next() {
+        switch (state) {
+            case BEFORE_OBJECT:
+                state = ON_START_OBJECT;
+                return prefix.next();
+            case ON_START_OBJECT:
+            case REPLAYING:
+                if (prefix.hasNext()) {
+                    state = REPLAYING;
+                    return prefix.next();
+                }
+                state = DELEGATING;
+                return parserEvent;
+            default:
+                return parser.next();
+        }
+    }
+
+    @Nullable
+    @Override
+    public Event currentEvent() {
+        return state == BEFORE_OBJECT ? null : current().currentEvent();
+    }
+
+    @Override
+    public String getString() {
+        return current().getString();
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        return current().isIntegralNumber();
+    }
+
+    @Override
+    public int getInt() {
+        return current().getInt();
+    }
+
+    @Override
+    public long getLong() {
+        return current().getLong();
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        return current().getBigDecimal();
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        return current().getLocation();
+    }
+
+    @Override
+    public JsonObject getObject() {
+        // The object being looked ahead spans the buffered events and the original parser
+        return state == ON_START_OBJECT
+            ? JsonEventBuffer.copyOf(this, Event.START_OBJECT).toJsonValue().asJsonObject()
+            : current().getObject();
+    }
+
+    @Override
+    public JsonValue getValue() {
+        return state == ON_START_OBJECT ? getObject() : current().getValue();
+    }
+
+    @Override
+    public JsonArray getArray() {
+        return current().getArray();
+    }
+
+    @Override
+    public Stream<Map.Entry<String, JsonValue>> getObjectStream() {
+        return state == ON_START_OBJECT ? getObject().entrySet().stream() : current().getObjectStream();
+    }
+
+    @Override
+    public Stream<JsonValue> getArrayStream() {
+        return current().getArrayStream();
+    }
+
+    @Override
+    public Stream<JsonValue> getValueStream() {
+        return current().getValueStream();
+    }
+
+    @Override
+    public void skipObject() {
+        if (state != ON_START_OBJECT) {
+            current().skipObject();
+            return;
+        }
+        int depth = 1;
+        do {
+            final Event event = next();
+            if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+                depth++;
+            } else if (event == Event.END_OBJECT || event == Event.END_ARRAY) {
+                depth--;
+            }
+        } while (depth > 0);
+    }
+
+    @Override
+    public void skipArray() {
+        current().skipArray();
+    }
+
+    @Override
+    public void close() {
+        parser.close();
+    }
+}
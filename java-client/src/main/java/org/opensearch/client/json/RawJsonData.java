@@ -0,0 +1,411 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import jakarta.json.JsonException;
+import jakarta.json.JsonValue;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumSet;
+import javax.annotation.Nullable;
+import org.opensearch.client.json.jackson.JacksonJsonpGenerator;
+import org.opensearch.client.json.jackson.JacksonJsonpParser;
+import org.opensearch.client.util.BinaryData;
+
+/**
+ * A JSON value kept as its UTF-8 encoded bytes, that is only decoded when converted.
+ * <p>
+ * Used as the document class of a search, e.g. {@code client.search(request, RawJsonData.class)}, the source of
+ * each hit is captured as compact JSON bytes rather than decoded into an object: this avoids the cost of decoding
+ * sources that are never looked at, and sources can be forwarded as-is to an {@code IndexRequest}, a bulk operation
+ * or any {@link OutputStream}. As {@link BinaryData}, they are copied as they are to the body of bulk requests.
+ * When the response is read with Jackson, strings, numbers and field names are copied from the parser's buffers
+ * without being decoded, and numbers keep their original textual form.
+ */
+@JsonpDeserializable
+public final class RawJsonData implements JsonData, BinaryData {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static class DefaultJsonProvider {
+        private static final JsonProvider INSTANCE = JsonProvider.provider();
+    }
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    @Nullable
+    private final JsonpMapper mapper;
+
+    private RawJsonData(byte[] bytes, int offset, int length, @Nullable JsonpMapper mapper) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Wraps UTF-8 encoded JSON bytes, which are neither copied nor validated.
+     */
+    public static RawJsonData of(byte[] bytes) {
+        return new RawJsonData(bytes, 0, bytes.length, null);
+    }
+
+    /**
+     * Wraps a slice of UTF-8 encoded JSON bytes, which are neither copied nor validated.
+     */
+    public static RawJsonData of(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Invalid slice [" + offset + ", " + (offset + length) + "] of " + bytes.length + " bytes");
+        }
+        return new RawJsonData(bytes, offset, length, null);
+    }
+
+    /**
+     * Wraps UTF-8 encoded JSON bytes, along with the mapper to use for further conversions.
+     */
+    public static RawJsonData of(byte[] bytes, JsonpMapper mapper) {
+        return new RawJsonData(bytes, 0, bytes.length, mapper);
+    }
+
+    /**
+     * Captures the next value of a parser as bytes.
+     */
+    public static RawJsonData from(JsonParser parser, JsonpMapper mapper) {
+        return from(parser, mapper, parser.next());
+    }
+
+    /**
+     * Captures the value of a parser that starts at its current event as bytes, leaving the parser on the last event
+     * of the value.
+     */
+    public static RawJsonData from(JsonParser parser, JsonpMapper mapper, JsonParser.Event event) {
+        final byte[] bytes;
+        if (parser instanceof JacksonJsonpParser) {
+            try {
+                bytes = copyJackson(((JacksonJsonpParser) parser).jacksonParser());
+            } catch (IOException e) {
+                throw new JsonParsingException("Jackson exception: " + e.getMessage(), e, parser.getLocation());
+            }
+        } else {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+                JsonpUtils.copy(parser, event, generator);
+            }
+            bytes = out.toByteArray();
+        }
+        return new RawJsonData(bytes, 0, bytes.length, mapper);
+    }
+
+    public static final JsonpDeserializer<RawJsonData> _DESERIALIZER = JsonpDeserializer.of(
+        EnumSet.allOf(JsonParser.Event.class),
+        (parser, mapper, event) -> from(parser, mapper, event)
+    );
+
+    /**
+     * Number of bytes of the UTF-8 encoded value.
+     */
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public long size() {
+        return length;
+    }
+
+    @Override
+    public String contentType() {
+        return APPLICATION_JSON;
+    }
+
+    /**
+     * A copy of the UTF-8 encoded value.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    /**
+     * A read-only view of the UTF-8 encoded value.
+     */
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * An input stream that reads the UTF-8 encoded value.
+     */
+    public InputStream asInputStream() {
+        return new ByteArrayInputStream(bytes, offset, length);
+    }
+
+    /**
+     * Writes the UTF-8 encoded value to a stream, without decoding it.
+     */
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, offset, length);
+    }
+
+    @Override
+    public void writeLineTo(OutputStream out) throws IOException {
+        // Captured values are compact, only wrapped bytes may span several lines
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                BinaryData.super.writeLineTo(out);
+                return;
+            }
+        }
+        out.write(bytes, offset, length);
+        out.write('\n');
+    }
+
+    @Override
+    public JsonValue toJson() {
+        return toJson(null);
+    }
+
+    @Override
+    public JsonValue toJson(@Nullable JsonpMapper mapper) {
+        final JsonpMapper localMapper = mapper != null ? mapper : this.mapper;
+        final JsonProvider provider = localMapper != null ? localMapper.jsonProvider() : DefaultJsonProvider.INSTANCE;
+        try (JsonParser parser = provider.createParser(asInputStream())) {
+            parser.next();
+            return parser.getValue();
+        }
+    }
+
+    @Override
+    public <T> T to(Class<T> clazz) {
+        return to(clazz, null);
+    }
+
+    @Override
+    public <T> T to(Class<T> clazz, @Nullable JsonpMapper mapper) {
+        if (clazz == RawJsonData.class || clazz == JsonData.class) {
+            return clazz.cast(this);
+        }
+        final JsonpMapper localMapper = getMapper(mapper);
+        try (JsonParser parser = localMapper.jsonProvider().createParser(asInputStream())) {
+            return localMapper.deserialize(parser, clazz);
+        }
+    }
+
+    @Override
+    public <T> T deserialize(JsonpDeserializer<T> deserializer) {
+        return deserialize(deserializer, null);
+    }
+
+    @Override
+    public <T> T deserialize(JsonpDeserializer<T> deserializer, @Nullable JsonpMapper mapper) {
+        final JsonpMapper localMapper = getMapper(mapper);
+        try (JsonParser parser = localMapper.jsonProvider().createParser(asInputStream())) {
+            return deserializer.deserialize(parser, localMapper);
+        }
+    }
+
+    /**
+     * Writes the value to a generator. Jackson generators copy the bytes as they are, other generators receive the
+     * events of the parsed value.
+     */
+    @Override
+    public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        if (generator instanceof JacksonJsonpGenerator) {
+            try {
+                ((JacksonJsonpGenerator) generator).jacksonGenerator().writeRawValue(new Utf8Value());
+            } catch (IOException e) {
+                throw new JsonException("Jackson exception", e);
+            }
+        } else {
+            final JsonProvider provider = mapper != null ? mapper.jsonProvider() : DefaultJsonProvider.INSTANCE;
+            try (JsonParser parser = provider.createParser(asInputStream())) {
+                JsonpUtils.copy(parser, parser.next(), generator);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private JsonpMapper getMapper(@Nullable JsonpMapper localMapper) {
+        // Local mapper has precedence over the one provided at creation time
+        localMapper = localMapper != null ? localMapper : this.mapper;
+        if (localMapper == null) {
+            throw new IllegalStateException("A JsonpMapper is needed to convert JsonData");
+        }
+        return localMapper;
+    }
+
+    /**
+     * Copies the value of a Jackson parser, from its current token, as compact JSON. Strings, numbers and field names
+     * are copied from the parser's buffers as they are.
+     */
+    private static byte[] copyJackson(com.fasterxml.jackson.core.JsonParser parser) throws IOException {
+        final ByteArrayBuilder out = new ByteArrayBuilder();
+        try (com.fasterxml.jackson.core.JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            int depth = 0;
+            JsonToken token = parser.currentToken();
+            while (true) {
+                switch (token) {
+                    case START_OBJECT:
+                        generator.writeStartObject();
+                        depth++;
+                        break;
+                    case START_ARRAY:
+                        generator.writeStartArray();
+                        depth++;
+                        break;
+                    case END_OBJECT:
+                        generator.writeEndObject();
+                        depth--;
+                        break;
+                    case END_ARRAY:
+                        generator.writeEndArray();
+                        depth--;
+                        break;
+                    case FIELD_NAME:
+                        generator.writeFieldName(parser.currentName());
+                        break;
+                    case VALUE_STRING:
+                        generator.writeString(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        break;
+                    case VALUE_NUMBER_INT:
+                    case VALUE_NUMBER_FLOAT:
+                        generator.writeNumber(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                        break;
+                    case VALUE_TRUE:
+                        generator.writeBoolean(true);
+                        break;
+                    case VALUE_FALSE:
+                        generator.writeBoolean(false);
+                        break;
+                    case VALUE_NULL:
+                        generator.writeNull();
+                        break;
+                    default:
+                        throw new IOException("Unsupported Jackson event type '" + token + "'");
+                }
+                if (depth == 0) {
+                    break;
+                }
+                token = parser.nextToken();
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * The bytes of the value, as written by Jackson's raw value methods. UTF-8 generators copy them to their output
+     * buffer, other methods use the decoded value.
+     */
+    private final class Utf8Value implements SerializableString {
+        @Nullable
+        private SerializedString decoded;
+
+        private SerializedString decoded() {
+            if (decoded == null) {
+                decoded = new SerializedString(RawJsonData.this.toString());
+            }
+            return decoded;
+        }
+
+        @Override
+        public String getValue() {
+            return decoded().getValue();
+        }
+
+        @Override
+        public int charLength() {
+            return decoded().charLength();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return decoded().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return toByteArray();
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return decoded().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return decoded().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return decoded().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(bytes, RawJsonData.this.offset, buffer, offset, length);
+            return length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return decoded().appendUnquoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return decoded().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            writeTo(out);
+            return length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return decoded().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(bytes, offset, length);
+            return length;
+        }
+    }
+}
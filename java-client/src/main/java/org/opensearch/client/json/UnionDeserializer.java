@@ -32,7 +32,6 @@
 
 package org.opensearch.client.json;
 
-import jakarta.json.JsonObject;
 import jakarta.json.stream.JsonLocation;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
@@ -286,29 +285,14 @@ public class UnionDeserializer<Union, Kind, Member> implements JsonpDeserializer
         JsonLocation location = parser.getLocation();
 
         if (member == null && event == Event.START_OBJECT && !objectMembers.isEmpty()) {
-            if (parser instanceof LookAheadJsonParser) {
-                Map.Entry<EventHandler<Union, Kind, Member>, JsonParser> memberAndParser = ((LookAheadJsonParser) parser).findVariant(
-                    objectMembers
-                );
-
-                member = memberAndParser.getKey();
-                // Parse the buffered parser
-                parser = memberAndParser.getValue();
-
-            } else {
-                // Parse as an object to find matching field names
-                JsonObject object = parser.getObject();
-
-                for (String field : object.keySet()) {
-                    member = objectMembers.get(field);
-                    if (member != null) {
-                        break;
-                    }
-                }
-
-                // Traverse the object we have inspected
-                parser = JsonpUtils.objectParser(object, mapper);
-            }
+            // Only the properties that precede the first one identifying a member are buffered
+            Map.Entry<EventHandler<Union, Kind, Member>, JsonParser> memberAndParser = parser instanceof LookAheadJsonParser
+                ? ((LookAheadJsonParser) parser).findVariant(objectMembers)
+                : PrefixedJsonParser.findVariant(parser, objectMembers);
+
+            member = memberAndParser.getKey();
+            // Parse the buffered parser
+            parser = memberAndParser.getValue();
 
             if (member == null) {
                 member = fallbackObjectMember;
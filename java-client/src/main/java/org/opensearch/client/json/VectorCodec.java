@@ -0,0 +1,584 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.EnumSet;
+import org.opensearch.client.json.jackson.JacksonJsonpGenerator;
+import org.opensearch.client.json.jackson.JacksonJsonpParser;
+
+/**
+ * Reads and writes k-NN vectors as JSON arrays of numbers, straight from and to primitive {@code float[]} and
+ * {@code byte[]} arrays.
+ * <p>
+ * Floats are written with the shortest decimal representation that reads back to the same float, as
+ * {@link Float#toString(float)} does on recent JDKs, rather than being widened to doubles and written with up to
+ * 17 digits. With the Jackson implementation of JSON-P, vectors are written and read without allocating anything
+ * per element: each float is formatted into a scratch buffer written as a raw value, and parsed from the characters
+ * of the number token.
+ */
+public final class VectorCodec {
+
+    private VectorCodec() {}
+
+    private static final JsonpDeserializer<float[]> FLOAT_VECTOR = new JsonpDeserializerBase<float[]>(EnumSet.of(Event.START_ARRAY)) {
+        @Override
+        public float[] deserialize(JsonParser parser, JsonpMapper mapper, Event event) {
+            return readFloatVector(parser);
+        }
+    };
+
+    private static final JsonpDeserializer<byte[]> BYTE_VECTOR = new JsonpDeserializerBase<byte[]>(EnumSet.of(Event.START_ARRAY)) {
+        @Override
+        public byte[] deserialize(JsonParser parser, JsonpMapper mapper, Event event) {
+            return readByteVector(parser);
+        }
+    };
+
+    /**
+     * The maximum length of a float formatted by {@link #formatFloat(float, char[], int)}, e.g. "-1.2345678E-38".
+     */
+    static final int MAX_FLOAT_LENGTH = 15;
+
+    // Growable buffers reused by each thread to read vectors of unknown length, the result is an exact-sized copy
+    private static final int MAX_SCRATCH_LENGTH = 16 * 1024;
+    private static final ThreadLocal<float[]> FLOAT_SCRATCH = ThreadLocal.withInitial(() -> new float[1024]);
+    private static final ThreadLocal<byte[]> BYTE_SCRATCH = ThreadLocal.withInitial(() -> new byte[1024]);
+    private static final ThreadLocal<char[]> CHAR_SCRATCH = ThreadLocal.withInitial(() -> new char[MAX_FLOAT_LENGTH]);
+
+    /**
+     * A deserializer for float vectors, that expects a JSON array of numbers.
+     */
+    public static JsonpDeserializer<float[]> floatVectorDeserializer() {
+        return FLOAT_VECTOR;
+    }
+
+    /**
+     * A deserializer for byte vectors, that expects a JSON array of integers between -128 and 127.
+     */
+    public static JsonpDeserializer<byte[]> byteVectorDeserializer() {
+        return BYTE_VECTOR;
+    }
+
+    /**
+     * Writes a float vector as a JSON array of numbers.
+     *
+     * @throws IllegalArgumentException if the vector contains a NaN or infinite value, which can't be written as JSON
+     */
+    public static void writeFloatVector(jakarta.json.stream.JsonGenerator generator, float[] vector) {
+        final char[] buffer = CHAR_SCRATCH.get();
+        if (generator instanceof JacksonJsonpGenerator) {
+            final JsonGenerator jackson = ((JacksonJsonpGenerator) generator).jacksonGenerator();
+            try {
+                jackson.writeStartArray(vector, vector.length);
+                for (float value : vector) {
+                    jackson.writeRawValue(buffer, 0, formatFloat(value, buffer, 0));
+                }
+                jackson.writeEndArray();
+            } catch (IOException e) {
+                throw new JsonException("Jackson exception", e);
+            }
+        } else {
+            // Other implementations can only be given the digits as a BigDecimal, that has no negative zero
+            generator.writeStartArray();
+            for (float value : vector) {
+                final int length = formatFloat(value, buffer, 0);
+                if (value == 0) {
+                    generator.write(value);
+                } else {
+                    generator.write(new BigDecimal(buffer, 0, length));
+                }
+            }
+            generator.writeEnd();
+        }
+    }
+
+    /**
+     * Writes a byte vector as a JSON array of integers.
+     */
+    public static void writeByteVector(jakarta.json.stream.JsonGenerator generator, byte[] vector) {
+        generator.writeStartArray();
+        for (byte value : vector) {
+            generator.write(value);
+        }
+        generator.writeEnd();
+    }
+
+    /**
+     * Reads a float vector from a JSON array of numbers, the {@code START_ARRAY} event having been consumed.
+     */
+    public static float[] readFloatVector(JsonParser parser) {
+        final com.fasterxml.jackson.core.JsonParser jackson = parser instanceof JacksonJsonpParser
+            ? ((JacksonJsonpParser) parser).jacksonParser()
+            : null;
+        float[] values = FLOAT_SCRATCH.get();
+        int length = 0;
+        Event event;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            if (event != Event.VALUE_NUMBER) {
+                throw new JsonParsingException("Expected a number in a float vector but found " + event, parser.getLocation());
+            }
+            if (length == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            if (jackson != null) {
+                try {
+                    values[length++] = parseFloat(jackson.getTextCharacters(), jackson.getTextOffset(), jackson.getTextLength());
+                } catch (IOException e) {
+                    throw new JsonException("Jackson exception", e);
+                }
+            } else {
+                values[length++] = Float.parseFloat(parser.getString());
+            }
+        }
+        if (values.length <= MAX_SCRATCH_LENGTH) {
+            FLOAT_SCRATCH.set(values);
+        }
+        return Arrays.copyOf(values, length);
+    }
+
+    /**
+     * Reads a byte vector from a JSON array of integers, the {@code START_ARRAY} event having been consumed.
+     */
+    public static byte[] readByteVector(JsonParser parser) {
+        byte[] values = BYTE_SCRATCH.get();
+        int length = 0;
+        Event event;
+        while ((event = parser.next()) != Event.END_ARRAY) {
+            if (event != Event.VALUE_NUMBER || !parser.isIntegralNumber()) {
+                throw new JsonParsingException("Expected an integer in a byte vector but found " + event, parser.getLocation());
+            }
+            final int value = parser.getInt();
+            if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+                throw new JsonParsingException("Value " + value + " of a byte vector is out of range", parser.getLocation());
+            }
+            if (length == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[length++] = (byte) value;
+        }
+        if (values.length <= MAX_SCRATCH_LENGTH) {
+            BYTE_SCRATCH.set(values);
+        }
+        return Arrays.copyOf(values, length);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Float to text, following the Ryu algorithm (https://github.com/ulfjack/ryu) for single precision.
+
+    private static final int FLOAT_MANTISSA_BITS = 23;
+    private static final int FLOAT_EXPONENT_BITS = 8;
+    private static final int FLOAT_BIAS = 127;
+    private static final int POW5_BITCOUNT = 61;
+    private static final int POW5_INV_BITCOUNT = 59;
+    private static final long[] POW5_SPLIT = new long[48];
+    private static final long[] POW5_INV_SPLIT = new long[32];
+
+    static {
+        final BigInteger five = BigInteger.valueOf(5);
+        for (int i = 0; i < POW5_SPLIT.length; i++) {
+            final BigInteger pow = five.pow(i);
+            POW5_SPLIT[i] = pow.shiftRight(pow.bitLength() - POW5_BITCOUNT).longValue();
+        }
+        for (int i = 0; i < POW5_INV_SPLIT.length; i++) {
+            final BigInteger pow = five.pow(i);
+            final BigInteger inverse = BigInteger.ONE.shiftLeft(pow.bitLength() - 1 + POW5_INV_BITCOUNT).divide(pow);
+            POW5_INV_SPLIT[i] = inverse.add(BigInteger.ONE).longValue();
+        }
+    }
+
+    /**
+     * Formats a finite float with the shortest decimal representation that reads back to the same float, in the
+     * format of {@link Float#toString(float)}: plain notation between 10<sup>-3</sup> and 10<sup>7</sup>, computerized
+     * scientific notation otherwise.
+     *
+     * @return the number of characters written, at most {@link #MAX_FLOAT_LENGTH}
+     */
+    static int formatFloat(float value, char[] buffer, int offset) {
+        final int bits = Float.floatToRawIntBits(value);
+        final int ieeeMantissa = bits & ((1 << FLOAT_MANTISSA_BITS) - 1);
+        final int ieeeExponent = (bits >>> FLOAT_MANTISSA_BITS) & ((1 << FLOAT_EXPONENT_BITS) - 1);
+        if (ieeeExponent == (1 << FLOAT_EXPONENT_BITS) - 1) {
+            throw new IllegalArgumentException("Vectors can't contain " + value + " values");
+        }
+
+        int pos = offset;
+        if (bits < 0) {
+            buffer[pos++] = '-';
+        }
+        if (ieeeExponent == 0 && ieeeMantissa == 0) {
+            buffer[pos++] = '0';
+            buffer[pos++] = '.';
+            buffer[pos++] = '0';
+            return pos - offset;
+        }
+
+        final int e2;
+        final long m2;
+        if (ieeeExponent == 0) {
+            e2 = 1 - FLOAT_BIAS - FLOAT_MANTISSA_BITS - 2;
+            m2 = ieeeMantissa;
+        } else {
+            e2 = ieeeExponent - FLOAT_BIAS - FLOAT_MANTISSA_BITS - 2;
+            m2 = ieeeMantissa | (1L << FLOAT_MANTISSA_BITS);
+        }
+        final boolean acceptBounds = (m2 & 1) == 0;
+
+        // The interval of values that round to this float is (mm, mp) in units of 2^e2
+        final long mv = 4 * m2;
+        final long mp = 4 * m2 + 2;
+        final int mmShift = (ieeeMantissa != 0 || ieeeExponent <= 1) ? 1 : 0;
+        final long mm = 4 * m2 - 1 - mmShift;
+
+        long vr;
+        long vp;
+        long vm;
+        final int e10;
+        boolean vmIsTrailingZeros = false;
+        boolean vrIsTrailingZeros = false;
+        int lastRemovedDigit = 0;
+        if (e2 >= 0) {
+            final int q = log10Pow2(e2);
+            e10 = q;
+            final int k = POW5_INV_BITCOUNT + pow5bits(q) - 1;
+            final int i = -e2 + q + k;
+            vr = mulShift(mv, POW5_INV_SPLIT[q], i);
+            vp = mulShift(mp, POW5_INV_SPLIT[q], i);
+            vm = mulShift(mm, POW5_INV_SPLIT[q], i);
+            if (q != 0 && (vp - 1) / 10 <= vm / 10) {
+                // The digit removed last by the loop below must be computed, as the value may round up
+                final int l = POW5_INV_BITCOUNT + pow5bits(q - 1) - 1;
+                lastRemovedDigit = (int) (mulShift(mv, POW5_INV_SPLIT[q - 1], -e2 + q - 1 + l) % 10);
+            }
+            if (q <= 9) {
+                // Only one of mp, mv, and mm can be a multiple of 5, if any
+                if (mv % 5 == 0) {
+                    vrIsTrailingZeros = multipleOfPowerOf5(mv, q);
+                } else if (acceptBounds) {
+                    vmIsTrailingZeros = multipleOfPowerOf5(mm, q);
+                } else if (multipleOfPowerOf5(mp, q)) {
+                    vp--;
+                }
+            }
+        } else {
+            final int q = log10Pow5(-e2);
+            e10 = q + e2;
+            final int i = -e2 - q;
+            final int k = pow5bits(i) - POW5_BITCOUNT;
+            int j = q - k;
+            vr = mulShift(mv, POW5_SPLIT[i], j);
+            vp = mulShift(mp, POW5_SPLIT[i], j);
+            vm = mulShift(mm, POW5_SPLIT[i], j);
+            if (q != 0 && (vp - 1) / 10 <= vm / 10) {
+                j = q - 1 - (pow5bits(i + 1) - POW5_BITCOUNT);
+                lastRemovedDigit = (int) (mulShift(mv, POW5_SPLIT[i + 1], j) % 10);
+            }
+            if (q <= 1) {
+                // mv has at least q trailing zero bits, as mv = 4 * m2
+                vrIsTrailingZeros = true;
+                if (acceptBounds) {
+                    vmIsTrailingZeros = mmShift == 1;
+                } else {
+                    vp--;
+                }
+            } else if (q < 31) {
+                vrIsTrailingZeros = multipleOfPowerOf2(mv, q - 1);
+            }
+        }
+
+        // Removes the digits that are not needed to identify the float
+        int removed = 0;
+        final long output;
+        if (vmIsTrailingZeros || vrIsTrailingZeros) {
+            while (vp / 10 > vm / 10) {
+                vmIsTrailingZeros &= vm % 10 == 0;
+                vrIsTrailingZeros &= lastRemovedDigit == 0;
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            if (vmIsTrailingZeros) {
+                while (vm % 10 == 0) {
+                    vrIsTrailingZeros &= lastRemovedDigit == 0;
+                    lastRemovedDigit = (int) (vr % 10);
+                    vr /= 10;
+                    vp /= 10;
+                    vm /= 10;
+                    removed++;
+                }
+            }
+            if (vrIsTrailingZeros && lastRemovedDigit == 5 && vr % 2 == 0) {
+                // Rounds half to even
+                lastRemovedDigit = 4;
+            }
+            output = vr + (((vr == vm && (!acceptBounds || !vmIsTrailingZeros)) || lastRemovedDigit >= 5) ? 1 : 0);
+        } else {
+            while (vp / 10 > vm / 10) {
+                lastRemovedDigit = (int) (vr % 10);
+                vr /= 10;
+                vp /= 10;
+                vm /= 10;
+                removed++;
+            }
+            output = vr + ((vr == vm || lastRemovedDigit >= 5) ? 1 : 0);
+        }
+        return pos - offset + writeDecimal(output, e10 + removed, buffer, pos);
+    }
+
+    /**
+     * Writes {@code digits * 10^exponent}, {@code digits} being positive and not ending with zeros unless it is the
+     * last float before a power of ten.
+     */
+    private static int writeDecimal(long digits, int exponent, char[] buffer, int offset) {
+        while (digits % 10 == 0) {
+            digits /= 10;
+            exponent++;
+        }
+        final int length = decimalLength(digits);
+        // The exponent of the scientific notation
+        final int scientificExponent = exponent + length - 1;
+        int pos = offset;
+        if (scientificExponent >= -3 && scientificExponent < 7) {
+            if (scientificExponent >= 0) {
+                final int integerDigits = scientificExponent + 1;
+                if (length <= integerDigits) {
+                    writeDigits(digits, length, buffer, pos);
+                    pos += length;
+                    for (int i = length; i < integerDigits; i++) {
+                        buffer[pos++] = '0';
+                    }
+                    buffer[pos++] = '.';
+                    buffer[pos++] = '0';
+                } else {
+                    // Writes the digits, and moves the integer part one position to the left to insert the point
+                    writeDigits(digits, length, buffer, pos + 1);
+                    System.arraycopy(buffer, pos + 1, buffer, pos, integerDigits);
+                    buffer[pos + integerDigits] = '.';
+                    pos += length + 1;
+                }
+            } else {
+                buffer[pos++] = '0';
+                buffer[pos++] = '.';
+                for (int i = -1; i > scientificExponent; i--) {
+                    buffer[pos++] = '0';
+                }
+                writeDigits(digits, length, buffer, pos);
+                pos += length;
+            }
+        } else {
+            writeDigits(digits, length, buffer, pos + 1);
+            buffer[pos] = buffer[pos + 1];
+            buffer[pos + 1] = '.';
+            pos += length + 1;
+            if (length == 1) {
+                buffer[pos++] = '0';
+            }
+            buffer[pos++] = 'E';
+            int e = scientificExponent;
+            if (e < 0) {
+                buffer[pos++] = '-';
+                e = -e;
+            }
+            if (e >= 10) {
+                buffer[pos++] = (char) ('0' + e / 10);
+            }
+            buffer[pos++] = (char) ('0' + e % 10);
+        }
+        return pos - offset;
+    }
+
+    private static void writeDigits(long digits, int length, char[] buffer, int offset) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+    }
+
+    private static int decimalLength(long value) {
+        int length = 1;
+        while (value >= 10) {
+            value /= 10;
+            length++;
+        }
+        return length;
+    }
+
+    // ceil(log2(5^e)), or 1 for e = 0
+    private static int pow5bits(int e) {
+        return (int) (((e * 1217359L) >>> 19) + 1);
+    }
+
+    // floor(log10(2^e))
+    private static int log10Pow2(int e) {
+        return (int) ((e * 78913L) >>> 18);
+    }
+
+    // floor(log10(5^e))
+    private static int log10Pow5(int e) {
+        return (int) ((e * 732923L) >>> 20);
+    }
+
+    private static boolean multipleOfPowerOf5(long value, int p) {
+        int count = 0;
+        while (value > 0 && value % 5 == 0) {
+            value /= 5;
+            count++;
+        }
+        return count >= p;
+    }
+
+    private static boolean multipleOfPowerOf2(long value, int p) {
+        return (value & ((1L << p) - 1)) == 0;
+    }
+
+    /**
+     * Computes {@code (m * factor) >> shift} for a 26 bits {@code m} and a 61 bits {@code factor}, with shift > 32.
+     */
+    private static long mulShift(long m, long factor, int shift) {
+        final long low = m * (factor & 0xFFFFFFFFL);
+        final long high = m * (factor >>> 32);
+        return ((low >>> 32) + high) >>> (shift - 32);
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Text to float
+
+    private static final double[] POW10 = {
+        1e0,
+        1e1,
+        1e2,
+        1e3,
+        1e4,
+        1e5,
+        1e6,
+        1e7,
+        1e8,
+        1e9,
+        1e10,
+        1e11,
+        1e12,
+        1e13,
+        1e14,
+        1e15,
+        1e16,
+        1e17,
+        1e18,
+        1e19,
+        1e20,
+        1e21,
+        1e22 };
+    private static final int MAX_SIGNIFICAND_DIGITS = 18;
+    // The bits of a double's mantissa that are below the precision of a float, and their value at a float midpoint
+    private static final long BELOW_FLOAT_PRECISION_MASK = (1L << 29) - 1;
+    private static final long FLOAT_MIDPOINT = 1L << 28;
+    // Bound of the error of the fast path, in units of the last place of the computed double
+    private static final long MAX_FAST_PATH_ERROR = 8;
+
+    /**
+     * Parses a JSON number as the nearest float. Numbers with up to 18 significant digits and a small exponent,
+     * which covers what is written by JSON encoders for floats and doubles, are computed with double arithmetic,
+     * and others go through {@link Float#parseFloat(String)}.
+     */
+    static float parseFloat(char[] text, int offset, int length) {
+        final int end = offset + length;
+        int pos = offset;
+        final boolean negative = pos < end && text[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        long significand = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean truncated = false;
+        boolean hasDigits = false;
+        char c;
+        while (pos < end && (c = text[pos]) >= '0' && c <= '9') {
+            hasDigits = true;
+            if (digits < MAX_SIGNIFICAND_DIGITS) {
+                if (significand != 0 || c != '0') {
+                    significand = significand * 10 + (c - '0');
+                    digits++;
+                }
+            } else {
+                exponent++;
+                truncated |= c != '0';
+            }
+            pos++;
+        }
+        if (pos < end && text[pos] == '.') {
+            pos++;
+            while (pos < end && (c = text[pos]) >= '0' && c <= '9') {
+                hasDigits = true;
+                if (digits < MAX_SIGNIFICAND_DIGITS) {
+                    if (significand != 0 || c != '0') {
+                        significand = significand * 10 + (c - '0');
+                        digits++;
+                    }
+                    exponent--;
+                } else {
+                    truncated |= c != '0';
+                }
+                pos++;
+            }
+        }
+        if (pos < end && (text[pos] == 'e' || text[pos] == 'E')) {
+            pos++;
+            final boolean negativeExponent = pos < end && text[pos] == '-';
+            if (pos < end && (text[pos] == '-' || text[pos] == '+')) {
+                pos++;
+            }
+            int e = 0;
+            final int start = pos;
+            while (pos < end && (c = text[pos]) >= '0' && c <= '9') {
+                if (e < 10_000) {
+                    e = e * 10 + (c - '0');
+                }
+                pos++;
+            }
+            if (pos == start) {
+                return Float.parseFloat(new String(text, offset, length));
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+        if (pos != end || !hasDigits) {
+            // Let the JDK report the error
+            return Float.parseFloat(new String(text, offset, length));
+        }
+        if (significand == 0) {
+            return negative ? -0.0f : 0.0f;
+        }
+
+        if (exponent >= -22 && exponent <= 22) {
+            // With a significand below 2^53 both operands are exact, and the result is the double nearest to the
+            // number. Otherwise, the conversion of the significand and its truncation add a small error.
+            final double value = exponent >= 0 ? significand * POW10[exponent] : significand / POW10[-exponent];
+            final boolean exact = !truncated && significand <= (1L << 53);
+            if (value >= Float.MIN_NORMAL && value <= Float.MAX_VALUE) {
+                // Converting the double to a float rounds once more, which is only incorrect if the double is a
+                // float midpoint (or, if it is not exact, close to one) and the number isn't
+                final long distance = Math.abs((Double.doubleToRawLongBits(value) & BELOW_FLOAT_PRECISION_MASK) - FLOAT_MIDPOINT);
+                if (distance > (exact ? 0 : MAX_FAST_PATH_ERROR)) {
+                    final float result = (float) value;
+                    return negative ? -result : result;
+                }
+            }
+        }
+        return Float.parseFloat(new String(text, offset, length));
+    }
+}
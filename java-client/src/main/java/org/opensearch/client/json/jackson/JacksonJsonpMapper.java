@@ -36,6 +36,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import jakarta.json.spi.JsonProvider;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
@@ -46,6 +47,7 @@ import org.opensearch.client.json.JsonpDeserializerBase;
 import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.json.JsonpMapperBase;
 import org.opensearch.client.json.JsonpSerializer;
+import org.opensearch.client.json.JsonpUtils;
 
 public class JacksonJsonpMapper extends JsonpMapperBase {
 
@@ -118,12 +120,16 @@ public class JacksonJsonpMapper extends JsonpMapperBase {
         @Override
         public T deserialize(JsonParser parser, JsonpMapper mapper, JsonParser.Event event) {
 
-            if (!(parser instanceof JacksonJsonpParser)) {
-                throw new IllegalArgumentException("Jackson's ObjectMapper can only be used with the JacksonJsonpProvider");
+            com.fasterxml.jackson.core.JsonParser jkParser;
+            if (parser instanceof JacksonJsonpParser) {
+                jkParser = ((JacksonJsonpParser) parser).jacksonParser();
+            } else {
+                // Replay the value of a non-Jackson parser (e.g. a buffered JsonData) as Jackson tokens
+                TokenBuffer tokens = new TokenBuffer(objectMapper, false);
+                JsonpUtils.copy(parser, event, new JacksonJsonpGenerator(tokens));
+                jkParser = tokens.asParser();
             }
 
-            com.fasterxml.jackson.core.JsonParser jkParser = ((JacksonJsonpParser) parser).jacksonParser();
-
             try {
                 return objectMapper.readValue(jkParser, clazz);
             } catch (IOException ioe) {
@@ -33,6 +33,8 @@
 package org.opensearch.client.json.jackson;
 
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
 import com.fasterxml.jackson.core.util.JsonParserSequence;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 import jakarta.json.JsonArray;
@@ -42,12 +44,13 @@ import jakarta.json.stream.JsonLocation;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParsingException;
 import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
 import java.util.AbstractMap;
-import java.util.EnumMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import org.opensearch.client.json.LookAheadJsonParser;
 import org.opensearch.client.json.UnexpectedJsonEventException;
 
@@ -65,27 +68,33 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
 
     private boolean hasNextWasCalled = false;
 
-    private static final EnumMap<JsonToken, Event> tokenToEvent;
+    // Events indexed by token ordinal
+    private static final Event[] tokenToEvent;
 
     static {
-        tokenToEvent = new EnumMap<>(JsonToken.class);
-        tokenToEvent.put(JsonToken.END_ARRAY, Event.END_ARRAY);
-        tokenToEvent.put(JsonToken.END_OBJECT, Event.END_OBJECT);
-        tokenToEvent.put(JsonToken.FIELD_NAME, Event.KEY_NAME);
-        tokenToEvent.put(JsonToken.START_ARRAY, Event.START_ARRAY);
-        tokenToEvent.put(JsonToken.START_OBJECT, Event.START_OBJECT);
-        tokenToEvent.put(JsonToken.VALUE_FALSE, Event.VALUE_FALSE);
-        tokenToEvent.put(JsonToken.VALUE_NULL, Event.VALUE_NULL);
-        tokenToEvent.put(JsonToken.VALUE_NUMBER_FLOAT, Event.VALUE_NUMBER);
-        tokenToEvent.put(JsonToken.VALUE_NUMBER_INT, Event.VALUE_NUMBER);
-        tokenToEvent.put(JsonToken.VALUE_STRING, Event.VALUE_STRING);
-        tokenToEvent.put(JsonToken.VALUE_TRUE, Event.VALUE_TRUE);
+        tokenToEvent = new Event[JsonToken.values().length];
+        tokenToEvent[JsonToken.END_ARRAY.ordinal()] = Event.END_ARRAY;
+        tokenToEvent[JsonToken.END_OBJECT.ordinal()] = Event.END_OBJECT;
+        tokenToEvent[JsonToken.FIELD_NAME.ordinal()] = Event.KEY_NAME;
+        tokenToEvent[JsonToken.START_ARRAY.ordinal()] = Event.START_ARRAY;
+        tokenToEvent[JsonToken.START_OBJECT.ordinal()] = Event.START_OBJECT;
+        tokenToEvent[JsonToken.VALUE_FALSE.ordinal()] = Event.VALUE_FALSE;
+        tokenToEvent[JsonToken.VALUE_NULL.ordinal()] = Event.VALUE_NULL;
+        tokenToEvent[JsonToken.VALUE_NUMBER_FLOAT.ordinal()] = Event.VALUE_NUMBER;
+        tokenToEvent[JsonToken.VALUE_NUMBER_INT.ordinal()] = Event.VALUE_NUMBER;
+        tokenToEvent[JsonToken.VALUE_STRING.ordinal()] = Event.VALUE_STRING;
+        tokenToEvent[JsonToken.VALUE_TRUE.ordinal()] = Event.VALUE_TRUE;
 
         // No equivalent for
         // - VALUE_EMBEDDED_OBJECT
         // - NOT_AVAILABLE
     }
 
+    @Nullable
+    private static Event toEvent(@Nullable JsonToken token) {
+        return token == null ? null : tokenToEvent[token.ordinal()];
+    }
+
     public JacksonJsonpParser(com.fasterxml.jackson.core.JsonParser parser) {
         this.parser = parser;
     }
@@ -139,7 +148,7 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
             throw new NoSuchElementException();
         }
 
-        Event result = tokenToEvent.get(token);
+        Event result = tokenToEvent[token.ordinal()];
         if (result == null) {
             throw new JsonParsingException("Unsupported Jackson event type '" + token + "'", getLocation());
         }
@@ -193,6 +202,56 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
         }
     }
 
+    /**
+     * Returns the current number as a {@code double}, parsed directly from the JSON text. This avoids the
+     * intermediate {@code BigDecimal} of {@link #getBigDecimal()}, and is equal to its {@code doubleValue()}.
+     */
+    public double getDouble() {
+        ensureTokenIsCurrent();
+        try {
+            return parser.getDoubleValue();
+        } catch (IOException e) {
+            throw convertException(e);
+        }
+    }
+
+    /**
+     * Returns the current number as a {@code float}, parsed directly from the JSON text. This avoids the
+     * intermediate {@code BigDecimal} of {@link #getBigDecimal()}, and is equal to its {@code floatValue()}.
+     */
+    public float getFloat() {
+        ensureTokenIsCurrent();
+        try {
+            return parser.getFloatValue();
+        } catch (IOException e) {
+            throw convertException(e);
+        }
+    }
+
+    /**
+     * Returns the current number as the {@code numberValue()} of the {@code JsonNumber} returned by
+     * {@link #getValue()}, without creating that {@code JsonNumber}: an {@code Integer} or {@code Long} for integral
+     * numbers that fit, a {@code BigDecimal} otherwise.
+     */
+    public Number getNumber() {
+        ensureTokenIsCurrent();
+        try {
+            switch (parser.getNumberType()) {
+                case INT:
+                case LONG:
+                    return parser.getNumberValue();
+                case BIG_INTEGER:
+                    return new BigDecimal(parser.getBigIntegerValue());
+                case BIG_DECIMAL:
+                    return parser.getDecimalValue();
+                default:
+                    return BigDecimal.valueOf(parser.getDoubleValue());
+            }
+        } catch (IOException e) {
+            throw convertException(e);
+        }
+    }
+
     @Override
     public JsonLocation getLocation() {
         return new JacksonJsonpLocation(parser.getCurrentLocation());
@@ -326,13 +385,33 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
 
     // ----- Look ahead methods
 
+    // Parser returned by look ahead methods when the property that was looked up is the first one of the object. It is
+    // reused by all look ahead calls, each one starting once the object returned by the previous one has been read.
+    @Nullable
+    private PrefixParser prefixParser;
+    @Nullable
+    private JacksonJsonpParser prefixJsonpParser;
+
+    /**
+     * Returns a parser that reads the object the underlying parser is in, starting with its {@code START_OBJECT} event
+     * and its first property name, the underlying parser being on that first property's name or value.
+     */
+    private JacksonJsonpParser prefixParser(String outerName, @Nullable String fieldName) {
+        if (prefixParser == null) {
+            prefixParser = new PrefixParser(parser);
+            prefixJsonpParser = new JacksonJsonpParser(prefixParser);
+        }
+        prefixParser.reset(outerName, fieldName);
+        prefixJsonpParser.hasNextWasCalled = false;
+        return prefixJsonpParser;
+    }
+
     public Map.Entry<String, JsonParser> lookAheadFieldValue(String name, String defaultValue) {
 
-        TokenBuffer tb = new TokenBuffer(parser, null);
+        TokenBuffer tb = null;
 
         try {
-            // The resulting parser must contain the full object, including START_EVENT
-            tb.copyCurrentEvent(parser);
+            final String outerName = parser.currentName();
             while (parser.nextToken() != JsonToken.END_OBJECT) {
 
                 expectEvent(JsonToken.FIELD_NAME);
@@ -341,6 +420,11 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
                 String fieldName = parser.getCurrentName();
                 if (fieldName.equals(name)) {
                     // Found
+                    if (tb == null) {
+                        // First property: its value is read directly from the underlying parser
+                        expectNextEvent(JsonToken.VALUE_STRING);
+                        return new AbstractMap.SimpleImmutableEntry<>(parser.getText(), prefixParser(outerName, fieldName));
+                    }
                     tb.copyCurrentEvent(parser);
                     expectNextEvent(JsonToken.VALUE_STRING);
                     tb.copyCurrentEvent(parser);
@@ -350,10 +434,12 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
                         new JacksonJsonpParser(JsonParserSequence.createFlattened(false, tb.asParser(), parser))
                     );
                 } else {
+                    tb = startBuffer(tb);
                     tb.copyCurrentStructure(parser);
                 }
             }
             // Copy ending END_OBJECT
+            tb = startBuffer(tb);
             tb.copyCurrentEvent(parser);
         } catch (IOException e) {
             throw JacksonUtils.convertException(e);
@@ -369,11 +455,10 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
     @Override
     public <Variant> Map.Entry<Variant, JsonParser> findVariant(Map<String, Variant> variants) {
         // We're on a START_OBJECT event
-        TokenBuffer tb = new TokenBuffer(parser, null);
+        TokenBuffer tb = null;
 
         try {
-            // The resulting parser must contain the full object, including START_EVENT
-            tb.copyCurrentEvent(parser);
+            final String outerName = parser.currentName();
             while (parser.nextToken() != JsonToken.END_OBJECT) {
 
                 expectEvent(JsonToken.FIELD_NAME);
@@ -381,16 +466,22 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
 
                 Variant variant = variants.get(fieldName);
                 if (variant != null) {
+                    if (tb == null) {
+                        // First property: the rest of the object is read directly from the underlying parser
+                        return new AbstractMap.SimpleImmutableEntry<>(variant, prefixParser(outerName, null));
+                    }
                     tb.copyCurrentEvent(parser);
                     return new AbstractMap.SimpleImmutableEntry<>(
                         variant,
                         new JacksonJsonpParser(JsonParserSequence.createFlattened(false, tb.asParser(), parser))
                     );
                 } else {
+                    tb = startBuffer(tb);
                     tb.copyCurrentStructure(parser);
                 }
             }
             // Copy ending END_OBJECT
+            tb = startBuffer(tb);
             tb.copyCurrentEvent(parser);
         } catch (IOException e) {
             throw JacksonUtils.convertException(e);
@@ -403,17 +494,264 @@ public class JacksonJsonpParser implements LookAheadJsonParser {
         );
     }
 
+    /**
+     * Returns the buffer that holds the properties read before the one that was looked up, creating it on the first
+     * one. The resulting parser must contain the full object, including START_OBJECT.
+     */
+    private TokenBuffer startBuffer(@Nullable TokenBuffer tb) throws IOException {
+        if (tb == null) {
+            tb = new TokenBuffer(parser, null);
+            tb.writeStartObject();
+        }
+        return tb;
+    }
+
     private void expectNextEvent(JsonToken expected) throws IOException {
         JsonToken event = parser.nextToken();
         if (event != expected) {
-            throw new UnexpectedJsonEventException(this, tokenToEvent.get(event), tokenToEvent.get(expected));
+            throw new UnexpectedJsonEventException(this, toEvent(event), toEvent(expected));
         }
     }
 
     private void expectEvent(JsonToken expected) {
         JsonToken event = parser.currentToken();
         if (event != expected) {
-            throw new UnexpectedJsonEventException(this, tokenToEvent.get(event), tokenToEvent.get(expected));
+            throw new UnexpectedJsonEventException(this, toEvent(event), toEvent(expected));
+        }
+    }
+
+    /**
+     * A Jackson parser that replays the {@code START_OBJECT} token, and optionally the first property name, of the
+     * object the underlying parser is in, before reading the rest of the object from the underlying parser. The last
+     * replayed token is the underlying parser's current token, which is returned as it is.
+     */
+    private static final class PrefixParser extends JsonParserDelegate {
+        private static final int BEFORE_OBJECT = 0;
+        private static final int ON_START_OBJECT = 1;
+        private static final int ON_FIELD_NAME = 2;
+        private static final int DELEGATING = 3;
+
+        private int state = DELEGATING;
+        @Nullable
+        private String outerName;
+        // Name of the first property when it is replayed, i.e. when the underlying parser is on its value
+        @Nullable
+        private String fieldName;
+
+        PrefixParser(com.fasterxml.jackson.core.JsonParser parser) {
+            super(parser);
+        }
+
+        void reset(@Nullable String outerName, @Nullable String fieldName) {
+            this.state = BEFORE_OBJECT;
+            this.outerName = outerName;
+            this.fieldName = fieldName;
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            switch (state) {
+                case BEFORE_OBJECT:
+                    state = ON_START_OBJECT;
+                    return JsonToken.START_OBJECT;
+                case ON_START_OBJECT:
+                    if (fieldName != null) {
+                        state = ON_FIELD_NAME;
+                        return JsonToken.FIELD_NAME;
+                    }
+                    state = DELEGATING;
+                    return delegate.currentToken();
+                case ON_FIELD_NAME:
+                    state = DELEGATING;
+                    return delegate.currentToken();
+                default:
+                    return delegate.nextToken();
+            }
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            if (token == JsonToken.FIELD_NAME) {
+                token = nextToken();
+            }
+            return token;
+        }
+
+        @Override
+        public com.fasterxml.jackson.core.JsonParser skipChildren() throws IOException {
+            if (state == ON_START_OBJECT) {
+                state = DELEGATING;
+                if (delegate.currentToken() == JsonToken.FIELD_NAME) {
+                    delegate.nextToken();
+                }
+                // On the value of the first property
+                delegate.skipChildren();
+                while (delegate.nextToken() != JsonToken.END_OBJECT) {
+                    delegate.nextToken();
+                    delegate.skipChildren();
+                }
+                return this;
+            }
+            return state == DELEGATING ? delegate.skipChildren() : this;
+        }
+
+        @Override
+        public JsonToken currentToken() {
+            switch (state) {
+                case BEFORE_OBJECT:
+                    return null;
+                case ON_START_OBJECT:
+                    return JsonToken.START_OBJECT;
+                case ON_FIELD_NAME:
+                    return JsonToken.FIELD_NAME;
+                default:
+                    return delegate.currentToken();
+            }
+        }
+
+        @Override
+        public JsonToken getCurrentToken() {
+            return currentToken();
+        }
+
+        @Override
+        public int currentTokenId() {
+            switch (state) {
+                case BEFORE_OBJECT:
+                    return JsonTokenId.ID_NO_TOKEN;
+                case ON_START_OBJECT:
+                    return JsonTokenId.ID_START_OBJECT;
+                case ON_FIELD_NAME:
+                    return JsonTokenId.ID_FIELD_NAME;
+                default:
+                    return delegate.currentTokenId();
+            }
+        }
+
+        @Override
+        public boolean hasCurrentToken() {
+            return state == DELEGATING ? delegate.hasCurrentToken() : state != BEFORE_OBJECT;
+        }
+
+        @Override
+        public boolean hasTokenId(int id) {
+            return currentTokenId() == id;
+        }
+
+        @Override
+        public boolean hasToken(JsonToken token) {
+            return currentToken() == token;
+        }
+
+        @Override
+        public boolean isExpectedStartArrayToken() {
+            return state == DELEGATING && delegate.isExpectedStartArrayToken();
+        }
+
+        @Override
+        public boolean isExpectedStartObjectToken() {
+            return state == DELEGATING ? delegate.isExpectedStartObjectToken() : state == ON_START_OBJECT;
+        }
+
+        @Override
+        public boolean isExpectedNumberIntToken() {
+            return state == DELEGATING && delegate.isExpectedNumberIntToken();
+        }
+
+        @Override
+        public String currentName() throws IOException {
+            switch (state) {
+                case BEFORE_OBJECT:
+                case ON_START_OBJECT:
+                    return outerName;
+                case ON_FIELD_NAME:
+                    return fieldName;
+                default:
+                    return delegate.currentName();
+            }
+        }
+
+        @Override
+        public String getCurrentName() throws IOException {
+            return currentName();
+        }
+
+        @Override
+        public String getText() throws IOException {
+            switch (state) {
+                case BEFORE_OBJECT:
+                    return null;
+                case ON_START_OBJECT:
+                    return "{";
+                case ON_FIELD_NAME:
+                    return fieldName;
+                default:
+                    return delegate.getText();
+            }
+        }
+
+        @Override
+        public boolean hasTextCharacters() {
+            return state == DELEGATING && delegate.hasTextCharacters();
+        }
+
+        @Override
+        public char[] getTextCharacters() throws IOException {
+            if (state == DELEGATING) {
+                return delegate.getTextCharacters();
+            }
+            final String text = getText();
+            return text == null ? null : text.toCharArray();
+        }
+
+        @Override
+        public int getTextLength() throws IOException {
+            if (state == DELEGATING) {
+                return delegate.getTextLength();
+            }
+            final String text = getText();
+            return text == null ? 0 : text.length();
+        }
+
+        @Override
+        public int getTextOffset() throws IOException {
+            return state == DELEGATING ? delegate.getTextOffset() : 0;
+        }
+
+        @Override
+        public int getText(Writer writer) throws IOException {
+            if (state == DELEGATING) {
+                return delegate.getText(writer);
+            }
+            final String text = getText();
+            if (text == null) {
+                return 0;
+            }
+            writer.write(text);
+            return text.length();
+        }
+
+        @Override
+        public String getValueAsString() throws IOException {
+            return getValueAsString(null);
+        }
+
+        @Override
+        public String getValueAsString(String defaultValue) throws IOException {
+            if (state == DELEGATING) {
+                return delegate.getValueAsString(defaultValue);
+            }
+            return state == ON_FIELD_NAME ? fieldName : defaultValue;
+        }
+
+        @Override
+        public void clearCurrentToken() {
+            if (state == DELEGATING) {
+                delegate.clearCurrentToken();
+            } else {
+                state = BEFORE_OBJECT;
+            }
         }
     }
 }
@@ -37,7 +37,6 @@ import jakarta.json.bind.spi.JsonbProvider;
 import jakarta.json.spi.JsonProvider;
 import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
-import jakarta.json.stream.JsonParser.Event;
 import java.io.CharArrayReader;
 import java.io.CharArrayWriter;
 import java.util.EnumSet;
@@ -46,6 +45,7 @@ import org.opensearch.client.json.JsonpDeserializerBase;
 import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.json.JsonpMapperBase;
 import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.JsonpUtils;
 
 public class JsonbJsonpMapper extends JsonpMapperBase {
 
@@ -83,7 +83,7 @@ public class JsonbJsonpMapper extends JsonpMapperBase {
 
         CharArrayReader car = new CharArrayReader(caw.toCharArray());
         JsonParser parser = jsonProvider.createParser(car);
-        transferAll(parser, generator);
+        JsonpUtils.copy(parser, parser.next(), generator);
     }
 
     @Override
@@ -108,108 +108,11 @@ public class JsonbJsonpMapper extends JsonpMapperBase {
             // here at runtime if the mapper implements this interface and use it if present.
             CharArrayWriter caw = new CharArrayWriter();
             JsonGenerator generator = jsonProvider.createGenerator(caw);
-            transferAll(parser, event, generator);
+            JsonpUtils.copy(parser, event, generator);
             generator.close();
 
             CharArrayReader car = new CharArrayReader(caw.toCharArray());
             return jsonb.fromJson(car, clazz);
         }
     }
-
-    private void transferAll(JsonParser from, JsonGenerator to) {
-        transferAll(from, from.next(), to);
-    }
-
-    /**
-     * Pipe a JSON parser to a JSON generator.
-     */
-    private void transferAll(JsonParser from, JsonParser.Event event, JsonGenerator to) {
-        transferEvent(from, event, to);
-        switch (event) {
-            case START_OBJECT: {
-                int depth = 1;
-                do {
-                    event = from.next();
-                    transferEvent(from, event, to);
-                    switch (event) {
-                        case START_OBJECT:
-                            depth++;
-                            break;
-                        case END_OBJECT:
-                            depth--;
-                            break;
-                    }
-                } while (!(event == Event.END_OBJECT && depth == 0));
-            }
-                break;
-
-            case START_ARRAY: {
-                int depth = 1;
-                do {
-                    event = from.next();
-                    transferEvent(from, event, to);
-                    switch (event) {
-                        case START_ARRAY:
-                            depth++;
-                            break;
-                        case END_ARRAY:
-                            depth--;
-                            break;
-                    }
-                } while (!(event == Event.END_ARRAY && depth == 0));
-            }
-                break;
-
-            default:
-                // nothing more
-        }
-    }
-
-    /**
-     * Transfer a single event from a parser to a generator
-     */
-    private void transferEvent(JsonParser from, JsonParser.Event event, JsonGenerator to) {
-        switch (event) {
-            case START_OBJECT:
-                to.writeStartObject();
-                break;
-
-            case START_ARRAY:
-                to.writeStartArray();
-                break;
-
-            case END_OBJECT:
-            case END_ARRAY:
-                to.writeEnd();
-                break;
-
-            case KEY_NAME:
-                to.writeKey(from.getString());
-                break;
-
-            case VALUE_STRING:
-                to.write(from.getString());
-                break;
-
-            case VALUE_NUMBER:
-                if (from.isIntegralNumber()) {
-                    to.write(from.getLong());
-                } else {
-                    to.write(from.getBigDecimal());
-                }
-                break;
-
-            case VALUE_NULL:
-                to.writeNull();
-                break;
-
-            case VALUE_TRUE:
-                to.write(true);
-                break;
-
-            case VALUE_FALSE:
-                to.write(false);
-                break;
-        }
-    }
 }
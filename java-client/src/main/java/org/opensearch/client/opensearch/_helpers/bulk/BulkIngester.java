@@ -0,0 +1,767 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.bulk;
+
+import jakarta.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.NdJsonpSerializable;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.CreateOperation;
+import org.opensearch.client.opensearch.core.bulk.IndexOperation;
+import org.opensearch.client.util.ApiTypeHelper;
+import org.opensearch.client.util.BinaryData;
+import org.opensearch.client.util.ObjectBuilder;
+import org.opensearch.client.util.ObjectBuilderBase;
+
+/**
+ * Ingests bulk operations, sending them in bulk requests that are flushed when they reach a number of operations, an
+ * estimated size in bytes, or after a time interval.
+ * <p>
+ * At most {@code maxConcurrentRequests} bulk requests are in flight at any time. Once this limit is reached and the
+ * pending request is full, {@link #add(BulkOperation, Object)} blocks until a request completes: producers are slowed
+ * down to the pace of the cluster, and at most {@code maxConcurrentRequests + 1} requests worth of operations are held
+ * in memory.
+ * <p>
+ * Operations that fail with a {@code 429 Too Many Requests} status are retried with an exponential backoff, the
+ * request keeping its concurrency slot until all of its retries are done. Other failures are reported to the
+ * {@link BulkListener} and not retried.
+ * <p>
+ * Unless size estimation is disabled, the documents of index and create operations are serialized once when they are
+ * added: their size is that of the serialized bytes, which are then copied as they are into the request. The
+ * requests given to the listener hold these documents as {@link BinaryData}.
+ *
+ * @param <Context> the type of the context values that can be associated with operations, and that are given back
+ *                 to the listener.
+ */
+public class BulkIngester<Context> implements AutoCloseable {
+    private static final Log logger = LogFactory.getLog(BulkIngester.class);
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final AtomicInteger SCHEDULER_IDS = new AtomicInteger();
+
+    private final OpenSearchAsyncClient client;
+    private final JsonpMapper mapper;
+    private final int maxOperations;
+    private final long maxSize;
+    private final int maxConcurrentRequests;
+    private final int maxRetries;
+    private final long backoffMillis;
+    @Nullable
+    private final Function<BulkRequest.Builder, BulkRequest.Builder> globalSettings;
+    @Nullable
+    private final BulkListener<Context> listener;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    @Nullable
+    private final ScheduledFuture<?> flushTask;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private List<BulkOperation> operations = new ArrayList<>();
+    private List<Context> contexts = new ArrayList<>();
+    private long size;
+    private int inFlightRequests;
+    private boolean closed;
+
+    private final AtomicLong executionIds = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong operationCount = new AtomicLong();
+    private final AtomicLong retriedOperationCount = new AtomicLong();
+
+    private BulkIngester(Builder<Context> builder) {
+        this.client = ApiTypeHelper.requireNonNull(builder.client, builder, "client");
+        this.mapper = client._transport().jsonpMapper();
+        this.maxOperations = builder.maxOperations;
+        this.maxSize = builder.maxSize;
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
+        this.maxRetries = builder.maxRetries;
+        this.backoffMillis = builder.backoffMillis;
+        this.globalSettings = builder.globalSettings;
+        this.listener = builder.listener;
+
+        if (builder.scheduler != null) {
+            this.scheduler = builder.scheduler;
+            this.ownsScheduler = false;
+        } else {
+            final int id = SCHEDULER_IDS.incrementAndGet();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "bulk-ingester-" + id);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.ownsScheduler = true;
+        }
+
+        if (builder.flushIntervalMillis > 0) {
+            this.flushTask = scheduler.scheduleWithFixedDelay(
+                this::flushIfIdle,
+                builder.flushIntervalMillis,
+                builder.flushIntervalMillis,
+                TimeUnit.MILLISECONDS
+            );
+        } else {
+            this.flushTask = null;
+        }
+    }
+
+    public static <Context> BulkIngester<Context> of(Function<Builder<Context>, ObjectBuilder<BulkIngester<Context>>> fn) {
+        return fn.apply(new Builder<>()).build();
+    }
+
+    /**
+     * Adds an operation, blocking while the pending request is full and {@code maxConcurrentRequests} requests are
+     * in flight.
+     *
+     * @param operation the operation
+     * @param context a value given back to the listener along with the operation, can be {@code null}
+     * @throws IllegalStateException if the ingester is closed, or if the thread was interrupted while waiting
+     */
+    public void add(BulkOperation operation, @Nullable Context context) {
+        final boolean estimateSize = maxSize < Long.MAX_VALUE;
+        final BulkOperation op = estimateSize ? withSerializedDocument(operation) : operation;
+        final long operationSize = estimateSize ? estimateSize(op) : 0;
+        Batch batch = null;
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Bulk ingester is closed");
+            }
+            while (isFull()) {
+                if (inFlightRequests < maxConcurrentRequests) {
+                    batch = takeBatch();
+                } else {
+                    awaitStateChange();
+                }
+            }
+
+            operations.add(op);
+            contexts.add(context);
+            size += operationSize;
+
+            if (batch == null && isFull() && inFlightRequests < maxConcurrentRequests) {
+                batch = takeBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Adds an operation, blocking while the pending request is full and {@code maxConcurrentRequests} requests are
+     * in flight.
+     *
+     * @param operation the operation
+     * @throws IllegalStateException if the ingester is closed, or if the thread was interrupted while waiting
+     */
+    public void add(BulkOperation operation) {
+        add(operation, null);
+    }
+
+    /**
+     * Adds an operation, blocking while the pending request is full and {@code maxConcurrentRequests} requests are
+     * in flight.
+     *
+     * @param fn a function building the operation
+     * @throws IllegalStateException if the ingester is closed, or if the thread was interrupted while waiting
+     */
+    public void add(Function<BulkOperation.Builder, ObjectBuilder<BulkOperation>> fn) {
+        add(fn.apply(new BulkOperation.Builder()).build(), null);
+    }
+
+    /**
+     * Sends the pending operations, if any, blocking while {@code maxConcurrentRequests} requests are in flight.
+     *
+     * @throws IllegalStateException if the thread was interrupted while waiting
+     */
+    public void flush() {
+        Batch batch = null;
+        lock.lock();
+        try {
+            while (batch == null && !operations.isEmpty()) {
+                if (inFlightRequests < maxConcurrentRequests) {
+                    batch = takeBatch();
+                } else {
+                    awaitStateChange();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Sends the pending operations and waits for all requests to complete, including their retries. Operations
+     * can no longer be added afterwards.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            while (!operations.isEmpty() || inFlightRequests > 0) {
+                if (!operations.isEmpty() && inFlightRequests < maxConcurrentRequests) {
+                    final Batch batch = takeBatch();
+                    lock.unlock();
+                    try {
+                        send(batch);
+                    } finally {
+                        lock.lock();
+                    }
+                    continue;
+                }
+                try {
+                    stateChanged.await();
+                } catch (InterruptedException e) {
+                    // keep waiting, requests can't be abandoned
+                    interrupted = true;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (ownsScheduler) {
+            scheduler.shutdown();
+            // Wait for retries and listener calls still running on the scheduler
+            while (!scheduler.isTerminated()) {
+                try {
+                    scheduler.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Number of operations that have not been sent yet.
+     */
+    public int pendingOperations() {
+        lock.lock();
+        try {
+            return operations.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of bulk requests currently in flight, including the ones waiting for a retry.
+     */
+    public int pendingRequests() {
+        lock.lock();
+        try {
+            return inFlightRequests;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of bulk requests sent, not counting retries.
+     */
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Number of operations sent, not counting retries.
+     */
+    public long operationCount() {
+        return operationCount.get();
+    }
+
+    /**
+     * Number of operations that have been retried after failing with a {@code 429 Too Many Requests} status.
+     */
+    public long retriedOperationCount() {
+        return retriedOperationCount.get();
+    }
+
+    // ----- Buffering, must be called while holding the lock
+
+    private boolean isFull() {
+        return !operations.isEmpty() && (operations.size() >= maxOperations || size >= maxSize);
+    }
+
+    private Batch takeBatch() {
+        final Batch batch = new Batch(executionIds.incrementAndGet(), operations, contexts);
+        operations = new ArrayList<>();
+        contexts = new ArrayList<>();
+        size = 0;
+        inFlightRequests++;
+        return batch;
+    }
+
+    private void awaitStateChange() {
+        try {
+            stateChanged.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a bulk request to complete", e);
+        }
+    }
+
+    /**
+     * Flushes pending operations on the scheduler, unless all requests are in flight: the scheduler also runs retries,
+     * and must not be blocked.
+     */
+    private void flushIfIdle() {
+        Batch batch = null;
+        lock.lock();
+        try {
+            if (!operations.isEmpty() && inFlightRequests < maxConcurrentRequests) {
+                batch = takeBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    // ----- Request execution
+
+    private void send(Batch batch) {
+        requestCount.incrementAndGet();
+        operationCount.addAndGet(batch.operations.size());
+        final BulkRequest request = newRequest(batch.operations);
+        if (listener != null) {
+            try {
+                listener.beforeBulk(batch.executionId, request, batch.contexts);
+            } catch (Exception e) {
+                logger.warn("Bulk listener failed in beforeBulk", e);
+            }
+        }
+
+        final int[] positions = new int[batch.operations.size()];
+        Arrays.setAll(positions, i -> i);
+        execute(batch, request, request, positions, 0);
+    }
+
+    private void execute(Batch batch, BulkRequest request, BulkRequest attemptRequest, int[] positions, int attempt) {
+        CompletableFuture<BulkResponse> future;
+        try {
+            future = client.bulk(attemptRequest);
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        future.whenComplete((response, failure) -> {
+            if (failure != null) {
+                if (failure instanceof CompletionException && failure.getCause() != null) {
+                    failure = failure.getCause();
+                }
+                complete(batch, request, null, failure);
+            } else {
+                try {
+                    onResponse(batch, request, response, positions, attempt);
+                } catch (Exception e) {
+                    complete(batch, request, null, e);
+                }
+            }
+        });
+    }
+
+    private void onResponse(Batch batch, BulkRequest request, BulkResponse response, int[] positions, int attempt) {
+        final List<BulkResponseItem> items = response.items();
+        batch.took += response.took();
+        if (items.size() != positions.length) {
+            // Should not happen: the response can't be matched to operations
+            throw new IllegalStateException(
+                "Bulk response has " + items.size() + " items, but " + positions.length + " operations were sent"
+            );
+        }
+
+        int retries = 0;
+        for (int i = 0; i < positions.length; i++) {
+            final BulkResponseItem item = items.get(i);
+            batch.results[positions[i]] = item;
+            if (item.status() == TOO_MANY_REQUESTS) {
+                retries++;
+            }
+        }
+
+        if (retries == 0 || attempt >= maxRetries) {
+            complete(batch, request, response(batch), null);
+            return;
+        }
+
+        final int[] retryPositions = new int[retries];
+        final List<BulkOperation> retryOperations = new ArrayList<>(retries);
+        int j = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (items.get(i).status() == TOO_MANY_REQUESTS) {
+                retryPositions[j++] = positions[i];
+                retryOperations.add(batch.operations.get(positions[i]));
+            }
+        }
+        retriedOperationCount.addAndGet(retries);
+
+        final long delay = backoffMillis << Math.min(attempt, 30);
+        final BulkRequest retryRequest = newRequest(retryOperations);
+        scheduler.schedule(() -> execute(batch, request, retryRequest, retryPositions, attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private BulkResponse response(Batch batch) {
+        final List<BulkResponseItem> items = Collections.unmodifiableList(Arrays.asList(batch.results));
+        boolean errors = false;
+        for (BulkResponseItem item : items) {
+            if (item.error() != null) {
+                errors = true;
+                break;
+            }
+        }
+        final boolean hasErrors = errors;
+        return BulkResponse.of(b -> b.items(items).errors(hasErrors).took(batch.took));
+    }
+
+    private void complete(Batch batch, BulkRequest request, @Nullable BulkResponse response, @Nullable Throwable failure) {
+        if (listener != null) {
+            try {
+                if (failure != null) {
+                    listener.afterBulk(batch.executionId, request, batch.contexts, failure);
+                } else {
+                    listener.afterBulk(batch.executionId, request, batch.contexts, response);
+                }
+            } catch (Exception e) {
+                logger.warn("Bulk listener failed in afterBulk", e);
+            }
+        } else if (failure != null) {
+            logger.warn("Bulk request " + batch.executionId + " failed", failure);
+        }
+
+        Batch next = null;
+        lock.lock();
+        try {
+            inFlightRequests--;
+            // Nobody may be waiting to send a full request: do it here
+            if (isFull()) {
+                next = takeBatch();
+            }
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (next != null) {
+            // Don't serialize the next request on the client's response thread
+            final Batch batchToSend = next;
+            scheduler.execute(() -> send(batchToSend));
+        }
+    }
+
+    private BulkRequest newRequest(List<BulkOperation> operations) {
+        BulkRequest.Builder builder = new BulkRequest.Builder();
+        if (globalSettings != null) {
+            builder = globalSettings.apply(builder);
+        }
+        return builder.operations(operations).build();
+    }
+
+    /**
+     * Replaces the document of an index or create operation with its serialized bytes, so that its size is known and
+     * it is not serialized again when the request is sent.
+     */
+    private BulkOperation withSerializedDocument(BulkOperation operation) {
+        if (operation.isIndex()) {
+            final IndexOperation<?> op = operation.index();
+            if (op.document() instanceof BinaryData) {
+                return operation;
+            }
+            final BinaryData document = serialize(op.document());
+            return BulkOperation.of(
+                b -> b.index(
+                    i -> i.index(op.index())
+                        .id(op.id())
+                        .routing(op.routing())
+                        .ifPrimaryTerm(op.ifPrimaryTerm())
+                        .ifSeqNo(op.ifSeqNo())
+                        .version(op.version())
+                        .versionType(op.versionType())
+                        .pipeline(op.pipeline())
+                        .requireAlias(op.requireAlias())
+                        .document(document)
+                )
+            );
+        } else if (operation.isCreate()) {
+            final CreateOperation<?> op = operation.create();
+            if (op.document() instanceof BinaryData) {
+                return operation;
+            }
+            final BinaryData document = serialize(op.document());
+            return BulkOperation.of(
+                b -> b.create(
+                    c -> c.index(op.index())
+                        .id(op.id())
+                        .routing(op.routing())
+                        .ifPrimaryTerm(op.ifPrimaryTerm())
+                        .ifSeqNo(op.ifSeqNo())
+                        .version(op.version())
+                        .versionType(op.versionType())
+                        .pipeline(op.pipeline())
+                        .requireAlias(op.requireAlias())
+                        .document(document)
+                )
+            );
+        }
+        return operation;
+    }
+
+    private BinaryData serialize(Object document) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(out)) {
+            mapper.serialize(document, generator);
+        }
+        return BinaryData.of(out.toByteArray(), BinaryData.APPLICATION_JSON);
+    }
+
+    /**
+     * Estimates the size of an operation in the request by serializing it, serialized documents being counted by
+     * their size.
+     */
+    private long estimateSize(BulkOperation operation) {
+        final CountingOutputStream out = new CountingOutputStream();
+        estimateSize(operation, out);
+        return out.count;
+    }
+
+    private void estimateSize(NdJsonpSerializable value, CountingOutputStream out) {
+        final Iterator<?> values = value._serializables();
+        while (values.hasNext()) {
+            final Object item = values.next();
+            if (item instanceof NdJsonpSerializable && item != value) {
+                estimateSize((NdJsonpSerializable) item, out);
+            } else if (item instanceof BinaryData) {
+                out.count += ((BinaryData) item).size() + 1;
+            } else {
+                final JsonGenerator generator = mapper.jsonProvider().createGenerator(out);
+                mapper.serialize(item, generator);
+                generator.close();
+                out.count++; // new line
+            }
+        }
+    }
+
+    private class Batch {
+        final long executionId;
+        final List<BulkOperation> operations;
+        final List<Context> contexts;
+        final BulkResponseItem[] results;
+        long took;
+
+        Batch(long executionId, List<BulkOperation> operations, List<Context> contexts) {
+            this.executionId = executionId;
+            this.operations = operations;
+            this.contexts = Collections.unmodifiableList(contexts);
+            this.results = new BulkResponseItem[operations.size()];
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Builder for {@link BulkIngester}.
+     */
+    public static class Builder<Context> extends ObjectBuilderBase implements ObjectBuilder<BulkIngester<Context>> {
+        private OpenSearchAsyncClient client;
+        private int maxOperations = 1000;
+        private long maxSize = 5 * 1024 * 1024;
+        private int maxConcurrentRequests = 1;
+        private long flushIntervalMillis = -1;
+        private int maxRetries = 3;
+        private long backoffMillis = 50;
+        @Nullable
+        private Function<BulkRequest.Builder, BulkRequest.Builder> globalSettings;
+        @Nullable
+        private BulkListener<Context> listener;
+        @Nullable
+        private ScheduledExecutorService scheduler;
+
+        /**
+         * Required - the client used to send bulk requests.
+         */
+        public final Builder<Context> client(OpenSearchAsyncClient value) {
+            this.client = value;
+            return this;
+        }
+
+        /**
+         * The number of operations that triggers a flush. Defaults to 1000.
+         */
+        public final Builder<Context> maxOperations(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("maxOperations must be positive");
+            }
+            this.maxOperations = value;
+            return this;
+        }
+
+        /**
+         * The estimated size in bytes of the operations that triggers a flush. Defaults to 5Mb, {@code Long.MAX_VALUE}
+         * disables size estimation, which requires serializing every operation.
+         */
+        public final Builder<Context> maxSize(long value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("maxSize must be positive");
+            }
+            this.maxSize = value;
+            return this;
+        }
+
+        /**
+         * The maximum number of bulk requests in flight. Defaults to 1.
+         */
+        public final Builder<Context> maxConcurrentRequests(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+            }
+            this.maxConcurrentRequests = value;
+            return this;
+        }
+
+        /**
+         * The interval after which pending operations are flushed. Disabled by default.
+         */
+        public final Builder<Context> flushInterval(long value, TimeUnit unit) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("flushInterval must be positive");
+            }
+            this.flushIntervalMillis = unit.toMillis(value);
+            return this;
+        }
+
+        /**
+         * The number of times operations that failed with a {@code 429 Too Many Requests} status are retried,
+         * {@code 0} to disable retries. Defaults to 3.
+         */
+        public final Builder<Context> maxRetries(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("maxRetries must not be negative");
+            }
+            this.maxRetries = value;
+            return this;
+        }
+
+        /**
+         * The delay before the first retry, doubled for each subsequent retry. Defaults to 50ms.
+         */
+        public final Builder<Context> backoff(long value, TimeUnit unit) {
+            if (value < 0) {
+                throw new IllegalArgumentException("backoff must not be negative");
+            }
+            this.backoffMillis = unit.toMillis(value);
+            return this;
+        }
+
+        /**
+         * Settings applied to every bulk request, such as the default index or pipeline.
+         */
+        public final Builder<Context> globalSettings(@Nullable Function<BulkRequest.Builder, BulkRequest.Builder> fn) {
+            this.globalSettings = fn;
+            return this;
+        }
+
+        /**
+         * The listener notified of the bulk requests.
+         */
+        public final Builder<Context> listener(@Nullable BulkListener<Context> value) {
+            this.listener = value;
+            return this;
+        }
+
+        /**
+         * The scheduler used for flush intervals and retries. A single-threaded scheduler is created, and shut down
+         * when the ingester is closed, if none is provided.
+         */
+        public final Builder<Context> scheduler(@Nullable ScheduledExecutorService value) {
+            this.scheduler = value;
+            return this;
+        }
+
+        /**
+         * Builds a {@link BulkIngester}.
+         *
+         * @throws NullPointerException
+         *             if some of the required fields are null.
+         */
+        public BulkIngester<Context> build() {
+            _checkSingleUse();
+
+            return new BulkIngester<>(this);
+        }
+    }
+}
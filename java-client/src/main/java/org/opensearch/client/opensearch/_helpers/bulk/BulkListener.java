@@ -0,0 +1,54 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.bulk;
+
+import java.util.List;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+
+/**
+ * A listener that is notified of the bulk requests sent by a {@link BulkIngester}.
+ * <p>
+ * Callbacks may be invoked concurrently, from the threads that add operations to the ingester as well as from
+ * the client's threads. They should return quickly, and must not call {@link BulkIngester#close()}.
+ *
+ * @param <Context> the type of the context values associated with operations
+ */
+public interface BulkListener<Context> {
+
+    /**
+     * Called before a bulk request is sent.
+     *
+     * @param executionId the id of this flush, unique within the ingester
+     * @param request the bulk request
+     * @param contexts the contexts of the request's operations, in the same order
+     */
+    void beforeBulk(long executionId, BulkRequest request, List<Context> contexts);
+
+    /**
+     * Called once a bulk request has completed. Items that failed with a {@code 429 Too Many Requests} status have
+     * already been retried: the response contains the last result of each operation, in the order of the request.
+     *
+     * @param executionId the id of this flush, unique within the ingester
+     * @param request the bulk request
+     * @param contexts the contexts of the request's operations, in the same order
+     * @param response the bulk response
+     */
+    void afterBulk(long executionId, BulkRequest request, List<Context> contexts, BulkResponse response);
+
+    /**
+     * Called when a bulk request could not be executed.
+     *
+     * @param executionId the id of this flush, unique within the ingester
+     * @param request the bulk request
+     * @param contexts the contexts of the request's operations, in the same order
+     * @param failure the failure
+     */
+    void afterBulk(long executionId, BulkRequest request, List<Context> contexts, Throwable failure);
+}
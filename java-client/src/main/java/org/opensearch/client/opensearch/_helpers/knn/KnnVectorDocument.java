@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.knn;
+
+import jakarta.json.stream.JsonGenerator;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.JsonpUtils;
+import org.opensearch.client.json.VectorCodec;
+import org.opensearch.client.util.ObjectBuilder;
+import org.opensearch.client.util.ObjectBuilderBase;
+
+/**
+ * A document with {@code knn_vector} fields, to be used as the document of index, create and update operations.
+ * <p>
+ * Vectors are held as {@code float[]} or {@code byte[]} arrays and written with {@link VectorCodec}, instead of going
+ * through the generic mapping of the {@link JsonpMapper} that boxes each element. Other fields are written with the
+ * mapper.
+ * <pre>{@code
+ * BulkOperation.of(b -> b.index(i -> i.index("products").id(id).document(
+ *     KnnVectorDocument.of(d -> d.field("title", title).vector("embedding", embedding))
+ * )));
+ * }</pre>
+ */
+public final class KnnVectorDocument implements JsonpSerializable {
+
+    private final Map<String, Object> fields;
+
+    private KnnVectorDocument(Builder builder) {
+        this.fields = Collections.unmodifiableMap(builder.fields);
+    }
+
+    public static KnnVectorDocument of(Function<Builder, ObjectBuilder<KnnVectorDocument>> fn) {
+        return fn.apply(new Builder()).build();
+    }
+
+    /**
+     * The fields of this document, in the order they were added. Vector fields have a {@code float[]} or
+     * {@code byte[]} value.
+     */
+    public Map<String, Object> fields() {
+        return this.fields;
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        generator.writeStartObject();
+        for (Map.Entry<String, Object> field : this.fields.entrySet()) {
+            generator.writeKey(field.getKey());
+            final Object value = field.getValue();
+            if (value instanceof float[]) {
+                VectorCodec.writeFloatVector(generator, (float[]) value);
+            } else if (value instanceof byte[]) {
+                VectorCodec.writeByteVector(generator, (byte[]) value);
+            } else if (value == null) {
+                generator.writeNull();
+            } else {
+                JsonpUtils.serialize(value, generator, null, mapper);
+            }
+        }
+        generator.writeEnd();
+    }
+
+    /**
+     * Builder for {@link KnnVectorDocument}.
+     */
+    public static class Builder extends ObjectBuilderBase implements ObjectBuilder<KnnVectorDocument> {
+        private final Map<String, Object> fields = new LinkedHashMap<>();
+
+        /**
+         * Adds a field, whose value is written with the {@link JsonpMapper}.
+         */
+        public final Builder field(String name, Object value) {
+            this.fields.put(name, value);
+            return this;
+        }
+
+        /**
+         * Adds a float vector field.
+         */
+        public final Builder vector(String name, float[] vector) {
+            this.fields.put(name, vector);
+            return this;
+        }
+
+        /**
+         * Adds a byte vector field, for {@code knn_vector} fields with a {@code byte} data type.
+         */
+        public final Builder vector(String name, byte[] vector) {
+            this.fields.put(name, vector);
+            return this;
+        }
+
+        /**
+         * Builds a {@link KnnVectorDocument}.
+         */
+        public KnnVectorDocument build() {
+            _checkSingleUse();
+
+            return new KnnVectorDocument(this);
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch._types.aggregations.Aggregation;
+import org.opensearch.client.opensearch._types.aggregations.CompositeAggregate;
+import org.opensearch.client.opensearch._types.aggregations.CompositeAggregation;
+import org.opensearch.client.opensearch._types.aggregations.CompositeAggregationSource;
+import org.opensearch.client.opensearch._types.aggregations.CompositeBucket;
+import org.opensearch.client.opensearch._types.query_dsl.Query;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.util.ApiTypeHelper;
+import org.opensearch.client.util.ObjectBuilder;
+import org.opensearch.client.util.ObjectBuilderBase;
+
+/**
+ * Iterates over all the buckets of a composite aggregation, following its {@code after_key} from page to page.
+ * <p>
+ * The key space can be split in partitions that are searched concurrently, each with a filter added to the query.
+ * Composite sources cannot be partitioned by the server, so the filters must split the documents by the values of the
+ * leading source, e.g. with range queries on its field, for the buckets to be complete: a key whose documents are
+ * selected by several partitions is returned once per partition, with the documents of that partition only. Pages are
+ * prefetched as described in {@link SearchHitIterator}, and buckets are returned in the order of the keys within a
+ * partition, with no ordering between partitions.
+ * <pre>{@code
+ * try (
+ *     CompositeAggregationIterator buckets = CompositeAggregationIterator.of(
+ *         b -> b.client(client)
+ *             .index("metrics")
+ *             .source("host", s -> s.terms(t -> t.field("host")))
+ *             .source("hour", s -> s.dateHistogram(h -> h.field("timestamp").fixedInterval(i -> i.time("1h"))))
+ *             .aggregations("avg_cpu", a -> a.avg(v -> v.field("cpu")))
+ *             .partition(p -> p.range(r -> r.field("host").lt(JsonData.of("m"))))
+ *             .partition(p -> p.range(r -> r.field("host").gte(JsonData.of("m"))))
+ *     )
+ * ) {
+ *     buckets.stream().forEach(bucket -> export(bucket.key(), bucket.aggregations()));
+ * }
+ * }</pre>
+ */
+public class CompositeAggregationIterator extends PrefetchingIterator<CompositeBucket> {
+    private static final String AGGREGATION_NAME = "composite";
+
+    private final OpenSearchAsyncClient client;
+    private final List<String> indices;
+    private final SearchRequest template;
+    private final List<Map<String, CompositeAggregationSource>> sources;
+    private final List<Query> partitions;
+    private final Map<String, Aggregation> aggregations;
+    private final int size;
+    // The after key of each partition, guarded by the lock of the base class that orders the requests of a partition
+    private final List<Map<String, String>> afterKeys;
+
+    private CompositeAggregationIterator(Builder builder) {
+        super(builder.partitions != null ? builder.partitions.size() : 1, builder.maxBufferedPages, builder.executor);
+        this.client = ApiTypeHelper.requireNonNull(builder.client, builder, "client");
+        this.indices = ApiTypeHelper.unmodifiableRequired(builder.indices, builder, "index");
+        this.sources = ApiTypeHelper.unmodifiableRequired(builder.sources, builder, "sources");
+        this.aggregations = ApiTypeHelper.unmodifiable(builder.aggregations);
+        this.partitions = ApiTypeHelper.unmodifiable(builder.partitions);
+        SearchRequest.Builder template = new SearchRequest.Builder();
+        if (builder.searchSettings != null) {
+            template = builder.searchSettings.apply(template);
+        }
+        this.template = template.build();
+        if (!this.template.index().isEmpty()) {
+            throw new IllegalArgumentException("The indices are set on the iterator, not in the search settings");
+        }
+        if (!this.template.aggregations().isEmpty()) {
+            throw new IllegalArgumentException("The aggregations are set on the iterator, not in the search settings");
+        }
+        this.size = builder.size;
+        this.afterKeys = new ArrayList<>(Collections.nCopies(slices, null));
+        start();
+    }
+
+    public static CompositeAggregationIterator of(Function<Builder, ObjectBuilder<CompositeAggregationIterator>> fn) {
+        return fn.apply(new Builder()).build();
+    }
+
+    /**
+     * Number of buckets received so far, including the ones that have not been consumed yet.
+     */
+    public long bucketCount() {
+        return itemCount();
+    }
+
+    /**
+     * Number of buckets received per second.
+     */
+    public double bucketsPerSecond() {
+        return perSecond(bucketCount());
+    }
+
+    @Override
+    CompletableFuture<?> open() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    CompletableFuture<Page<CompositeBucket>> fetchPage(int partition) throws IOException {
+        final CompositeAggregation.Builder composite = new CompositeAggregation.Builder().size(size).sources(sources);
+        final Map<String, String> afterKey = afterKeys.get(partition);
+        if (afterKey != null) {
+            composite.after(afterKey);
+        }
+        final Aggregation aggregation = Aggregation.of(a -> a.composite(composite.build()).aggregations(aggregations));
+        final SearchRequest.Builder request = template.toBuilder().index(indices).size(0).aggregations(AGGREGATION_NAME, aggregation);
+        if (!partitions.isEmpty()) {
+            final Query filter = partitions.get(partition);
+            request.query(q -> q.bool(b -> {
+                if (template.query() != null) {
+                    b.must(template.query());
+                }
+                return b.filter(filter);
+            }));
+        }
+
+        return client.search(request.build(), Void.class).thenApply(response -> {
+            final CompositeAggregate result = response.aggregations().get(AGGREGATION_NAME).composite();
+            final List<CompositeBucket> buckets = result.buckets().array();
+            final boolean last = buckets.isEmpty() || !ApiTypeHelper.isDefined(result.afterKey());
+            if (!last) {
+                afterKeys.set(partition, after(result.afterKey()));
+            }
+            return new Page<>(buckets, last);
+        });
+    }
+
+    @Override
+    @Nullable
+    CompletableFuture<?> release() {
+        // Composite aggregations keep no search context
+        return null;
+    }
+
+    private Map<String, String> after(Map<String, JsonData> afterKey) {
+        final Map<String, String> after = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonData> entry : afterKey.entrySet()) {
+            final JsonValue value = entry.getValue().toJson(client._transport().jsonpMapper());
+            switch (value.getValueType()) {
+                case STRING:
+                    after.put(entry.getKey(), ((JsonString) value).getString());
+                    break;
+                case NUMBER:
+                case TRUE:
+                case FALSE:
+                    after.put(entry.getKey(), value.toString());
+                    break;
+                default:
+                    throw new IllegalStateException("Missing buckets are not supported, source '" + entry.getKey() + "' has no value");
+            }
+        }
+        return after;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Builder for {@link CompositeAggregationIterator}.
+     */
+    public static class Builder extends ObjectBuilderBase implements ObjectBuilder<CompositeAggregationIterator> {
+        private OpenSearchAsyncClient client;
+        private List<String> indices;
+        @Nullable
+        private Function<SearchRequest.Builder, SearchRequest.Builder> searchSettings;
+        private List<Map<String, CompositeAggregationSource>> sources;
+        @Nullable
+        private Map<String, Aggregation> aggregations;
+        @Nullable
+        private List<Query> partitions;
+        private int size = 1000;
+        private int maxBufferedPages = -1;
+        @Nullable
+        private Executor executor;
+
+        /**
+         * Required - the client used to send requests.
+         */
+        public final Builder client(OpenSearchAsyncClient value) {
+            this.client = value;
+            return this;
+        }
+
+        /**
+         * Required - the indices to search.
+         */
+        public final Builder index(List<String> list) {
+            this.indices = _listAddAll(this.indices, list);
+            return this;
+        }
+
+        /**
+         * Required - the indices to search.
+         */
+        public final Builder index(String value, String... values) {
+            this.indices = _listAdd(this.indices, value, values);
+            return this;
+        }
+
+        /**
+         * Settings of the search requests, such as the query. The aggregation and the size are set by the iterator.
+         */
+        public final Builder searchSettings(@Nullable Function<SearchRequest.Builder, SearchRequest.Builder> fn) {
+            this.searchSettings = fn;
+            return this;
+        }
+
+        /**
+         * Required - adds a source of the composite keys. Sources are ordered as they are added.
+         */
+        public final Builder source(
+            String name,
+            Function<CompositeAggregationSource.Builder, ObjectBuilder<CompositeAggregationSource>> fn
+        ) {
+            this.sources = _listAdd(
+                this.sources,
+                Collections.singletonMap(name, fn.apply(new CompositeAggregationSource.Builder()).build())
+            );
+            return this;
+        }
+
+        /**
+         * Sub-aggregations computed for each bucket.
+         */
+        public final Builder aggregations(String name, Aggregation value) {
+            this.aggregations = _mapPut(this.aggregations, name, value);
+            return this;
+        }
+
+        /**
+         * Sub-aggregations computed for each bucket.
+         */
+        public final Builder aggregations(String name, Function<Aggregation.Builder, ObjectBuilder<Aggregation>> fn) {
+            return aggregations(name, fn.apply(new Aggregation.Builder()).build());
+        }
+
+        /**
+         * Adds a partition of the key space, searched concurrently with the other partitions. The filter must select
+         * the documents of a range of values of the leading source that no other partition selects. Without
+         * partitions, the whole key space is searched sequentially.
+         */
+        public final Builder partition(Query filter) {
+            this.partitions = _listAdd(this.partitions, filter);
+            return this;
+        }
+
+        /**
+         * Adds a partition of the key space, searched concurrently with the other partitions. The filter must select
+         * the documents of a range of values of the leading source that no other partition selects. Without
+         * partitions, the whole key space is searched sequentially.
+         */
+        public final Builder partition(Function<Query.Builder, ObjectBuilder<Query>> fn) {
+            return partition(fn.apply(new Query.Builder()).build());
+        }
+
+        /**
+         * The number of buckets per page. Defaults to 1000.
+         */
+        public final Builder size(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("size must be positive");
+            }
+            this.size = value;
+            return this;
+        }
+
+        /**
+         * The maximum number of pages that are either received and not consumed yet, or being fetched. Must be at
+         * least the number of partitions, defaults to twice the number of partitions.
+         */
+        public final Builder maxBufferedPages(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("maxBufferedPages must be positive");
+            }
+            this.maxBufferedPages = value;
+            return this;
+        }
+
+        /**
+         * The executor that handles responses and sends the requests for the next pages. Defaults to the threads
+         * completing the client's futures.
+         */
+        public final Builder executor(@Nullable Executor value) {
+            this.executor = value;
+            return this;
+        }
+
+        /**
+         * Builds a {@link CompositeAggregationIterator}, which sends the first search of each partition.
+         *
+         * @throws NullPointerException
+         *             if some of the required fields are null.
+         */
+        public CompositeAggregationIterator build() {
+            _checkSingleUse();
+
+            return new CompositeAggregationIterator(this);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOptions;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.Pit;
+import org.opensearch.client.util.ObjectBuilder;
+
+/**
+ * Iterates over all the hits of a search, by opening a point in time (PIT) on the target indices and paging through
+ * it with {@code search_after}.
+ * <p>
+ * The PIT is split in {@code slices} that are searched concurrently, and deleted once all hits have been returned,
+ * when a search request fails, or when the iterator is closed. Requests are sorted by {@code _shard_doc} unless a
+ * sort is set in the search settings, in which case it must be a total order for {@code search_after} to return all
+ * hits. See {@link SearchHitIterator} for how pages are prefetched.
+ * <pre>{@code
+ * try (PitIterator<Product> hits = PitIterator.of(b -> b.client(client).index("products").documentClass(Product.class).slices(4))) {
+ *     hits.stream().forEach(hit -> export(hit.source()));
+ * }
+ * }</pre>
+ *
+ * @param <TDocument> the type of the documents in the hits.
+ */
+public class PitIterator<TDocument> extends SearchHitIterator<TDocument> {
+    @Nullable
+    private volatile String pitId;
+    // The search_after of each slice, guarded by the lock of the base class that orders the requests of a slice
+    private final List<List<FieldValue>> searchAfter;
+
+    private PitIterator(Builder<TDocument> builder) {
+        super(builder);
+        this.searchAfter = new ArrayList<>(Collections.nCopies(slices, null));
+        start();
+    }
+
+    public static <TDocument> PitIterator<TDocument> of(Function<Builder<TDocument>, ObjectBuilder<PitIterator<TDocument>>> fn) {
+        return fn.apply(new Builder<>()).build();
+    }
+
+    /**
+     * The id of the point in time, or null if it hasn't been created yet.
+     */
+    @Nullable
+    public String pitId() {
+        return pitId;
+    }
+
+    @Override
+    CompletableFuture<?> open() throws IOException {
+        return client.createPit(r -> r.targetIndexes(indices).keepAlive(t -> t.time(keepAlive))).thenApply(response -> {
+            pitId = response.pitId();
+            return response;
+        });
+    }
+
+    @Override
+    CompletableFuture<Page<Hit<TDocument>>> fetchPage(int slice) throws IOException {
+        final SearchRequest.Builder request = template.toBuilder().pit(Pit.of(p -> p.id(pitId).keepAlive(keepAlive))).size(size);
+        if (defaultSort) {
+            request.sort(SortOptions.of(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc))));
+        }
+        if (slices > 1) {
+            request.slice(s -> s.id(slice).max(slices));
+        }
+        if (searchAfter.get(slice) != null) {
+            request.searchAfter(searchAfter.get(slice));
+        }
+        return client.search(request.build(), documentClass).thenApply(response -> {
+            if (response.pitId() != null) {
+                pitId = response.pitId();
+            }
+            final List<Hit<TDocument>> hits = response.hits().hits();
+            if (!hits.isEmpty()) {
+                searchAfter.set(slice, searchAfter(hits.get(hits.size() - 1)));
+            }
+            return new Page<>(hits, hits.size() < size);
+        });
+    }
+
+    @Override
+    @Nullable
+    CompletableFuture<?> release() throws IOException {
+        final String id = pitId;
+        if (id == null) {
+            return null;
+        }
+        return client.deletePit(r -> r.pitId(Collections.singletonList(id)));
+    }
+
+    private List<FieldValue> searchAfter(Hit<TDocument> hit) {
+        final List<FieldValue> values = new ArrayList<>(hit.sort().size());
+        for (String value : hit.sort()) {
+            values.add(FieldValue.of(value));
+        }
+        return values;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Builder for {@link PitIterator}.
+     */
+    public static class Builder<TDocument> extends SearchHitIterator.AbstractBuilder<TDocument, Builder<TDocument>>
+        implements
+            ObjectBuilder<PitIterator<TDocument>> {
+
+        @Override
+        protected Builder<TDocument> self() {
+            return this;
+        }
+
+        /**
+         * Builds a {@link PitIterator}, which opens the point in time.
+         *
+         * @throws NullPointerException
+         *             if some of the required fields are null.
+         */
+        public PitIterator<TDocument> build() {
+            _checkSingleUse();
+
+            return new PitIterator<>(this);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nullable;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Base class of the iterators that return the items of paginated searches, fetching their pages in {@code slices}
+ * that are searched concurrently.
+ * <p>
+ * Each slice fetches its next page as soon as it receives one, while the consumer processes the previous ones,
+ * until {@code maxBufferedPages} pages are either buffered or being fetched: a slow consumer pauses the slices
+ * rather than having pages pile up in memory. Items are returned in the order their pages are received, with no
+ * ordering between slices.
+ * <p>
+ * The search context is released once all items have been returned, when a request fails, or when the iterator is
+ * closed. A failed request fails the iteration: it is thrown by {@link #hasNext()} and {@link #next()}.
+ *
+ * @param <T> the type of the items.
+ */
+abstract class PrefetchingIterator<T> implements Iterator<T>, AutoCloseable {
+    private static final Log logger = LogFactory.getLog(PrefetchingIterator.class);
+
+    final int slices;
+    private final int maxBufferedPages;
+    private final Executor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition stateChanged = lock.newCondition();
+    private final ArrayDeque<List<T>> pages = new ArrayDeque<>();
+    // Slices waiting for room in the buffer to fetch their next page
+    private final ArrayDeque<Integer> pausedSlices = new ArrayDeque<>();
+    private int activeSlices;
+    private int inFlightRequests;
+    @Nullable
+    private Throwable failure;
+    private boolean closed;
+    @Nullable
+    private CompletableFuture<?> release;
+    private long itemCount;
+    private long requestCount;
+    private long measuredBytes;
+    private long startNanos;
+    private long endNanos = -1;
+
+    // Set by the consumer, and reset when closed
+    private Iterator<T> current = Collections.emptyIterator();
+
+    /**
+     * @param maxBufferedPages the maximum number of pages buffered or being fetched, twice the number of slices if
+     *                         not positive.
+     * @param executor the executor of the response handlers, the threads completing the futures if null.
+     */
+    PrefetchingIterator(int slices, int maxBufferedPages, @Nullable Executor executor) {
+        this.slices = slices;
+        this.maxBufferedPages = maxBufferedPages > 0 ? maxBufferedPages : 2 * slices;
+        if (this.maxBufferedPages < this.slices) {
+            throw new IllegalArgumentException("maxBufferedPages must be greater than or equal to the number of slices");
+        }
+        this.executor = executor != null ? executor : Runnable::run;
+        this.activeSlices = slices;
+    }
+
+    /**
+     * Opens the search context, if any, before the slices fetch their first page.
+     */
+    abstract CompletableFuture<?> open() throws IOException;
+
+    /**
+     * Fetches the next page of a slice. Only one page of a slice is fetched at a time.
+     */
+    abstract CompletableFuture<Page<T>> fetchPage(int slice) throws IOException;
+
+    /**
+     * Releases the search context once no request is in flight anymore, returns null if there is nothing to
+     * release.
+     */
+    @Nullable
+    abstract CompletableFuture<?> release() throws IOException;
+
+    /**
+     * Measures the size of the items of a page when it is received, outside of the lock. Nothing is measured by
+     * default.
+     */
+    long measure(List<T> items) {
+        return 0;
+    }
+
+    /**
+     * Opens the search context and starts fetching pages, once the subclass is initialized.
+     */
+    final void start() {
+        lock.lock();
+        try {
+            startNanos = System.nanoTime();
+            inFlightRequests = 1;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            open().whenCompleteAsync((response, error) -> onOpened(error), executor);
+        } catch (Throwable t) {
+            onOpened(t);
+        }
+    }
+
+    /**
+     * Returns true if there are more items, waiting for the next page if needed.
+     *
+     * @throws UncheckedIOException if a request failed with an {@link IOException}
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            final List<T> page = takePage();
+            if (page == null) {
+                return false;
+            }
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * A sequential stream of the remaining items, that closes this iterator when it is closed.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(this::close);
+    }
+
+    /**
+     * Stops fetching pages and releases the search context, waiting for the release to complete.
+     */
+    @Override
+    public void close() {
+        final CompletableFuture<?> released;
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            if (!closed) {
+                closed = true;
+                pages.clear();
+                pausedSlices.clear();
+                current = Collections.emptyIterator();
+                maybeRelease();
+                stateChanged.signalAll();
+            }
+            // The last page being fetched releases the context when it is received
+            while (inFlightRequests > 0) {
+                try {
+                    stateChanged.await();
+                } catch (InterruptedException e) {
+                    // keep waiting, the context must be released
+                    interrupted = true;
+                }
+            }
+            released = release;
+        } finally {
+            lock.unlock();
+        }
+        while (released != null) {
+            try {
+                released.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException e) {
+                // Already logged
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Number of items received so far, including the ones that have not been consumed yet.
+     */
+    long itemCount() {
+        lock.lock();
+        try {
+            return itemCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of page requests sent so far.
+     */
+    public long requestCount() {
+        lock.lock();
+        try {
+            return requestCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sum of the sizes measured by {@link #measure(List)} for the pages received so far.
+     */
+    long measuredBytes() {
+        lock.lock();
+        try {
+            return measuredBytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Time elapsed since the iterator was created, until all pages were received or it was closed.
+     */
+    public long elapsed(TimeUnit unit) {
+        lock.lock();
+        try {
+            return unit.convert((endNanos >= 0 ? endNanos : System.nanoTime()) - startNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double perSecond(long count) {
+        final long nanos = elapsed(TimeUnit.NANOSECONDS);
+        return nanos > 0 ? count * 1e9 / nanos : 0;
+    }
+
+    @Nullable
+    private List<T> takePage() {
+        final List<Integer> toFetch = new ArrayList<>();
+        final List<T> page;
+        final Throwable error;
+        lock.lock();
+        try {
+            while (true) {
+                if (failure != null) {
+                    break;
+                }
+                if (closed) {
+                    return null;
+                }
+                if (!pages.isEmpty() || activeSlices == 0) {
+                    break;
+                }
+                awaitStateChange();
+            }
+            error = failure;
+            page = pages.poll();
+            // The page leaves the buffer, which makes room for a paused slice
+            while (!pausedSlices.isEmpty() && pages.size() + inFlightRequests < maxBufferedPages) {
+                inFlightRequests++;
+                toFetch.add(pausedSlices.poll());
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (int slice : toFetch) {
+            fetch(slice);
+        }
+        if (error != null) {
+            close();
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error instanceof IOException) {
+                throw new UncheckedIOException((IOException) error);
+            }
+            throw new RuntimeException(error);
+        }
+        if (page == null) {
+            // All slices are exhausted
+            close();
+        }
+        return page;
+    }
+
+    private void onOpened(@Nullable Throwable error) {
+        final List<Integer> toFetch = new ArrayList<>();
+        lock.lock();
+        try {
+            inFlightRequests--;
+            if (error != null) {
+                fail(error);
+            } else if (!closed && failure == null) {
+                for (int i = 0; i < slices; i++) {
+                    inFlightRequests++;
+                    toFetch.add(i);
+                }
+            }
+            maybeRelease();
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (int slice : toFetch) {
+            fetch(slice);
+        }
+    }
+
+    /**
+     * Sends the request for the next page of a slice, which has been accounted for in {@code inFlightRequests}.
+     */
+    private void fetch(int slice) {
+        lock.lock();
+        try {
+            requestCount++;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            fetchPage(slice).whenCompleteAsync((page, error) -> onPage(slice, page, error), executor);
+        } catch (Throwable t) {
+            onPage(slice, null, t);
+        }
+    }
+
+    private void onPage(int slice, @Nullable Page<T> page, @Nullable Throwable error) {
+        long bytes = 0;
+        if (page != null) {
+            try {
+                bytes = measure(page.items);
+            } catch (Throwable t) {
+                error = t;
+            }
+        }
+
+        boolean fetchNext = false;
+        lock.lock();
+        try {
+            inFlightRequests--;
+            if (error != null) {
+                fail(error);
+            } else if (!closed && failure == null) {
+                itemCount += page.items.size();
+                measuredBytes += bytes;
+                if (!page.items.isEmpty()) {
+                    pages.add(page.items);
+                }
+                if (page.last) {
+                    if (--activeSlices == 0) {
+                        endNanos = System.nanoTime();
+                    }
+                } else if (pages.size() + inFlightRequests < maxBufferedPages) {
+                    inFlightRequests++;
+                    fetchNext = true;
+                } else {
+                    pausedSlices.add(slice);
+                }
+            }
+            maybeRelease();
+            stateChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (fetchNext) {
+            fetch(slice);
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (failure == null) {
+            failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+    }
+
+    /**
+     * Releases the search context once closed or failed, and no request that uses it is in flight anymore.
+     */
+    private void maybeRelease() {
+        if ((closed || failure != null) && inFlightRequests == 0 && release == null) {
+            if (endNanos < 0) {
+                endNanos = System.nanoTime();
+            }
+            CompletableFuture<?> future;
+            try {
+                future = release();
+            } catch (Throwable t) {
+                final CompletableFuture<?> failed = new CompletableFuture<>();
+                failed.completeExceptionally(t);
+                future = failed;
+            }
+            release = future == null ? CompletableFuture.completedFuture(null) : future.whenComplete((response, error) -> {
+                if (error != null) {
+                    logger.warn("Failed to release the search context", error);
+                }
+            });
+        }
+    }
+
+    private void awaitStateChange() {
+        try {
+            stateChanged.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for search results", e);
+        }
+    }
+
+    /**
+     * A page of items, and whether it is the last one of its slice.
+     */
+    static final class Page<T> {
+        final List<T> items;
+        final boolean last;
+
+        Page(List<T> items, boolean last) {
+            this.items = items;
+            this.last = last;
+        }
+    }
+}
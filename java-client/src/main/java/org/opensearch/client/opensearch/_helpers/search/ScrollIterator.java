@@ -0,0 +1,129 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opensearch.client.opensearch._types.SortOptions;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch._types.Time;
+import org.opensearch.client.opensearch.core.ScrollRequest;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.SearchResult;
+import org.opensearch.client.util.ObjectBuilder;
+
+/**
+ * Iterates over all the hits of a search with the scroll API.
+ * <p>
+ * With {@code slices}, each slice is a separate sliced scroll searched concurrently. The scroll contexts are cleared
+ * once all hits have been returned, when a request fails, or when the iterator is closed. Requests are sorted by
+ * {@code _doc} unless a sort is set in the search settings. See {@link SearchHitIterator} for how pages are
+ * prefetched.
+ * <pre>{@code
+ * try (ScrollIterator<Product> hits = ScrollIterator.of(b -> b.client(client).index("products").documentClass(Product.class).slices(4))) {
+ *     hits.stream().forEach(hit -> reindex(hit.source()));
+ *     logger.info(hits.docsPerSecond() + " docs/s");
+ * }
+ * }</pre>
+ *
+ * @param <TDocument> the type of the documents in the hits.
+ */
+public class ScrollIterator<TDocument> extends SearchHitIterator<TDocument> {
+    // The scroll id of each slice, guarded by the lock of the base class that orders the requests of a slice
+    private final List<String> scrollIds;
+
+    private ScrollIterator(Builder<TDocument> builder) {
+        super(builder);
+        this.scrollIds = new ArrayList<>(Collections.nCopies(slices, null));
+        start();
+    }
+
+    public static <TDocument> ScrollIterator<TDocument> of(Function<Builder<TDocument>, ObjectBuilder<ScrollIterator<TDocument>>> fn) {
+        return fn.apply(new Builder<>()).build();
+    }
+
+    @Override
+    CompletableFuture<?> open() {
+        // The scroll contexts are opened by the first search of each slice
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    CompletableFuture<Page<Hit<TDocument>>> fetchPage(int slice) throws IOException {
+        final String scrollId = scrollIds.get(slice);
+        final CompletableFuture<? extends SearchResult<TDocument>> response;
+        if (scrollId == null) {
+            final SearchRequest.Builder request = template.toBuilder().index(indices).scroll(Time.of(t -> t.time(keepAlive))).size(size);
+            if (defaultSort) {
+                request.sort(SortOptions.of(s -> s.field(f -> f.field("_doc").order(SortOrder.Asc))));
+            }
+            if (slices > 1) {
+                request.slice(s -> s.id(slice).max(slices));
+            }
+            response = client.search(request.build(), documentClass);
+        } else {
+            response = client.scroll(ScrollRequest.of(r -> r.scrollId(scrollId).scroll(t -> t.time(keepAlive))), documentClass);
+        }
+        return response.thenApply(r -> {
+            if (r.scrollId() != null) {
+                scrollIds.set(slice, r.scrollId());
+            }
+            final List<Hit<TDocument>> hits = r.hits().hits();
+            return new Page<>(hits, hits.isEmpty());
+        });
+    }
+
+    @Override
+    @Nullable
+    CompletableFuture<?> release() throws IOException {
+        final List<String> ids = new ArrayList<>(slices);
+        for (String id : scrollIds) {
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return null;
+        }
+        return client.clearScroll(r -> r.scrollId(ids));
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Builder for {@link ScrollIterator}.
+     */
+    public static class Builder<TDocument> extends SearchHitIterator.AbstractBuilder<TDocument, Builder<TDocument>>
+        implements
+            ObjectBuilder<ScrollIterator<TDocument>> {
+
+        @Override
+        protected Builder<TDocument> self() {
+            return this;
+        }
+
+        /**
+         * Builds a {@link ScrollIterator}, which sends the first search of each slice.
+         *
+         * @throws NullPointerException
+         *             if some of the required fields are null.
+         */
+        public ScrollIterator<TDocument> build() {
+            _checkSingleUse();
+
+            return new ScrollIterator<>(this);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import jakarta.json.stream.JsonGenerator;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.util.ApiTypeHelper;
+import org.opensearch.client.util.ObjectBuilderBase;
+
+/**
+ * Base class of the iterators that return all the hits of a search, fetching its pages in {@code slices} that are
+ * searched concurrently.
+ * <p>
+ * Each slice fetches its next page as soon as it receives one, while the consumer processes the previous ones,
+ * until {@code maxBufferedPages} pages are either buffered or being fetched: a slow consumer pauses the slices
+ * rather than having pages pile up in memory. Hits are returned in the order their pages are received, with no
+ * ordering between slices.
+ * <p>
+ * The search context is released once all hits have been returned, when a request fails, or when the iterator is
+ * closed. A failed request fails the iteration: it is thrown by {@link #hasNext()} and {@link #next()}.
+ *
+ * @param <TDocument> the type of the documents in the hits.
+ */
+public abstract class SearchHitIterator<TDocument> extends PrefetchingIterator<Hit<TDocument>> {
+    final OpenSearchAsyncClient client;
+    final List<String> indices;
+    final Class<TDocument> documentClass;
+    final SearchRequest template;
+    final boolean defaultSort;
+    final int size;
+    final String keepAlive;
+    @Nullable
+    private final JsonpMapper sourceMapper;
+
+    SearchHitIterator(AbstractBuilder<TDocument, ?> builder) {
+        super(builder.slices, builder.maxBufferedPages, builder.executor);
+        this.client = ApiTypeHelper.requireNonNull(builder.client, builder, "client");
+        this.indices = ApiTypeHelper.unmodifiableRequired(builder.indices, builder, "index");
+        this.documentClass = ApiTypeHelper.requireNonNull(builder.documentClass, builder, "documentClass");
+        SearchRequest.Builder template = new SearchRequest.Builder();
+        if (builder.searchSettings != null) {
+            template = builder.searchSettings.apply(template);
+        }
+        this.template = template.build();
+        if (!this.template.index().isEmpty()) {
+            throw new IllegalArgumentException("The indices are set on the iterator, not in the search settings");
+        }
+        this.defaultSort = this.template.sort().isEmpty();
+        this.size = builder.size;
+        this.keepAlive = builder.keepAliveMillis + "ms";
+        this.sourceMapper = builder.measureSourceBytes ? client._transport().jsonpMapper() : null;
+    }
+
+    /**
+     * Number of hits received so far, including the ones that have not been consumed yet.
+     */
+    public long hitCount() {
+        return itemCount();
+    }
+
+    /**
+     * Size in bytes of the sources of the hits received so far, as serialized by the client's mapper. Only measured
+     * when {@code measureSourceBytes} is enabled, 0 otherwise.
+     */
+    public long sourceBytes() {
+        return measuredBytes();
+    }
+
+    /**
+     * Number of hits received per second.
+     */
+    public double docsPerSecond() {
+        return perSecond(hitCount());
+    }
+
+    /**
+     * Number of source bytes received per second, see {@link #sourceBytes()}.
+     */
+    public double bytesPerSecond() {
+        return perSecond(sourceBytes());
+    }
+
+    @Override
+    long measure(List<Hit<TDocument>> hits) {
+        if (sourceMapper == null) {
+            return 0;
+        }
+        final CountingOutputStream out = new CountingOutputStream();
+        for (Hit<TDocument> hit : hits) {
+            if (hit.source() != null) {
+                try (JsonGenerator generator = sourceMapper.jsonProvider().createGenerator(out)) {
+                    sourceMapper.serialize(hit.source(), generator);
+                }
+            }
+        }
+        return out.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * Settings shared by the builders of search hit iterators.
+     */
+    public abstract static class AbstractBuilder<TDocument, BuilderT extends AbstractBuilder<TDocument, BuilderT>> extends
+        ObjectBuilderBase {
+        private OpenSearchAsyncClient client;
+        private List<String> indices;
+        private Class<TDocument> documentClass;
+        @Nullable
+        private Function<SearchRequest.Builder, SearchRequest.Builder> searchSettings;
+        private int slices = 1;
+        private int size = 1000;
+        private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+        private int maxBufferedPages = -1;
+        @Nullable
+        private Executor executor;
+        private boolean measureSourceBytes;
+
+        protected abstract BuilderT self();
+
+        /**
+         * Required - the client used to send requests.
+         */
+        public final BuilderT client(OpenSearchAsyncClient value) {
+            this.client = value;
+            return self();
+        }
+
+        /**
+         * Required - the indices to search.
+         */
+        public final BuilderT index(List<String> list) {
+            this.indices = _listAddAll(this.indices, list);
+            return self();
+        }
+
+        /**
+         * Required - the indices to search.
+         */
+        public final BuilderT index(String value, String... values) {
+            this.indices = _listAdd(this.indices, value, values);
+            return self();
+        }
+
+        /**
+         * Required - the class of the documents in the hits.
+         */
+        public final BuilderT documentClass(Class<TDocument> value) {
+            this.documentClass = value;
+            return self();
+        }
+
+        /**
+         * Settings of the search requests, such as the query or the source filter.
+         */
+        public final BuilderT searchSettings(@Nullable Function<SearchRequest.Builder, SearchRequest.Builder> fn) {
+            this.searchSettings = fn;
+            return self();
+        }
+
+        /**
+         * The number of slices searched concurrently. Defaults to 1.
+         */
+        public final BuilderT slices(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("slices must be positive");
+            }
+            this.slices = value;
+            return self();
+        }
+
+        /**
+         * The number of hits per page. Defaults to 1000.
+         */
+        public final BuilderT size(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("size must be positive");
+            }
+            this.size = value;
+            return self();
+        }
+
+        /**
+         * How long the search context is kept alive between two requests. Defaults to 5 minutes.
+         */
+        public final BuilderT keepAlive(long value, TimeUnit unit) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("keepAlive must be positive");
+            }
+            this.keepAliveMillis = unit.toMillis(value);
+            return self();
+        }
+
+        /**
+         * The maximum number of pages that are either received and not consumed yet, or being fetched. Must be at
+         * least the number of slices, defaults to twice the number of slices.
+         */
+        public final BuilderT maxBufferedPages(int value) {
+            if (value <= 0) {
+                throw new IllegalArgumentException("maxBufferedPages must be positive");
+            }
+            this.maxBufferedPages = value;
+            return self();
+        }
+
+        /**
+         * The executor that handles responses and sends the requests for the next pages. Defaults to the threads
+         * completing the client's futures.
+         */
+        public final BuilderT executor(@Nullable Executor value) {
+            this.executor = value;
+            return self();
+        }
+
+        /**
+         * Whether to measure the size of the sources, reported by {@link SearchHitIterator#sourceBytes()}. This
+         * serializes every source once more, and is disabled by default.
+         */
+        public final BuilderT measureSourceBytes(boolean value) {
+            this.measureSourceBytes = value;
+            return self();
+        }
+    }
+}
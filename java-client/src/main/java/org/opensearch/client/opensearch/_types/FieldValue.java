@@ -40,6 +40,7 @@ import org.opensearch.client.json.JsonpDeserializable;
 import org.opensearch.client.json.JsonpDeserializer;
 import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.JsonpUtils;
 import org.opensearch.client.util.ApiTypeHelper;
 import org.opensearch.client.util.ObjectBuilder;
 import org.opensearch.client.util.ObjectBuilderBase;
@@ -284,7 +285,7 @@ public class FieldValue implements TaggedUnion<FieldValue.Kind, Object>, JsonpSe
                         if (parser.isIntegralNumber()) {
                             return FieldValue.of(parser.getLong());
                         } else {
-                            return FieldValue.of(parser.getBigDecimal().doubleValue());
+                            return FieldValue.of(JsonpUtils.doubleValue(parser));
                         }
                 }
                 return null;
@@ -2102,6 +2102,8 @@ public class Aggregate implements TaggedUnion<Aggregate.Kind, AggregateVariant>,
         deserializers.put("variable_width_histogram", VariableWidthHistogramAggregate._DESERIALIZER);
         deserializers.put("weighted_avg", WeightedAvgAggregate._DESERIALIZER);
 
-        _TYPED_KEYS_DESERIALIZER = new ExternallyTaggedUnion.Deserializer<>(deserializers, Aggregate::new, Aggregate::new).typedKeys();
+        _TYPED_KEYS_DESERIALIZER = new BucketColumns.AggregatesDeserializer(
+            new ExternallyTaggedUnion.Deserializer<>(deserializers, Aggregate::new, Aggregate::new)
+        );
     }
 }
@@ -0,0 +1,419 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._types.aggregations;
+
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
+import jakarta.json.stream.JsonParsingException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opensearch.client.json.ExternallyTaggedUnion;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.JsonpUtils;
+
+/**
+ * The buckets of a multi-bucket aggregation decoded as columns: bucket keys, document counts and the values of chosen
+ * single-value metric sub-aggregations are stored in primitive arrays, instead of one object per bucket holding a map
+ * of sub-aggregations.
+ * <p>
+ * Columnar decoding is opt-in, per aggregation name, with a mapper created by
+ * {@link #decodeAsColumns(JsonpMapper, String, String...)}:
+ * <pre>{@code
+ * JsonpMapper mapper = BucketColumns.decodeAsColumns(new JacksonJsonpMapper(), "per_hour", "avg_cpu", "max_mem");
+ * ...
+ * BucketColumns columns = response.aggregations().get("per_hour").dateHistogram().buckets().columns();
+ * for (int i = 0; i < columns.size(); i++) {
+ *     long time = columns.longKey(i);
+ *     double cpu = columns.metric("avg_cpu", i);
+ * }
+ * }</pre>
+ * Sub-aggregations other than the chosen metrics are skipped, as well as the {@code key_as_string} of buckets and the
+ * keys of composite aggregation buckets.
+ */
+public final class BucketColumns implements JsonpSerializable {
+
+    /**
+     * The type of bucket keys.
+     */
+    public enum KeyType {
+        Long,
+        Double,
+        String
+    }
+
+    // Aggregation names to decode as columns, with the names of their metrics
+    private static final String AGGREGATIONS_ATTRIBUTE = BucketColumns.class.getName() + ".aggregations";
+    // The metrics of the aggregation being decoded, if it is decoded as columns
+    private static final String METRICS_ATTRIBUTE = BucketColumns.class.getName() + ".metrics";
+
+    private final int size;
+    @Nullable
+    private final KeyType keyType;
+    @Nullable
+    private final long[] longKeys;
+    @Nullable
+    private final double[] doubleKeys;
+    @Nullable
+    private final String[] stringKeys;
+    private final long[] docCounts;
+    private final Map<String, double[]> metrics;
+    // Metric types, for metrics that were found in at least one bucket
+    private final Map<String, String> metricTypes;
+
+    private BucketColumns(ColumnsBuilder builder) {
+        this.size = builder.size;
+        this.keyType = builder.keyType;
+        this.longKeys = builder.longKeys == null ? null : Arrays.copyOf(builder.longKeys, size);
+        this.doubleKeys = builder.doubleKeys == null ? null : Arrays.copyOf(builder.doubleKeys, size);
+        this.stringKeys = builder.stringKeys == null ? null : Arrays.copyOf(builder.stringKeys, size);
+        this.docCounts = Arrays.copyOf(builder.docCounts, size);
+        this.metrics = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> metric : builder.metrics.entrySet()) {
+            this.metrics.put(metric.getKey(), Arrays.copyOf(metric.getValue(), size));
+        }
+        this.metricTypes = builder.metricTypes;
+    }
+
+    /**
+     * Creates a mapper that decodes the buckets of the aggregations named {@code aggregation} as columns, keeping the
+     * values of their {@code metrics} sub-aggregations. Can be called several times to decode several aggregations.
+     */
+    public static JsonpMapper decodeAsColumns(JsonpMapper mapper, String aggregation, String... metrics) {
+        Map<String, Set<String>> previous = mapper.attribute(AGGREGATIONS_ATTRIBUTE);
+        Map<String, Set<String>> aggregations = previous == null ? new HashMap<>() : new HashMap<>(previous);
+        aggregations.put(aggregation, Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(metrics))));
+        return mapper.withAttribute(AGGREGATIONS_ATTRIBUTE, aggregations);
+    }
+
+    /**
+     * The number of buckets.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The type of the bucket keys, or {@code null} if buckets have no key or a composite key.
+     */
+    @Nullable
+    public KeyType keyType() {
+        return keyType;
+    }
+
+    /**
+     * The key of a bucket whose key type is {@link KeyType#Long}.
+     */
+    public long longKey(int bucket) {
+        checkIndex(bucket);
+        if (longKeys == null) {
+            throw new IllegalStateException("Bucket keys are of type " + keyType);
+        }
+        return longKeys[bucket];
+    }
+
+    /**
+     * The key of a bucket whose key type is {@link KeyType#Double} or {@link KeyType#Long}.
+     */
+    public double doubleKey(int bucket) {
+        checkIndex(bucket);
+        if (doubleKeys != null) {
+            return doubleKeys[bucket];
+        }
+        return longKey(bucket);
+    }
+
+    /**
+     * The key of a bucket, as a string.
+     */
+    @Nullable
+    public String stringKey(int bucket) {
+        checkIndex(bucket);
+        if (keyType == null) {
+            return null;
+        }
+        switch (keyType) {
+            case Long:
+                return Long.toString(longKeys[bucket]);
+            case Double:
+                return Double.toString(doubleKeys[bucket]);
+            default:
+                return stringKeys[bucket];
+        }
+    }
+
+    /**
+     * The number of documents of a bucket.
+     */
+    public long docCount(int bucket) {
+        checkIndex(bucket);
+        return docCounts[bucket];
+    }
+
+    /**
+     * The names of the metrics that were decoded.
+     */
+    public Set<String> metrics() {
+        return Collections.unmodifiableSet(metrics.keySet());
+    }
+
+    /**
+     * The value of a metric for a bucket, or {@code NaN} if the bucket has no value for this metric.
+     *
+     * @throws IllegalArgumentException if the metric was not decoded.
+     */
+    public double metric(String name, int bucket) {
+        double[] values = metrics.get(name);
+        if (values == null) {
+            throw new IllegalArgumentException("Metric '" + name + "' was not decoded, decoded metrics are " + metrics.keySet());
+        }
+        checkIndex(bucket);
+        return values[bucket];
+    }
+
+    private void checkIndex(int bucket) {
+        if (bucket < 0 || bucket >= size) {
+            throw new IndexOutOfBoundsException("Bucket " + bucket + " of " + size);
+        }
+    }
+
+    /**
+     * Serializes the buckets as an array of bucket objects.
+     */
+    @Override
+    public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        generator.writeStartArray();
+        for (int i = 0; i < size; i++) {
+            generator.writeStartObject();
+            if (keyType == KeyType.Long) {
+                generator.write("key", longKeys[i]);
+            } else if (keyType == KeyType.Double) {
+                generator.write("key", doubleKeys[i]);
+            } else if (keyType == KeyType.String) {
+                generator.write("key", stringKeys[i]);
+            }
+            generator.write("doc_count", docCounts[i]);
+            for (Map.Entry<String, double[]> metric : metrics.entrySet()) {
+                String type = metricTypes.get(metric.getKey());
+                double value = metric.getValue()[i];
+                if (type != null) {
+                    generator.writeKey(type + "#" + metric.getKey());
+                    generator.writeStartObject();
+                    generator.writeKey("value");
+                    if (Double.isNaN(value)) {
+                        generator.writeNull();
+                    } else {
+                        generator.write(value);
+                    }
+                    generator.writeEnd();
+                }
+            }
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
+    /**
+     * The metrics to decode, if the buckets being decoded belong to an aggregation that is decoded as columns.
+     */
+    @Nullable
+    static Set<String> metricsToDecode(JsonpMapper mapper) {
+        return mapper.attribute(METRICS_ATTRIBUTE);
+    }
+
+    /**
+     * Decodes an array of buckets, or an object of keyed buckets whose keys are used as bucket keys.
+     */
+    static BucketColumns deserialize(JsonParser parser, Event event, Set<String> metrics) {
+        ColumnsBuilder builder = new ColumnsBuilder(metrics);
+        if (event == Event.START_ARRAY) {
+            while ((event = parser.next()) != Event.END_ARRAY) {
+                JsonpUtils.expectEvent(parser, Event.START_OBJECT, event);
+                builder.addBucket(parser, null);
+            }
+        } else {
+            JsonpUtils.expectEvent(parser, Event.START_OBJECT, event);
+            while ((event = parser.next()) != Event.END_OBJECT) {
+                String key = JsonpUtils.expectKeyName(parser, event);
+                JsonpUtils.expectNextEvent(parser, Event.START_OBJECT);
+                builder.addBucket(parser, key);
+            }
+        }
+        return new BucketColumns(builder);
+    }
+
+    private static final class ColumnsBuilder {
+        private final Set<String> metricNames;
+        private int size;
+        private KeyType keyType;
+        private long[] longKeys;
+        private double[] doubleKeys;
+        private String[] stringKeys;
+        private long[] docCounts = new long[16];
+        private final Map<String, double[]> metrics = new LinkedHashMap<>();
+        private final Map<String, String> metricTypes = new HashMap<>();
+
+        ColumnsBuilder(Set<String> metricNames) {
+            this.metricNames = metricNames;
+            for (String name : metricNames) {
+                metrics.put(name, new double[16]);
+            }
+        }
+
+        void addBucket(JsonParser parser, @Nullable String keyedKey) {
+            if (size == docCounts.length) {
+                grow(size * 2);
+            }
+            for (double[] values : metrics.values()) {
+                values[size] = Double.NaN;
+            }
+            if (keyedKey != null) {
+                setStringKey(parser, keyedKey);
+            }
+
+            Event event;
+            while ((event = parser.next()) != Event.END_OBJECT) {
+                String field = JsonpUtils.expectKeyName(parser, event);
+                event = parser.next();
+                if (field.equals("doc_count")) {
+                    docCounts[size] = parser.getLong();
+                } else if (field.equals("key") && keyedKey == null) {
+                    readKey(parser, event);
+                } else if (!readMetric(parser, event, field)) {
+                    JsonpUtils.skipValue(parser, event);
+                }
+            }
+            size++;
+        }
+
+        private void readKey(JsonParser parser, Event event) {
+            switch (event) {
+                case VALUE_NUMBER:
+                    if (parser.isIntegralNumber() && keyType != KeyType.Double) {
+                        checkKeyType(parser, KeyType.Long);
+                        longKeys[size] = parser.getLong();
+                    } else {
+                        if (keyType == KeyType.Long) {
+                            // Histogram keys that are all integral until now
+                            doubleKeys = new double[longKeys.length];
+                            for (int i = 0; i < size; i++) {
+                                doubleKeys[i] = longKeys[i];
+                            }
+                            longKeys = null;
+                            keyType = KeyType.Double;
+                        }
+                        checkKeyType(parser, KeyType.Double);
+                        doubleKeys[size] = JsonpUtils.doubleValue(parser);
+                    }
+                    break;
+                case VALUE_STRING:
+                    setStringKey(parser, parser.getString());
+                    break;
+                default:
+                    // Composite keys
+                    JsonpUtils.skipValue(parser, event);
+            }
+        }
+
+        private void setStringKey(JsonParser parser, String key) {
+            checkKeyType(parser, KeyType.String);
+            stringKeys[size] = key;
+        }
+
+        private void checkKeyType(JsonParser parser, KeyType type) {
+            if (keyType == null) {
+                keyType = type;
+                switch (type) {
+                    case Long:
+                        longKeys = new long[docCounts.length];
+                        break;
+                    case Double:
+                        doubleKeys = new double[docCounts.length];
+                        break;
+                    default:
+                        stringKeys = new String[docCounts.length];
+                }
+            } else if (keyType != type) {
+                throw new JsonParsingException("Bucket key of type " + type + " after keys of type " + keyType, parser.getLocation());
+            }
+        }
+
+        /**
+         * Reads the value of a metric sub-aggregation if it is one of the chosen metrics.
+         */
+        private boolean readMetric(JsonParser parser, Event event, String field) {
+            int hashPos = field.indexOf('#');
+            if (hashPos < 0 || event != Event.START_OBJECT || !metricNames.contains(field.substring(hashPos + 1))) {
+                return false;
+            }
+            String name = field.substring(hashPos + 1);
+            metricTypes.putIfAbsent(name, field.substring(0, hashPos));
+            double[] values = metrics.get(name);
+            while ((event = parser.next()) != Event.END_OBJECT) {
+                String metricField = JsonpUtils.expectKeyName(parser, event);
+                event = parser.next();
+                if (metricField.equals("value") && event == Event.VALUE_NUMBER) {
+                    values[size] = JsonpUtils.doubleValue(parser);
+                } else {
+                    JsonpUtils.skipValue(parser, event);
+                }
+            }
+            return true;
+        }
+
+        private void grow(int capacity) {
+            docCounts = Arrays.copyOf(docCounts, capacity);
+            if (longKeys != null) {
+                longKeys = Arrays.copyOf(longKeys, capacity);
+            }
+            if (doubleKeys != null) {
+                doubleKeys = Arrays.copyOf(doubleKeys, capacity);
+            }
+            if (stringKeys != null) {
+                stringKeys = Arrays.copyOf(stringKeys, capacity);
+            }
+            for (Map.Entry<String, double[]> metric : metrics.entrySet()) {
+                metric.setValue(Arrays.copyOf(metric.getValue(), capacity));
+            }
+        }
+    }
+
+    /**
+     * Typed keys deserializer of aggregations that passes the metrics to decode as columns to the buckets of
+     * aggregations that are decoded as columns.
+     */
+    static final class AggregatesDeserializer extends ExternallyTaggedUnion.TypedKeysDeserializer<Aggregate> {
+
+        AggregatesDeserializer(ExternallyTaggedUnion.Deserializer<Aggregate, ?> deserializer) {
+            super(deserializer);
+        }
+
+        @Override
+        public void deserializeEntry(String key, JsonParser parser, JsonpMapper mapper, Map<String, Aggregate> targetMap) {
+            Map<String, Set<String>> aggregations = mapper.attribute(AGGREGATIONS_ATTRIBUTE);
+            if (aggregations != null) {
+                Set<String> metrics = aggregations.get(name(key, parser, mapper));
+                // Also clears the metrics of an enclosing aggregation
+                if (metrics != null || mapper.attribute(METRICS_ATTRIBUTE) != null) {
+                    mapper = mapper.withAttribute(METRICS_ATTRIBUTE, metrics);
+                }
+            }
+            super.deserializeEntry(key, parser, mapper, targetMap);
+        }
+    }
+}
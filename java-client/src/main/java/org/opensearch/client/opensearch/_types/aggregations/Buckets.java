@@ -35,6 +35,7 @@ package org.opensearch.client.opensearch._types.aggregations;
 import jakarta.json.stream.JsonGenerator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import org.opensearch.client.json.JsonpDeserializer;
 import org.opensearch.client.json.JsonpMapper;
@@ -61,7 +62,8 @@ public class Buckets<TBucket> implements TaggedUnion<Buckets.Kind, Object>, Json
 
     public enum Kind {
         Array,
-        Keyed
+        Keyed,
+        Columns
 
     }
 
@@ -130,6 +132,24 @@ public class Buckets<TBucket> implements TaggedUnion<Buckets.Kind, Object>, Json
         return TaggedUnionUtils.get(this, Kind.Keyed);
     }
 
+    /**
+     * Is this variant instance of kind {@code columns}?
+     */
+    public boolean isColumns() {
+        return _kind == Kind.Columns;
+    }
+
+    /**
+     * Get the {@code columns} variant value, for aggregations decoded as columns.
+     *
+     * @throws IllegalStateException
+     *             if the current variant is not of the {@code columns} kind.
+     * @see BucketColumns#decodeAsColumns(JsonpMapper, String, String...)
+     */
+    public BucketColumns columns() {
+        return TaggedUnionUtils.get(this, Kind.Columns);
+    }
+
     @Override
     public void serialize(JsonGenerator generator, JsonpMapper mapper) {
         if (_value instanceof JsonpSerializable) {
@@ -176,6 +196,12 @@ public class Buckets<TBucket> implements TaggedUnion<Buckets.Kind, Object>, Json
             return this;
         }
 
+        public ObjectBuilder<Buckets<TBucket>> columns(BucketColumns v) {
+            this._kind = Kind.Columns;
+            this._value = v;
+            return this;
+        }
+
         public Buckets<TBucket> build() {
             _checkSingleUse();
             return new Buckets<>(this);
@@ -184,10 +210,20 @@ public class Buckets<TBucket> implements TaggedUnion<Buckets.Kind, Object>, Json
     }
 
     public static <TBucket> JsonpDeserializer<Buckets<TBucket>> createBucketsDeserializer(JsonpDeserializer<TBucket> tBucketDeserializer) {
-        return new UnionDeserializer.Builder<Buckets<TBucket>, Kind, Object>(Buckets<TBucket>::new, false).addMember(
-            Kind.Array,
-            JsonpDeserializer.arrayDeserializer(tBucketDeserializer)
-        ).addMember(Kind.Keyed, JsonpDeserializer.stringMapDeserializer(tBucketDeserializer)).build();
+        JsonpDeserializer<Buckets<TBucket>> deserializer = new UnionDeserializer.Builder<Buckets<TBucket>, Kind, Object>(
+            Buckets<TBucket>::new,
+            false
+        ).addMember(Kind.Array, JsonpDeserializer.arrayDeserializer(tBucketDeserializer))
+            .addMember(Kind.Keyed, JsonpDeserializer.stringMapDeserializer(tBucketDeserializer))
+            .build();
+
+        return JsonpDeserializer.of(deserializer.acceptedEvents(), (parser, mapper, event) -> {
+            Set<String> metrics = BucketColumns.metricsToDecode(mapper);
+            if (metrics != null) {
+                return new Buckets<>(Kind.Columns, BucketColumns.deserialize(parser, event, metrics));
+            }
+            return deserializer.deserialize(parser, mapper, event);
+        });
     }
 
 }
@@ -30,6 +30,9 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
     public static class Builder extends PropertyBase.AbstractBuilder<Builder> implements ObjectBuilder<KnnVectorProperty> {
         private Integer dimension;
 
+        @Nullable
+        private String dataType;
+
         @Nullable
         private String modelId;
 
@@ -44,6 +47,14 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
             return this;
         }
 
+        /**
+         * API name: {@code data_type}
+         */
+        public final Builder dataType(@Nullable String value) {
+            this.dataType = value;
+            return this;
+        }
+
         /**
          * API name: {@code model_id}
          */
@@ -102,6 +113,7 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
     protected static void setupKnnVectorPropertyDeserializer(ObjectDeserializer<KnnVectorProperty.Builder> op) {
         PropertyBase.setupPropertyBaseDeserializer(op);
         op.add(Builder::dimension, JsonpDeserializer.integerDeserializer(), "dimension");
+        op.add(Builder::dataType, JsonpDeserializer.stringDeserializer(), "data_type");
         op.add(Builder::modelId, JsonpDeserializer.stringDeserializer(), "model_id");
         op.add(Builder::method, KnnVectorMethod._DESERIALIZER, "method");
 
@@ -110,6 +122,9 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
 
     private final int dimension;
 
+    @Nullable
+    private final String dataType;
+
     @Nullable
     private final String modelId;
 
@@ -120,6 +135,7 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
         super(builder);
 
         this.dimension = ApiTypeHelper.requireNonNull(builder.dimension, this, "dimension");
+        this.dataType = builder.dataType;
         this.modelId = builder.modelId;
         this.method = builder.method;
 
@@ -142,6 +158,16 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
 
     // ---------------------------------------------------------------------------------------------
 
+    /**
+     * API name: {@code data_type}
+     */
+    @Nullable
+    public final String dataType() {
+        return this.dataType;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+
     /**
      * API name: {@code model_id}
      */
@@ -168,6 +194,13 @@ public class KnnVectorProperty extends PropertyBase implements PropertyVariant {
         generator.writeKey("dimension");
         generator.write(this.dimension);
 
+        if (this.dataType != null) {
+
+            generator.writeKey("data_type");
+            generator.write(this.dataType);
+
+        }
+
         if (this.modelId != null) {
 
             generator.writeKey("model_id");
@@ -16,6 +16,7 @@ import org.opensearch.client.json.JsonpDeserializer;
 import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.json.ObjectBuilderDeserializer;
 import org.opensearch.client.json.ObjectDeserializer;
+import org.opensearch.client.json.VectorCodec;
 import org.opensearch.client.util.ApiTypeHelper;
 import org.opensearch.client.util.ObjectBuilder;
 
@@ -91,11 +92,7 @@ public class KnnQuery extends QueryBase implements QueryVariant {
         // TODO: Implement the rest of the serialization.
 
         generator.writeKey("vector");
-        generator.writeStartArray();
-        for (float value : this.vector) {
-            generator.write(value);
-        }
-        generator.writeEnd();
+        VectorCodec.writeFloatVector(generator, this.vector);
 
         generator.write("k", this.k);
 
@@ -192,14 +189,7 @@ public class KnnQuery extends QueryBase implements QueryVariant {
 
     protected static void setupKnnQueryDeserializer(ObjectDeserializer<Builder> op) {
         setupQueryBaseDeserializer(op);
-        op.add((b, v) -> {
-            float[] vector = new float[v.size()];
-            int i = 0;
-            for (Float value : v) {
-                vector[i++] = value;
-            }
-            b.vector(vector);
-        }, JsonpDeserializer.arrayDeserializer(JsonpDeserializer.floatDeserializer()), "vector");
+        op.add(Builder::vector, VectorCodec.floatVectorDeserializer(), "vector");
         op.add(Builder::k, JsonpDeserializer.integerDeserializer(), "k");
         op.add(Builder::filter, Query._DESERIALIZER, "filter");
 
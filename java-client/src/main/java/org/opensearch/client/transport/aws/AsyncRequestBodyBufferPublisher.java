@@ -0,0 +1,129 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+
+/**
+ * An implementation of AWS {@link SdkHttpContentPublisher} that publishes the segments of an
+ * {@link OpenSearchRequestBodyBuffer} as read-only byte buffers, as they are requested, rather than copying them
+ * into a single array. Each subscription publishes the whole content from the start, so that the request can be
+ * retried.
+ * <p>
+ * Each subscription holds a reference on the body until it completes, fails or is cancelled, so that the segments
+ * can't be recycled while the http client is still reading them, e.g. if the request timed out in the meantime.
+ */
+class AsyncRequestBodyBufferPublisher implements SdkHttpContentPublisher {
+    private final OpenSearchRequestBodyBuffer body;
+    private final long contentLength;
+
+    AsyncRequestBodyBufferPublisher(OpenSearchRequestBodyBuffer body) {
+        this.body = body;
+        this.contentLength = body.getContentLength();
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of(contentLength);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        final List<ByteBuffer> segments;
+        try {
+            segments = body.retain().getByteBuffers();
+        } catch (IllegalStateException e) {
+            // The buffer has already been released
+            subscriber.onSubscribe(new SegmentSubscription(subscriber, null, null));
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new SegmentSubscription(subscriber, body, segments));
+    }
+
+    /**
+     * Publishes the segments on the thread requesting them. Signals are serialized with a work-in-progress counter,
+     * so that a subscriber requesting more from {@code onNext} doesn't recurse. The reference on the body is given
+     * back by the draining thread once the subscription is done, never while a segment is being published.
+     */
+    private static final class SegmentSubscription implements Subscription {
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final List<ByteBuffer> segments;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private volatile Throwable error;
+        // Only accessed by the thread draining the segments
+        private OpenSearchRequestBodyBuffer body;
+        private int next;
+
+        SegmentSubscription(Subscriber<? super ByteBuffer> subscriber, OpenSearchRequestBodyBuffer body, List<ByteBuffer> segments) {
+            this.subscriber = subscriber;
+            this.body = body;
+            this.segments = segments;
+            this.done = segments == null;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                // Rule 3.9: non-positive requests are signalled as errors
+                error = new IllegalArgumentException("Requested " + n + " elements, the demand must be positive");
+            } else {
+                demand.accumulateAndGet(n, (a, b) -> (a + b < 0) ? Long.MAX_VALUE : a + b);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!done) {
+                    if (error != null) {
+                        done = true;
+                        subscriber.onError(error);
+                    } else if (next == segments.size()) {
+                        done = true;
+                        subscriber.onComplete();
+                    } else if (demand.get() > 0) {
+                        demand.decrementAndGet();
+                        subscriber.onNext(segments.get(next++).asReadOnlyBuffer());
+                    } else {
+                        break;
+                    }
+                }
+                if (done && body != null) {
+                    body.release();
+                    body = null;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+/**
+ * An implementation of AWS {@link SdkAsyncHttpResponseHandler} that captures the response, and exposes the content
+ * as a stream fed by an {@link AsyncStreamingSubscriber}.
+ */
+final class AsyncStreamingResponseHandler implements SdkAsyncHttpResponseHandler {
+    private final CompletableFuture<SdkHttpResponse> responseFuture;
+    private final AsyncStreamingSubscriber bodySubscriber;
+    private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+    /**
+     * @param maxBufferedBytes the maximum number of bytes received ahead of the reader of the body, or
+     *                         {@link AsyncStreamingSubscriber#UNBOUNDED} to receive the whole body
+     */
+    AsyncStreamingResponseHandler(long maxBufferedBytes) {
+        responseFuture = new CompletableFuture<>();
+        bodySubscriber = new AsyncStreamingSubscriber(maxBufferedBytes);
+    }
+
+    public CompletableFuture<SdkHttpResponse> getHeaderPromise() {
+        return responseFuture;
+    }
+
+    /**
+     * A future completed once the whole body has been received.
+     */
+    public CompletableFuture<Void> getBodyPromise() {
+        return bodySubscriber.getCompletion();
+    }
+
+    public InputStream getBodyStream() {
+        return bodySubscriber.getInputStream();
+    }
+
+    @Override
+    public void onHeaders(SdkHttpResponse response) {
+        responseFuture.complete(response);
+    }
+
+    @Override
+    public void onStream(Publisher<ByteBuffer> publisher) {
+        if (!subscribed.getAndSet(true)) {
+            publisher.subscribe(bodySubscriber);
+        }
+    }
+
+    /**
+     * Called once the http client has completed the execution of the request.
+     */
+    void onExecuteComplete(Throwable e) {
+        if (e != null) {
+            onError(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            return;
+        }
+        responseFuture.completeExceptionally(new IOException("the request completed without a response"));
+        if (!subscribed.getAndSet(true)) {
+            // No body was streamed
+            bodySubscriber.onComplete();
+        }
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        responseFuture.completeExceptionally(e);
+        // Wake up a reader waiting for the body
+        bodySubscriber.onError(e);
+    }
+}
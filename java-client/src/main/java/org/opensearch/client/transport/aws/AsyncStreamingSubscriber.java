@@ -0,0 +1,227 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * A reactive subscriber that exposes a byte stream as an {@link InputStream}.
+ * <p>
+ * The buffers are kept as delivered by the publisher, which hands their ownership over, and are read in place. When
+ * bounded, at most {@code maxBufferedBytes} (plus the last received buffer) are held: buffers are requested one at a
+ * time, and no more are requested until the reader has consumed enough of them. The reader blocks until data is
+ * available. When unbounded, the whole stream is requested upfront, and {@link #getCompletion()} tells when it has
+ * been received so that it can be read without blocking.
+ */
+class AsyncStreamingSubscriber implements Subscriber<ByteBuffer> {
+    static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long maxBufferedBytes;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+    private final InputStream inputStream = new SubscriberInputStream();
+    private Subscription subscription;
+    private long bufferedBytes;
+    private boolean demandPending;
+    private boolean completed;
+    private Throwable error;
+    private boolean closed;
+
+    AsyncStreamingSubscriber(long maxBufferedBytes) {
+        if (maxBufferedBytes <= 0) {
+            throw new IllegalArgumentException("maxBufferedBytes must be greater than 0");
+        }
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    /**
+     * A future completed once the whole stream has been received, or completed exceptionally if it failed.
+     */
+    CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * The stream of received bytes. Closing it before the end of the stream discards the rest of it.
+     */
+    InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        final long demand;
+        synchronized (this) {
+            if (this.subscription != null) {
+                // Rule 2.5: only one subscription at a time
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+            demandPending = true;
+            demand = (maxBufferedBytes == UNBOUNDED || closed) ? Long.MAX_VALUE : 1;
+        }
+        subscription.request(demand);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buf) {
+        final boolean requestMore;
+        synchronized (this) {
+            if (maxBufferedBytes != UNBOUNDED && closed == false) {
+                demandPending = false;
+            }
+            if (closed == false && buf != null && buf.hasRemaining()) {
+                buffers.add(buf);
+                bufferedBytes += buf.remaining();
+                notifyAll();
+            }
+            requestMore = demandPending == false && (closed || bufferedBytes < maxBufferedBytes);
+            if (requestMore) {
+                demandPending = true;
+            }
+        }
+        if (requestMore) {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable e) {
+        if (e == null) {
+            e = new IllegalArgumentException("Subscriber.onError called with null parameter");
+        }
+        synchronized (this) {
+            if (completed || error != null) {
+                return;
+            }
+            error = e;
+            notifyAll();
+        }
+        completion.completeExceptionally(e);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            if (completed || error != null) {
+                return;
+            }
+            completed = true;
+            notifyAll();
+        }
+        completion.complete(null);
+    }
+
+    /**
+     * Takes the next buffer, waiting for it if needed. Returns null at the end of the stream.
+     */
+    private ByteBuffer next() throws IOException {
+        final ByteBuffer buf;
+        Subscription toRequest = null;
+        synchronized (this) {
+            while (buffers.isEmpty() && completed == false && error == null && closed == false) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("interrupted while waiting for the response body");
+                }
+            }
+            if (error != null) {
+                throw error instanceof IOException ? (IOException) error : new IOException(error.getMessage(), error);
+            }
+            if (closed) {
+                throw new IOException("stream closed");
+            }
+            buf = buffers.poll();
+            if (buf == null) {
+                return null;
+            }
+            bufferedBytes -= buf.remaining();
+            if (demandPending == false && completed == false && bufferedBytes < maxBufferedBytes && subscription != null) {
+                demandPending = true;
+                toRequest = subscription;
+            }
+        }
+        if (toRequest != null) {
+            toRequest.request(1);
+        }
+        return buf;
+    }
+
+    private void close() {
+        final Subscription toRequest;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            buffers.clear();
+            bufferedBytes = 0;
+            notifyAll();
+            // Rather than cancelling, which would close the connection, the rest of the stream is discarded
+            toRequest = (completed == false && error == null && maxBufferedBytes != UNBOUNDED) ? subscription : null;
+            demandPending = true;
+        }
+        if (toRequest != null) {
+            toRequest.request(Long.MAX_VALUE);
+        }
+    }
+
+    private final class SubscriberInputStream extends InputStream {
+        // Only used by the reading thread
+        private ByteBuffer current;
+
+        @Override
+        public int read() throws IOException {
+            while (current == null || current.hasRemaining() == false) {
+                current = next();
+                if (current == null) {
+                    return -1;
+                }
+            }
+            return current.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (current == null || current.hasRemaining() == false) {
+                current = next();
+                if (current == null) {
+                    return -1;
+                }
+            }
+            final int n = Math.min(len, current.remaining());
+            current.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.remaining();
+        }
+
+        @Override
+        public void close() {
+            current = null;
+            AsyncStreamingSubscriber.this.close();
+        }
+    }
+}
@@ -10,7 +10,6 @@ package org.opensearch.client.transport.aws;
 
 import jakarta.json.JsonObject;
 import jakarta.json.stream.JsonParser;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
@@ -22,7 +21,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.zip.GZIPInputStream;
 import javax.annotation.CheckForNull;
@@ -55,6 +57,7 @@ import software.amazon.awssdk.http.SdkHttpMethod;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 
@@ -69,6 +72,12 @@ public class AwsSdk2Transport implements OpenSearchTransport {
      */
     public static final Integer DEFAULT_REQUEST_COMPRESSION_SIZE = 8192;
 
+    /**
+     * By default, at most this number of response bytes are received ahead of the parser when using an
+     * {@link SdkAsyncHttpClient}. {@link AwsSdk2TransportOptions} can be used to override this setting.
+     */
+    public static final Integer DEFAULT_RESPONSE_BUFFER_SIZE = 256 * 1024;
+
     private static final byte[] NO_BYTES = new byte[0];
     private final SdkAutoCloseable httpClient;
     private final String host;
@@ -76,6 +85,8 @@ public class AwsSdk2Transport implements OpenSearchTransport {
     private final Region signingRegion;
     private final JsonpMapper defaultMapper;
     private final AwsSdk2TransportOptions transportOptions;
+    private final AwsCredentialsProvider defaultCredentials;
+    private final Aws4Signer signer;
 
     /**
      * Create an {@link OpenSearchTransport} with an asynchronous AWS HTTP client.
@@ -176,6 +187,8 @@ public class AwsSdk2Transport implements OpenSearchTransport {
         this.signingServiceName = signingServiceName;
         this.signingRegion = signingRegion;
         this.transportOptions = options != null ? options : AwsSdk2TransportOptions.builder().build();
+        this.defaultCredentials = Optional.ofNullable(transportOptions.credentials()).orElseGet(DefaultCredentialsProvider::create);
+        this.signer = Aws4Signer.create();
         this.defaultMapper = Optional.ofNullable(options).map(AwsSdk2TransportOptions::mapper).orElse(new JacksonJsonpMapper());
     }
 
@@ -192,8 +205,15 @@ public class AwsSdk2Transport implements OpenSearchTransport {
         if (httpClient instanceof SdkHttpClient) {
             return executeSync((SdkHttpClient) httpClient, clientReq, endpoint, options);
         } else if (httpClient instanceof SdkAsyncHttpClient) {
+            final AsyncStreamingResponseHandler responseHandler = sendAsync(
+                (SdkAsyncHttpClient) httpClient,
+                clientReq,
+                requestBody,
+                responseBufferSize(options)
+            );
+            final SdkHttpResponse httpResponse;
             try {
-                return executeAsync((SdkAsyncHttpClient) httpClient, clientReq, requestBody, endpoint, options).get();
+                httpResponse = responseHandler.getHeaderPromise().get();
             } catch (ExecutionException e) {
                 Throwable cause = e.getCause();
                 if (cause != null) {
@@ -209,6 +229,10 @@ public class AwsSdk2Transport implements OpenSearchTransport {
             } catch (InterruptedException e) {
                 throw new IOException("HttpRequest was interrupted", e);
             }
+            // The body is parsed on this thread while it is being received
+            try (InputStream bodyStream = responseHandler.getBodyStream()) {
+                return parseResponse(httpResponse, bodyStream, endpoint, options);
+            }
         } else {
             throw new IOException("invalid httpClient: " + httpClient);
         }
@@ -335,19 +359,17 @@ public class AwsSdk2Transport implements OpenSearchTransport {
             req.removeHeader("Accept-Encoding");
         }
 
-        final AwsCredentialsProvider credentials = or(
-            Optional.ofNullable(options)
-                .map(o -> o instanceof AwsSdk2TransportOptions ? ((AwsSdk2TransportOptions) o) : null)
-                .map(AwsSdk2TransportOptions::credentials),
-            () -> Optional.ofNullable(transportOptions.credentials())
-        ).orElse(DefaultCredentialsProvider.create());
+        final AwsCredentialsProvider credentials = Optional.ofNullable(options)
+            .map(o -> o instanceof AwsSdk2TransportOptions ? ((AwsSdk2TransportOptions) o) : null)
+            .map(AwsSdk2TransportOptions::credentials)
+            .orElse(defaultCredentials);
 
         Aws4SignerParams signerParams = Aws4SignerParams.builder()
             .awsCredentials(credentials.resolveCredentials())
             .signingName(this.signingServiceName)
             .signingRegion(signingRegion)
             .build();
-        return Aws4Signer.create().sign(req.build(), signerParams);
+        return signer.sign(req.build(), signerParams);
     }
 
     private void applyOptionsParams(StringBuilder url, TransportOptions options) throws UnsupportedEncodingException {
@@ -408,25 +430,93 @@ public class AwsSdk2Transport implements OpenSearchTransport {
         Endpoint<?, ResponseT, ?> endpoint,
         TransportOptions options
     ) {
-        byte[] requestBodyArray = requestBody == null ? NO_BYTES : requestBody.getByteArray();
+        final Executor responseExecutor = responseExecutor(options);
+        final AsyncStreamingResponseHandler responseHandler = sendAsync(
+            asyncHttpClient,
+            httpRequest,
+            requestBody,
+            responseExecutor == null ? AsyncStreamingSubscriber.UNBOUNDED : responseBufferSize(options)
+        );
+        final Function<SdkHttpResponse, ResponseT> parser = response -> {
+            try (InputStream bodyStream = responseHandler.getBodyStream()) {
+                return parseResponse(response, bodyStream, endpoint, options);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        };
+
+        if (responseExecutor == null) {
+            // Nothing blocks: the body is parsed once it has been received in full
+            return responseHandler.getHeaderPromise()
+                .thenCompose(response -> responseHandler.getBodyPromise().thenApply(_v -> parser.apply(response)));
+        }
+        // The body is parsed while it is being received
+        final CompletableFuture<ResponseT> future = responseHandler.getHeaderPromise().thenApplyAsync(parser, responseExecutor);
+        future.whenComplete((r, e) -> {
+            if (e != null) {
+                // The parser may not have run, the rest of the body must not be left waiting for it
+                closeQuietly(responseHandler.getBodyStream());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Sends a request with the async client. The body of the response is fed to the handler's stream with at most
+     * {@code maxBufferedBytes} received ahead of its reader.
+     */
+    private AsyncStreamingResponseHandler sendAsync(
+        SdkAsyncHttpClient asyncHttpClient,
+        SdkHttpFullRequest httpRequest,
+        @CheckForNull OpenSearchRequestBodyBuffer requestBody,
+        long maxBufferedBytes
+    ) {
+        // The segments of the request body are published as they are, without copying them into a single array
+        final SdkHttpContentPublisher requestContent = requestBody == null
+            ? new AsyncByteArrayContentPublisher(NO_BYTES)
+            : new AsyncRequestBodyBufferPublisher(requestBody);
 
-        final AsyncCapturingResponseHandler responseHandler = new AsyncCapturingResponseHandler();
+        final AsyncStreamingResponseHandler responseHandler = new AsyncStreamingResponseHandler(maxBufferedBytes);
         AsyncExecuteRequest.Builder executeRequest = AsyncExecuteRequest.builder()
             .request(httpRequest)
-            .requestContentPublisher(new AsyncByteArrayContentPublisher(requestBodyArray))
+            .requestContentPublisher(requestContent)
             .responseHandler(responseHandler);
-        CompletableFuture<Void> executeFuture = asyncHttpClient.execute(executeRequest.build());
-        return executeFuture.thenCompose(_v -> responseHandler.getHeaderPromise())
-            .thenCompose(response -> responseHandler.getBodyPromise().thenCompose(responseBody -> {
-                CompletableFuture<ResponseT> ret = new CompletableFuture<>();
-                try {
-                    InputStream bodyStream = new ByteArrayInputStream(responseBody);
-                    ret.complete(parseResponse(response, bodyStream, endpoint, options));
-                } catch (Throwable e) {
-                    ret.completeExceptionally(e);
-                }
-                return ret;
-            }));
+        // The execution only completes once the body has been received, which may be waiting for its reader
+        asyncHttpClient.execute(executeRequest.build()).whenComplete((_v, e) -> {
+            if (requestBody != null) {
+                // A subscription still publishing the body, e.g. if the request timed out, holds its own reference
+                requestBody.release();
+            }
+            responseHandler.onExecuteComplete(e);
+        });
+        return responseHandler;
+    }
+
+    private long responseBufferSize(@CheckForNull TransportOptions options) {
+        return or(
+            Optional.ofNullable(options)
+                .map(o -> o instanceof AwsSdk2TransportOptions ? ((AwsSdk2TransportOptions) o) : null)
+                .map(AwsSdk2TransportOptions::responseBufferSize),
+            () -> Optional.ofNullable(transportOptions.responseBufferSize())
+        ).orElse(DEFAULT_RESPONSE_BUFFER_SIZE);
+    }
+
+    @CheckForNull
+    private Executor responseExecutor(@CheckForNull TransportOptions options) {
+        return or(
+            Optional.ofNullable(options)
+                .map(o -> o instanceof AwsSdk2TransportOptions ? ((AwsSdk2TransportOptions) o) : null)
+                .map(AwsSdk2TransportOptions::responseExecutor),
+            () -> Optional.ofNullable(transportOptions.responseExecutor())
+        ).orElse(null);
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            // Nothing to do
+        }
     }
 
     private <ResponseT, ErrorT> ResponseT parseResponse(
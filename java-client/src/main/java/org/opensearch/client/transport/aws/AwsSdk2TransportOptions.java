@@ -9,6 +9,7 @@
 package org.opensearch.client.transport.aws;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.transport.TransportOptions;
@@ -71,6 +72,38 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
      */
     JsonpMapper mapper();
 
+    /**
+     * Get the maximum number of response bytes received ahead of the parser when responses are streamed. Once
+     * reached, no more data is requested from the http client until the parser has consumed some of it.
+     * <p>
+     * If this is null, then a default will be used -- either a value specified
+     * in a more general {@link AwsSdk2TransportOptions} that applies to the request, or
+     * {@link AwsSdk2Transport#DEFAULT_RESPONSE_BUFFER_SIZE} if there is none.
+     * </P>
+     *
+     * @return An integer size limit or null
+     */
+    default Integer responseBufferSize() {
+        return null;
+    }
+
+    /**
+     * Get the executor on which the responses of asynchronous requests sent with an {@code SdkAsyncHttpClient} are
+     * parsed. When set, these responses are streamed to the parser as they are received, with the same flow control
+     * as synchronous requests. Parsing blocks while waiting for data, so this must not be an event loop of the http
+     * client.
+     * <p>
+     * If this is null, then a value specified in a more general {@link AwsSdk2TransportOptions} that applies to
+     * the request is used. If there is none, the response body is received in full before being parsed on the
+     * thread that received it.
+     * </P>
+     *
+     * @return An executor or null
+     */
+    default Executor responseExecutor() {
+        return null;
+    }
+
     AwsSdk2TransportOptions.Builder toBuilder();
 
     static AwsSdk2TransportOptions.Builder builder() {
@@ -92,6 +125,10 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
 
         Builder setMapper(JsonpMapper mapper);
 
+        Builder setResponseBufferSize(Integer size);
+
+        Builder setResponseExecutor(Executor executor);
+
         AwsSdk2TransportOptions build();
     }
 
@@ -101,6 +138,8 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
         protected Integer requestCompressionSize;
         protected Boolean responseCompression;
         protected JsonpMapper mapper;
+        protected Integer responseBufferSize;
+        protected Executor responseExecutor;
 
         public BuilderImpl() {}
 
@@ -110,6 +149,8 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
             requestCompressionSize = src.requestCompressionSize();
             responseCompression = src.responseCompression();
             mapper = src.mapper();
+            responseBufferSize = src.responseBufferSize();
+            responseExecutor = src.responseExecutor();
         }
 
         @Override
@@ -154,6 +195,18 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
             return this;
         }
 
+        @Override
+        public Builder setResponseBufferSize(Integer size) {
+            this.responseBufferSize = size;
+            return this;
+        }
+
+        @Override
+        public Builder setResponseExecutor(Executor executor) {
+            this.responseExecutor = executor;
+            return this;
+        }
+
         @Override
         public AwsSdk2TransportOptions build() {
             return new DefaultImpl(this);
@@ -166,6 +219,8 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
         private Integer requestCompressionSize;
         private Boolean responseCompression;
         private JsonpMapper mapper;
+        private Integer responseBufferSize;
+        private Executor responseExecutor;
 
         DefaultImpl(AwsSdk2TransportOptions.BuilderImpl builder) {
             super(builder);
@@ -173,6 +228,8 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
             requestCompressionSize = builder.requestCompressionSize;
             responseCompression = builder.responseCompression;
             mapper = builder.mapper;
+            responseBufferSize = builder.responseBufferSize;
+            responseExecutor = builder.responseExecutor;
         }
 
         @Override
@@ -195,6 +252,16 @@ public interface AwsSdk2TransportOptions extends TransportOptions {
             return mapper;
         }
 
+        @Override
+        public Integer responseBufferSize() {
+            return responseBufferSize;
+        }
+
+        @Override
+        public Executor responseExecutor() {
+            return responseExecutor;
+        }
+
         @Override
         public AwsSdk2TransportOptions.Builder toBuilder() {
             return new AwsSdk2TransportOptions.BuilderImpl(this);
@@ -37,6 +37,7 @@ public class ApacheHttpClient5Options implements TransportOptions {
         Collections.emptyList(),
         HttpAsyncResponseConsumerFactory.HeapBufferedResponseConsumerFactory.DEFAULT,
         null,
+        null,
         null
     ).build();
 
@@ -44,12 +45,14 @@ public class ApacheHttpClient5Options implements TransportOptions {
     private final HttpAsyncResponseConsumerFactory httpAsyncResponseConsumerFactory;
     private final WarningsHandler warningsHandler;
     private final RequestConfig requestConfig;
+    private final HedgingPolicy hedgingPolicy;
 
     private ApacheHttpClient5Options(Builder builder) {
         this.headers = Collections.unmodifiableList(new ArrayList<>(builder.headers));
         this.httpAsyncResponseConsumerFactory = builder.httpAsyncResponseConsumerFactory;
         this.warningsHandler = builder.warningsHandler;
         this.requestConfig = builder.requestConfig;
+        this.hedgingPolicy = builder.hedgingPolicy;
     }
 
     public HttpAsyncResponseConsumerFactory getHttpAsyncResponseConsumerFactory() {
@@ -64,6 +67,10 @@ public class ApacheHttpClient5Options implements TransportOptions {
         return requestConfig;
     }
 
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
     @Override
     public Collection<Entry<String, String>> headers() {
         return headers.stream().map(h -> new AbstractMap.SimpleImmutableEntry<>(h.getName(), h.getValue())).collect(Collectors.toList());
@@ -85,7 +92,7 @@ public class ApacheHttpClient5Options implements TransportOptions {
 
     @Override
     public Builder toBuilder() {
-        return new Builder(headers, httpAsyncResponseConsumerFactory, warningsHandler, requestConfig);
+        return new Builder(headers, httpAsyncResponseConsumerFactory, warningsHandler, requestConfig, hedgingPolicy);
     }
 
     public static class Builder implements TransportOptions.Builder {
@@ -93,21 +100,30 @@ public class ApacheHttpClient5Options implements TransportOptions {
         private HttpAsyncResponseConsumerFactory httpAsyncResponseConsumerFactory;
         private WarningsHandler warningsHandler;
         private RequestConfig requestConfig;
+        private HedgingPolicy hedgingPolicy;
 
         private Builder(Builder builder) {
-            this(builder.headers, builder.httpAsyncResponseConsumerFactory, builder.warningsHandler, builder.requestConfig);
+            this(
+                builder.headers,
+                builder.httpAsyncResponseConsumerFactory,
+                builder.warningsHandler,
+                builder.requestConfig,
+                builder.hedgingPolicy
+            );
         }
 
         private Builder(
             List<Header> headers,
             HttpAsyncResponseConsumerFactory httpAsyncResponseConsumerFactory,
             WarningsHandler warningsHandler,
-            RequestConfig requestConfig
+            RequestConfig requestConfig,
+            HedgingPolicy hedgingPolicy
         ) {
             this.headers = new ArrayList<>(headers);
             this.httpAsyncResponseConsumerFactory = httpAsyncResponseConsumerFactory;
             this.warningsHandler = warningsHandler;
             this.requestConfig = requestConfig;
+            this.hedgingPolicy = hedgingPolicy;
         }
 
         /**
@@ -200,6 +216,18 @@ public class ApacheHttpClient5Options implements TransportOptions {
             return this;
         }
 
+        /**
+         * Set the {@link HedgingPolicy} of idempotent read requests, which sends a duplicate request to another node
+         * when the first one hasn't answered within a delay. Disabled if null (the default).
+         *
+         * @param hedgingPolicy the hedging policy, shared by the requests using it
+         * @return Builder
+         */
+        public Builder setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
         @Override
         public ApacheHttpClient5Options build() {
             return new ApacheHttpClient5Options(this);
@@ -8,7 +8,6 @@
 
 package org.opensearch.client.transport.httpclient5;
 
-import jakarta.json.stream.JsonGenerator;
 import jakarta.json.stream.JsonParser;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -35,8 +34,15 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.zip.GZIPOutputStream;
 import javax.annotation.Nullable;
 import org.apache.commons.logging.Log;
@@ -61,7 +67,6 @@ import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.HttpHost;
 import org.apache.hc.core5.http.HttpRequest;
 import org.apache.hc.core5.http.io.entity.BufferedHttpEntity;
-import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
 import org.apache.hc.core5.http.message.BasicHeader;
@@ -82,10 +87,15 @@ import org.opensearch.client.transport.TransportException;
 import org.opensearch.client.transport.TransportOptions;
 import org.opensearch.client.transport.endpoints.BooleanEndpoint;
 import org.opensearch.client.transport.endpoints.BooleanResponse;
+import org.opensearch.client.transport.httpclient5.HttpAsyncResponseConsumerFactory.StreamingResponseConsumerFactory;
+import org.opensearch.client.transport.httpclient5.internal.AdaptiveNodeSelector;
 import org.opensearch.client.transport.httpclient5.internal.HttpUriRequestProducer;
+import org.opensearch.client.transport.httpclient5.internal.NdJsonEntity;
 import org.opensearch.client.transport.httpclient5.internal.Node;
 import org.opensearch.client.transport.httpclient5.internal.NodeSelector;
+import org.opensearch.client.transport.httpclient5.internal.RequestBodyBufferEntity;
 import org.opensearch.client.util.MissingRequiredPropertyException;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
 
 /**
  * Apache HttpClient 5 based client transport.
@@ -93,6 +103,7 @@ import org.opensearch.client.util.MissingRequiredPropertyException;
 public class ApacheHttpClient5Transport implements OpenSearchTransport {
     private static final Log logger = LogFactory.getLog(ApacheHttpClient5Transport.class);
     static final ContentType JsonContentType = ContentType.APPLICATION_JSON;
+    private static final String HEDGING_THREAD_NAME = "opensearch_transport_hedging";
 
     private final JsonpMapper mapper;
     private final CloseableHttpAsyncClient client;
@@ -101,12 +112,15 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
     private final AtomicInteger lastNodeIndex = new AtomicInteger(0);
     private volatile NodeTuple<List<Node>> nodeTuple;
     private final NodeSelector nodeSelector;
+    @Nullable
+    private final AdaptiveNodeSelector adaptiveNodeSelector;
     private final WarningsHandler warningsHandler;
     private final FailureListener failureListener;
     private final boolean compressionEnabled;
     private final boolean chunkedEnabled;
     private final String pathPrefix;
     private final List<Header> defaultHeaders;
+    private ScheduledExecutorService hedgingScheduler;
 
     public ApacheHttpClient5Transport(
         final CloseableHttpAsyncClient client,
@@ -128,6 +142,7 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         this.transportOptions = (options == null) ? ApacheHttpClient5Options.initialOptions() : ApacheHttpClient5Options.of(options);
         this.warningsHandler = strictDeprecationMode ? WarningsHandler.STRICT : WarningsHandler.PERMISSIVE;
         this.nodeSelector = (nodeSelector == null) ? NodeSelector.ANY : nodeSelector;
+        this.adaptiveNodeSelector = (nodeSelector instanceof AdaptiveNodeSelector) ? (AdaptiveNodeSelector) nodeSelector : null;
         this.failureListener = (failureListener == null) ? new FailureListener() : failureListener;
         this.chunkedEnabled = chunkedEnabled;
         this.compressionEnabled = compressionEnabled;
@@ -140,8 +155,10 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         Endpoint<RequestT, ResponseT, ErrorT> endpoint,
         TransportOptions options
     ) throws IOException {
+        final ApacheHttpClient5Options requestOptions = (options == null) ? transportOptions : ApacheHttpClient5Options.of(options);
         try {
-            return performRequestAsync(request, endpoint, options).join();
+            // Decode on the calling thread: the response body may still be streamed by the I/O reactor
+            return prepareResponse(performLowLevelRequestAsync(request, endpoint, requestOptions).join(), endpoint);
         } catch (final CompletionException ex) {
             if (ex.getCause() instanceof RuntimeException) {
                 throw (RuntimeException) ex.getCause();
@@ -161,27 +178,156 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
     ) {
 
         final ApacheHttpClient5Options requestOptions = (options == null) ? transportOptions : ApacheHttpClient5Options.of(options);
+        final CompletableFuture<Response> future = performLowLevelRequestAsync(request, endpoint, requestOptions);
+        final Function<Response, ResponseT> decoder = r -> {
+            try {
+                return prepareResponse(r, endpoint);
+            } catch (final IOException ex) {
+                throw new CompletionException(ex);
+            }
+        };
+
+        final HttpAsyncResponseConsumerFactory consumerFactory = requestOptions.getHttpAsyncResponseConsumerFactory();
+        if (consumerFactory instanceof StreamingResponseConsumerFactory) {
+            // The response body is still being received, it must not be decoded on an I/O reactor thread
+            return future.thenApplyAsync(decoder, ((StreamingResponseConsumerFactory) consumerFactory).getExecutor());
+        } else {
+            return future.thenApply(decoder);
+        }
+    }
+
+    private <RequestT> CompletableFuture<Response> performLowLevelRequestAsync(
+        RequestT request,
+        Endpoint<RequestT, ?, ?> endpoint,
+        ApacheHttpClient5Options requestOptions
+    ) {
         final CompletableFuture<Response> future = new CompletableFuture<>();
-        final HttpUriRequestBase clientReq = prepareLowLevelRequest(request, endpoint, requestOptions);
+        final HttpUriRequestBase clientReq;
+        try {
+            clientReq = prepareLowLevelRequest(request, endpoint, requestOptions);
+        } catch (final IOException ex) {
+            future.completeExceptionally(ex);
+            return future;
+        }
+
         final WarningsHandler warningsHandler = (requestOptions.getWarningsHandler() == null)
             ? this.warningsHandler
             : requestOptions.getWarningsHandler();
 
+        final HedgingPolicy hedgingPolicy = requestOptions.getHedgingPolicy();
+        if (hedgingPolicy != null && HedgingPolicy.isHedgeable(clientReq.getMethod(), clientReq.getRequestUri())) {
+            performHedgedRequestAsync(requestOptions, hedgingPolicy, clientReq, warningsHandler, future);
+            return future;
+        }
+
+        releaseBodyOnCompletion(clientReq, future);
         try {
             performRequestAsync(nextNodes(), requestOptions, clientReq, warningsHandler, future);
         } catch (final IOException ex) {
             future.completeExceptionally(ex);
         }
 
-        return future.thenApply(r -> {
-            try {
-                return (ResponseT) prepareResponse(r, endpoint);
-            } catch (final IOException ex) {
-                throw new CompletionException(ex);
+        return future;
+    }
+
+    private static void releaseBodyOnCompletion(HttpUriRequestBase request, CompletableFuture<?> future) {
+        final HttpEntity entity = request.getEntity();
+        if (entity instanceof RequestBodyBufferEntity) {
+            // Give the body segments back once the request is complete, whatever its outcome
+            future.whenComplete((r, ex) -> ((RequestBodyBufferEntity) entity).close());
+        }
+    }
+
+    /**
+     * Sends the request, and a duplicate to the next node if no response was received within the hedging delay.
+     * The first successful response completes the listener and cancels the other request. The listener only fails
+     * once all the requests have failed.
+     */
+    private void performHedgedRequestAsync(
+        final ApacheHttpClient5Options options,
+        final HedgingPolicy hedgingPolicy,
+        final HttpUriRequestBase clientReq,
+        final WarningsHandler warningsHandler,
+        final CompletableFuture<Response> listener
+    ) {
+        hedgingPolicy.onRequest();
+        final NodeTuple<Iterator<Node>> nodeTuple;
+        try {
+            nodeTuple = nextNodes();
+        } catch (final IOException ex) {
+            releaseBodyOnCompletion(clientReq, listener);
+            listener.completeExceptionally(ex);
+            return;
+        }
+        final List<Node> nodes = new ArrayList<>();
+        nodeTuple.nodes.forEachRemaining(nodes::add);
+
+        // The duplicate is made before the request is sent, while its body is still referenced by the request
+        final HttpUriRequestBase hedgeReq = nodes.size() < 2 ? null : duplicate(clientReq);
+        final HedgedRequest hedgedRequest = new HedgedRequest(hedgingPolicy, listener);
+        hedgedRequest.send(new NodeTuple<>(nodes.iterator(), nodeTuple.authCache), options, clientReq, warningsHandler, false);
+        if (hedgeReq == null) {
+            // No other node to send a duplicate to
+            return;
+        }
+
+        final ScheduledFuture<?> hedge = hedgingScheduler().schedule(() -> {
+            if (listener.isDone() || hedgingPolicy.tryAcquire() == false) {
+                closeQuietly(hedgeReq.getEntity());
+                return;
+            }
+            // The duplicate starts with the next node, and then tries the other ones in turn
+            final List<Node> rotated = new ArrayList<>(nodes);
+            Collections.rotate(rotated, -1);
+            hedgedRequest.send(new NodeTuple<>(rotated.iterator(), nodeTuple.authCache), options, hedgeReq, warningsHandler, true);
+        }, hedgingPolicy.hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        listener.whenComplete((r, ex) -> {
+            if (hedge.cancel(false)) {
+                closeQuietly(hedgeReq.getEntity());
             }
         });
     }
 
+    /**
+     * Copies a request so that it can be sent to another node. A serialized body isn't serialized again: the copy
+     * has its own entity over the same body buffer, holding its own reference on it. Package private for testing.
+     */
+    static HttpUriRequestBase duplicate(HttpUriRequestBase request) {
+        final HttpUriRequestBase copy = new HttpUriRequestBase(request.getMethod(), URI.create(request.getRequestUri()));
+        copy.setScheme(request.getScheme());
+        copy.setAuthority(request.getAuthority());
+        copy.setHeaders(request.getHeaders());
+        copy.setConfig(request.getConfig());
+        final HttpEntity entity = request.getEntity();
+        if (entity instanceof RequestBodyBufferEntity) {
+            final RequestBodyBufferEntity bodyEntity = (RequestBodyBufferEntity) entity;
+            copy.setEntity(
+                new RequestBodyBufferEntity(
+                    bodyEntity.getBody().retain(),
+                    ContentType.parse(bodyEntity.getContentType()),
+                    bodyEntity.isChunked()
+                )
+            );
+        } else {
+            // Nd-json entities are serialized by each request as it is being sent
+            copy.setEntity(entity);
+        }
+        return copy;
+    }
+
+    private synchronized ScheduledExecutorService hedgingScheduler() {
+        if (hedgingScheduler == null) {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+                final Thread thread = new Thread(r, HEDGING_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            hedgingScheduler = scheduler;
+        }
+        return hedgingScheduler;
+    }
+
     @Override
     public JsonpMapper jsonpMapper() {
         return mapper;
@@ -194,6 +340,11 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
 
     @Override
     public void close() throws IOException {
+        synchronized (this) {
+            if (hedgingScheduler != null) {
+                hedgingScheduler.shutdownNow();
+            }
+        }
         client.close();
     }
 
@@ -205,6 +356,10 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         final CompletableFuture<Response> listener
     ) {
         final RequestContext context = createContextForNextAttempt(options, request, nodeTuple.nodes.next(), nodeTuple.authCache);
+        final long startNanos = System.nanoTime();
+        if (adaptiveNodeSelector != null) {
+            adaptiveNodeSelector.onRequestStarted(context.node);
+        }
         Future<ClassicHttpResponse> future = client.execute(
             context.requestProducer,
             context.asyncResponseConsumer,
@@ -212,6 +367,13 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
             new FutureCallback<ClassicHttpResponse>() {
                 @Override
                 public void completed(ClassicHttpResponse httpResponse) {
+                    if (adaptiveNodeSelector != null) {
+                        if (isRetryStatus(httpResponse.getCode())) {
+                            adaptiveNodeSelector.onFailure(context.node, System.nanoTime() - startNanos);
+                        } else {
+                            adaptiveNodeSelector.onResponse(context.node, System.nanoTime() - startNanos);
+                        }
+                    }
                     try {
                         ResponseOrResponseException responseOrResponseException = convertResponse(
                             request,
@@ -235,6 +397,25 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
 
                 @Override
                 public void failed(Exception failure) {
+                    final RequestSerializationException serializationFailure = serializationFailure(failure);
+                    // The node isn't at fault if the request is invalid, or if it is a hedged request that lost the race
+                    final boolean nodeFailed = serializationFailure == null && request.isCancelled() == false;
+                    if (adaptiveNodeSelector != null) {
+                        if (nodeFailed) {
+                            adaptiveNodeSelector.onFailure(context.node, System.nanoTime() - startNanos);
+                        } else {
+                            adaptiveNodeSelector.onCancelled(context.node);
+                        }
+                    }
+                    if (serializationFailure != null) {
+                        // Retrying on another node would fail the same way
+                        listener.completeExceptionally(serializationFailure);
+                        return;
+                    }
+                    if (nodeFailed == false) {
+                        listener.completeExceptionally(failure);
+                        return;
+                    }
                     try {
                         onFailure(context.node);
                         if (nodeTuple.nodes.hasNext()) {
@@ -249,6 +430,9 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
 
                 @Override
                 public void cancelled() {
+                    if (adaptiveNodeSelector != null) {
+                        adaptiveNodeSelector.onCancelled(context.node);
+                    }
                     listener.completeExceptionally(new CancellationException("request was cancelled"));
                 }
             }
@@ -259,12 +443,23 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         }
     }
 
+    @Nullable
+    private static RequestSerializationException serializationFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof RequestSerializationException) {
+                return (RequestSerializationException) t;
+            }
+        }
+        return null;
+    }
+
     /**
-     * Replaces the nodes with which the client communicates.
+     * Replaces the nodes with which the client communicates. Requests in flight keep using the nodes they were
+     * started with, and the denylist is reset.
      *
      * @param nodes the new nodes to communicate with.
      */
-    private void setNodes(Collection<Node> nodes) {
+    public synchronized void setNodes(Collection<Node> nodes) {
         if (nodes == null || nodes.isEmpty()) {
             throw new IllegalArgumentException("nodes must not be null or empty");
         }
@@ -279,6 +474,16 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         }
         this.nodeTuple = new NodeTuple<>(Collections.unmodifiableList(new ArrayList<>(nodesByHost.values())), authCache);
         this.denylist.clear();
+        if (adaptiveNodeSelector != null) {
+            adaptiveNodeSelector.retainNodes(nodesByHost.values());
+        }
+    }
+
+    /**
+     * Get the list of nodes that the client knows about. The list is unmodifiable.
+     */
+    public List<Node> getNodes() {
+        return nodeTuple.nodes;
     }
 
     private ResponseOrResponseException convertResponse(
@@ -409,6 +614,10 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
                  * requests will try the nodes in a different order.
                  */
                 Collections.rotate(selectedLivingNodes, lastNodeIndex.getAndIncrement());
+                if (nodeSelector instanceof AdaptiveNodeSelector) {
+                    // The least loaded node comes first
+                    return ((AdaptiveNodeSelector) nodeSelector).rank(selectedLivingNodes);
+                }
                 return selectedLivingNodes;
             }
         }
@@ -524,26 +733,30 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         RequestT request,
         Endpoint<RequestT, ?, ?> endpoint,
         @Nullable ApacheHttpClient5Options options
-    ) {
+    ) throws IOException {
         final String method = endpoint.method(request);
         final String path = endpoint.requestUrl(request);
         final Map<String, String> params = endpoint.queryParameters(request);
 
         final URI uri = buildUri(pathPrefix, path, params);
         final HttpUriRequestBase clientReq = new HttpUriRequestBase(method, uri);
-        if (endpoint.hasRequestBody()) {
-            // Request has a body and must implement JsonpSerializable or NdJsonpSerializable
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-
-            if (request instanceof NdJsonpSerializable) {
-                writeNdJson((NdJsonpSerializable) request, baos);
-            } else {
-                JsonGenerator generator = mapper.jsonProvider().createGenerator(baos);
-                mapper.serialize(request, generator);
-                generator.close();
+        if (endpoint.hasRequestBody() && chunkedEnabled && request instanceof NdJsonpSerializable) {
+            // Nd-json requests can be large: serialize them as they are being sent. As the content length can't
+            // be known upfront, this is only possible with chunked transfer-encoding.
+            clientReq.setEntity(new NdJsonEntity((NdJsonpSerializable) request, mapper, JsonContentType, compressionEnabled));
+        } else if (endpoint.hasRequestBody()) {
+            // Request has a body and must implement JsonpSerializable or NdJsonpSerializable.
+            // It is compressed while being serialized, and written to the wire straight from the buffer segments.
+            final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(mapper, compressionEnabled ? 0 : Integer.MAX_VALUE);
+            try {
+                body.addContent(request);
+                body.close();
+            } catch (final IOException | RuntimeException ex) {
+                body.release();
+                throw ex;
             }
 
-            addRequestBody(clientReq, new ByteArrayEntity(baos.toByteArray(), JsonContentType));
+            clientReq.setEntity(new RequestBodyBufferEntity(body, JsonContentType, chunkedEnabled));
         }
 
         setHeaders(clientReq, options.headers());
@@ -555,22 +768,6 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         return clientReq;
     }
 
-    private HttpUriRequestBase addRequestBody(HttpUriRequestBase httpRequest, HttpEntity entity) {
-        if (entity != null) {
-            if (compressionEnabled) {
-                if (chunkedEnabled) {
-                    entity = new ContentCompressingEntity(entity, chunkedEnabled);
-                } else {
-                    entity = new ContentCompressingEntity(entity);
-                }
-            } else if (chunkedEnabled) {
-                entity = new ContentHttpEntity(entity, chunkedEnabled);
-            }
-            httpRequest.setEntity(entity);
-        }
-        return httpRequest;
-    }
-
     private void setHeaders(HttpRequest httpRequest, Collection<Entry<String, String>> requestHeaders) {
         // request headers override default headers, so we don't add default headers if they exist as request headers
         final Set<String> requestNames = new HashSet<>(requestHeaders.size());
@@ -635,6 +832,100 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         }
     }
 
+    /**
+     * The original and hedged requests sent for a single request.
+     */
+    private final class HedgedRequest {
+        private final HedgingPolicy hedgingPolicy;
+        private final CompletableFuture<Response> listener;
+        private final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean won = new AtomicBoolean();
+
+        HedgedRequest(HedgingPolicy hedgingPolicy, CompletableFuture<Response> listener) {
+            this.hedgingPolicy = hedgingPolicy;
+            this.listener = listener;
+        }
+
+        void send(
+            NodeTuple<Iterator<Node>> nodeTuple,
+            ApacheHttpClient5Options options,
+            HttpUriRequestBase request,
+            WarningsHandler warningsHandler,
+            boolean hedge
+        ) {
+            pending.incrementAndGet();
+            final Attempt attempt = new Attempt(request);
+            attempts.add(attempt);
+            // Each request has its own body, which is only released once that request is complete
+            releaseBodyOnCompletion(request, attempt.future);
+            attempt.future.whenComplete((response, failure) -> {
+                attempt.done = true;
+                if (failure == null) {
+                    if (won.compareAndSet(false, true)) {
+                        // The policy is updated, and the other requests cancelled, before the caller gets the response
+                        onWon(attempt, hedge);
+                        if (listener.complete(response) == false) {
+                            closeQuietly(response.getEntity());
+                        }
+                    } else {
+                        // The other request won
+                        closeQuietly(response.getEntity());
+                    }
+                }
+                if (pending.decrementAndGet() == 0 && failure != null) {
+                    listener.completeExceptionally(failure);
+                }
+            });
+            performRequestAsync(nodeTuple, options, request, warningsHandler, attempt.future);
+            if (won.get() || listener.isDone()) {
+                // The other request completed while this one was being sent
+                request.cancel();
+            }
+        }
+
+        private void onWon(Attempt winner, boolean hedge) {
+            final long now = System.nanoTime();
+            hedgingPolicy.recordLatency(now - winner.startNanos);
+            if (hedge) {
+                hedgingPolicy.onHedgeWon();
+            }
+            for (Attempt other : attempts) {
+                if (other == winner) {
+                    continue;
+                }
+                // A request sent before the winner would have taken at least as long as it has been waiting so far.
+                // Leaving it out would only keep the fast responses, and bias the hedging delay low. A request sent
+                // after the winner has waited less than the winner took, which tells nothing about slow nodes.
+                if (other.done == false && other.startNanos < winner.startNanos) {
+                    hedgingPolicy.recordLatency(now - other.startNanos);
+                }
+                other.request.cancel();
+            }
+        }
+    }
+
+    private static final class Attempt {
+        final HttpUriRequestBase request;
+        final long startNanos = System.nanoTime();
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        volatile boolean done;
+
+        Attempt(HttpUriRequestBase request) {
+            this.request = request;
+        }
+    }
+
+    private static void closeQuietly(@Nullable HttpEntity entity) {
+        if (entity != null) {
+            try {
+                entity.close();
+            } catch (IOException e) {
+                logger.debug("could not close the response entity", e);
+            }
+        }
+    }
+
     /**
      * {@link NodeTuple} enables the {@linkplain Node}s and {@linkplain AuthCache}
      * to be set together in a thread safe, volatile way.
@@ -700,25 +991,6 @@ public class ApacheHttpClient5Transport implements OpenSearchTransport {
         }
     }
 
-    /**
-     * Write an nd-json value by serializing each of its items on a separate line, recursing if its items themselves implement
-     * {@link NdJsonpSerializable} to flattening nested structures.
-     */
-    private void writeNdJson(NdJsonpSerializable value, ByteArrayOutputStream baos) {
-        Iterator<?> values = value._serializables();
-        while (values.hasNext()) {
-            Object item = values.next();
-            if (item instanceof NdJsonpSerializable && item != value) { // do not recurse on the item itself
-                writeNdJson((NdJsonpSerializable) item, baos);
-            } else {
-                JsonGenerator generator = mapper.jsonProvider().createGenerator(baos);
-                mapper.serialize(item, generator);
-                generator.close();
-                baos.write('\n');
-            }
-        }
-    }
-
     private static URI buildUri(String pathPrefix, String path, Map<String, String> params) {
         Objects.requireNonNull(path, "path must not be null");
         try {
@@ -218,7 +218,9 @@ public class ApacheHttpClient5TransportBuilder {
     }
 
     /**
-     * Sets the {@link NodeSelector} to be used for all requests.
+     * Sets the {@link NodeSelector} to be used for all requests. Use an
+     * {@link org.opensearch.client.transport.httpclient5.internal.AdaptiveNodeSelector} to send requests to the
+     * least loaded nodes rather than in round-robin order.
      *
      * @param nodeSelector the {@link NodeSelector} to be used
      * @throws NullPointerException if the provided nodeSelector is null
@@ -253,6 +255,8 @@ public class ApacheHttpClient5TransportBuilder {
 
     /**
      * Whether the REST client should use Transfer-Encoding: chunked for requests or not"
+     * <p>
+     * When enabled, nd-json requests (e.g. bulk requests) are serialized while they are being sent instead of upfront.
      *
      * @param chunkedEnabled force enable/disable chunked transfer-encoding.
      */
@@ -0,0 +1,255 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.hc.core5.http.Method;
+
+/**
+ * Hedging sends a speculative duplicate of a read request to another node when the first node hasn't answered
+ * within a delay. The first response wins, and the other request is cancelled. This cuts the latency tail caused by
+ * individual slow nodes (e.g. during garbage collection pauses), at the cost of some extra load.
+ * <p>
+ * Hedging is enabled per request with {@link ApacheHttpClient5Options.Builder#setHedgingPolicy(HedgingPolicy)}, and
+ * only applies to idempotent reads: {@code GET} and {@code HEAD} requests (get, cat APIs, ...) and the
+ * {@code _search}, {@code _msearch}, {@code _count} and {@code _mget} endpoints. Scroll requests are never hedged,
+ * as each of them moves the scroll forward.
+ * <p>
+ * The hedging delay is a percentile of the recent response times of the requests using this policy, within a
+ * minimum and maximum delay. The maximum delay is used until enough response times have been recorded. The extra
+ * load is bounded by a budget: each eligible request earns a fraction of a hedge, and a hedge is only sent if a
+ * whole one is available.
+ * <p>
+ * A policy holds the response times and budget of the requests using it, and is meant to be shared by them.
+ */
+public final class HedgingPolicy {
+
+    static final int WINDOW_SIZE = 1024;
+    static final int MIN_SAMPLES = 32;
+    // Recompute the delay every time this number of samples has been recorded
+    static final int REFRESH_INTERVAL = 32;
+    // Budget units per hedge
+    private static final long HEDGE_COST = 1000;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long budgetPerRequest;
+    private final long maxBudget;
+
+    private final AtomicLongArray window = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile long delayNanos;
+    private final AtomicLong budget;
+    private final AtomicLong hedgedRequests = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicInteger refreshing = new AtomicInteger();
+
+    private HedgingPolicy(Builder builder) {
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelayNanos;
+        this.maxDelayNanos = builder.maxDelayNanos;
+        this.budgetPerRequest = Math.round(builder.maxExtraLoad * HEDGE_COST);
+        this.maxBudget = builder.maxBurst * HEDGE_COST;
+        this.delayNanos = maxDelayNanos;
+        this.budget = new AtomicLong(maxBudget);
+    }
+
+    /**
+     * Returns a new builder, with a delay at the 95th percentile of response times between 10ms and 1s, and at most
+     * 5% of extra requests.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * The delay after which a request is hedged, in nanoseconds.
+     */
+    public long hedgeDelayNanos() {
+        return delayNanos;
+    }
+
+    /**
+     * The number of hedged requests that were sent.
+     */
+    public long hedgedRequests() {
+        return hedgedRequests.get();
+    }
+
+    /**
+     * The number of hedged requests that answered before the original request.
+     */
+    public long hedgeWins() {
+        return hedgeWins.get();
+    }
+
+    /**
+     * Whether a request can be hedged: it must be an idempotent read.
+     *
+     * @param method the request method
+     * @param requestUri the request path, with its query string
+     */
+    static boolean isHedgeable(String method, String requestUri) {
+        final int questionMark = requestUri.indexOf('?');
+        final String path = questionMark < 0 ? requestUri : requestUri.substring(0, questionMark);
+        if (path.contains("/_search/scroll")) {
+            return false;
+        }
+        final String query = questionMark < 0 ? null : requestUri.substring(questionMark + 1);
+        if (query != null && (query.startsWith("scroll=") || query.contains("&scroll="))) {
+            return false;
+        }
+        if (Method.GET.isSame(method) || Method.HEAD.isSame(method)) {
+            return true;
+        }
+        if (Method.POST.isSame(method)) {
+            final String endpoint = path.substring(path.lastIndexOf('/') + 1);
+            return "_search".equals(endpoint) || "_msearch".equals(endpoint) || "_count".equals(endpoint) || "_mget".equals(endpoint);
+        }
+        return false;
+    }
+
+    /**
+     * Called for each hedgeable request, adds its share to the budget.
+     */
+    void onRequest() {
+        long current;
+        do {
+            current = budget.get();
+            if (current >= maxBudget) {
+                return;
+            }
+        } while (budget.compareAndSet(current, Math.min(maxBudget, current + budgetPerRequest)) == false);
+    }
+
+    /**
+     * Takes a hedge from the budget, returns false if there isn't enough budget left.
+     */
+    boolean tryAcquire() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (budget.compareAndSet(current, current - HEDGE_COST) == false);
+        hedgedRequests.incrementAndGet();
+        return true;
+    }
+
+    void onHedgeWon() {
+        hedgeWins.incrementAndGet();
+    }
+
+    /**
+     * Records the response time of a successful request, or how long a request that was cancelled had been waiting.
+     */
+    void recordLatency(long nanos) {
+        final long sample = samples.getAndIncrement();
+        window.set((int) (sample % WINDOW_SIZE), nanos);
+        if ((sample + 1) % REFRESH_INTERVAL == 0 && sample + 1 >= MIN_SAMPLES && refreshing.compareAndSet(0, 1)) {
+            try {
+                refreshDelay(Math.min(sample + 1, WINDOW_SIZE));
+            } finally {
+                refreshing.set(0);
+            }
+        }
+    }
+
+    private void refreshDelay(long count) {
+        final long[] sorted = new long[(int) count];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = window.get(i);
+        }
+        Arrays.sort(sorted);
+        final int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile / 100 * sorted.length) - 1);
+        delayNanos = Math.max(minDelayNanos, Math.min(maxDelayNanos, sorted[Math.max(0, index)]));
+    }
+
+    @Override
+    public String toString() {
+        return "HedgingPolicy{percentile="
+            + percentile
+            + ", delay="
+            + TimeUnit.NANOSECONDS.toMillis(delayNanos)
+            + "ms, hedged="
+            + hedgedRequests
+            + ", wins="
+            + hedgeWins
+            + "}";
+    }
+
+    public static final class Builder {
+        private double percentile = 95;
+        private long minDelayNanos = TimeUnit.MILLISECONDS.toNanos(10);
+        private long maxDelayNanos = TimeUnit.SECONDS.toNanos(1);
+        private double maxExtraLoad = 0.05;
+        private long maxBurst = 10;
+
+        private Builder() {}
+
+        /**
+         * Sets the percentile of the recent response times used as the hedging delay. Defaults to 95.
+         *
+         * @param percentile the percentile, greater than 0 and at most 100
+         */
+        public Builder setDelayPercentile(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be greater than 0 and at most 100");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets the minimum and maximum hedging delays. The maximum delay is used until enough response times have
+         * been recorded. Defaults to 10ms and 1s.
+         */
+        public Builder setDelayBounds(long minDelay, long maxDelay, TimeUnit unit) {
+            if (minDelay < 0 || maxDelay < minDelay) {
+                throw new IllegalArgumentException("delays must be positive, and the minimum delay at most the maximum delay");
+            }
+            this.minDelayNanos = unit.toNanos(minDelay);
+            this.maxDelayNanos = unit.toNanos(maxDelay);
+            return this;
+        }
+
+        /**
+         * Sets the maximum ratio of extra requests, e.g. 0.05 for at most 5% more requests. Defaults to 0.05.
+         */
+        public Builder setMaxExtraLoad(double maxExtraLoad) {
+            if (maxExtraLoad < 0 || maxExtraLoad > 1) {
+                throw new IllegalArgumentException("maxExtraLoad must be between 0 and 1");
+            }
+            this.maxExtraLoad = maxExtraLoad;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of hedges that can be sent in a burst, when the budget has been saved up.
+         * Defaults to 10.
+         */
+        public Builder setMaxBurst(int maxBurst) {
+            if (maxBurst < 0) {
+                throw new IllegalArgumentException("maxBurst must be positive");
+            }
+            this.maxBurst = maxBurst;
+            return this;
+        }
+
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
@@ -32,9 +32,13 @@
 
 package org.opensearch.client.transport.httpclient5;
 
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
 import org.opensearch.client.transport.httpclient5.internal.HeapBufferedAsyncResponseConsumer;
+import org.opensearch.client.transport.httpclient5.internal.StreamingAsyncResponseConsumer;
 
 /**
  * Factory used to create instances of {@link AsyncResponseConsumer}. Each request retry needs its own instance of the
@@ -84,4 +88,68 @@ public interface HttpAsyncResponseConsumerFactory {
             return new HeapBufferedAsyncResponseConsumer(bufferLimit);
         }
     }
+
+    /**
+     * Factory creating one {@link StreamingAsyncResponseConsumer} for each request attempt. Successful responses are
+     * handed over as soon as their head has been received, and their body is streamed to the JSON parser through a
+     * bounded buffer instead of being accumulated on heap first, so deserialization overlaps the transfer.
+     * <p>
+     * Since the body is still being received when decoding starts, responses of asynchronous requests are decoded on
+     * the provided {@link Executor} rather than on the I/O reactor threads.
+     */
+    class StreamingResponseConsumerFactory implements HttpAsyncResponseConsumerFactory {
+
+        // default buffer capacity is 1MB, split into 64KB chunks
+        static final int DEFAULT_BUFFER_CAPACITY = 1024 * 1024;
+        static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+        private final int bufferCapacity;
+        private final int chunkSize;
+        private final Executor executor;
+
+        /**
+         * Creates a {@link StreamingResponseConsumerFactory} instance with the default buffer capacity, decoding
+         * asynchronous responses on the {@link ForkJoinPool#commonPool()}.
+         */
+        public StreamingResponseConsumerFactory() {
+            this(ForkJoinPool.commonPool());
+        }
+
+        /**
+         * Creates a {@link StreamingResponseConsumerFactory} instance with the default buffer capacity.
+         *
+         * @param executor the executor used to decode the responses of asynchronous requests
+         */
+        public StreamingResponseConsumerFactory(Executor executor) {
+            this(DEFAULT_BUFFER_CAPACITY, DEFAULT_CHUNK_SIZE, executor);
+        }
+
+        /**
+         * Creates a {@link StreamingResponseConsumerFactory} instance.
+         *
+         * @param bufferCapacityBytes the maximum number of bytes buffered ahead of the JSON parser, per response
+         * @param chunkSizeBytes the size of each of the pooled buffers
+         * @param executor the executor used to decode the responses of asynchronous requests
+         */
+        public StreamingResponseConsumerFactory(int bufferCapacityBytes, int chunkSizeBytes, Executor executor) {
+            this.bufferCapacity = bufferCapacityBytes;
+            this.chunkSize = chunkSizeBytes;
+            this.executor = Objects.requireNonNull(executor, "executor cannot be null");
+        }
+
+        /**
+         * Get the executor used to decode the responses of asynchronous requests.
+         */
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        /**
+         * Creates the {@link AsyncResponseConsumer}, called once per request attempt.
+         */
+        @Override
+        public AsyncResponseConsumer<ClassicHttpResponse> createHttpAsyncResponseConsumer() {
+            return new StreamingAsyncResponseConsumer(bufferCapacity, chunkSize, HeapBufferedResponseConsumerFactory.DEFAULT_BUFFER_LIMIT);
+        }
+    }
 }
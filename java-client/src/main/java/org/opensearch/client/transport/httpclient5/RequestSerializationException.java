@@ -0,0 +1,28 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when the body of a request could not be serialized while it was being streamed to a node. The
+ * failure is on the client side: the node is not marked as dead and the request is not retried on another node.
+ */
+public final class RequestSerializationException extends IOException {
+
+    /**
+     * Creates a RequestSerializationException.
+     *
+     * @param message the detail message
+     * @param cause the serialization failure
+     */
+    public RequestSerializationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
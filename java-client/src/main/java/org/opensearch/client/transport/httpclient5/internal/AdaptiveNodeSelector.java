@@ -0,0 +1,361 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.apache.hc.core5.http.HttpHost;
+
+/**
+ * A {@link NodeSelector} that prefers the least loaded nodes, similar to the adaptive replica selection of the
+ * server. For each node, it keeps an exponentially weighted moving average (EWMA) of the response time and the
+ * number of outstanding requests, which are reported by the
+ * {@link org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport}. A node's score is its average
+ * response time multiplied by its number of outstanding requests plus one: lower is better.
+ * <p>
+ * Filtering nodes is delegated to another {@link NodeSelector} ({@link NodeSelector#ANY} by default). Among the
+ * selected living nodes, the one that receives the request is chosen by the {@link Strategy}, the other ones
+ * being kept in round-robin order for retries.
+ * <p>
+ * The average response time of a node that doesn't receive requests decays over time, so that a node which was
+ * slow at some point is eventually tried again. Nodes that have not answered any request yet are scored with the
+ * lowest known average response time.
+ */
+public class AdaptiveNodeSelector implements NodeSelector {
+
+    /**
+     * How the node that receives a request is chosen.
+     */
+    public enum Strategy {
+        /**
+         * Compare two nodes picked at random and choose the least loaded one. This is constant time, and avoids
+         * all clients herding to the same node as they would if they always chose the best one.
+         */
+        POWER_OF_TWO_CHOICES,
+
+        /**
+         * Sort all nodes by their score, so that the least loaded one is tried first and the other ones are tried
+         * next in the order of their score.
+         */
+        LEAST_LOADED
+    }
+
+    /**
+     * The weight of a new response time sample in the moving average.
+     */
+    static final double ALPHA = 0.3;
+
+    /**
+     * The average response time of a node is halved for every period without any sample.
+     */
+    static final long DECAY_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final NodeSelector delegate;
+    private final Strategy strategy;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<HttpHost, NodeStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a selector that accepts any node and uses the {@link Strategy#POWER_OF_TWO_CHOICES} strategy.
+     */
+    public AdaptiveNodeSelector() {
+        this(NodeSelector.ANY, Strategy.POWER_OF_TWO_CHOICES);
+    }
+
+    /**
+     * Creates a selector.
+     *
+     * @param delegate the selector filtering the nodes that can receive requests
+     * @param strategy how the node receiving a request is chosen
+     */
+    public AdaptiveNodeSelector(NodeSelector delegate, Strategy strategy) {
+        this(delegate, strategy, System::nanoTime);
+    }
+
+    AdaptiveNodeSelector(NodeSelector delegate, Strategy strategy, LongSupplier nanoClock) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate must not be null");
+        this.strategy = Objects.requireNonNull(strategy, "strategy must not be null");
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void select(Iterable<Node> nodes) {
+        delegate.select(nodes);
+    }
+
+    /**
+     * Returns the order in which the selected living nodes are tried, the node that should receive the request
+     * coming first. The given list is not modified.
+     *
+     * @param nodes the nodes, in round-robin order
+     * @return the nodes in the order they should be tried
+     */
+    public List<Node> rank(List<Node> nodes) {
+        final int size = nodes.size();
+        if (size < 2) {
+            return nodes;
+        }
+        final long now = nanoClock.getAsLong();
+
+        if (strategy == Strategy.POWER_OF_TWO_CHOICES) {
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int first = random.nextInt(size);
+            int second = random.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            final NodeStats firstStats = stats.get(nodes.get(first).getHost());
+            final NodeStats secondStats = stats.get(nodes.get(second).getHost());
+            final long fallback = fallbackLatency(minKnown(latency(firstStats, now), latency(secondStats, now)));
+            final int chosen = score(secondStats, now, fallback) < score(firstStats, now, fallback) ? second : first;
+            return chosen == 0 ? nodes : new ChosenFirst(nodes, chosen);
+        } else {
+            final long[] latencies = new long[size];
+            long minLatency = Long.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                latencies[i] = latency(stats.get(nodes.get(i).getHost()), now);
+                minLatency = minKnown(minLatency, latencies[i]);
+            }
+            final long fallback = fallbackLatency(minLatency);
+
+            // Score each node once, so that concurrent updates don't make the order inconsistent while sorting
+            final ScoredNode[] scored = new ScoredNode[size];
+            for (int i = 0; i < size; i++) {
+                final Node node = nodes.get(i);
+                final NodeStats nodeStats = stats.get(node.getHost());
+                final int outstanding = nodeStats == null ? 0 : nodeStats.outstanding.get();
+                scored[i] = new ScoredNode(node, score(latencies[i] < 0 ? fallback : latencies[i], outstanding));
+            }
+            // Stable sort: nodes with the same score stay in round-robin order
+            Arrays.sort(scored);
+            final List<Node> ranked = new ArrayList<>(size);
+            for (ScoredNode scoredNode : scored) {
+                ranked.add(scoredNode.node);
+            }
+            return ranked;
+        }
+    }
+
+    /**
+     * Forgets the nodes that are not in the given ones, e.g. when the nodes of the client are replaced. Requests
+     * still in flight to a forgotten node are not accounted for anymore.
+     *
+     * @param nodes the nodes of the client
+     */
+    public void retainNodes(Collection<Node> nodes) {
+        final Set<HttpHost> hosts = new HashSet<>();
+        for (Node node : nodes) {
+            hosts.add(node.getHost());
+        }
+        stats.keySet().retainAll(hosts);
+    }
+
+    /**
+     * Called when a request is sent to a node.
+     *
+     * @param node the node
+     */
+    public void onRequestStarted(Node node) {
+        stats.computeIfAbsent(node.getHost(), this::newStats).outstanding.incrementAndGet();
+    }
+
+    /**
+     * Called when a node answered a request.
+     *
+     * @param node the node
+     * @param tookNanos the time it took to get the response, in nanoseconds
+     */
+    public void onResponse(Node node, long tookNanos) {
+        final NodeStats nodeStats = stats.get(node.getHost());
+        if (nodeStats == null) {
+            // The node has been removed since the request started
+            return;
+        }
+        nodeStats.outstanding.decrementAndGet();
+        nodeStats.sample(tookNanos, nanoClock.getAsLong());
+    }
+
+    /**
+     * Called when a request sent to a node failed, or was answered with a status that makes it retried on another
+     * node. The failure is accounted for as a response time of at least twice the current average.
+     *
+     * @param node the node
+     * @param tookNanos the time it took for the request to fail, in nanoseconds
+     */
+    public void onFailure(Node node, long tookNanos) {
+        final NodeStats nodeStats = stats.get(node.getHost());
+        if (nodeStats == null) {
+            // The node has been removed since the request started
+            return;
+        }
+        nodeStats.outstanding.decrementAndGet();
+        final long now = nanoClock.getAsLong();
+        nodeStats.sample(Math.max(tookNanos, 2 * Math.max(0, nodeStats.latency(now))), now);
+    }
+
+    /**
+     * Called when a request sent to a node was cancelled before completing.
+     *
+     * @param node the node
+     */
+    public void onCancelled(Node node) {
+        final NodeStats nodeStats = stats.get(node.getHost());
+        if (nodeStats != null) {
+            nodeStats.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the current average response time of a node, in nanoseconds, or {@code -1} if it never answered a
+     * request.
+     *
+     * @param node the node
+     * @return the average response time
+     */
+    public long averageResponseTimeNanos(Node node) {
+        return latency(stats.get(node.getHost()), nanoClock.getAsLong());
+    }
+
+    /**
+     * Returns the number of requests that have been sent to a node and are not completed.
+     *
+     * @param node the node
+     * @return the number of outstanding requests
+     */
+    public int outstandingRequests(Node node) {
+        final NodeStats nodeStats = stats.get(node.getHost());
+        return nodeStats == null ? 0 : nodeStats.outstanding.get();
+    }
+
+    private NodeStats newStats(HttpHost host) {
+        return new NodeStats(nanoClock.getAsLong());
+    }
+
+    @Override
+    public String toString() {
+        return "ADAPTIVE[" + strategy + ", " + delegate + "]";
+    }
+
+    private static long latency(NodeStats nodeStats, long now) {
+        return nodeStats == null ? -1 : nodeStats.latency(now);
+    }
+
+    private static long minKnown(long latency, long other) {
+        if (latency < 0) {
+            return other;
+        }
+        return other < 0 ? latency : Math.min(latency, other);
+    }
+
+    private static long fallbackLatency(long minLatency) {
+        return (minLatency < 0 || minLatency == Long.MAX_VALUE) ? 1 : Math.max(1, minLatency);
+    }
+
+    private static double score(NodeStats nodeStats, long now, long fallback) {
+        if (nodeStats == null) {
+            return score(fallback, 0);
+        }
+        final long latency = nodeStats.latency(now);
+        return score(latency < 0 ? fallback : latency, nodeStats.outstanding.get());
+    }
+
+    private static double score(long latency, int outstanding) {
+        return (double) Math.max(1, latency) * (Math.max(0, outstanding) + 1);
+    }
+
+    private static final class NodeStats {
+        final AtomicInteger outstanding = new AtomicInteger();
+        // -1 until the first sample
+        final AtomicLong ewma = new AtomicLong(-1);
+        volatile long lastSampleNanos;
+
+        NodeStats(long now) {
+            this.lastSampleNanos = now;
+        }
+
+        long latency(long now) {
+            return decay(ewma.get(), now);
+        }
+
+        void sample(long tookNanos, long now) {
+            final long sample = Math.max(0, tookNanos);
+            long previous;
+            long next;
+            do {
+                previous = ewma.get();
+                final long decayed = decay(previous, now);
+                next = decayed < 0 ? sample : (long) (ALPHA * sample + (1 - ALPHA) * decayed);
+            } while (!ewma.compareAndSet(previous, next));
+            lastSampleNanos = now;
+        }
+
+        private long decay(long value, long now) {
+            if (value <= 0) {
+                return value;
+            }
+            final long periods = (now - lastSampleNanos) / DECAY_PERIOD_NANOS;
+            return periods <= 0 ? value : value >> Math.min(periods, 62);
+        }
+    }
+
+    /**
+     * A view of the nodes with the chosen one moved first, the other ones keeping their order.
+     */
+    private static final class ChosenFirst extends AbstractList<Node> implements RandomAccess {
+        private final List<Node> nodes;
+        private final int chosen;
+
+        ChosenFirst(List<Node> nodes, int chosen) {
+            this.nodes = nodes;
+            this.chosen = chosen;
+        }
+
+        @Override
+        public Node get(int index) {
+            if (index == 0) {
+                return nodes.get(chosen);
+            }
+            return nodes.get(index <= chosen ? index - 1 : index);
+        }
+
+        @Override
+        public int size() {
+            return nodes.size();
+        }
+    }
+
+    private static final class ScoredNode implements Comparable<ScoredNode> {
+        final Node node;
+        final double score;
+
+        ScoredNode(Node node, double score) {
+            this.node = node;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredNode other) {
+            return Double.compare(score, other.score);
+        }
+    }
+}
@@ -52,7 +52,11 @@ public class HttpUriRequestProducer extends BasicRequestProducer {
         final HttpEntity entity = request.getEntity();
         AsyncEntityProducer entityProducer = null;
 
-        if (entity != null) {
+        if (entity instanceof NdJsonEntity) {
+            entityProducer = new NdJsonEntityProducer((NdJsonEntity) entity);
+        } else if (entity instanceof RequestBodyBufferEntity) {
+            entityProducer = new RequestBodyBufferEntityProducer((RequestBodyBufferEntity) entity);
+        } else if (entity != null) {
             entityProducer = new HttpEntityAsyncEntityProducer(entity);
         }
 
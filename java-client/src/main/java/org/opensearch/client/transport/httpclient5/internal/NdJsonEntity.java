@@ -0,0 +1,104 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+import org.apache.hc.core5.util.Args;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.NdJsonpSerializable;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+/**
+ * The {@link org.apache.hc.core5.http.HttpEntity} implementation for an nd-json request (e.g. bulk requests) that is
+ * serialized while being sent by {@link NdJsonEntityProducer}, rather than upfront. As the content length isn't known
+ * in advance, the entity always uses chunked transfer-encoding.
+ */
+public class NdJsonEntity extends AbstractHttpEntity {
+    private static final String GZIP_CODEC = "gzip";
+
+    private final NdJsonpSerializable value;
+    private final JsonpMapper mapper;
+    private final boolean compressed;
+
+    /**
+     * Create new HTTP entity
+     * @param value the nd-json value
+     * @param mapper the mapper used to serialize the items of the value
+     * @param contentType the content type
+     * @param compressed whether the content should be gzip compressed
+     */
+    public NdJsonEntity(
+        final NdJsonpSerializable value,
+        final JsonpMapper mapper,
+        final ContentType contentType,
+        final boolean compressed
+    ) {
+        super(contentType, compressed ? GZIP_CODEC : null, true);
+        this.value = Args.notNull(value, "Value");
+        this.mapper = Args.notNull(mapper, "Mapper");
+        this.compressed = compressed;
+    }
+
+    /**
+     * Get the nd-json value
+     * @return the nd-json value
+     */
+    public NdJsonpSerializable getValue() {
+        return value;
+    }
+
+    /**
+     * Get the mapper used to serialize the items of the value
+     * @return the mapper
+     */
+    public JsonpMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Whether the content is gzip compressed
+     * @return true if the content is compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Returns the content, fully serialized. This is only meant for callers that need the content outside of the
+     * asynchronous request execution, such as request logging.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(mapper, compressed ? 0 : Integer.MAX_VALUE);
+        body.addContent(value);
+        body.close();
+        return body.getInputStream();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,269 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import jakarta.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.util.Args;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.NdJsonpSerializable;
+import org.opensearch.client.transport.httpclient5.RequestSerializationException;
+import org.opensearch.client.util.BinaryData;
+
+/**
+ * The {@link AsyncEntityProducer} implementation for {@link NdJsonEntity}: items are serialized (and compressed) a
+ * chunk at a time, as the data channel asks for more data. The next chunk is only serialized once the previous one
+ * has been fully written, so the content is never held in memory as a whole.
+ */
+public class NdJsonEntityProducer implements AsyncEntityProducer {
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final NdJsonEntity entity;
+    private final int chunkSize;
+    private final ChunkBuffer chunk;
+    private Deque<Iterator<?>> iterators;
+    private Deque<NdJsonpSerializable> owners;
+    private OutputStream out;
+    private ByteBuffer pending;
+    private boolean complete;
+
+    /**
+     * Create new async HTTP entity producer
+     * @param entity HTTP entity
+     * @param chunkSize the amount of data serialized before it is written to the data channel
+     */
+    public NdJsonEntityProducer(final NdJsonEntity entity, final int chunkSize) {
+        this.entity = Args.notNull(entity, "Http Entity");
+        this.chunkSize = Args.positive(chunkSize, "Chunk size");
+        this.chunk = new ChunkBuffer(chunkSize);
+    }
+
+    /**
+     * Create new async HTTP entity producer with default chunk size (64Kb)
+     * @param entity HTTP entity
+     */
+    public NdJsonEntityProducer(final NdJsonEntity entity) {
+        this(entity, DEFAULT_CHUNK_SIZE);
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public String getContentType() {
+        return entity.getContentType();
+    }
+
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public int available() {
+        if (pending != null && pending.hasRemaining()) {
+            return pending.remaining();
+        }
+        return complete ? 0 : chunkSize;
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return entity.getContentEncoding();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return true;
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Writes the pending chunk, serializing the next ones as long as the data channel accepts them.
+     *
+     * @param channel the data channel capable to accepting more data.
+     */
+    @Override
+    public void produce(final DataStreamChannel channel) throws IOException {
+        if (iterators == null) {
+            start();
+        }
+
+        while (true) {
+            if (pending != null && pending.hasRemaining()) {
+                channel.write(pending);
+                if (pending.hasRemaining()) {
+                    // the channel is full, we'll be called again when it can accept more data
+                    return;
+                }
+            }
+            if (complete) {
+                channel.endStream();
+                releaseResources();
+                return;
+            }
+            nextChunk();
+        }
+    }
+
+    private void start() {
+        final NdJsonpSerializable value = entity.getValue();
+        iterators = new ArrayDeque<>();
+        owners = new ArrayDeque<>();
+        iterators.push(value._serializables());
+        owners.push(value);
+        out = chunk;
+        pending = null;
+        complete = false;
+    }
+
+    /**
+     * Serializes items until at least a chunk worth of data is available, or all items have been serialized.
+     */
+    private void nextChunk() throws IOException {
+        chunk.reset();
+        if (entity.isCompressed() && out == chunk) {
+            out = new GZIPOutputStream(chunk, 8192);
+        }
+
+        final JsonpMapper mapper = entity.getMapper();
+        while (chunk.size() < chunkSize) {
+            final Object item = nextItem();
+            if (item == null) {
+                // finishes the compressed stream, if any
+                out.close();
+                complete = true;
+                break;
+            }
+            try {
+                if (item instanceof BinaryData) {
+                    ((BinaryData) item).writeLineTo(out);
+                    continue;
+                }
+                // A generator can only produce a single JSON text, so each item gets its own
+                final JsonGenerator generator = mapper.jsonProvider().createGenerator(new UnclosableOutputStream(out));
+                mapper.serialize(item, generator);
+                generator.close();
+            } catch (RuntimeException e) {
+                // Not an I/O error: the request itself is invalid, and would fail the same way on any node
+                throw new RequestSerializationException("Failed to serialize the request body", e);
+            }
+            // compressed output reaches the chunk as the deflater produces it
+            out.write('\n');
+        }
+
+        pending = chunk.toByteBuffer();
+    }
+
+    /**
+     * Returns the next item to serialize, flattening nested nd-json values.
+     */
+    private Object nextItem() {
+        while (!iterators.isEmpty()) {
+            final Iterator<?> values = iterators.peek();
+            if (!values.hasNext()) {
+                iterators.pop();
+                owners.pop();
+                continue;
+            }
+            final Object value = values.next();
+            if (value instanceof NdJsonpSerializable && value != owners.peek()) { // do not recurse on the item itself
+                iterators.push(((NdJsonpSerializable) value)._serializables());
+                owners.push((NdJsonpSerializable) value);
+            } else {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        releaseResources();
+    }
+
+    /**
+     * Release resources being held. The producer can be used again afterwards, in which case the content is
+     * serialized again from the start.
+     */
+    @Override
+    public void releaseResources() {
+        if (out != null && out != chunk) {
+            try {
+                // releases the deflater
+                out.close();
+            } catch (final IOException ex) {
+                /* Close quietly */
+            }
+        }
+        iterators = null;
+        owners = null;
+        pending = null;
+        out = null;
+        chunk.reset();
+    }
+
+    /**
+     * A ByteArrayOutputStream that can be turned into a byte buffer without copying the underlying buffer.
+     */
+    private static class ChunkBuffer extends ByteArrayOutputStream {
+        ChunkBuffer(int size) {
+            super(size);
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(this.buf, 0, this.count);
+        }
+    }
+
+    private static class UnclosableOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        UnclosableOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
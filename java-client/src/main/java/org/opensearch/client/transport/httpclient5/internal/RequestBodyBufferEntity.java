@@ -0,0 +1,89 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
+import org.apache.hc.core5.util.Args;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+/**
+ * The {@link org.apache.hc.core5.http.HttpEntity} implementation for a serialized {@link OpenSearchRequestBodyBuffer}.
+ * The content is written to the wire by {@link RequestBodyBufferEntityProducer} straight from the buffer segments,
+ * already compressed if the buffer was. Closing the entity releases the buffer.
+ */
+public class RequestBodyBufferEntity extends AbstractHttpEntity {
+    private final OpenSearchRequestBodyBuffer body;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Create new HTTP entity
+     * @param body the request body, closed or not
+     * @param contentType the content type
+     * @param chunked whether chunked transfer-encoding should be used
+     */
+    public RequestBodyBufferEntity(final OpenSearchRequestBodyBuffer body, final ContentType contentType, final boolean chunked) {
+        super(contentType, Args.notNull(body, "Request body").getContentEncoding(), chunked);
+        this.body = body;
+    }
+
+    /**
+     * Get the request body
+     * @return the request body
+     */
+    public OpenSearchRequestBodyBuffer getBody() {
+        return body;
+    }
+
+    /**
+     * Returns length of the entity, or -1 if chunked transfer-encoding should be used.
+     */
+    @Override
+    public long getContentLength() {
+        return isChunked() ? -1 : body.getContentLength();
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        return body.getInputStream();
+    }
+
+    @Override
+    public void writeTo(final OutputStream outStream) throws IOException {
+        Args.notNull(outStream, "Output stream");
+        for (ByteBuffer buffer : body.getByteBuffers()) {
+            outStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+
+    /**
+     * Releases the request body. Producers that are still writing it keep their own reference.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            body.release();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.util.Args;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+/**
+ * The {@link AsyncEntityProducer} implementation for {@link RequestBodyBufferEntity}: the buffer segments are written
+ * to the data channel as they are, without being copied into an intermediate buffer.
+ * <p>
+ * The producer holds a reference on the request body while writing it, so that the segments can't be recycled
+ * if the request completes (or is cancelled) before the whole body has been sent.
+ */
+public class RequestBodyBufferEntityProducer implements AsyncEntityProducer {
+
+    private final RequestBodyBufferEntity entity;
+    private final long length;
+    private final AtomicBoolean retained = new AtomicBoolean();
+    private List<ByteBuffer> buffers;
+    private int index;
+    private long remaining;
+
+    /**
+     * Create new async HTTP entity producer
+     * @param entity HTTP entity
+     */
+    public RequestBodyBufferEntityProducer(final RequestBodyBufferEntity entity) {
+        this.entity = Args.notNull(entity, "Http Entity");
+        this.length = entity.getBody().getContentLength();
+        this.remaining = length;
+    }
+
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    @Override
+    public String getContentType() {
+        return entity.getContentType();
+    }
+
+    @Override
+    public long getContentLength() {
+        return entity.isChunked() ? -1 : length;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String getContentEncoding() {
+        return entity.getContentEncoding();
+    }
+
+    @Override
+    public boolean isChunked() {
+        return entity.isChunked();
+    }
+
+    @Override
+    public Set<String> getTrailerNames() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Writes as many segments as the data channel accepts, and ends the stream once all of them have been written.
+     *
+     * @param channel the data channel capable to accepting more data.
+     */
+    @Override
+    public void produce(final DataStreamChannel channel) throws IOException {
+        if (buffers == null) {
+            final OpenSearchRequestBodyBuffer body = entity.getBody();
+            try {
+                body.retain();
+            } catch (final IllegalStateException ex) {
+                throw new IOException(ex.getMessage(), ex);
+            }
+            retained.set(true);
+            buffers = body.getByteBuffers();
+            index = 0;
+            remaining = length;
+        }
+
+        while (index < buffers.size()) {
+            final ByteBuffer buffer = buffers.get(index);
+            remaining -= channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                // the channel is full, we'll be called again when it can accept more data
+                return;
+            }
+            index++;
+        }
+
+        channel.endStream();
+        releaseResources();
+    }
+
+    @Override
+    public void failed(final Exception cause) {
+        releaseResources();
+    }
+
+    /**
+     * Gives back the reference on the request body. The producer can be used again afterwards, in which case the
+     * body is written from the start.
+     */
+    @Override
+    public void releaseResources() {
+        buffers = null;
+        if (retained.compareAndSet(true, false)) {
+            entity.getBody().release();
+        }
+    }
+}
@@ -0,0 +1,499 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.http.nio.AsyncResponseConsumer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.protocol.HttpContext;
+
+/**
+ * An {@link AsyncResponseConsumer} that hands a successful response over as soon as its head has been received and
+ * streams the entity through a bounded ring of pooled buffers, so that the body can be parsed while it is still being
+ * transferred. The I/O reactor is only asked for more data (see {@link CapacityChannel}) once the reader has drained
+ * some of the buffered chunks, which keeps the memory held per response bounded by the configured buffer capacity.
+ * <p>
+ * Responses without an entity, unsuccessful responses and responses carrying warnings are inspected by the transport
+ * before being handed over to the caller, so these are fully buffered on heap by a {@link HeapBufferedAsyncResponseConsumer}.
+ * <p>
+ * The entity content of a streamed response must not be consumed on an I/O reactor thread.
+ */
+public class StreamingAsyncResponseConsumer implements AsyncResponseConsumer<ClassicHttpResponse> {
+    private static final String WARNING_HEADER = "Warning";
+
+    private final int bufferCapacity;
+    private final int chunkSize;
+    private final HeapBufferedAsyncResponseConsumer fallback;
+    private volatile ResponseBodyStream stream;
+
+    /**
+     * Creates a new instance of this consumer.
+     *
+     * @param bufferCapacity the maximum number of bytes buffered ahead of the reader. Must be greater than 0.
+     * @param chunkSize the size of each buffer of the ring. Must be greater than 0.
+     * @param bufferLimit the buffer limit applied to responses which are fully buffered. Must be greater than 0.
+     * @throws IllegalArgumentException if any of the sizes is less than or equal to 0.
+     */
+    public StreamingAsyncResponseConsumer(int bufferCapacity, int chunkSize, int bufferLimit) {
+        if (bufferCapacity <= 0) {
+            throw new IllegalArgumentException("bufferCapacity must be greater than 0");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        this.bufferCapacity = bufferCapacity;
+        this.chunkSize = Math.min(chunkSize, bufferCapacity);
+        this.fallback = new HeapBufferedAsyncResponseConsumer(bufferLimit);
+    }
+
+    /**
+     * Get the maximum number of bytes buffered ahead of the reader.
+     */
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    /**
+     * Get the size of each buffer of the ring.
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Triggered to signal receipt of a response message head.
+     *
+     * @param response the response message head.
+     * @param entityDetails the response entity details or {@code null} if the response does not enclose an entity.
+     * @param context the actual execution context.
+     * @param resultCallback the result callback, completed as soon as a streamed response can be handed over.
+     */
+    @Override
+    public void consumeResponse(
+        final HttpResponse response,
+        final EntityDetails entityDetails,
+        final HttpContext context,
+        final FutureCallback<ClassicHttpResponse> resultCallback
+    ) throws HttpException, IOException {
+        if (entityDetails == null || response.getCode() >= HttpStatus.SC_REDIRECTION || response.containsHeader(WARNING_HEADER)) {
+            fallback.consumeResponse(response, entityDetails, context, resultCallback);
+            return;
+        }
+
+        final ContentType contentType;
+        try {
+            contentType = ContentType.parse(entityDetails.getContentType());
+        } catch (final UnsupportedCharsetException ex) {
+            throw new UnsupportedEncodingException(ex.getMessage());
+        }
+
+        final ResponseBodyStream stream = new ResponseBodyStream(bufferCapacity, chunkSize);
+        this.stream = stream;
+
+        final ClassicHttpResponse classicResponse = new BasicClassicHttpResponse(response.getCode());
+        classicResponse.setVersion(response.getVersion());
+        classicResponse.setHeaders(response.getHeaders());
+        classicResponse.setReasonPhrase(response.getReasonPhrase());
+        if (response.getLocale() != null) {
+            classicResponse.setLocale(response.getLocale());
+        }
+        classicResponse.setEntity(
+            new InputStreamEntity(stream, entityDetails.getContentLength(), contentType, entityDetails.getContentEncoding())
+        );
+
+        if (resultCallback != null) {
+            resultCallback.completed(classicResponse);
+        }
+    }
+
+    /**
+     * Triggered to signal receipt of an intermediate (1xx) HTTP response.
+     *
+     * @param response the intermediate (1xx) HTTP response.
+     * @param context the actual execution context.
+     */
+    @Override
+    public void informationResponse(final HttpResponse response, final HttpContext context) throws HttpException, IOException {}
+
+    /**
+     * Triggered to signal the ability of the underlying data channel to accept more data.
+     *
+     * @param capacityChannel the channel used to request more data from the I/O reactor.
+     */
+    @Override
+    public void updateCapacity(final CapacityChannel capacityChannel) throws IOException {
+        final ResponseBodyStream stream = this.stream;
+        if (stream != null) {
+            stream.updateCapacity(capacityChannel);
+        } else {
+            fallback.updateCapacity(capacityChannel);
+        }
+    }
+
+    /**
+     * Triggered to pass incoming data packet to the data consumer.
+     *
+     * @param src the data packet.
+     */
+    @Override
+    public void consume(final ByteBuffer src) throws IOException {
+        final ResponseBodyStream stream = this.stream;
+        if (stream != null) {
+            stream.fill(src);
+        } else {
+            fallback.consume(src);
+        }
+    }
+
+    /**
+     * Triggered to signal termination of the data stream.
+     *
+     * @param trailers data stream trailers.
+     */
+    @Override
+    public void streamEnd(final List<? extends Header> trailers) throws HttpException, IOException {
+        final ResponseBodyStream stream = this.stream;
+        if (stream != null) {
+            stream.markEndOfStream();
+        } else {
+            fallback.streamEnd(trailers);
+        }
+    }
+
+    /**
+     * Triggered to signal a failure in data processing.
+     *
+     * @param cause the cause of the failure.
+     */
+    @Override
+    public void failed(final Exception cause) {
+        final ResponseBodyStream stream = this.stream;
+        if (stream != null) {
+            stream.fail(cause);
+        } else {
+            fallback.failed(cause);
+        }
+    }
+
+    /**
+     * Release resources being held
+     */
+    @Override
+    public void releaseResources() {
+        final ResponseBodyStream stream = this.stream;
+        if (stream != null) {
+            stream.release();
+        }
+        fallback.releaseResources();
+    }
+
+    /**
+     * Gets current response body stream instance, if the response is being streamed
+     * @return response body stream instance
+     */
+    ResponseBodyStream getStream() {
+        return stream;
+    }
+
+    /**
+     * The entity content of a streamed response. Data is appended by the I/O reactor into a ring of fixed size chunks,
+     * which are recycled once drained by the reader. Capacity is only handed back to the I/O reactor when at least a
+     * whole chunk is free, to avoid flooding it with tiny window updates.
+     */
+    static final class ResponseBodyStream extends InputStream {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition dataAvailable = lock.newCondition();
+        private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+        private final ArrayDeque<byte[]> pool = new ArrayDeque<>();
+        private final int capacity;
+        private final int chunkSize;
+
+        private CapacityChannel capacityChannel;
+        // bytes held in the ring and not read yet
+        private int buffered;
+        // bytes announced to the I/O reactor and not received yet
+        private int requested;
+        private boolean endOfStream;
+        private boolean closed;
+        private Exception failure;
+
+        ResponseBodyStream(int capacity, int chunkSize) {
+            this.capacity = capacity;
+            this.chunkSize = chunkSize;
+        }
+
+        void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            final int increment;
+            lock.lock();
+            try {
+                this.capacityChannel = capacityChannel;
+                increment = reserveCapacity(1);
+            } finally {
+                lock.unlock();
+            }
+            signalCapacity(capacityChannel, increment);
+        }
+
+        void fill(ByteBuffer src) throws IOException {
+            final CapacityChannel channel;
+            final int increment;
+            lock.lock();
+            try {
+                requested = Math.max(0, requested - src.remaining());
+                if (closed) {
+                    // nobody is going to read it, but the rest of the entity must still be received
+                    src.position(src.limit());
+                } else {
+                    while (src.hasRemaining()) {
+                        Chunk tail = chunks.peekLast();
+                        if (tail == null || tail.isFull()) {
+                            tail = new Chunk(allocate());
+                            chunks.addLast(tail);
+                        }
+                        final int length = Math.min(src.remaining(), tail.data.length - tail.end);
+                        src.get(tail.data, tail.end, length);
+                        tail.end += length;
+                        buffered += length;
+                    }
+                    dataAvailable.signalAll();
+                }
+                channel = capacityChannel;
+                increment = closed ? reserveCapacity(1) : 0;
+            } finally {
+                lock.unlock();
+            }
+            signalCapacity(channel, increment);
+        }
+
+        void markEndOfStream() {
+            lock.lock();
+            try {
+                endOfStream = true;
+                dataAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void fail(Exception cause) {
+            lock.lock();
+            try {
+                if (failure == null) {
+                    failure = cause;
+                }
+                dataAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void release() {
+            lock.lock();
+            try {
+                capacityChannel = null;
+                if (endOfStream == false && failure == null) {
+                    failure = new IOException("Response stream was released before the entity was fully received");
+                }
+                dataAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+
+            final CapacityChannel channel;
+            final int increment;
+            int read = 0;
+            lock.lock();
+            try {
+                awaitData();
+                if (buffered == 0) {
+                    return -1;
+                }
+
+                while (read < len && chunks.isEmpty() == false) {
+                    final Chunk head = chunks.peekFirst();
+                    final int length = Math.min(len - read, head.end - head.start);
+                    System.arraycopy(head.data, head.start, b, off + read, length);
+                    head.start += length;
+                    read += length;
+                    if (head.start == head.end) {
+                        chunks.pollFirst();
+                        recycle(head.data);
+                    }
+                }
+                buffered -= read;
+
+                channel = capacityChannel;
+                increment = reserveCapacity(chunkSize);
+            } finally {
+                lock.unlock();
+            }
+            signalCapacity(channel, increment);
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            lock.lock();
+            try {
+                return buffered;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Discards any buffered data. Data still in transit is consumed and dropped as it arrives, so that the underlying
+         * connection can be released once the entity has been fully received.
+         */
+        @Override
+        public void close() throws IOException {
+            final CapacityChannel channel;
+            final int increment;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                chunks.clear();
+                pool.clear();
+                buffered = 0;
+                dataAvailable.signalAll();
+
+                channel = capacityChannel;
+                increment = reserveCapacity(1);
+            } finally {
+                lock.unlock();
+            }
+            signalCapacity(channel, increment);
+        }
+
+        int getBufferedBytes() {
+            lock.lock();
+            try {
+                return buffered;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int getRequestedBytes() {
+            lock.lock();
+            try {
+                return requested;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Must be called holding the lock
+        private void awaitData() throws IOException {
+            while (true) {
+                // a truncated entity must not be handed over as if it was complete
+                if (failure != null) {
+                    throw failure instanceof IOException ? (IOException) failure : new IOException(failure);
+                }
+                if (buffered > 0) {
+                    return;
+                }
+                if (closed) {
+                    throw new IOException("Stream closed");
+                }
+                if (endOfStream) {
+                    return;
+                }
+                try {
+                    dataAvailable.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for response data");
+                }
+            }
+        }
+
+        // Must be called holding the lock
+        private int reserveCapacity(int threshold) {
+            if (capacityChannel == null || endOfStream) {
+                return 0;
+            }
+            final int increment = capacity - buffered - requested;
+            if (increment < threshold) {
+                return 0;
+            }
+            requested += increment;
+            return increment;
+        }
+
+        // Must be called without holding the lock: the capacity channel may need to acquire I/O session locks
+        private static void signalCapacity(CapacityChannel channel, int increment) throws IOException {
+            if (channel != null && increment > 0) {
+                channel.update(increment);
+            }
+        }
+
+        // Must be called holding the lock
+        private byte[] allocate() {
+            final byte[] data = pool.pollFirst();
+            return data != null ? data : new byte[chunkSize];
+        }
+
+        // Must be called holding the lock
+        private void recycle(byte[] data) {
+            if (closed == false && (pool.size() + chunks.size()) * chunkSize < capacity) {
+                pool.addFirst(data);
+            }
+        }
+    }
+
+    private static final class Chunk {
+        private final byte[] data;
+        private int start;
+        private int end;
+
+        Chunk(byte[] data) {
+            this.data = data;
+        }
+
+        boolean isFull() {
+            return end == data.length;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.sniff;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hc.core5.http.HttpHost;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.transport.endpoints.SimpleEndpoint;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+/**
+ * Class responsible for sniffing the http hosts from OpenSearch through the nodes info api and returning them back.
+ * The request is sent through the {@link ApacheHttpClient5Transport} whose nodes are being sniffed, so it benefits
+ * from its authentication, retries and denylist. Nodes that don't have the http module enabled are ignored.
+ */
+public final class OpenSearchNodesSniffer implements NodesSniffer {
+
+    private static final Log logger = LogFactory.getLog(OpenSearchNodesSniffer.class);
+
+    /**
+     * The default timeout of the nodes info request, in milliseconds.
+     */
+    public static final long DEFAULT_SNIFF_REQUEST_TIMEOUT = TimeUnit.SECONDS.toMillis(1);
+
+    private final ApacheHttpClient5Transport transport;
+    private final SimpleEndpoint<Void, JsonValue> endpoint;
+    private final Scheme scheme;
+
+    /**
+     * Creates a new instance of the OpenSearch sniffer. It will use the provided {@link ApacheHttpClient5Transport}
+     * to fetch the hosts, through the nodes info api, the default sniff request timeout value
+     * {@link #DEFAULT_SNIFF_REQUEST_TIMEOUT} and http as the scheme for all the hosts.
+     *
+     * @param transport the transport used to fetch the hosts from OpenSearch
+     */
+    public OpenSearchNodesSniffer(ApacheHttpClient5Transport transport) {
+        this(transport, DEFAULT_SNIFF_REQUEST_TIMEOUT, Scheme.HTTP);
+    }
+
+    /**
+     * Creates a new instance of the OpenSearch sniffer.
+     *
+     * @param transport the transport used to fetch the hosts from OpenSearch
+     * @param sniffRequestTimeoutMillis the sniff request timeout (in milliseconds) to be passed in as a query string
+     *                                  parameter to OpenSearch. Allows to halt the request without any failure, as
+     *                                  only the nodes that have responded within this timeout will be returned.
+     * @param scheme the scheme to associate sniffed nodes with (as it is not returned by OpenSearch)
+     */
+    public OpenSearchNodesSniffer(ApacheHttpClient5Transport transport, long sniffRequestTimeoutMillis, Scheme scheme) {
+        this.transport = Objects.requireNonNull(transport, "transport cannot be null");
+        if (sniffRequestTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("sniffRequestTimeoutMillis must be greater than 0");
+        }
+        this.scheme = Objects.requireNonNull(scheme, "scheme cannot be null");
+        final Map<String, String> params = Collections.singletonMap("timeout", sniffRequestTimeoutMillis + "ms");
+        this.endpoint = new SimpleEndpoint<>(
+            r -> "GET",
+            r -> "/_nodes/http",
+            r -> params,
+            SimpleEndpoint.emptyMap(),
+            false,
+            JsonpDeserializer.jsonValueDeserializer()
+        );
+    }
+
+    /**
+     * Calls the nodes info api and returns a list of http hosts extracted from it.
+     */
+    @Override
+    public List<Node> sniff() throws IOException {
+        final JsonValue response = transport.performRequest(null, endpoint, null);
+        return readNodes(response, scheme);
+    }
+
+    static List<Node> readNodes(JsonValue response, Scheme scheme) throws IOException {
+        if (response.getValueType() != JsonValue.ValueType.OBJECT) {
+            throw new IOException("expected an object as the nodes info response but got [" + response.getValueType() + "]");
+        }
+        final JsonObject nodes = response.asJsonObject().getJsonObject("nodes");
+        if (nodes == null) {
+            return Collections.emptyList();
+        }
+        final List<Node> result = new ArrayList<>(nodes.size());
+        for (Map.Entry<String, JsonValue> entry : nodes.entrySet()) {
+            final Node node = readNode(entry.getKey(), entry.getValue().asJsonObject(), scheme);
+            if (node != null) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    private static Node readNode(String nodeId, JsonObject info, Scheme scheme) throws IOException {
+        final JsonObject http = info.getJsonObject("http");
+        if (http == null) {
+            /*
+             * If a node doesn't have the http module enabled it won't have an http section. It can't receive
+             * requests from the client, so it is skipped.
+             */
+            logger.debug("skipping node [" + nodeId + "] with http disabled");
+            return null;
+        }
+
+        final JsonString publishAddress = http.getJsonString("publish_address");
+        if (publishAddress == null) {
+            throw new IOException("node [" + nodeId + "] has no http publish_address");
+        }
+        final HttpHost publishedHost = readHost(publishAddress.getString(), scheme);
+
+        final Set<HttpHost> boundHosts = new LinkedHashSet<>();
+        final JsonArray boundAddresses = http.getJsonArray("bound_address");
+        if (boundAddresses != null) {
+            for (JsonValue boundAddress : boundAddresses) {
+                boundHosts.add(readHost(((JsonString) boundAddress).getString(), scheme));
+            }
+        }
+
+        final Set<String> roles = new HashSet<>();
+        final JsonArray rolesArray = info.getJsonArray("roles");
+        if (rolesArray != null) {
+            for (JsonValue role : rolesArray) {
+                roles.add(((JsonString) role).getString());
+            }
+        }
+
+        final Map<String, List<String>> attributes = new HashMap<>();
+        final JsonObject attributesObject = info.getJsonObject("attributes");
+        if (attributesObject != null) {
+            for (Map.Entry<String, JsonValue> attribute : attributesObject.entrySet()) {
+                attributes.put(attribute.getKey(), readAttribute(attribute.getValue()));
+            }
+        }
+
+        return new Node(
+            publishedHost,
+            boundHosts,
+            stringOrNull(info, "name"),
+            stringOrNull(info, "version"),
+            new Node.Roles(roles),
+            Collections.unmodifiableMap(attributes)
+        );
+    }
+
+    private static List<String> readAttribute(JsonValue value) {
+        if (value.getValueType() == JsonValue.ValueType.ARRAY) {
+            final List<String> values = new ArrayList<>();
+            for (JsonValue item : value.asJsonArray()) {
+                values.add(item instanceof JsonString ? ((JsonString) item).getString() : item.toString());
+            }
+            return Collections.unmodifiableList(values);
+        }
+        return Collections.singletonList(value instanceof JsonString ? ((JsonString) value).getString() : value.toString());
+    }
+
+    private static String stringOrNull(JsonObject object, String name) {
+        final JsonString value = object.getJsonString(name);
+        return value == null ? null : value.getString();
+    }
+
+    private static HttpHost readHost(String address, Scheme scheme) {
+        /*
+         * The address is either host:port, or hostname/ip:port when the node was configured with a hostname that
+         * resolved to the ip. In the latter case, the hostname is kept so that certificates can be verified.
+         */
+        final int slash = address.indexOf('/');
+        if (slash >= 0) {
+            final String host = address.substring(0, slash);
+            final int port = Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+            return new HttpHost(scheme.name, host, port);
+        }
+        final URI uri = URI.create(scheme.name + "://" + address);
+        String host = uri.getHost();
+        if (host.startsWith("[") && host.endsWith("]")) {
+            // IPv6 literal
+            host = host.substring(1, host.length() - 1);
+        }
+        return new HttpHost(uri.getScheme(), host, uri.getPort());
+    }
+
+    /**
+     * The scheme of the sniffed hosts, which isn't returned by the nodes info api.
+     */
+    public enum Scheme {
+        HTTP("http"),
+        HTTPS("https");
+
+        private final String name;
+
+        Scheme(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
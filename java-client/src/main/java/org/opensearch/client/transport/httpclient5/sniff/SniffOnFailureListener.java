@@ -0,0 +1,57 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.sniff;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+/**
+ * {@link ApacheHttpClient5Transport.FailureListener} implementation that allows to perform sniffing on failure.
+ * Gets notified whenever a failure happens and uses a {@link Sniffer} instance to manually reload hosts and sets
+ * them back to the {@link ApacheHttpClient5Transport}. The {@link Sniffer} instance needs to be lazily set through
+ * {@link #setSniffer(Sniffer)}, as it can only be created once the transport has been built with this listener.
+ */
+public class SniffOnFailureListener extends ApacheHttpClient5Transport.FailureListener {
+
+    private volatile Sniffer sniffer;
+    private final AtomicBoolean set;
+
+    public SniffOnFailureListener() {
+        this.set = new AtomicBoolean(false);
+    }
+
+    /**
+     * Sets the {@link Sniffer} instance used to perform sniffing
+     *
+     * @param sniffer the sniffer
+     * @throws IllegalStateException if the sniffer was already set, as it can only be set once
+     */
+    public void setSniffer(Sniffer sniffer) {
+        Objects.requireNonNull(sniffer, "sniffer must not be null");
+        if (set.compareAndSet(false, true)) {
+            this.sniffer = sniffer;
+        } else {
+            throw new IllegalStateException("sniffer can only be set once");
+        }
+    }
+
+    /**
+     * Schedules a sniffing round. Failures that happen before the sniffer is set are ignored: the sniffer fetches
+     * the nodes as soon as it is created anyway.
+     */
+    @Override
+    public void onFailure(Node node) {
+        final Sniffer sniffer = this.sniffer;
+        if (sniffer != null) {
+            sniffer.sniffOnFailure();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.sniff;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+/**
+ * Class responsible for sniffing nodes from an OpenSearch cluster and setting them to a provided instance of
+ * {@link ApacheHttpClient5Transport}. Must be created via {@link SnifferBuilder}, which allows to set all of the
+ * different options or rely on defaults.
+ * <p>
+ * A background task fetches the nodes through the provided {@link NodesSniffer} and sets them to the transport,
+ * which swaps its node list atomically. The task runs when the sniffer is created, then every sniff interval.
+ * Sniffing can also be triggered on failure through {@link #sniffOnFailure()}, which is what
+ * {@link SniffOnFailureListener} does: the next round then happens after the sniff after failure delay, which is
+ * usually shorter than the sniff interval.
+ */
+public class Sniffer implements Closeable {
+
+    private static final Log logger = LogFactory.getLog(Sniffer.class);
+    private static final String SNIFFER_THREAD_NAME = "opensearch_transport_sniffer";
+
+    private final NodesSniffer nodesSniffer;
+    private final ApacheHttpClient5Transport transport;
+    private final long sniffIntervalMillis;
+    private final long sniffAfterFailureDelayMillis;
+    private final ScheduledExecutorService executor;
+    private ScheduledTask nextScheduledTask;
+    private boolean closed;
+
+    Sniffer(ApacheHttpClient5Transport transport, NodesSniffer nodesSniffer, long sniffInterval, long sniffAfterFailureDelay) {
+        this.nodesSniffer = nodesSniffer;
+        this.transport = transport;
+        this.sniffIntervalMillis = sniffInterval;
+        this.sniffAfterFailureDelayMillis = sniffAfterFailureDelay;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, SNIFFER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        synchronized (this) {
+            scheduleNext(new Task(sniffIntervalMillis), 0L);
+        }
+    }
+
+    /**
+     * Schedule sniffing to run as soon as possible if it isn't already running. Once such sniffing round runs
+     * it will also schedule a new round after sniffAfterFailureDelay ms.
+     */
+    public synchronized void sniffOnFailure() {
+        if (closed) {
+            return;
+        }
+        /*
+         * If the next task is already running, it will fetch the current nodes anyway. Otherwise it is replaced by
+         * an immediate one, which will be followed by a round after the failure delay instead of the interval.
+         */
+        if (nextScheduledTask.skip()) {
+            scheduleNext(new Task(sniffAfterFailureDelayMillis), 0L);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            nextScheduledTask.skip();
+        }
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(1000, TimeUnit.MILLISECONDS) == false) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fetches the nodes and sets them to the transport, unless none were found.
+     */
+    final void sniff() throws Exception {
+        final List<Node> sniffedNodes = nodesSniffer.sniff();
+        if (logger.isDebugEnabled()) {
+            logger.debug("sniffed nodes: " + sniffedNodes);
+        }
+        if (sniffedNodes.isEmpty()) {
+            logger.warn("no nodes to set, nodes will be updated at the next sniffing round");
+        } else {
+            transport.setNodes(sniffedNodes);
+        }
+    }
+
+    // Must be called while holding the monitor
+    private void scheduleNext(Task task, long delayMillis) {
+        try {
+            nextScheduledTask = new ScheduledTask(task, executor.schedule(task, delayMillis, TimeUnit.MILLISECONDS));
+        } catch (RejectedExecutionException e) {
+            logger.debug("could not schedule the next sniffing round, the sniffer is closed", e);
+        }
+    }
+
+    enum TaskState {
+        WAITING,
+        SKIPPED,
+        STARTED
+    }
+
+    final class Task implements Runnable {
+        final long nextTaskDelay;
+        final AtomicReference<TaskState> taskState = new AtomicReference<>(TaskState.WAITING);
+
+        Task(long nextTaskDelay) {
+            this.nextTaskDelay = nextTaskDelay;
+        }
+
+        @Override
+        public void run() {
+            /*
+             * Skipped or already started tasks do nothing. A task may be skipped after being scheduled, in case a
+             * sniff on failure was requested in the meantime.
+             */
+            if (taskState.compareAndSet(TaskState.WAITING, TaskState.STARTED) == false) {
+                return;
+            }
+            try {
+                sniff();
+            } catch (Exception e) {
+                logger.error("error while sniffing nodes", e);
+            } finally {
+                synchronized (Sniffer.this) {
+                    if (closed == false) {
+                        scheduleNext(new Task(sniffIntervalMillis), nextTaskDelay);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Sets this task to be skipped. Returns true if the task will be skipped, false if the task has already
+         * started.
+         */
+        boolean skip() {
+            /*
+             * Skipping may still fail, in case the task is already running or it has run.
+             */
+            return taskState.compareAndSet(TaskState.WAITING, TaskState.SKIPPED);
+        }
+    }
+
+    static final class ScheduledTask {
+        final Task task;
+        final ScheduledFuture<?> future;
+
+        ScheduledTask(Task task, ScheduledFuture<?> future) {
+            this.task = task;
+            this.future = future;
+        }
+
+        /**
+         * Cancels this task. Returns true if the task has been successfully skipped, meaning that it will not run
+         * and the caller should schedule a replacement. Returns false in case the task is already running.
+         */
+        boolean skip() {
+            if (task.skip()) {
+                future.cancel(false);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns a new {@link SnifferBuilder} to help with {@link Sniffer} creation.
+     *
+     * @param transport the transport that gets its nodes set (usually after sniffing)
+     * @return the builder
+     */
+    public static SnifferBuilder builder(ApacheHttpClient5Transport transport) {
+        return new SnifferBuilder(transport);
+    }
+}
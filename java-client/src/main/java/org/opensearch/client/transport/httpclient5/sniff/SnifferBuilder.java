@@ -0,0 +1,95 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.sniff;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport;
+
+/**
+ * Sniffer builder. Helps creating a new {@link Sniffer}.
+ */
+public final class SnifferBuilder {
+    /**
+     * The default sniff interval in milliseconds.
+     */
+    public static final long DEFAULT_SNIFF_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * The default delay of the sniffing round following a failure, in milliseconds.
+     */
+    public static final long DEFAULT_SNIFF_AFTER_FAILURE_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private final ApacheHttpClient5Transport transport;
+    private long sniffIntervalMillis = DEFAULT_SNIFF_INTERVAL;
+    private long sniffAfterFailureDelayMillis = DEFAULT_SNIFF_AFTER_FAILURE_DELAY;
+    private NodesSniffer nodesSniffer;
+
+    /**
+     * Creates a new builder instance by providing the {@link ApacheHttpClient5Transport} that will be used to
+     * communicate with OpenSearch
+     */
+    SnifferBuilder(ApacheHttpClient5Transport transport) {
+        Objects.requireNonNull(transport, "transport cannot be null");
+        this.transport = transport;
+    }
+
+    /**
+     * Sets the interval between consecutive ordinary sniff executions in milliseconds. Will be honoured when
+     * sniffOnFailure is disabled or when there are no failures between consecutive sniff executions.
+     *
+     * @param sniffIntervalMillis the sniff interval in milliseconds
+     * @throws IllegalArgumentException if sniffIntervalMillis is not greater than 0
+     */
+    public SnifferBuilder setSniffIntervalMillis(int sniffIntervalMillis) {
+        if (sniffIntervalMillis <= 0) {
+            throw new IllegalArgumentException("sniffIntervalMillis must be greater than 0");
+        }
+        this.sniffIntervalMillis = sniffIntervalMillis;
+        return this;
+    }
+
+    /**
+     * Sets the delay of a sniff execution scheduled after a failure (in milliseconds)
+     *
+     * @param sniffAfterFailureDelayMillis the delay in milliseconds
+     * @throws IllegalArgumentException if sniffAfterFailureDelayMillis is not greater than 0
+     */
+    public SnifferBuilder setSniffAfterFailureDelayMillis(int sniffAfterFailureDelayMillis) {
+        if (sniffAfterFailureDelayMillis <= 0) {
+            throw new IllegalArgumentException("sniffAfterFailureDelayMillis must be greater than 0");
+        }
+        this.sniffAfterFailureDelayMillis = sniffAfterFailureDelayMillis;
+        return this;
+    }
+
+    /**
+     * Sets the {@link NodesSniffer} to be used to read hosts. A default instance of {@link OpenSearchNodesSniffer}
+     * is created when not provided. This method can be used to change the configuration of the
+     * {@link OpenSearchNodesSniffer}, or to provide a different implementation (e.g. in case hosts need to be taken
+     * from a different source).
+     *
+     * @param nodesSniffer the {@link NodesSniffer} to be used
+     */
+    public SnifferBuilder setNodesSniffer(NodesSniffer nodesSniffer) {
+        Objects.requireNonNull(nodesSniffer, "nodesSniffer cannot be null");
+        this.nodesSniffer = nodesSniffer;
+        return this;
+    }
+
+    /**
+     * Creates the {@link Sniffer} based on the provided configuration, and starts sniffing.
+     */
+    public Sniffer build() {
+        if (nodesSniffer == null) {
+            this.nodesSniffer = new OpenSearchNodesSniffer(transport);
+        }
+        return new Sniffer(transport, nodesSniffer, sniffIntervalMillis, sniffAfterFailureDelayMillis);
+    }
+}
@@ -66,6 +66,7 @@ import org.opensearch.client.transport.TransportOptions;
 import org.opensearch.client.transport.endpoints.BooleanEndpoint;
 import org.opensearch.client.transport.endpoints.BooleanResponse;
 import org.opensearch.client.util.ApiTypeHelper;
+import org.opensearch.client.util.BinaryData;
 import org.opensearch.client.util.MissingRequiredPropertyException;
 
 /**
@@ -232,6 +233,12 @@ public class RestClientTransport implements OpenSearchTransport {
             Object item = values.next();
             if (item instanceof NdJsonpSerializable && item != value) { // do not recurse on the item itself
                 writeNdJson((NdJsonpSerializable) item, baos);
+            } else if (item instanceof BinaryData) {
+                try {
+                    ((BinaryData) item).writeLineTo(baos);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
             } else {
                 JsonGenerator generator = mapper.jsonProvider().createGenerator(baos);
                 mapper.serialize(item, generator);
@@ -0,0 +1,118 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.util;
+
+import jakarta.json.stream.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpSerializable;
+import org.opensearch.client.json.RawJsonData;
+
+/**
+ * Content that is already serialized, along with its content type, that is written as-is to request bodies.
+ * <p>
+ * When used as the document of a bulk operation, e.g.
+ * {@code b.index(i -> i.index("logs").document(BinaryData.of(bytes, BinaryData.APPLICATION_JSON)))}, the bytes are
+ * copied to the newline-delimited request body by {@link OpenSearchRequestBodyBuffer} and the transports without
+ * being parsed or serialized again. When nested in other values, such as the document of an update operation, JSON
+ * content is written as a raw value by Jackson generators. Only JSON content types can be written to JSON bodies.
+ */
+public interface BinaryData extends JsonpSerializable {
+
+    String APPLICATION_JSON = "application/json";
+
+    /**
+     * The content type of the data, e.g. {@code application/json}.
+     */
+    String contentType();
+
+    /**
+     * The number of bytes of the data.
+     */
+    long size();
+
+    /**
+     * Writes the data to a stream as it is.
+     */
+    void writeTo(OutputStream out) throws IOException;
+
+    /**
+     * A read-only view of the data.
+     */
+    ByteBuffer asByteBuffer();
+
+    /**
+     * Writes JSON data to a stream as a line of newline-delimited JSON, i.e. followed by a line feed. Line breaks,
+     * which JSON only allows as whitespace between tokens, are replaced by spaces.
+     *
+     * @throws IllegalStateException if the content type is not JSON
+     */
+    default void writeLineTo(OutputStream out) throws IOException {
+        ByteArrayBinaryData.ensureJson(this);
+        final ByteBuffer buffer = asByteBuffer();
+        final byte[] chunk = new byte[Math.min(buffer.remaining(), 8192)];
+        while (buffer.hasRemaining()) {
+            final int length = Math.min(buffer.remaining(), chunk.length);
+            buffer.get(chunk, 0, length);
+            for (int i = 0; i < length; i++) {
+                if (chunk[i] == '\n' || chunk[i] == '\r') {
+                    chunk[i] = ' ';
+                }
+            }
+            out.write(chunk, 0, length);
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Writes JSON data as a value of a generator, see {@link RawJsonData#serialize(JsonGenerator, JsonpMapper)}.
+     *
+     * @throws IllegalStateException if the content type is not JSON
+     */
+    @Override
+    default void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        ByteArrayBinaryData.ensureJson(this);
+        final ByteBuffer buffer = asByteBuffer();
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        RawJsonData.of(bytes).serialize(generator, mapper);
+    }
+
+    /**
+     * Wraps bytes, which are neither copied nor validated.
+     */
+    static BinaryData of(byte[] bytes, String contentType) {
+        return new ByteArrayBinaryData(bytes, 0, bytes.length, contentType);
+    }
+
+    /**
+     * Wraps a slice of bytes, which are neither copied nor validated.
+     */
+    static BinaryData of(byte[] bytes, int offset, int length, String contentType) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("Invalid slice [" + offset + ", " + (offset + length) + "] of " + bytes.length + " bytes");
+        }
+        return new ByteArrayBinaryData(bytes, offset, length, contentType);
+    }
+
+    /**
+     * Wraps the remaining bytes of a buffer, whose position is left unchanged. The bytes are shared with heap buffers
+     * that are not read-only, and copied from other buffers.
+     */
+    static BinaryData of(ByteBuffer buffer, String contentType) {
+        if (buffer.hasArray()) {
+            return new ByteArrayBinaryData(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), contentType);
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new ByteArrayBinaryData(bytes, 0, bytes.length, contentType);
+    }
+}
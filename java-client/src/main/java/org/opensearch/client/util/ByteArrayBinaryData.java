@@ -0,0 +1,87 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.util;
+
+import jakarta.json.stream.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.RawJsonData;
+
+/**
+ * {@link BinaryData} backed by a slice of a byte array.
+ */
+final class ByteArrayBinaryData implements BinaryData {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+    private final String contentType;
+
+    ByteArrayBinaryData(byte[] bytes, int offset, int length, String contentType) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public String contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long size() {
+        return length;
+    }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, offset, length);
+    }
+
+    @Override
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public void writeLineTo(OutputStream out) throws IOException {
+        ensureJson(this);
+        for (int i = offset; i < offset + length; i++) {
+            if (bytes[i] == '\n' || bytes[i] == '\r') {
+                BinaryData.super.writeLineTo(out);
+                return;
+            }
+        }
+        out.write(bytes, offset, length);
+        out.write('\n');
+    }
+
+    @Override
+    public void serialize(JsonGenerator generator, JsonpMapper mapper) {
+        ensureJson(this);
+        RawJsonData.of(bytes, offset, length).serialize(generator, mapper);
+    }
+
+    /**
+     * Checks that binary data can be written to a JSON body. Package private for {@link BinaryData} and
+     * {@link OpenSearchRequestBodyBuffer}.
+     */
+    static void ensureJson(BinaryData data) {
+        final String contentType = data.contentType();
+        final int end = contentType.indexOf(';');
+        final String mimeType = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+        if (!mimeType.equals(APPLICATION_JSON) && !mimeType.endsWith("+json")) {
+            throw new IllegalStateException("Binary data with content type '" + contentType + "' cannot be written as JSON");
+        }
+    }
+}
@@ -10,11 +10,18 @@ package org.opensearch.client.util;
 
 import jakarta.json.stream.JsonGenerator;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.GZIPOutputStream;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -29,13 +36,26 @@ import org.opensearch.client.transport.OpenSearchTransport;
  * <P>
  *     Request bodies can be automatically compressed when they exceed a given size.
  * </P>
+ * <P>
+ *     The content is captured in fixed-size segments taken from a shared pool, so that large bodies
+ *     are never copied into a single contiguous array. Transports that write the segments returned by
+ *     {@link #getByteBuffers()} directly can give them back to the pool once the request is complete
+ *     with {@link #release()}; buffers that are never released are simply garbage collected.
+ * </P>
+ * <P>
+ *     {@link BinaryData} content, such as already serialized bulk documents, is copied as it is rather than
+ *     serialized with the mapper.
+ * </P>
  */
 public class OpenSearchRequestBodyBuffer {
     private static final byte[] NO_BYTES = new byte[0];
+    private static final int SEGMENT_SIZE = 8192;
+    private static final SegmentPool POOL = new SegmentPool(SEGMENT_SIZE, 1024 /* 8Mb */);
+    private final AtomicInteger references = new AtomicInteger(1);
     private final OutputBuffer outputBuffer;
     private final CompressingOutputBuffer captureBuffer;
     private final JsonpMapper mapper;
-    private final JsonGenerator jsonGenerator;
+    private final OutputStream generatorOutput;
     private boolean hasContent = false;
     private boolean isMulti = false;
     private boolean isClosed = false;
@@ -52,7 +72,7 @@ public class OpenSearchRequestBodyBuffer {
         this.outputBuffer = new OutputBuffer();
         this.captureBuffer = new CompressingOutputBuffer(this.outputBuffer, requestCompressionSize);
         this.mapper = mapper;
-        jsonGenerator = mapper.jsonProvider().createGenerator(this.captureBuffer);
+        this.generatorOutput = new UnclosableOutputStream(this.captureBuffer);
     }
 
     /**
@@ -71,12 +91,10 @@ public class OpenSearchRequestBodyBuffer {
         if (content instanceof NdJsonpSerializable) {
             isMulti = true;
             addNdJson(((NdJsonpSerializable) content));
+        } else if (isMulti) {
+            serializeLine(content);
         } else {
-            mapper.serialize(content, jsonGenerator);
-            jsonGenerator.flush();
-            if (isMulti) {
-                captureBuffer.write((byte) '\n');
-            }
+            serialize(content);
         }
     }
 
@@ -88,13 +106,34 @@ public class OpenSearchRequestBodyBuffer {
                 addNdJson((NdJsonpSerializable) value);
             } else {
                 hasContent = true;
-                mapper.serialize(value, jsonGenerator);
-                jsonGenerator.flush();
-                captureBuffer.write((byte) '\n');
+                serializeLine(value);
             }
         }
     }
 
+    private void serializeLine(Object value) throws IOException {
+        if (value instanceof BinaryData) {
+            ((BinaryData) value).writeLineTo(captureBuffer);
+        } else {
+            serialize(value);
+            captureBuffer.write((byte) '\n');
+        }
+    }
+
+    private void serialize(Object value) throws IOException {
+        if (value instanceof BinaryData) {
+            // Already serialized content is copied as it is
+            ByteArrayBinaryData.ensureJson((BinaryData) value);
+            ((BinaryData) value).writeTo(captureBuffer);
+            return;
+        }
+        // A generator can only produce a single JSON text, so each value gets its own. Closing it flushes
+        // the capture buffer but leaves it open.
+        JsonGenerator generator = mapper.jsonProvider().createGenerator(generatorOutput);
+        mapper.serialize(value, generator);
+        generator.close();
+    }
+
     /**
      * @return true if the content has been compressed
      */
@@ -129,6 +168,23 @@ public class OpenSearchRequestBodyBuffer {
         return "application/json";
     }
 
+    /**
+     * Get the contents of this buffer as a list of byte buffers, one per captured segment. The
+     * returned buffers share the storage of this buffer and must not be modified, each call
+     * returns new buffers positioned at the start of their segment.
+     * <p>
+     * This call finalizes the buffer.  After this call, any attempt to add more content
+     * will throw an IOException.
+     * </P>
+     *
+     * @return The buffered data
+     */
+    public List<ByteBuffer> getByteBuffers() {
+        ensureClosed();
+        ensureNotReleased();
+        return outputBuffer.toByteBuffers();
+    }
+
     /**
      * Get the value of the Content-Length header that should be sent along with this buffer.
      * <p>
@@ -140,6 +196,7 @@ public class OpenSearchRequestBodyBuffer {
      */
     public long getContentLength() {
         ensureClosed();
+        ensureNotReleased();
         return outputBuffer.size();
     }
 
@@ -155,6 +212,7 @@ public class OpenSearchRequestBodyBuffer {
     public byte[] getByteArray() {
         if (arrayMemo == null) {
             ensureClosed();
+            ensureNotReleased();
             arrayMemo = outputBuffer.size() <= 0 ? NO_BYTES : outputBuffer.toByteArray();
         }
         return arrayMemo;
@@ -175,6 +233,7 @@ public class OpenSearchRequestBodyBuffer {
      */
     public InputStream getInputStream() {
         ensureClosed();
+        ensureNotReleased();
         if (outputBuffer.size() <= 0) {
             return new ByteArrayInputStream(NO_BYTES);
         } else {
@@ -191,11 +250,46 @@ public class OpenSearchRequestBodyBuffer {
     public void close() throws IOException {
         if (!isClosed) {
             isClosed = true;
-            jsonGenerator.close();
             captureBuffer.close();
         }
     }
 
+    /**
+     * Takes an additional reference on this buffer, which has to be given back with {@link #release()}.
+     * This allows the content to be read, e.g. while being written to the network, after the owner
+     * of the buffer has released it.
+     *
+     * @return this buffer
+     * @throws IllegalStateException if the buffer has already been released
+     */
+    public OpenSearchRequestBodyBuffer retain() {
+        int count;
+        do {
+            count = references.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Request body buffer has been released");
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return this;
+    }
+
+    /**
+     * Gives back a reference on this buffer. A new buffer holds a single reference; once all of them
+     * have been given back the segments are returned to the pool and the content can no longer be read.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            ensureClosed();
+            outputBuffer.reset();
+        }
+    }
+
+    private void ensureNotReleased() {
+        if (references.get() <= 0) {
+            throw new IllegalStateException("Request body buffer has been released");
+        }
+    }
+
     private void ensureClosed() {
         try {
             close();
@@ -204,9 +298,154 @@ public class OpenSearchRequestBodyBuffer {
         }
     }
 
-    private static class OutputBuffer extends ByteArrayOutputStream {
+    /**
+     * An output stream that captures its content in segments borrowed from the pool.
+     */
+    private static class OutputBuffer extends OutputStream {
+        private final List<byte[]> segments = new ArrayList<>();
+        private byte[] current;
+        private int position;
+        private long size;
+
+        @Override
+        public void write(int b) {
+            if (current == null || position == current.length) {
+                nextSegment();
+            }
+            current[position++] = (byte) b;
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                if (current == null || position == current.length) {
+                    nextSegment();
+                }
+                final int n = Math.min(len, current.length - position);
+                System.arraycopy(b, off, current, position, n);
+                position += n;
+                off += n;
+                len -= n;
+                size += n;
+            }
+        }
+
+        private void nextSegment() {
+            current = POOL.acquire();
+            segments.add(current);
+            position = 0;
+        }
+
+        long size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            if (size > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("Request body of " + size + " bytes is too large to fit in an array");
+            }
+            final byte[] result = new byte[(int) size];
+            int offset = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                final int length = segmentLength(i);
+                System.arraycopy(segments.get(i), 0, result, offset, length);
+                offset += length;
+            }
+            return result;
+        }
+
+        List<ByteBuffer> toByteBuffers() {
+            final List<ByteBuffer> buffers = new ArrayList<>(segments.size());
+            for (int i = 0; i < segments.size(); i++) {
+                buffers.add(ByteBuffer.wrap(segments.get(i), 0, segmentLength(i)));
+            }
+            return buffers;
+        }
+
         InputStream toInputStream() {
-            return new ByteArrayInputStream(this.buf, 0, this.count);
+            final List<InputStream> streams = new ArrayList<>(segments.size());
+            for (int i = 0; i < segments.size(); i++) {
+                streams.add(new ByteArrayInputStream(segments.get(i), 0, segmentLength(i)));
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+
+        private int segmentLength(int index) {
+            return index == segments.size() - 1 ? position : segments.get(index).length;
+        }
+
+        /**
+         * Discards the content, returning the segments to the pool.
+         */
+        void reset() {
+            for (byte[] segment : segments) {
+                POOL.release(segment);
+            }
+            segments.clear();
+            current = null;
+            position = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * A bounded pool of fixed-size segments. Segments that don't fit in the pool are left to the garbage collector.
+     */
+    private static class SegmentPool {
+        private final int segmentSize;
+        private final int maxPooled;
+        private final Queue<byte[]> segments = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pooled = new AtomicInteger();
+
+        SegmentPool(int segmentSize, int maxPooled) {
+            this.segmentSize = segmentSize;
+            this.maxPooled = maxPooled;
+        }
+
+        byte[] acquire() {
+            final byte[] segment = segments.poll();
+            if (segment == null) {
+                return new byte[segmentSize];
+            }
+            pooled.decrementAndGet();
+            return segment;
+        }
+
+        void release(byte[] segment) {
+            if (pooled.incrementAndGet() <= maxPooled) {
+                segments.offer(segment);
+            } else {
+                pooled.decrementAndGet();
+            }
+        }
+    }
+
+    private static class UnclosableOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        UnclosableOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
         }
     }
 
@@ -269,9 +508,10 @@ public class OpenSearchRequestBodyBuffer {
             if (delegate == outputBuffer && requestCompressionSize < Integer.MAX_VALUE) {
                 // prevent future checks
                 this.bytesUntilCompression = Integer.MAX_VALUE;
+                // at most requestCompressionSize bytes (plus the current write) have been captured so far
                 byte[] uncompressed = outputBuffer.toByteArray();
                 outputBuffer.reset();
-                delegate = new GZIPOutputStream(outputBuffer);
+                delegate = new GZIPOutputStream(outputBuffer, SEGMENT_SIZE);
                 if (uncompressed.length > 0) {
                     delegate.write(uncompressed);
                 }
@@ -0,0 +1,111 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers;
+
+import static com.carrotsearch.randomizedtesting.RandomizedTest.randomIntBetween;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.transport.Endpoint;
+import org.opensearch.client.transport.OpenSearchTransport;
+import org.opensearch.client.transport.TransportException;
+import org.opensearch.client.transport.TransportOptions;
+
+/**
+ * A transport answering asynchronous requests with the responses computed by {@link #respond(Object)}, for testing
+ * the helpers. Synchronous requests are not supported.
+ */
+public abstract class FakeAsyncTransport implements OpenSearchTransport {
+    private final JsonpMapper mapper = new JsonbJsonpMapper();
+    protected final ExecutorService executor;
+    /** The number of requests answered by {@link #respondAsync} that have not completed yet. */
+    public final AtomicInteger inFlight = new AtomicInteger();
+    /** The highest value of {@link #inFlight}. */
+    public final AtomicInteger maxInFlight = new AtomicInteger();
+
+    protected FakeAsyncTransport(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public OpenSearchAsyncClient client() {
+        return new OpenSearchAsyncClient(this);
+    }
+
+    /**
+     * Returns the response to a request, which must be an instance of the endpoint's response type.
+     */
+    protected abstract CompletableFuture<?> respond(Object request);
+
+    /**
+     * Computes a response on the executor, after a random delay of up to 2 milliseconds.
+     */
+    protected <T> CompletableFuture<T> respondAsync(Supplier<T> response) {
+        return respondAsync(() -> randomIntBetween(0, 2), response);
+    }
+
+    /**
+     * Computes a response on the executor, after the given delay.
+     */
+    protected <T> CompletableFuture<T> respondAsync(long delayMillis, Supplier<T> response) {
+        return respondAsync(() -> delayMillis, response);
+    }
+
+    private <T> CompletableFuture<T> respondAsync(LongSupplier delayMillis, Supplier<T> response) {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                Thread.sleep(delayMillis.getAsLong());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            inFlight.decrementAndGet();
+            return response.get();
+        }, executor);
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+        RequestT request,
+        Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+        @Nullable TransportOptions options
+    ) throws IOException {
+        throw new TransportException("Not implemented");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+        RequestT request,
+        Endpoint<RequestT, ResponseT, ErrorT> endpoint,
+        @Nullable TransportOptions options
+    ) {
+        return (CompletableFuture<ResponseT>) respond(request);
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return mapper;
+    }
+
+    @Override
+    public TransportOptions options() {
+        return null;
+    }
+
+    @Override
+    public void close() {}
+}
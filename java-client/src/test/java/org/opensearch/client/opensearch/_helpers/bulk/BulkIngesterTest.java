@@ -0,0 +1,330 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.bulk;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.client.opensearch._helpers.FakeAsyncTransport;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.BulkResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.opensearch.core.bulk.BulkResponseItem;
+import org.opensearch.client.opensearch.core.bulk.IndexOperation;
+import org.opensearch.client.opensearch.core.bulk.OperationType;
+import org.opensearch.client.transport.TransportException;
+import org.opensearch.client.util.BinaryData;
+
+public class BulkIngesterTest extends RandomizedTest {
+
+    private final List<Thread> executorThreads = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r);
+        executorThreads.add(thread);
+        return thread;
+    });
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        // Threads may still be exiting once the executor is terminated
+        for (Thread thread : executorThreads) {
+            thread.join(10_000);
+        }
+    }
+
+    @Test
+    public void testFlushOnOperationCount() {
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> 201);
+        final RecordingListener<Integer> listener = new RecordingListener<>();
+
+        try (BulkIngester<Integer> ingester = BulkIngester.of(b -> b.client(transport.client()).maxOperations(10).listener(listener))) {
+            for (int i = 0; i < 95; i++) {
+                ingester.add(operation(i), i);
+            }
+        }
+
+        assertThat(transport.requests.size(), equalTo(10));
+        assertThat(listener.contexts.size(), equalTo(10));
+        for (int i = 0; i < 9; i++) {
+            assertThat(listener.sizes.get(i), equalTo(10));
+        }
+        assertThat(listener.sizes.get(9), equalTo(5));
+        assertThat(listener.completedOperations(), equalTo(95));
+    }
+
+    @Test
+    public void testFlushOnSize() {
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> 201);
+        final RecordingListener<Void> listener = new RecordingListener<>();
+
+        try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(transport.client()).maxSize(1000).listener(listener))) {
+            for (int i = 0; i < 100; i++) {
+                ingester.add(operation(i));
+            }
+        }
+
+        // Each operation is about 60 bytes
+        assertThat(transport.requests.size() > 5, equalTo(true));
+        for (int size : listener.sizes) {
+            assertThat(size <= 1000 / 55 + 1, equalTo(true));
+        }
+        assertThat(listener.completedOperations(), equalTo(100));
+    }
+
+    @Test
+    public void testDocumentsAreSerializedOnAdd() {
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> 201);
+
+        try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(transport.client()))) {
+            ingester.add(
+                b -> b.index(o -> o.index("test").id("1").routing("r1").pipeline("p1").document(Collections.singletonMap("value", "one")))
+            );
+        }
+
+        final IndexOperation<Object> operation = transport.requests.get(0).operations().get(0).index();
+        assertThat(operation.document(), instanceOf(BinaryData.class));
+        final ByteBuffer document = ((BinaryData) operation.document()).asByteBuffer();
+        final byte[] bytes = new byte[document.remaining()];
+        document.get(bytes);
+        assertThat(new String(bytes, StandardCharsets.UTF_8), equalTo("{\"value\":\"one\"}"));
+        assertThat(operation.id(), equalTo("1"));
+        assertThat(operation.routing(), equalTo("r1"));
+        assertThat(operation.pipeline(), equalTo("p1"));
+    }
+
+    @Test
+    public void testFlushInterval() throws Exception {
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> 201);
+
+        try (
+            BulkIngester<Void> ingester = BulkIngester.of(
+                b -> b.client(transport.client()).maxOperations(1000).flushInterval(50, TimeUnit.MILLISECONDS)
+            )
+        ) {
+            ingester.add(operation(1));
+            ingester.add(operation(2));
+
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (ingester.requestCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(ingester.requestCount(), equalTo(1L));
+            assertThat(ingester.pendingOperations(), equalTo(0));
+        }
+    }
+
+    @Test
+    public void testOnlyTooManyRequestsItemsAreRetried() {
+        // Even ids are rejected on their first attempt
+        final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> {
+            final int attempt = attempts.merge(id, 1, Integer::sum);
+            if (Integer.parseInt(id) % 2 == 0 && attempt == 1) {
+                return 429;
+            }
+            return Integer.parseInt(id) % 5 == 0 ? 400 : 201;
+        });
+        final RecordingListener<Integer> listener = new RecordingListener<>();
+
+        final BulkIngester<Integer> ingester = BulkIngester.of(
+            b -> b.client(transport.client()).maxOperations(10).backoff(1, TimeUnit.MILLISECONDS).listener(listener)
+        );
+        for (int i = 0; i < 20; i++) {
+            ingester.add(operation(i), i);
+        }
+        ingester.close();
+
+        assertThat(ingester.retriedOperationCount(), equalTo(10L));
+        assertThat(ingester.requestCount(), equalTo(2L));
+        // 2 requests and their retry
+        assertThat(transport.requests.size(), equalTo(4));
+        // 400 errors are not retried
+        for (String id : attempts.keySet()) {
+            assertThat(attempts.get(id), equalTo(Integer.parseInt(id) % 2 == 0 ? 2 : 1));
+        }
+
+        // Results are in the order of the operations
+        assertThat(listener.responses.size(), equalTo(2));
+        for (BulkResponse response : listener.responses) {
+            assertThat(response.errors(), equalTo(true));
+            for (BulkResponseItem item : response.items()) {
+                assertThat(item.status(), equalTo(Integer.parseInt(item.id()) % 5 == 0 ? 400 : 201));
+            }
+        }
+        assertThat(listener.contexts.get(0), equalTo(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+    }
+
+    @Test
+    public void testRetriesAreBounded() {
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> 429);
+        final RecordingListener<Void> listener = new RecordingListener<>();
+
+        try (
+            BulkIngester<Void> ingester = BulkIngester.of(
+                b -> b.client(transport.client()).maxRetries(2).backoff(1, TimeUnit.MILLISECONDS).listener(listener)
+            )
+        ) {
+            ingester.add(operation(1));
+        }
+
+        assertThat(transport.requests.size(), equalTo(3));
+        assertThat(listener.responses.get(0).items().get(0).status(), equalTo(429));
+    }
+
+    @Test
+    public void testConcurrentRequestsAreCapped() throws Exception {
+        final BulkTransport transport = new BulkTransport(executor, 5, id -> 201);
+        final RecordingListener<Void> listener = new RecordingListener<>();
+        final int maxConcurrentRequests = randomIntBetween(1, 3);
+
+        final BulkIngester<Void> ingester = BulkIngester.of(
+            b -> b.client(transport.client()).maxOperations(10).maxConcurrentRequests(maxConcurrentRequests).listener(listener)
+        );
+
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * 1000;
+            final Thread producer = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    ingester.add(operation(offset + i));
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        ingester.close();
+
+        assertThat(transport.maxInFlight.get() <= maxConcurrentRequests, equalTo(true));
+        assertThat(listener.completedOperations(), equalTo(400));
+        assertThat(ingester.pendingRequests(), equalTo(0));
+    }
+
+    @Test
+    public void testFailuresAreReported() {
+        final BulkTransport transport = new BulkTransport(executor, 0, null);
+        final RecordingListener<Void> listener = new RecordingListener<>();
+
+        try (BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(transport.client()).listener(listener))) {
+            ingester.add(operation(1));
+        }
+
+        assertThat(listener.failures.size(), equalTo(1));
+        assertThat(listener.failures.get(0), instanceOf(TransportException.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAfterClose() {
+        final BulkTransport transport = new BulkTransport(executor, 0, id -> 201);
+        final BulkIngester<Void> ingester = BulkIngester.of(b -> b.client(transport.client()));
+        ingester.close();
+        ingester.add(operation(1));
+    }
+
+    private static BulkOperation operation(int id) {
+        return BulkOperation.of(
+            b -> b.index(o -> o.index("test").id(Integer.toString(id)).document(Collections.singletonMap("value", "value " + id)))
+        );
+    }
+
+    private static class RecordingListener<C> implements BulkListener<C> {
+        final List<Integer> sizes = new CopyOnWriteArrayList<>();
+        final List<List<C>> contexts = new CopyOnWriteArrayList<>();
+        final List<BulkResponse> responses = new CopyOnWriteArrayList<>();
+        final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request, List<C> contexts) {
+            sizes.add(request.operations().size());
+            this.contexts.add(contexts);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<C> contexts, BulkResponse response) {
+            assertThat(response.items().size(), equalTo(contexts.size()));
+            responses.add(response);
+        }
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, List<C> contexts, Throwable failure) {
+            failures.add(failure);
+        }
+
+        int completedOperations() {
+            return responses.stream().mapToInt(r -> r.items().size()).sum();
+        }
+    }
+
+    /**
+     * A transport answering bulk requests with the status computed for each document id, after a delay.
+     */
+    private static class BulkTransport extends FakeAsyncTransport {
+        private final long delayMillis;
+        @Nullable
+        private final Function<String, Integer> statuses;
+        final List<BulkRequest> requests = new CopyOnWriteArrayList<>();
+
+        BulkTransport(ExecutorService executor, long delayMillis, @Nullable Function<String, Integer> statuses) {
+            super(executor);
+            this.delayMillis = delayMillis;
+            this.statuses = statuses;
+        }
+
+        @Override
+        protected CompletableFuture<?> respond(Object request) {
+            final BulkRequest bulk = (BulkRequest) request;
+            requests.add(bulk);
+            return respondAsync(delayMillis, () -> {
+                if (statuses == null) {
+                    throw new CompletionException(new TransportException("Connection refused"));
+                }
+                final List<BulkResponseItem> items = new ArrayList<>();
+                boolean errors = false;
+                for (BulkOperation operation : bulk.operations()) {
+                    final String id = operation.index().id();
+                    final int status = statuses.apply(id);
+                    errors |= status >= 300;
+                    final BulkResponseItem.Builder item = new BulkResponseItem.Builder().operationType(OperationType.Index)
+                        .index("test")
+                        .id(id)
+                        .status(status);
+                    if (status >= 300) {
+                        item.error(e -> e.type("error").reason("status " + status));
+                    }
+                    items.add(item.build());
+                }
+                final boolean hasErrors = errors;
+                return BulkResponse.of(r -> r.items(items).errors(hasErrors).took(1));
+            });
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch._helpers.FakeAsyncTransport;
+import org.opensearch.client.opensearch._types.aggregations.AvgAggregate;
+import org.opensearch.client.opensearch._types.aggregations.CompositeAggregate;
+import org.opensearch.client.opensearch._types.aggregations.CompositeAggregation;
+import org.opensearch.client.opensearch._types.aggregations.CompositeBucket;
+import org.opensearch.client.opensearch._types.query_dsl.RangeQuery;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.TotalHitsRelation;
+import org.opensearch.client.transport.TransportException;
+
+public class CompositeAggregationIteratorTest extends RandomizedTest {
+
+    private final List<Thread> executorThreads = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r);
+        executorThreads.add(thread);
+        return thread;
+    });
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        for (Thread thread : executorThreads) {
+            thread.join(10_000);
+        }
+    }
+
+    @Test
+    public void testAllBucketsAreReturnedOnce() {
+        final int hosts = randomIntBetween(0, 100);
+        final int partitions = randomIntBetween(1, 4);
+        final int size = randomIntBetween(1, 20);
+        final CompositeTransport transport = new CompositeTransport(executor, hosts, -1);
+
+        final List<String> keys = new ArrayList<>();
+        try (CompositeAggregationIterator buckets = CompositeAggregationIterator.of(b -> {
+            b.client(transport.client())
+                .index("metrics")
+                .searchSettings(s -> s.query(q -> q.matchAll(m -> m)))
+                .source("host", s -> s.terms(t -> t.field("host")))
+                .source("hour", s -> s.histogram(h -> h.field("hour").interval(1.0)))
+                .aggregations("avg_cpu", a -> a.avg(v -> v.field("cpu")))
+                .size(size);
+            if (partitions > 1) {
+                partition(b, partitions, hosts);
+            }
+            return b;
+        })) {
+            buckets.stream().forEach(bucket -> {
+                keys.add(bucket.key().get("host").to(String.class) + "/" + bucket.key().get("hour").to(Long.class));
+                assertThat(bucket.aggregations().get("avg_cpu").avg().value(), equalTo(0.5));
+            });
+            assertThat(buckets.bucketCount(), equalTo((long) hosts * CompositeTransport.HOURS));
+            assertThat(buckets.requestCount(), equalTo((long) transport.searches.size()));
+        }
+
+        assertThat(keys.size(), equalTo(hosts * CompositeTransport.HOURS));
+        assertThat(new HashSet<>(keys).size(), equalTo(keys.size()));
+        int firstPages = 0;
+        for (SearchRequest search : transport.searches) {
+            assertThat(search.index(), equalTo(Collections.singletonList("metrics")));
+            assertThat(search.size(), equalTo(0));
+            final CompositeAggregation composite = search.aggregations().get("composite").composite();
+            assertThat(composite.size(), equalTo(size));
+            assertThat(composite.sources().get(0).get("host").terms().field(), equalTo("host"));
+            assertThat(composite.sources().get(1).get("hour").histogram().field(), equalTo("hour"));
+            assertThat(search.aggregations().get("composite").aggregations().get("avg_cpu").isAvg(), equalTo(true));
+            if (composite.after().isEmpty()) {
+                firstPages++;
+            }
+            if (partitions > 1) {
+                assertThat(search.query().bool().must().get(0).isMatchAll(), equalTo(true));
+                assertThat(search.query().bool().filter().get(0).range().field(), equalTo("host_number"));
+            } else {
+                assertThat(search.query().isMatchAll(), equalTo(true));
+            }
+        }
+        assertThat(firstPages, equalTo(partitions));
+    }
+
+    @Test
+    public void testFailuresAreThrown() {
+        final CompositeTransport transport = new CompositeTransport(executor, 100, 1);
+        final CompositeAggregationIterator buckets = CompositeAggregationIterator.of(
+            b -> partition(
+                b.client(transport.client()).index("metrics").source("host", s -> s.terms(t -> t.field("host"))).size(10),
+                3,
+                100
+            )
+        );
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            while (buckets.hasNext()) {
+                buckets.next();
+            }
+        });
+        assertThat(e.getCause(), instanceOf(TransportException.class));
+        assertThat(e.getCause().getMessage(), equalTo("Partition 1 failed"));
+        buckets.close();
+    }
+
+    @Test
+    public void testSettings() {
+        final CompositeTransport transport = new CompositeTransport(executor, 10, -1);
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> CompositeAggregationIterator.of(
+                b -> b.client(transport.client())
+                    .index("metrics")
+                    .source("host", s -> s.terms(t -> t.field("host")))
+                    .searchSettings(s -> s.aggregations("other", a -> a.avg(v -> v.field("cpu"))))
+            )
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> CompositeAggregationIterator.of(
+                b -> b.client(transport.client())
+                    .index("metrics")
+                    .source("host", s -> s.terms(t -> t.field("host")))
+                    .partition(p -> p.matchAll(m -> m))
+                    .partition(p -> p.matchAll(m -> m))
+                    .maxBufferedPages(1)
+            )
+        );
+        assertThat(transport.searches.size(), equalTo(0));
+    }
+
+    /**
+     * Splits the hosts in partitions of consecutive host numbers.
+     */
+    private static CompositeAggregationIterator.Builder partition(CompositeAggregationIterator.Builder builder, int partitions, int hosts) {
+        final int hostsPerPartition = hosts / partitions + 1;
+        for (int i = 0; i < partitions; i++) {
+            final int from = i * hostsPerPartition;
+            builder.partition(p -> p.range(r -> r.field("host_number").gte(JsonData.of(from)).lt(JsonData.of(from + hostsPerPartition))));
+        }
+        return builder;
+    }
+
+    /**
+     * A transport whose composite keys are {@code host-<i>} and an hour from 0 to {@link #HOURS}, in this order.
+     * Partitions are filtered by a range of host numbers.
+     */
+    private static class CompositeTransport extends FakeAsyncTransport {
+        static final int HOURS = 3;
+
+        private final int hosts;
+        private final int failingPartition;
+        final List<SearchRequest> searches = new CopyOnWriteArrayList<>();
+
+        CompositeTransport(ExecutorService executor, int hosts, int failingPartition) {
+            super(executor);
+            this.hosts = hosts;
+            this.failingPartition = failingPartition;
+        }
+
+        @Override
+        protected CompletableFuture<?> respond(Object request) {
+            final SearchRequest search = (SearchRequest) request;
+            searches.add(search);
+            return respondAsync(() -> {
+                final CompositeAggregation composite = search.aggregations().get("composite").composite();
+                int from = 0;
+                int to = Integer.MAX_VALUE;
+                if (search.query() != null && search.query().isBool()) {
+                    final RangeQuery range = search.query().bool().filter().get(0).range();
+                    from = range.gte().to(Integer.class);
+                    to = range.lt().to(Integer.class);
+                }
+                if (from == failingPartition * (to - from) && !composite.after().isEmpty()) {
+                    throw new CompletionException(new TransportException("Partition " + failingPartition + " failed"));
+                }
+
+                // Keys are sorted by host number, then hour
+                int position = 0;
+                if (!composite.after().isEmpty()) {
+                    final int host = Integer.parseInt(composite.after().get("host").substring("host-".length()));
+                    final int hour = composite.after().containsKey("hour") ? Integer.parseInt(composite.after().get("hour")) : HOURS - 1;
+                    position = host * HOURS + hour + 1;
+                }
+                final boolean hasHours = composite.sources().size() > 1;
+                final List<CompositeBucket> buckets = new ArrayList<>();
+                Map<String, JsonData> afterKey = null;
+                for (; position < hosts * HOURS && buckets.size() < composite.size(); position++) {
+                    final int host = position / HOURS;
+                    final int hour = position % HOURS;
+                    if (host < from || host >= to || (!hasHours && hour > 0)) {
+                        continue;
+                    }
+                    final Map<String, JsonData> key = new LinkedHashMap<>();
+                    key.put("host", JsonData.of("host-" + host, jsonpMapper()));
+                    if (hasHours) {
+                        key.put("hour", JsonData.of(hour, jsonpMapper()));
+                    }
+                    afterKey = key;
+                    buckets.add(
+                        CompositeBucket.of(
+                            c -> c.key(key).docCount(1).aggregations("avg_cpu", AvgAggregate.of(a -> a.value(0.5))._toAggregate())
+                        )
+                    );
+                }
+                final Map<String, JsonData> lastKey = afterKey;
+                final CompositeAggregate result = CompositeAggregate.of(c -> {
+                    c.buckets(b -> b.array(buckets));
+                    if (lastKey != null) {
+                        c.afterKey(lastKey);
+                    }
+                    return c;
+                });
+                return new SearchResponse.Builder<Void>().took(1)
+                    .timedOut(false)
+                    .shards(s -> s.failed(0).successful(1).total(1))
+                    .hits(h -> h.hits(Collections.emptyList()).total(t -> t.value(0).relation(TotalHitsRelation.Eq)))
+                    .aggregations("composite", result._toAggregate())
+                    .build();
+            });
+        }
+    }
+}
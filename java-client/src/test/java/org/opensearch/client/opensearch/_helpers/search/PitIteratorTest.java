@@ -0,0 +1,256 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch._helpers.FakeAsyncTransport;
+import org.opensearch.client.opensearch._types.FieldValue;
+import org.opensearch.client.opensearch._types.SortOrder;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.pit.CreatePitRequest;
+import org.opensearch.client.opensearch.core.pit.CreatePitResponse;
+import org.opensearch.client.opensearch.core.pit.DeletePitRequest;
+import org.opensearch.client.opensearch.core.pit.DeletePitResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.TotalHitsRelation;
+import org.opensearch.client.transport.TransportException;
+
+public class PitIteratorTest extends RandomizedTest {
+
+    private final List<Thread> executorThreads = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r);
+        executorThreads.add(thread);
+        return thread;
+    });
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        for (Thread thread : executorThreads) {
+            thread.join(10_000);
+        }
+    }
+
+    @Test
+    public void testAllHitsAreReturnedOnce() {
+        final int documents = randomIntBetween(0, 500);
+        final int slices = randomIntBetween(1, 4);
+        final int size = randomIntBetween(1, 50);
+        final PitTransport transport = new PitTransport(executor, documents, -1);
+
+        final List<String> ids = new ArrayList<>();
+        try (
+            PitIterator<JsonData> hits = PitIterator.of(
+                b -> b.client(transport.client())
+                    .index("products")
+                    .documentClass(JsonData.class)
+                    .slices(slices)
+                    .size(size)
+                    .searchSettings(s -> s.query(q -> q.matchAll(m -> m)))
+            )
+        ) {
+            hits.stream().forEach(hit -> ids.add(hit.id()));
+            assertThat(hits.hitCount(), equalTo((long) documents));
+            assertThat(hits.requestCount(), equalTo((long) transport.searches.size()));
+        }
+
+        assertThat(ids.size(), equalTo(documents));
+        assertThat(new HashSet<>(ids).size(), equalTo(documents));
+        assertThat(transport.deletedPits, equalTo(transport.createdPits));
+        assertThat(transport.createdPits.size(), equalTo(1));
+        for (SearchRequest search : transport.searches) {
+            assertThat(search.index().isEmpty(), equalTo(true));
+            assertThat(search.pit().id(), equalTo(transport.createdPits.get(0)));
+            assertThat(search.size(), equalTo(size));
+            assertThat(search.query().isMatchAll(), equalTo(true));
+            assertThat(search.sort().get(0).field().field(), equalTo("_shard_doc"));
+            if (slices > 1) {
+                assertThat(search.slice().max(), equalTo(slices));
+            } else {
+                assertThat(search.slice(), nullValue());
+            }
+        }
+    }
+
+    @Test
+    public void testBufferedPagesAreBounded() throws Exception {
+        final int slices = randomIntBetween(1, 4);
+        final int maxBufferedPages = slices + randomIntBetween(0, 3);
+        // Each slice has 10 full pages
+        final PitTransport transport = new PitTransport(executor, slices * 100, -1);
+
+        try (
+            PitIterator<JsonData> hits = PitIterator.of(
+                b -> b.client(transport.client())
+                    .index("products")
+                    .documentClass(JsonData.class)
+                    .slices(slices)
+                    .size(10)
+                    .maxBufferedPages(maxBufferedPages)
+            )
+        ) {
+            int taken = 0;
+            while (hits.hasNext()) {
+                hits.next();
+                if (taken++ % 10 == 0) {
+                    // A slow consumer, that lets the slices fill the buffer
+                    Thread.sleep(5);
+                    final long pagesTaken = (taken + 9) / 10;
+                    final int pagesSent = transport.searches.size() - transport.emptyResponses.get();
+                    assertThat(pagesSent <= pagesTaken + maxBufferedPages, equalTo(true));
+                }
+            }
+            assertThat(taken, equalTo(slices * 100));
+        }
+        assertThat(transport.maxInFlight.get() <= maxBufferedPages, equalTo(true));
+    }
+
+    @Test
+    public void testCloseDeletesThePit() throws Exception {
+        final PitTransport transport = new PitTransport(executor, 1000, -1);
+        final PitIterator<JsonData> hits = PitIterator.of(
+            b -> b.client(transport.client()).index("products").documentClass(JsonData.class).slices(2).size(10)
+        );
+        for (int i = 0; i < 15; i++) {
+            hits.next();
+        }
+        hits.close();
+        final int searches = transport.searches.size();
+
+        assertThat(hits.hasNext(), equalTo(false));
+        assertThat(transport.deletedPits, equalTo(transport.createdPits));
+        Thread.sleep(20);
+        assertThat(transport.searches.size(), equalTo(searches));
+    }
+
+    @Test
+    public void testFailuresAreThrown() {
+        final PitTransport transport = new PitTransport(executor, 1000, 1);
+        final PitIterator<JsonData> hits = PitIterator.of(
+            b -> b.client(transport.client()).index("products").documentClass(JsonData.class).slices(3).size(10)
+        );
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            while (hits.hasNext()) {
+                hits.next();
+            }
+        });
+        assertThat(e.getCause(), instanceOf(TransportException.class));
+        assertThat(e.getCause().getMessage(), equalTo("Slice 1 failed"));
+        assertThat(transport.deletedPits, equalTo(transport.createdPits));
+        hits.close();
+    }
+
+    @Test
+    public void testSearchSettings() {
+        final PitTransport transport = new PitTransport(executor, 20, -1);
+        try (
+            PitIterator<JsonData> hits = PitIterator.of(
+                b -> b.client(transport.client())
+                    .index("products")
+                    .documentClass(JsonData.class)
+                    .searchSettings(s -> s.sort(o -> o.field(f -> f.field("id").order(SortOrder.Asc))))
+            )
+        ) {
+            assertThat(hits.stream().count(), equalTo(20L));
+        }
+        assertThat(transport.searches.get(0).sort().size(), equalTo(1));
+        assertThat(transport.searches.get(0).sort().get(0).field().field(), equalTo("id"));
+
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> PitIterator.<JsonData>of(
+                b -> b.client(transport.client()).index("products").documentClass(JsonData.class).searchSettings(s -> s.index("other"))
+            )
+        );
+    }
+
+    /**
+     * A transport with {@code documents} documents, whose ids are their {@code _shard_doc} sort value. Slices are
+     * partitioned by id modulo the number of slices.
+     */
+    private static class PitTransport extends FakeAsyncTransport {
+        private final int documents;
+        private final int failingSlice;
+        private final AtomicInteger pitIds = new AtomicInteger();
+        final List<String> createdPits = new CopyOnWriteArrayList<>();
+        final List<String> deletedPits = new CopyOnWriteArrayList<>();
+        final List<SearchRequest> searches = new CopyOnWriteArrayList<>();
+        final AtomicInteger emptyResponses = new AtomicInteger();
+
+        PitTransport(ExecutorService executor, int documents, int failingSlice) {
+            super(executor);
+            this.documents = documents;
+            this.failingSlice = failingSlice;
+        }
+
+        @Override
+        protected CompletableFuture<?> respond(Object request) {
+            if (request instanceof CreatePitRequest) {
+                final String id = "pit-" + pitIds.incrementAndGet();
+                createdPits.add(id);
+                return CompletableFuture.supplyAsync(
+                    () -> CreatePitResponse.of(r -> r.pitId(id).creationTime(1L).shards(s -> s.failed(0).successful(1).total(1))),
+                    executor
+                );
+            } else if (request instanceof DeletePitRequest) {
+                deletedPits.addAll(((DeletePitRequest) request).pitId());
+                return CompletableFuture.completedFuture(DeletePitResponse.of(r -> r));
+            }
+
+            final SearchRequest search = (SearchRequest) request;
+            searches.add(search);
+            return respondAsync(() -> {
+                final int slice = search.slice() != null ? search.slice().id() : 0;
+                final int max = search.slice() != null ? search.slice().max() : 1;
+                if (slice == failingSlice) {
+                    throw new CompletionException(new TransportException("Slice " + slice + " failed"));
+                }
+                final List<FieldValue> searchAfter = search.searchAfter();
+                int from = searchAfter.isEmpty() ? 0 : Integer.parseInt(searchAfter.get(0)._get().toString()) + 1;
+                final List<Hit<JsonData>> hits = new ArrayList<>();
+                for (int doc = from; doc < documents && hits.size() < search.size(); doc++) {
+                    if (doc % max == slice) {
+                        final String id = Integer.toString(doc);
+                        hits.add(Hit.of(h -> h.index("products").id(id).sort(id).source(JsonData.of(id))));
+                    }
+                }
+                if (hits.isEmpty()) {
+                    emptyResponses.incrementAndGet();
+                }
+                return new SearchResponse.Builder<JsonData>().took(1)
+                    .timedOut(false)
+                    .pitId(search.pit().id())
+                    .shards(s -> s.failed(0).successful(1).total(1))
+                    .hits(h -> h.hits(hits).total(t -> t.value(documents).relation(TotalHitsRelation.Eq)))
+                    .build();
+            });
+        }
+    }
+}
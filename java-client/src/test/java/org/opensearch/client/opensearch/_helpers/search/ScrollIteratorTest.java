@@ -0,0 +1,309 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._helpers.search;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch._helpers.FakeAsyncTransport;
+import org.opensearch.client.opensearch.core.ClearScrollRequest;
+import org.opensearch.client.opensearch.core.ClearScrollResponse;
+import org.opensearch.client.opensearch.core.ScrollRequest;
+import org.opensearch.client.opensearch.core.ScrollResponse;
+import org.opensearch.client.opensearch.core.SearchRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.core.search.HitsMetadata;
+import org.opensearch.client.opensearch.core.search.TotalHitsRelation;
+import org.opensearch.client.transport.TransportException;
+
+public class ScrollIteratorTest extends RandomizedTest {
+
+    private final List<Thread> executorThreads = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        final Thread thread = new Thread(r);
+        executorThreads.add(thread);
+        return thread;
+    });
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        for (Thread thread : executorThreads) {
+            thread.join(10_000);
+        }
+    }
+
+    @Test
+    public void testAllHitsAreReturnedOnce() {
+        final int documents = randomIntBetween(0, 500);
+        final int slices = randomIntBetween(1, 4);
+        final int size = randomIntBetween(1, 50);
+        final ScrollTransport transport = new ScrollTransport(executor, documents, -1);
+
+        final List<String> ids = new ArrayList<>();
+        try (
+            ScrollIterator<JsonData> hits = ScrollIterator.of(
+                b -> b.client(transport.client())
+                    .index("products")
+                    .documentClass(JsonData.class)
+                    .slices(slices)
+                    .size(size)
+                    .keepAlive(1, TimeUnit.MINUTES)
+                    .searchSettings(s -> s.query(q -> q.matchAll(m -> m)))
+            )
+        ) {
+            hits.stream().forEach(hit -> ids.add(hit.id()));
+            assertThat(hits.hitCount(), equalTo((long) documents));
+            assertThat(hits.requestCount(), equalTo((long) (transport.searches.size() + transport.scrolls.get())));
+        }
+
+        assertThat(ids.size(), equalTo(documents));
+        assertThat(new HashSet<>(ids).size(), equalTo(documents));
+        assertThat(transport.searches.size(), equalTo(slices));
+        assertThat(transport.clearedScrolls, equalTo(transport.openScrolls.keySet()));
+        for (SearchRequest search : transport.searches) {
+            assertThat(search.index(), equalTo(Collections.singletonList("products")));
+            assertThat(search.scroll().time(), equalTo("60000ms"));
+            assertThat(search.size(), equalTo(size));
+            assertThat(search.query().isMatchAll(), equalTo(true));
+            assertThat(search.sort().get(0).field().field(), equalTo("_doc"));
+            if (slices > 1) {
+                assertThat(search.slice().max(), equalTo(slices));
+            } else {
+                assertThat(search.slice(), nullValue());
+            }
+        }
+    }
+
+    @Test
+    public void testBufferedPagesAreBounded() throws Exception {
+        final int slices = randomIntBetween(1, 4);
+        final int maxBufferedPages = slices + randomIntBetween(0, 3);
+        // Each slice has 10 full pages
+        final ScrollTransport transport = new ScrollTransport(executor, slices * 100, -1);
+
+        try (
+            ScrollIterator<JsonData> hits = ScrollIterator.of(
+                b -> b.client(transport.client())
+                    .index("products")
+                    .documentClass(JsonData.class)
+                    .slices(slices)
+                    .size(10)
+                    .maxBufferedPages(maxBufferedPages)
+            )
+        ) {
+            int taken = 0;
+            while (hits.hasNext()) {
+                hits.next();
+                if (taken++ % 10 == 0) {
+                    // A slow consumer, that lets the slices fill the buffer
+                    Thread.sleep(5);
+                    final long pagesTaken = (taken + 9) / 10;
+                    final int pagesSent = transport.searches.size() + transport.scrolls.get() - transport.emptyResponses.get();
+                    assertThat(pagesSent <= pagesTaken + maxBufferedPages, equalTo(true));
+                }
+            }
+            assertThat(taken, equalTo(slices * 100));
+        }
+        assertThat(transport.maxInFlight.get() <= maxBufferedPages, equalTo(true));
+    }
+
+    @Test
+    public void testCloseClearsTheScrolls() throws Exception {
+        final ScrollTransport transport = new ScrollTransport(executor, 1000, -1);
+        final ScrollIterator<JsonData> hits = ScrollIterator.of(
+            b -> b.client(transport.client()).index("products").documentClass(JsonData.class).slices(2).size(10)
+        );
+        for (int i = 0; i < 15; i++) {
+            hits.next();
+        }
+        hits.close();
+        final int requests = transport.searches.size() + transport.scrolls.get();
+
+        assertThat(hits.hasNext(), equalTo(false));
+        assertThat(transport.openScrolls.size(), equalTo(2));
+        assertThat(transport.clearedScrolls, equalTo(transport.openScrolls.keySet()));
+        Thread.sleep(20);
+        assertThat(transport.searches.size() + transport.scrolls.get(), equalTo(requests));
+    }
+
+    @Test
+    public void testFailuresAreThrown() {
+        final ScrollTransport transport = new ScrollTransport(executor, 1000, 1);
+        final ScrollIterator<JsonData> hits = ScrollIterator.of(
+            b -> b.client(transport.client()).index("products").documentClass(JsonData.class).slices(3).size(10)
+        );
+        final UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> {
+            while (hits.hasNext()) {
+                hits.next();
+            }
+        });
+        assertThat(e.getCause(), instanceOf(TransportException.class));
+        assertThat(e.getCause().getMessage(), equalTo("Slice 1 failed"));
+        assertThat(transport.clearedScrolls, equalTo(transport.openScrolls.keySet()));
+        hits.close();
+    }
+
+    @Test
+    public void testMetrics() {
+        final ScrollTransport transport = new ScrollTransport(executor, 100, -1);
+        final ScrollIterator<JsonData> hits = ScrollIterator.of(
+            b -> b.client(transport.client()).index("products").documentClass(JsonData.class).slices(2).size(10).measureSourceBytes(true)
+        );
+        assertThat(hits.stream().count(), equalTo(100L));
+
+        // Sources are the ids as JSON strings, "0" to "99"
+        long expectedBytes = 0;
+        for (int i = 0; i < 100; i++) {
+            expectedBytes += Integer.toString(i).length() + 2;
+        }
+        assertThat(hits.hitCount(), equalTo(100L));
+        assertThat(hits.sourceBytes(), equalTo(expectedBytes));
+        assertThat(hits.docsPerSecond() > 0, equalTo(true));
+        assertThat(hits.bytesPerSecond() > 0, equalTo(true));
+        // Elapsed time stops once all pages are received
+        final long elapsed = hits.elapsed(TimeUnit.NANOSECONDS);
+        assertThat(hits.elapsed(TimeUnit.NANOSECONDS), equalTo(elapsed));
+
+        final ScrollIterator<JsonData> unmeasured = ScrollIterator.of(
+            b -> b.client(transport.client()).index("products").documentClass(JsonData.class)
+        );
+        assertThat(unmeasured.stream().count(), equalTo(100L));
+        assertThat(unmeasured.sourceBytes(), equalTo(0L));
+        assertThat(unmeasured.bytesPerSecond(), equalTo(0.0));
+    }
+
+    @Test
+    public void testSearchSettings() {
+        final ScrollTransport transport = new ScrollTransport(executor, 20, -1);
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ScrollIterator.<JsonData>of(
+                b -> b.client(transport.client()).index("products").documentClass(JsonData.class).searchSettings(s -> s.index("other"))
+            )
+        );
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ScrollIterator.<JsonData>of(
+                b -> b.client(transport.client()).index("products").documentClass(JsonData.class).slices(4).maxBufferedPages(3)
+            )
+        );
+    }
+
+    /**
+     * A transport with {@code documents} documents, whose ids are their position in the scroll. Slices are
+     * partitioned by id modulo the number of slices, and each scroll id is its slice and position.
+     */
+    private static class ScrollTransport extends FakeAsyncTransport {
+        private final int documents;
+        private final int failingSlice;
+        private final AtomicInteger scrollIds = new AtomicInteger();
+        // The open scroll contexts, with their slice, max and size
+        final Map<String, int[]> openScrolls = new ConcurrentHashMap<>();
+        final Set<String> clearedScrolls = ConcurrentHashMap.newKeySet();
+        final List<SearchRequest> searches = new CopyOnWriteArrayList<>();
+        final AtomicInteger scrolls = new AtomicInteger();
+        final AtomicInteger emptyResponses = new AtomicInteger();
+        // The position of each scroll context
+        private final Map<String, Integer> positions = new ConcurrentHashMap<>();
+
+        ScrollTransport(ExecutorService executor, int documents, int failingSlice) {
+            super(executor);
+            this.documents = documents;
+            this.failingSlice = failingSlice;
+        }
+
+        @Override
+        protected CompletableFuture<?> respond(Object request) {
+            if (request instanceof ClearScrollRequest) {
+                clearedScrolls.addAll(((ClearScrollRequest) request).scrollId());
+                return CompletableFuture.completedFuture(
+                    ClearScrollResponse.of(r -> r.succeeded(true).numFreed(((ClearScrollRequest) request).scrollId().size()))
+                );
+            }
+
+            final String scrollId;
+            final boolean first;
+            if (request instanceof ScrollRequest) {
+                scrollId = ((ScrollRequest) request).scrollId();
+                scrolls.incrementAndGet();
+                first = false;
+            } else {
+                final SearchRequest search = (SearchRequest) request;
+                searches.add(search);
+                scrollId = "scroll-" + scrollIds.incrementAndGet();
+                final int slice = search.slice() != null ? search.slice().id() : 0;
+                final int max = search.slice() != null ? search.slice().max() : 1;
+                openScrolls.put(scrollId, new int[] { slice, max, search.size() });
+                positions.put(scrollId, 0);
+                first = true;
+            }
+            return respondAsync(() -> {
+                final int[] context = openScrolls.get(scrollId);
+                final int slice = context[0];
+                final int max = context[1];
+                if (slice == failingSlice && !first) {
+                    throw new CompletionException(new TransportException("Slice " + slice + " failed"));
+                }
+                final List<Hit<JsonData>> hits = new ArrayList<>();
+                int doc = positions.get(scrollId);
+                for (; doc < documents && hits.size() < context[2]; doc++) {
+                    if (doc % max == slice) {
+                        final String id = Integer.toString(doc);
+                        hits.add(Hit.of(h -> h.index("products").id(id).source(JsonData.of(id))));
+                    }
+                }
+                positions.put(scrollId, doc);
+                if (hits.isEmpty()) {
+                    emptyResponses.incrementAndGet();
+                }
+                final HitsMetadata<JsonData> metadata = HitsMetadata.of(
+                    h -> h.hits(hits).total(t -> t.value(documents).relation(TotalHitsRelation.Eq))
+                );
+                if (first) {
+                    return new SearchResponse.Builder<JsonData>().took(1)
+                        .timedOut(false)
+                        .scrollId(scrollId)
+                        .shards(s -> s.failed(0).successful(1).total(1))
+                        .hits(metadata)
+                        .build();
+                }
+                return new ScrollResponse.Builder<JsonData>().took(1)
+                    .timedOut(false)
+                    .scrollId(scrollId)
+                    .shards(s -> s.failed(0).successful(1).total(1))
+                    .hits(metadata)
+                    .build();
+            });
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch._types.aggregations;
+
+import jakarta.json.stream.JsonParser;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.Test;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.opensearch.model.ModelTestCase;
+
+public class BucketColumnsTest extends ModelTestCase {
+
+    private static final String AGGREGATIONS = "{\"sterms#by_host\":{\"doc_count_error_upper_bound\":0,\"sum_other_doc_count\":0,"
+        + "\"buckets\":[{\"key\":\"host-1\",\"doc_count\":3,\"date_histogram#per_hour\":{\"buckets\":["
+        + "{\"key_as_string\":\"2023-10-16T00:00:00.000Z\",\"key\":1697414400000,\"doc_count\":2,"
+        + "\"avg#avg_cpu\":{\"value\":0.5},\"max#max_mem\":{\"value\":1024.0,\"value_as_string\":\"1kb\"},"
+        + "\"min#min_cpu\":{\"value\":0.1},"
+        + "\"sterms#by_process\":{\"sum_other_doc_count\":0,\"buckets\":[{\"key\":\"java\",\"doc_count\":2}]}},"
+        + "{\"key_as_string\":\"2023-10-16T01:00:00.000Z\",\"key\":1697418000000,\"doc_count\":1,"
+        + "\"avg#avg_cpu\":{\"value\":null}}]}}]}}";
+
+    @Test
+    public void testBucketsDecodedAsColumns() {
+        JsonpMapper columnar = BucketColumns.decodeAsColumns(mapper, "per_hour", "avg_cpu", "max_mem");
+        Map<String, Aggregate> aggregations = parse(AGGREGATIONS, columnar);
+
+        StringTermsBucket host = aggregations.get("by_host").sterms().buckets().array().get(0);
+        assertEquals("host-1", host.key());
+
+        DateHistogramAggregate perHour = host.aggregations().get("per_hour").dateHistogram();
+        assertTrue(perHour.buckets().isColumns());
+        BucketColumns columns = perHour.buckets().columns();
+        assertEquals(2, columns.size());
+        assertEquals(BucketColumns.KeyType.Long, columns.keyType());
+        assertEquals(1697414400000L, columns.longKey(0));
+        assertEquals(1697418000000L, columns.longKey(1));
+        assertEquals(2, columns.docCount(0));
+        assertEquals(1, columns.docCount(1));
+        assertEquals(new HashSet<>(Arrays.asList("avg_cpu", "max_mem")), columns.metrics());
+        assertEquals(0.5, columns.metric("avg_cpu", 0), 0.0);
+        assertEquals(1024.0, columns.metric("max_mem", 0), 0.0);
+        // Null and missing values
+        assertTrue(Double.isNaN(columns.metric("avg_cpu", 1)));
+        assertTrue(Double.isNaN(columns.metric("max_mem", 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> columns.metric("min_cpu", 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.docCount(2));
+
+        assertEquals(
+            "[{\"key\":1697414400000,\"doc_count\":2,\"avg#avg_cpu\":{\"value\":0.5},\"max#max_mem\":{\"value\":1024.0}},"
+                + "{\"key\":1697418000000,\"doc_count\":1,\"avg#avg_cpu\":{\"value\":null},\"max#max_mem\":{\"value\":null}}]",
+            toJson(columns)
+        );
+    }
+
+    @Test
+    public void testOtherAggregationsAreNotAffected() {
+        Map<String, Aggregate> aggregations = parse(AGGREGATIONS, BucketColumns.decodeAsColumns(mapper, "other"));
+        DateHistogramAggregate perHour = aggregations.get("by_host")
+            .sterms()
+            .buckets()
+            .array()
+            .get(0)
+            .aggregations()
+            .get("per_hour")
+            .dateHistogram();
+        assertTrue(perHour.buckets().isArray());
+        assertEquals(2, perHour.buckets().array().size());
+        assertEquals("java", perHour.buckets().array().get(0).aggregations().get("by_process").sterms().buckets().array().get(0).key());
+    }
+
+    @Test
+    public void testKeyTypes() {
+        JsonpMapper columnar = BucketColumns.decodeAsColumns(mapper, "histo");
+        columnar = BucketColumns.decodeAsColumns(columnar, "ranges");
+        Map<String, Aggregate> aggregations = parse(
+            "{\"histogram#histo\":{\"buckets\":[{\"key\":1,\"doc_count\":1},{\"key\":1.5,\"doc_count\":2}]},"
+                + "\"range#ranges\":{\"buckets\":{\"low\":{\"to\":10.0,\"doc_count\":4},\"high\":{\"from\":10.0,\"doc_count\":5}}}}",
+            columnar
+        );
+
+        BucketColumns histo = aggregations.get("histo").histogram().buckets().columns();
+        assertEquals(BucketColumns.KeyType.Double, histo.keyType());
+        assertEquals(1.0, histo.doubleKey(0), 0.0);
+        assertEquals(1.5, histo.doubleKey(1), 0.0);
+        assertThrows(IllegalStateException.class, () -> histo.longKey(0));
+
+        BucketColumns ranges = aggregations.get("ranges").range().buckets().columns();
+        assertEquals(BucketColumns.KeyType.String, ranges.keyType());
+        assertEquals("low", ranges.stringKey(0));
+        assertEquals("high", ranges.stringKey(1));
+        assertEquals(5, ranges.docCount(1));
+    }
+
+    private static Map<String, Aggregate> parse(String json, JsonpMapper mapper) {
+        JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json));
+        return Aggregate._TYPED_KEYS_DESERIALIZER.deserialize(parser, mapper);
+    }
+}
@@ -40,7 +40,7 @@ public class KnnVectorPropertyTest {
 
     @Test
     public void testDeserializeKnnVectorProperty() {
-        String jsonString = "{\"type\": \"knn_vector\", \"dimension\": 4, \"model_id\":"
+        String jsonString = "{\"type\": \"knn_vector\", \"dimension\": 4, \"data_type\": \"byte\", \"model_id\":"
             + " \"testModelId\", \"method\": {\"name\": \"hnsw\", \"space_type\": \"l2\","
             + " \"engine\": \"nmslib\", \"parameters\": {\"ef_construction\": 128, \"m\": 24}}}";
         StringReader reader = new StringReader(jsonString);
@@ -50,6 +50,7 @@ public class KnnVectorPropertyTest {
         KnnVectorProperty knnVectorProperty = KnnVectorProperty._DESERIALIZER.deserialize(parser, mapper);
 
         assertEquals(4, knnVectorProperty.dimension());
+        assertEquals("byte", knnVectorProperty.dataType());
         assertEquals("testModelId", knnVectorProperty.modelId());
         assertEquals("hnsw", knnVectorProperty.method().name());
         assertEquals("l2", knnVectorProperty.method().spaceType());
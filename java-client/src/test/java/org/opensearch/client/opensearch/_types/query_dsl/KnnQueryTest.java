@@ -11,4 +11,16 @@ public class KnnQueryTest extends ModelTestCase {
 
         assertEquals(toJson(copied), toJson(origin));
     }
+
+    @Test
+    public void vectorRoundtrip() {
+        KnnQuery query = new KnnQuery.Builder().field("field").vector(new float[] { 0.1f, -2.5f, 1e-8f, 0f }).k(3).build();
+
+        String json = "{\"field\":{\"vector\":[0.1,-2.5,1.0E-8,0.0],\"k\":3}}";
+        assertEquals(json, toJson(query).replace("E+", "E"));
+
+        KnnQuery copied = fromJson(json, KnnQuery._DESERIALIZER);
+        assertArrayEquals(query.vector(), copied.vector(), 0f);
+        assertEquals(3, copied.k());
+    }
 }
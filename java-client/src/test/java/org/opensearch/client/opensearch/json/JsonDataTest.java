@@ -32,15 +32,21 @@
 
 package org.opensearch.client.opensearch.json;
 
+import jakarta.json.JsonObject;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
 import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
 import java.io.StringReader;
+import java.util.Map;
 import org.junit.Assert;
 import org.junit.Test;
 import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.JsonEventBuffer;
 import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
 import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch._types.mapping.Property;
 import org.opensearch.client.opensearch.model.ModelTestCase;
 
 public class JsonDataTest extends Assert {
@@ -89,4 +95,81 @@ public class JsonDataTest extends Assert {
         assertEquals(JsonValue.ValueType.STRING, value.getValueType());
         assertEquals("foo", ((JsonString) value).getString());
     }
+
+    @Test
+    public void testParsingWithJackson() {
+        JsonpMapper mapper = new JacksonJsonpMapper();
+        String json = "{\"children\":[{\"doubleValue\":3.2,\"intValue\":2}],\"doubleValue\":2.1,\"intValue\":1,"
+            + "\"stringValue\":\"foo\"}";
+
+        JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json));
+
+        JsonData data = JsonData.from(parser, mapper);
+        JsonpMapperTest.SomeClass to = data.to(JsonpMapperTest.SomeClass.class);
+        assertEquals("foo", to.getStringValue());
+        assertEquals(2, to.getChildren().get(0).getIntValue());
+
+        assertEquals(json, data.toString());
+        assertEquals(json, ModelTestCase.toJson(data, mapper));
+    }
+
+    @Test
+    public void testBufferedValueCanBeConvertedRepeatedly() {
+        JsonpMapper mapper = new JsonbJsonpMapper();
+        String json = "{\"big\":12345678901234567890,\"decimal\":1.25e3,\"list\":[true,false,null],\"name\":\"foo\"}";
+
+        JsonData data = JsonData.from(mapper.jsonProvider().createParser(new StringReader(json)), mapper);
+
+        JsonObject object = data.to(JsonObject.class);
+        assertEquals("12345678901234567890", object.getJsonNumber("big").toString());
+        assertEquals(1250.0, object.getJsonNumber("decimal").doubleValue(), 0.0);
+        assertEquals(JsonValue.NULL, object.getJsonArray("list").get(2));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = data.to(Map.class);
+        assertEquals("foo", map.get("name"));
+
+        assertEquals(object, data.toJson());
+        assertEquals(object, data.to(Object.class));
+    }
+
+    @Test
+    public void testBufferedValueSupportsLookAhead() {
+        JsonpMapper mapper = new JsonbJsonpMapper();
+        // The type property isn't the first one, and has to be looked ahead
+        String json = "{\"ignore_above\":10,\"type\":\"keyword\"}";
+
+        JsonData data = JsonData.from(mapper.jsonProvider().createParser(new StringReader(json)), mapper);
+
+        Property property = data.to(Property.class);
+        assertTrue(property.isKeyword());
+        assertEquals(Integer.valueOf(10), property.keyword().ignoreAbove());
+
+        // And once again from the same buffer
+        assertTrue(data.to(Property.class).isKeyword());
+    }
+
+    @Test
+    public void testIntegersOutsideOfLongRange() {
+        String json = "{\"big\":12345678901234567890,\"max\":9223372036854775807,\"small\":-42}";
+        for (JsonpMapper mapper : new JsonpMapper[] { new JacksonJsonpMapper(), new JsonbJsonpMapper() }) {
+            JsonData data = JsonData.from(mapper.jsonProvider().createParser(new StringReader(json)), mapper);
+
+            Map<?, ?> map = data.to(Map.class);
+            assertEquals("12345678901234567890", map.get("big").toString());
+            assertEquals("9223372036854775807", map.get("max").toString());
+            assertEquals("-42", map.get("small").toString());
+            assertEquals("12345678901234567890", data.toJson().asJsonObject().getJsonNumber("big").toString());
+        }
+
+        JsonParser parser = JsonEventBuffer.copyOf(new JsonbJsonpMapper().jsonProvider().createParser(new StringReader(json))).newParser();
+        assertEquals(JsonParser.Event.START_OBJECT, parser.next());
+        parser.next();
+        assertEquals(JsonParser.Event.VALUE_NUMBER, parser.next());
+        assertThrows(JsonParsingException.class, parser::getLong);
+        parser.next();
+        assertEquals(JsonParser.Event.VALUE_NUMBER, parser.next());
+        assertEquals(Long.MAX_VALUE, parser.getLong());
+        assertThrows(JsonParsingException.class, parser::getInt);
+    }
 }
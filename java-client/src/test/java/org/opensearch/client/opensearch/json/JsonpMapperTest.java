@@ -53,9 +53,11 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.opensearch.client.json.JsonpDeserializer;
 import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.JsonpMapperBase;
 import org.opensearch.client.json.jackson.JacksonJsonpMapper;
 import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
 import org.opensearch.client.opensearch.IOUtils;
+import org.opensearch.client.opensearch._types.ShardStatistics;
 import org.opensearch.client.opensearch.model.ModelTestCase;
 
 public class JsonpMapperTest extends Assert {
@@ -113,6 +115,29 @@ public class JsonpMapperTest extends Assert {
         IOUtils.closeQueitly(writer);
     }
 
+    @Test
+    public void testDeserializerLookupIsCached() {
+        JsonpDeserializer<ShardStatistics> deserializer = JsonpMapperBase.findDeserializer(ShardStatistics.class);
+        assertSame(ShardStatistics._DESERIALIZER, deserializer);
+        assertSame(deserializer, JsonpMapperBase.findDeserializer(ShardStatistics.class));
+
+        // Classes without a deserializer fall through to the mapper's default one
+        assertNull(JsonpMapperBase.findDeserializer(SomeClass.class));
+        assertNull(JsonpMapperBase.findDeserializer(SomeClass.class));
+
+        JsonpMapper mapper = new JsonbJsonpMapper();
+        testDeserialize(mapper, json);
+        testDeserialize(mapper, json);
+    }
+
+    @Test
+    public void testSerializerLookupIsCached() {
+        assertNotNull(JsonpMapperBase.findSerializer(ShardStatistics.of(s -> s.failed(0).successful(1).total(1))));
+        assertNotNull(JsonpMapperBase.findSerializer(JsonValue.TRUE));
+        assertNull(JsonpMapperBase.findSerializer(new SomeClass()));
+        assertNull(JsonpMapperBase.findSerializer(new SomeClass()));
+    }
+
     @Test
     public void testConcurrentLazyResolve() throws Exception {
         // Test fix for issue 172 - concurrency error in LazyDeserializer
@@ -0,0 +1,122 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.json;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import jakarta.json.stream.JsonParser;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.JsonpDeserializer;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.RawJsonData;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.search.Hit;
+import org.opensearch.client.opensearch.model.ModelTestCase;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+public class RawJsonDataTest extends ModelTestCase {
+
+    private static final JsonpMapper[] MAPPERS = { new JacksonJsonpMapper(), new JsonbJsonpMapper() };
+
+    private static final String SOURCE = "{\"stringValue\":\"café \\\"quoted\\\"\",\"intValue\":1,\"doubleValue\":2.5,"
+        + "\"children\":[{\"intValue\":2,\"doubleValue\":3.25}]}";
+
+    private static final String RESPONSE = "{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},"
+        + "\"hits\":{\"total\":{\"value\":2,\"relation\":\"eq\"},\"hits\":["
+        + "{\"_index\":\"source\",\"_id\":\"1\",\"_score\":1.0,\"_source\":"
+        + SOURCE
+        + "},"
+        + "{\"_index\":\"source\",\"_id\":\"2\",\"_score\":1.0,\"_source\":{ \"intValue\" : 7 }}]}}";
+
+    @Test
+    public void testSourcesAreCapturedAsBytes() throws IOException {
+        for (JsonpMapper mapper : MAPPERS) {
+            final SearchResponse<RawJsonData> response = parse(mapper);
+            final RawJsonData source = response.hits().hits().get(0).source();
+
+            MatcherAssert.assertThat(source.toString(), equalTo(SOURCE));
+            MatcherAssert.assertThat(source.length(), equalTo(SOURCE.getBytes(StandardCharsets.UTF_8).length));
+            // Captured sources are compact
+            MatcherAssert.assertThat(response.hits().hits().get(1).source().toString(), equalTo("{\"intValue\":7}"));
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            source.writeTo(out);
+            MatcherAssert.assertThat(out.toString("UTF-8"), equalTo(SOURCE));
+
+            final JsonpMapperTest.SomeClass decoded = source.to(JsonpMapperTest.SomeClass.class);
+            MatcherAssert.assertThat(decoded.getStringValue(), equalTo("café \"quoted\""));
+            MatcherAssert.assertThat(decoded.getChildren().get(0).getIntValue(), equalTo(2));
+            // Each conversion decodes a new value, that callers may modify
+            decoded.setIntValue(5);
+            MatcherAssert.assertThat(source.to(JsonpMapperTest.SomeClass.class), not(sameInstance(decoded)));
+            MatcherAssert.assertThat(source.to(JsonpMapperTest.SomeClass.class).getIntValue(), equalTo(1));
+
+            MatcherAssert.assertThat(source.toJson().asJsonObject().getInt("intValue"), equalTo(1));
+            MatcherAssert.assertThat(
+                source.deserialize(JsonpDeserializer.stringMapDeserializer(JsonData._DESERIALIZER)).size(),
+                equalTo(4)
+            );
+        }
+    }
+
+    @Test
+    public void testCapturedNumbersKeepTheirTextualForm() {
+        final String json = "{\"a\":1.10,\"b\":12345678901234567890123,\"c\":-2.50E-3,\"d\":[true,false,null]}";
+        final JsonpMapper mapper = new JacksonJsonpMapper();
+        final JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json));
+        MatcherAssert.assertThat(RawJsonData.from(parser, mapper).toString(), equalTo(json));
+    }
+
+    @Test
+    public void testSourcesArePassedThroughToBulkRequests() throws IOException {
+        for (JsonpMapper mapper : MAPPERS) {
+            final List<Hit<RawJsonData>> hits = parse(mapper).hits().hits();
+            final BulkRequest.Builder bulk = new BulkRequest.Builder();
+            for (Hit<RawJsonData> hit : hits) {
+                bulk.operations(o -> o.index(i -> i.index("target").id(hit.id()).document(hit.source())));
+            }
+
+            final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(mapper, Integer.MAX_VALUE);
+            body.addContent(bulk.build());
+            body.close();
+            final String[] lines = new String(body.getByteArray(), StandardCharsets.UTF_8).split("\n");
+            MatcherAssert.assertThat(lines.length, equalTo(4));
+            MatcherAssert.assertThat(lines[1], equalTo(SOURCE));
+            MatcherAssert.assertThat(lines[3], equalTo("{\"intValue\":7}"));
+        }
+    }
+
+    @Test
+    public void testWrappedBytes() {
+        final byte[] bytes = ("xx" + SOURCE + "yy").getBytes(StandardCharsets.UTF_8);
+        final RawJsonData data = RawJsonData.of(bytes, 2, bytes.length - 4);
+        for (JsonpMapper mapper : MAPPERS) {
+            MatcherAssert.assertThat(toJson(data, mapper), equalTo(SOURCE));
+            MatcherAssert.assertThat(data.to(JsonpMapperTest.SomeClass.class, mapper).getIntValue(), equalTo(1));
+        }
+        MatcherAssert.assertThat(data.asByteBuffer().remaining(), equalTo(data.length()));
+    }
+
+    private static SearchResponse<RawJsonData> parse(JsonpMapper mapper) {
+        final JsonParser parser = mapper.jsonProvider().createParser(new StringReader(RESPONSE));
+        return SearchResponse.createSearchResponseDeserializer(RawJsonData._DESERIALIZER).deserialize(parser, mapper);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.json;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParsingException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import org.junit.Test;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.VectorCodec;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch._helpers.knn.KnnVectorDocument;
+import org.opensearch.client.opensearch.model.ModelTestCase;
+
+public class VectorCodecTest extends RandomizedTest {
+
+    private static final JsonpMapper[] MAPPERS = { new JacksonJsonpMapper(), new JsonbJsonpMapper() };
+
+    @Test
+    public void testFloatVectorsAreWrittenWithShortestRepresentation() {
+        final float[] vector = randomFloatVector(5000);
+        for (JsonpMapper mapper : MAPPERS) {
+            final String json = writeFloatVector(vector, mapper);
+            final String[] values = json.substring(1, json.length() - 1).split(",");
+            assertThat(values.length, equalTo(vector.length));
+            for (int i = 0; i < vector.length; i++) {
+                final String value = values[i];
+                assertThat(value, Float.parseFloat(value), equalTo(vector[i]));
+                if (mapper instanceof JacksonJsonpMapper) {
+                    // Float.toString isn't always the shortest representation before JDK 19
+                    final String expected = Float.toString(vector[i]);
+                    assertThat(value + " vs " + expected, value.length() <= expected.length(), equalTo(true));
+                    assertThat(value.indexOf('E') >= 0, equalTo(expected.indexOf('E') >= 0));
+                }
+            }
+            assertThat(readFloatVector(json, mapper), equalTo(vector));
+        }
+    }
+
+    @Test
+    public void testFloatVectorsAreParsedAsNearestFloat() {
+        final int length = randomIntBetween(1, 2000);
+        final String[] values = new String[length];
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < length; i++) {
+            values[i] = randomNumber();
+            json.append(i == 0 ? "" : ",").append(values[i]);
+        }
+        json.append(']');
+        for (JsonpMapper mapper : MAPPERS) {
+            final float[] vector = readFloatVector(json.toString(), mapper);
+            assertThat(vector.length, equalTo(length));
+            for (int i = 0; i < length; i++) {
+                assertThat(values[i], vector[i], equalTo(Float.parseFloat(values[i])));
+            }
+        }
+    }
+
+    @Test
+    public void testByteVectors() {
+        final byte[] vector = new byte[randomIntBetween(0, 3000)];
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] = (byte) randomIntBetween(Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+        for (JsonpMapper mapper : MAPPERS) {
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
+                VectorCodec.writeByteVector(generator, vector);
+            }
+            final JsonParser parser = mapper.jsonProvider().createParser(new StringReader(writer.toString()));
+            assertThat(VectorCodec.byteVectorDeserializer().deserialize(parser, mapper), equalTo(vector));
+
+            for (String invalid : new String[] { "[1,128]", "[-129]", "[1.5]", "[\"1\"]" }) {
+                final JsonParser invalidParser = mapper.jsonProvider().createParser(new StringReader(invalid));
+                assertThrows(JsonParsingException.class, () -> VectorCodec.byteVectorDeserializer().deserialize(invalidParser, mapper));
+            }
+        }
+    }
+
+    @Test
+    public void testNonFiniteValuesAreRejected() {
+        final float[] vector = randomFloatVector(10);
+        vector[randomIntBetween(0, 9)] = randomFrom(new Float[] { Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY });
+        for (JsonpMapper mapper : MAPPERS) {
+            assertThrows(IllegalArgumentException.class, () -> writeFloatVector(vector, mapper));
+        }
+    }
+
+    @Test
+    public void testKnnVectorDocument() {
+        final KnnVectorDocument document = KnnVectorDocument.of(
+            d -> d.field("title", "opensearch")
+                .vector("embedding", new float[] { 0.1f, -2.5f, 1e-8f, 3.4028235e38f })
+                .vector("code", new byte[] { -128, 0, 127 })
+                .field("count", 3)
+        );
+        for (JsonpMapper mapper : MAPPERS) {
+            assertThat(
+                ModelTestCase.toJson(document, mapper).replace("E+", "E"),
+                equalTo("{\"title\":\"opensearch\",\"embedding\":[0.1,-2.5,1.0E-8,3.4028235E38],\"code\":[-128,0,127],\"count\":3}")
+            );
+        }
+    }
+
+    private static String writeFloatVector(float[] vector, JsonpMapper mapper) {
+        final StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
+            VectorCodec.writeFloatVector(generator, vector);
+        }
+        return writer.toString();
+    }
+
+    private static float[] readFloatVector(String json, JsonpMapper mapper) {
+        final JsonParser parser = mapper.jsonProvider().createParser(new StringReader(json));
+        return VectorCodec.floatVectorDeserializer().deserialize(parser, mapper);
+    }
+
+    private static float[] randomFloatVector(int length) {
+        final float[] vector = new float[length];
+        for (int i = 0; i < length; i++) {
+            switch (randomIntBetween(0, 4)) {
+                case 0:
+                    // Any finite float, including subnormals
+                    float value;
+                    do {
+                        value = Float.intBitsToFloat(randomInt());
+                    } while (Float.isNaN(value) || Float.isInfinite(value));
+                    vector[i] = value;
+                    break;
+                case 1:
+                    vector[i] = (float) (randomDouble() * 2 - 1);
+                    break;
+                case 2:
+                    vector[i] = (float) Math.pow(10, randomIntBetween(-45, 38)) * (randomBoolean() ? 1 : -1);
+                    break;
+                case 3:
+                    vector[i] = randomIntBetween(-10_000_000, 10_000_000) / (float) Math.pow(10, randomIntBetween(0, 8));
+                    break;
+                default:
+                    vector[i] = randomFrom(
+                        new Float[] { 0f, -0f, 1f, Float.MIN_VALUE, Float.MIN_NORMAL, Float.MAX_VALUE, 1e7f, 9999999f, 1e-3f, 9.999999e-4f }
+                    );
+            }
+        }
+        return vector;
+    }
+
+    private static String randomNumber() {
+        switch (randomIntBetween(0, 4)) {
+            case 0:
+                // How doubles are written
+                return Double.toString(randomDouble() * 2 - 1);
+            case 1:
+                return Float.toString(Float.intBitsToFloat(randomIntBetween(0x00800000, 0x7f7fffff)));
+            case 2:
+                // Long decimal numbers
+                return new BigDecimal((randomDouble() * 2 - 1) * 1e6).toPlainString();
+            case 3:
+                // Float midpoints, which can't be parsed through a double
+                final float f = Float.intBitsToFloat(randomIntBetween(0x00800000, 0x7f7ffffe));
+                return new BigDecimal(f).add(new BigDecimal(Math.nextUp(f))).divide(BigDecimal.valueOf(2)).toString();
+            default:
+                return randomFrom(new String[] { "0", "-0", "1", "-1.5e3", "2E-2", "123456789012345678901234567890", "1e-46", "1e39" });
+        }
+    }
+}
@@ -33,6 +33,8 @@
 package org.opensearch.client.opensearch.json.jackson;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.json.JsonNumber;
+import jakarta.json.spi.JsonProvider;
 import jakarta.json.stream.JsonParser;
 import jakarta.json.stream.JsonParser.Event;
 import java.io.StringReader;
@@ -44,8 +46,13 @@ import org.junit.Test;
 import org.opensearch.client.json.JsonpDeserializer;
 import org.opensearch.client.json.JsonpMapper;
 import org.opensearch.client.json.JsonpMapperBase;
+import org.opensearch.client.json.JsonpUtils;
 import org.opensearch.client.json.jackson.JacksonJsonProvider;
 import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpParser;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch._types.mapping.Property;
+import org.opensearch.client.opensearch._types.mapping.TypeMapping;
 import org.opensearch.client.opensearch.core.MsearchResponse;
 import org.opensearch.client.opensearch.model.ModelTestCase;
 
@@ -118,6 +125,106 @@ public class JacksonJsonpParserTest extends ModelTestCase {
         }
     }
 
+    @Test
+    public void testNativeNumbers() {
+        String[] numbers = {
+            "0",
+            "-1",
+            "2147483648",
+            "-9223372036854775809",
+            "0.1",
+            "1.10",
+            "-2.5e-3",
+            "1e39",
+            "3.4028235677973366e38",
+            "123456789012345678901234567890.123",
+            "1.00000017881393432617187499" };
+
+        for (String number : numbers) {
+            JsonParser jackson = new JacksonJsonProvider().createParser(new StringReader(number));
+            JsonParser portable = JsonProvider.provider().createParser(new StringReader(number));
+            assertEquals(Event.VALUE_NUMBER, jackson.next());
+            assertEquals(Event.VALUE_NUMBER, portable.next());
+
+            // Each getter is called on a new token, as Jackson caches the type of the number that was read
+            assertEquals(number, portable.getBigDecimal().doubleValue(), JsonpUtils.doubleValue(jackson), 0.0);
+            jackson = new JacksonJsonProvider().createParser(new StringReader(number));
+            jackson.next();
+            assertEquals(number, portable.getBigDecimal().floatValue(), JsonpUtils.floatValue(jackson), 0.0f);
+            // Same as the JsonNumber built by the Jackson parser
+            JsonParser value = new JacksonJsonProvider().createParser(new StringReader(number));
+            value.next();
+            jackson = new JacksonJsonProvider().createParser(new StringReader(number));
+            jackson.next();
+            assertEquals(number, ((JsonNumber) value.getValue()).numberValue(), JsonpUtils.numberValue(jackson));
+        }
+    }
+
+    @Test
+    public void testLookAhead() {
+        String json = "[{'type':'a','x':{'y':[1]}},{'z':2,'type':'b'},{'q':{'t':'c'}},{'r':1,'q':{}},{'s':1}]".replace('\'', '"');
+        JacksonJsonpParser parser = (JacksonJsonpParser) new JacksonJsonProvider().createParser(new StringReader(json));
+        assertEquals(Event.START_ARRAY, parser.next());
+
+        // The property is the first one, then a later one
+        assertEquals(Event.START_OBJECT, parser.next());
+        Map.Entry<String, JsonParser> result = parser.lookAheadFieldValue("type", null);
+        assertEquals("a", result.getKey());
+        assertEquals(Event.START_OBJECT, result.getValue().next());
+        assertEquals("{\"type\":\"a\",\"x\":{\"y\":[1]}}", result.getValue().getObject().toString());
+
+        assertEquals(Event.START_OBJECT, parser.next());
+        result = parser.lookAheadFieldValue("type", null);
+        assertEquals("b", result.getKey());
+        assertEquals(Event.START_OBJECT, result.getValue().next());
+        assertEquals("{\"z\":2,\"type\":\"b\"}", result.getValue().getObject().toString());
+
+        // Variants, the parser of the object being skipped
+        Map<String, Integer> variants = Collections.singletonMap("q", 1);
+        assertEquals(Event.START_OBJECT, parser.next());
+        Map.Entry<Integer, JsonParser> variant = parser.findVariant(variants);
+        assertEquals((Integer) 1, variant.getKey());
+        assertEquals(Event.START_OBJECT, variant.getValue().next());
+        variant.getValue().skipObject();
+
+        assertEquals(Event.START_OBJECT, parser.next());
+        variant = parser.findVariant(variants);
+        assertEquals((Integer) 1, variant.getKey());
+        assertEquals(Event.START_OBJECT, variant.getValue().next());
+        assertEquals(Event.KEY_NAME, variant.getValue().next());
+        assertEquals("r", variant.getValue().getString());
+        assertEquals(Event.VALUE_NUMBER, variant.getValue().next());
+        assertEquals(Event.KEY_NAME, variant.getValue().next());
+        assertEquals("q", variant.getValue().getString());
+        variant.getValue().next();
+        assertEquals("{}", variant.getValue().getObject().toString());
+        assertEquals(Event.END_OBJECT, variant.getValue().next());
+
+        assertEquals(Event.START_OBJECT, parser.next());
+        variant = parser.findVariant(variants);
+        assertNull(variant.getKey());
+        assertEquals(Event.START_OBJECT, variant.getValue().next());
+        assertEquals("{\"s\":1}", variant.getValue().getObject().toString());
+
+        assertEquals(Event.END_ARRAY, parser.next());
+    }
+
+    @Test
+    public void testLookAheadOfNestedUnions() {
+        String json = "{'properties':{"
+            + "'name':{'type':'text','fields':{'raw':{'type':'keyword'}}},"
+            + "'price':{'index':false,'type':'double'},"
+            + "'tags':{'type':'nested','properties':{'id':{'ignore_above':10,'type':'keyword'},'at':{'type':'date'}}}"
+            + "}}";
+        json = json.replace('\'', '"');
+
+        TypeMapping jackson = fromJson(json, TypeMapping.class, new JacksonJsonpMapper());
+        TypeMapping jsonb = fromJson(json, TypeMapping.class, new JsonbJsonpMapper());
+        assertEquals(toJson(jsonb), toJson(jackson));
+        assertEquals(Property.Kind.Keyword, jackson.properties().get("name").text().fields().get("raw")._kind());
+        assertEquals(Property.Kind.Keyword, jackson.properties().get("tags").nested().properties().get("id")._kind());
+    }
+
     @Test
     public void testMultiSearchResponse() {
         String json = "{\n"
@@ -32,11 +32,14 @@
 
 package org.opensearch.client.opensearch.model;
 
+import jakarta.json.stream.JsonParsingException;
 import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
 import org.opensearch.client.json.JsonpDeserializer;
 import org.opensearch.client.opensearch._types.aggregations.Aggregate;
 import org.opensearch.client.opensearch._types.aggregations.AvgAggregate;
+import org.opensearch.client.opensearch._types.aggregations.DateHistogramBucket;
 import org.opensearch.client.opensearch._types.aggregations.StringTermsAggregate;
 import org.opensearch.client.opensearch._types.aggregations.StringTermsBucket;
 import org.opensearch.client.opensearch.core.SearchResponse;
@@ -113,4 +116,46 @@ public class TypedKeysTest extends ModelTestCase {
         assertEquals("key_2", foo.buckets().array().get(1).key());
         assertEquals(2.0, foo.buckets().array().get(1).aggregations().get("bar").avg().value(), 0.01);
     }
+
+    @Test
+    public void testNestedAggregationNamesAreShared() {
+        String json = "{\"took\":1,\"timed_out\":false,\"_shards\":{\"failed\":0.0,\"successful\":1.0,\"total\":1.0},"
+            + "\"hits\":{\"total\":{\"relation\":\"eq\",\"value\":0},\"hits\":[]},"
+            + "\"aggregations\":{\"sterms#foo\":{\"buckets\":["
+            + "{\"key\":\"key_1\",\"doc_count\":1,\"date_histogram#per_day\":{\"buckets\":["
+            + "{\"key\":0,\"doc_count\":1,\"avg#bar\":{\"value\":1.0},\"max#baz\":{\"value\":3.0}}]}},"
+            + "{\"key\":\"key_2\",\"doc_count\":2,\"date_histogram#per_day\":{\"buckets\":["
+            + "{\"key\":0,\"doc_count\":2,\"avg#bar\":{\"value\":2.0},\"max#baz\":{\"value\":4.0}}]}}"
+            + "],\"sum_other_doc_count\":0}}}";
+
+        SearchResponse<Void> resp = fromJson(json, SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.voidDeserializer()));
+
+        List<StringTermsBucket> buckets = resp.aggregations().get("foo").sterms().buckets().array();
+        DateHistogramBucket first = buckets.get(0).aggregations().get("per_day").dateHistogram().buckets().array().get(0);
+        DateHistogramBucket second = buckets.get(1).aggregations().get("per_day").dateHistogram().buckets().array().get(0);
+        assertEquals(1.0, first.aggregations().get("bar").avg().value(), 0.01);
+        assertEquals(4.0, second.aggregations().get("baz").max().value(), 0.01);
+
+        String firstName = first.aggregations().keySet().stream().filter("bar"::equals).findFirst().get();
+        String secondName = second.aggregations().keySet().stream().filter("bar"::equals).findFirst().get();
+        assertSame(firstName, secondName);
+
+        // Resolved keys are only kept while reading a response
+        SearchResponse<Void> other = fromJson(json, SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.voidDeserializer()));
+        String otherName = other.aggregations().keySet().iterator().next();
+        assertEquals("foo", otherName);
+        assertNotSame(resp.aggregations().keySet().iterator().next(), otherName);
+    }
+
+    @Test
+    public void testKeyWithoutType() {
+        String json = "{\"took\":1,\"timed_out\":false,\"_shards\":{\"failed\":0.0,\"successful\":1.0,\"total\":1.0},"
+            + "\"hits\":{\"total\":{\"relation\":\"eq\",\"value\":0},\"hits\":[]},\"aggregations\":{\"foo\":{\"value\":3.14}}}";
+
+        JsonParsingException e = assertThrows(
+            JsonParsingException.class,
+            () -> fromJson(json, SearchResponse.createSearchResponseDeserializer(JsonpDeserializer.voidDeserializer()))
+        );
+        assertTrue(e.getMessage().contains("'type#name'"));
+    }
 }
@@ -33,6 +33,9 @@
 package org.opensearch.client.opensearch.model;
 
 import org.junit.Test;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
 import org.opensearch.client.opensearch._types.Script;
 import org.opensearch.client.opensearch._types.query_dsl.SimpleQueryStringFlag;
 import org.opensearch.client.opensearch._types.query_dsl.SimpleQueryStringFlags;
@@ -61,6 +64,25 @@ public class UnionTests extends ModelTestCase {
         }
     }
 
+    @Test
+    public void testMemberIdentifiedAfterSharedProperties() {
+        // "lang" and "params" exist in both members, the object is identified by the property that follows them
+        String json = "{\"lang\":\"painless\",\"params\":{\"a\":[1,{\"b\":\"c\"}]},\"source\":\"a script\",\"options\":{}}";
+        for (JsonpMapper mapper : new JsonpMapper[] { new JacksonJsonpMapper(), new JsonbJsonpMapper() }) {
+            Script s = fromJson(json, Script.class, mapper);
+            assertEquals("a script", s.inline().source());
+            assertEquals("painless", s.inline().lang());
+            assertEquals("c", s.inline().params().get("a").toJson().asJsonArray().getJsonObject(1).getString("b"));
+            assertEquals(
+                "{\"params\":{\"a\":[1,{\"b\":\"c\"}]},\"lang\":\"painless\",\"options\":{},\"source\":\"a script\"}",
+                toJson(s, mapper)
+            );
+
+            s = fromJson("{\"params\":{},\"id\":\"script_id\"}", Script.class, mapper);
+            assertEquals("script_id", s.stored().id());
+        }
+    }
+
     @Test
     public void testSimpleQueryStringFlag() {
         // Ambiguous union on strings
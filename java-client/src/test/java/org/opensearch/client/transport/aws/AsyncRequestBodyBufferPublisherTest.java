@@ -0,0 +1,193 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+public class AsyncRequestBodyBufferPublisherTest extends RandomizedTest {
+
+    @Test
+    public void testSegmentsArePublishedOnDemand() throws IOException {
+        final OpenSearchRequestBodyBuffer body = bulkBody(randomIntBetween(500, 1000));
+        final AsyncRequestBodyBufferPublisher publisher = new AsyncRequestBodyBufferPublisher(body);
+        assertThat(publisher.contentLength(), equalTo(Optional.of(body.getContentLength())));
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        assertThat(subscriber.received.size(), equalTo(0));
+
+        final int segments = body.getByteBuffers().size();
+        assertThat(segments > 1, equalTo(true));
+        for (int i = 1; i <= segments; i++) {
+            subscriber.subscription.request(1);
+            assertThat(subscriber.received.size(), equalTo(i));
+            assertThat(subscriber.received.get(i - 1).isReadOnly(), equalTo(true));
+        }
+        assertThat(subscriber.completed, equalTo(true));
+        assertThat(subscriber.content(), equalTo(body.getByteArray()));
+
+        // Each subscription publishes the whole content
+        final RecordingSubscriber again = new RecordingSubscriber();
+        again.requestOnNext = true;
+        publisher.subscribe(again);
+        again.subscription.request(1);
+        assertThat(again.completed, equalTo(true));
+        assertThat(again.content(), equalTo(body.getByteArray()));
+    }
+
+    @Test
+    public void testUnboundedDemand() throws IOException {
+        final OpenSearchRequestBodyBuffer body = bulkBody(randomIntBetween(0, 500));
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new AsyncRequestBodyBufferPublisher(body).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.completed, equalTo(true));
+        assertThat(subscriber.content(), equalTo(body.getByteArray()));
+    }
+
+    @Test
+    public void testCancel() throws IOException {
+        final OpenSearchRequestBodyBuffer body = bulkBody(1000);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new AsyncRequestBodyBufferPublisher(body).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+        assertThat(subscriber.received.size(), equalTo(1));
+        assertThat(subscriber.completed, equalTo(false));
+        assertThat(subscriber.error, nullValue());
+    }
+
+    @Test
+    public void testInvalidDemand() throws IOException {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new AsyncRequestBodyBufferPublisher(bulkBody(10)).subscribe(subscriber);
+        subscriber.subscription.request(randomFrom(new Long[] { 0L, -1L, Long.MIN_VALUE }));
+        assertThat(subscriber.error, instanceOf(IllegalArgumentException.class));
+        assertThat(subscriber.received.size(), equalTo(0));
+    }
+
+    @Test
+    public void testReleasedBuffer() throws IOException {
+        final OpenSearchRequestBodyBuffer body = bulkBody(10);
+        final AsyncRequestBodyBufferPublisher publisher = new AsyncRequestBodyBufferPublisher(body);
+        body.release();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        assertThat(subscriber.error, instanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    public void testSubscriptionHoldsTheBody() throws IOException {
+        final OpenSearchRequestBodyBuffer body = bulkBody(1000);
+        final byte[] content = body.getByteArray();
+        final AsyncRequestBodyBufferPublisher publisher = new AsyncRequestBodyBufferPublisher(body);
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        // The owner of the body gives up its reference while the subscription is still publishing it
+        body.release();
+        assertThat(body.retain(), sameInstance(body));
+        body.release();
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertThat(subscriber.completed, equalTo(true));
+        assertThat(subscriber.content(), equalTo(content));
+        // The subscription gave back its reference once complete
+        assertThrows(IllegalStateException.class, body::retain);
+    }
+
+    @Test
+    public void testCancelledSubscriptionReleasesTheBody() throws IOException {
+        final OpenSearchRequestBodyBuffer body = bulkBody(1000);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        new AsyncRequestBodyBufferPublisher(body).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        body.release();
+        subscriber.subscription.cancel();
+        assertThrows(IllegalStateException.class, body::retain);
+    }
+
+    private static OpenSearchRequestBodyBuffer bulkBody(int operations) throws IOException {
+        final List<BulkOperation> ops = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            final String id = Integer.toString(i);
+            ops.add(BulkOperation.of(b -> b.delete(d -> d.index("test").id(id))));
+        }
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(new JacksonJsonpMapper(), Integer.MAX_VALUE);
+        if (operations > 0) {
+            body.addContent(BulkRequest.of(b -> b.operations(ops)));
+        }
+        body.close();
+        return body;
+    }
+
+    private static class RecordingSubscriber implements Subscriber<ByteBuffer> {
+        final List<ByteBuffer> received = new ArrayList<>();
+        Subscription subscription;
+        boolean requestOnNext;
+        boolean completed;
+        Throwable error;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            received.add(buffer);
+            if (requestOnNext) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        byte[] content() {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (ByteBuffer buffer : received) {
+                final byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+            return out.toByteArray();
+        }
+    }
+}
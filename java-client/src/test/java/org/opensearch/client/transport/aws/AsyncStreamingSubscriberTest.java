@@ -0,0 +1,191 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.reactivestreams.Subscription;
+
+public class AsyncStreamingSubscriberTest extends RandomizedTest {
+
+    @Test
+    public void testDemandIsBounded() throws IOException {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(10);
+        final RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        assertThat(subscription.requested.get(), equalTo(1L));
+
+        // Requests one buffer at a time until the bound is reached
+        subscriber.onNext(buffer("abcd"));
+        assertThat(subscription.requested.get(), equalTo(2L));
+        subscriber.onNext(buffer("efgh"));
+        assertThat(subscription.requested.get(), equalTo(3L));
+        subscriber.onNext(buffer("ijkl"));
+        assertThat(subscription.requested.get(), equalTo(3L));
+
+        // Taking a buffer brings it back under the bound
+        final InputStream in = subscriber.getInputStream();
+        assertThat(in.read(), equalTo((int) 'a'));
+        assertThat(subscription.requested.get(), equalTo(4L));
+        // No more demand while some is pending
+        assertThat(in.read(new byte[10], 0, 10), equalTo(3));
+        assertThat(in.read(new byte[10], 0, 10), equalTo(4));
+        assertThat(subscription.requested.get(), equalTo(4L));
+
+        subscriber.onNext(buffer("mn"));
+        subscriber.onComplete();
+        assertThat(readFully(in), equalTo("ijklmn"));
+        assertThat(in.read(), equalTo(-1));
+        assertThat(subscriber.getCompletion().isDone(), equalTo(true));
+    }
+
+    @Test
+    public void testUnboundedRequestsEverything() throws IOException {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(AsyncStreamingSubscriber.UNBOUNDED);
+        final RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        assertThat(subscription.requested.get(), equalTo(Long.MAX_VALUE));
+
+        final int chunks = randomIntBetween(1, 100);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < chunks; i++) {
+            final String chunk = randomAsciiLettersOfLengthBetween(0, 20);
+            expected.append(chunk);
+            subscriber.onNext(buffer(chunk));
+        }
+        assertThat(subscriber.getCompletion().isDone(), equalTo(false));
+        subscriber.onComplete();
+        assertThat(subscriber.getCompletion().isDone(), equalTo(true));
+        assertThat(subscription.requested.get(), equalTo(Long.MAX_VALUE));
+        assertThat(readFully(subscriber.getInputStream()), equalTo(expected.toString()));
+    }
+
+    @Test
+    public void testReaderWaitsForData() throws Exception {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(randomIntBetween(1, 64));
+        final AtomicReference<String> read = new AtomicReference<>();
+        final Thread reader = new Thread(() -> {
+            try {
+                read.set(readFully(subscriber.getInputStream()));
+            } catch (IOException e) {
+                read.set(e.toString());
+            }
+        });
+        reader.start();
+
+        final RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            // Only sends what was requested
+            while (subscription.requested.get() <= i) {
+                Thread.yield();
+            }
+            final String chunk = randomAsciiLettersOfLengthBetween(1, 16);
+            expected.append(chunk);
+            subscriber.onNext(buffer(chunk));
+        }
+        subscriber.onComplete();
+        reader.join(10_000);
+        assertThat(read.get(), equalTo(expected.toString()));
+    }
+
+    @Test
+    public void testErrorIsThrownToReader() {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(16);
+        subscriber.onSubscribe(new RecordingSubscription());
+        final IOException failure = new IOException("connection reset");
+        subscriber.onError(failure);
+
+        assertThat(assertThrows(IOException.class, () -> subscriber.getInputStream().read()), sameInstance(failure));
+        assertThat(subscriber.getCompletion().isCompletedExceptionally(), equalTo(true));
+
+        final AsyncStreamingSubscriber other = new AsyncStreamingSubscriber(16);
+        other.onError(new IllegalStateException("bad state"));
+        final IOException e = assertThrows(IOException.class, () -> other.getInputStream().read(new byte[4], 0, 4));
+        assertThat(e.getCause().getMessage(), equalTo("bad state"));
+    }
+
+    @Test
+    public void testCloseDiscardsTheRest() throws IOException {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(4);
+        final RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(buffer("abcdef"));
+
+        subscriber.getInputStream().close();
+        // The rest is requested and dropped rather than cancelled, so that the connection can be reused
+        assertThat(subscription.requested.get(), equalTo(Long.MAX_VALUE));
+        assertThat(subscription.cancelled, equalTo(false));
+        subscriber.onNext(buffer("ghij"));
+        subscriber.onComplete();
+        assertThat(subscription.requested.get(), equalTo(Long.MAX_VALUE));
+        assertThrows(IOException.class, () -> subscriber.getInputStream().read());
+    }
+
+    @Test
+    public void testCloseBeforeSubscription() throws IOException {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(4);
+        subscriber.getInputStream().close();
+        final RecordingSubscription subscription = new RecordingSubscription();
+        subscriber.onSubscribe(subscription);
+        assertThat(subscription.requested.get(), equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSecondSubscriptionIsCancelled() {
+        final AsyncStreamingSubscriber subscriber = new AsyncStreamingSubscriber(4);
+        subscriber.onSubscribe(new RecordingSubscription());
+        final RecordingSubscription second = new RecordingSubscription();
+        subscriber.onSubscribe(second);
+        assertThat(second.cancelled, equalTo(true));
+        assertThat(second.requested.get(), equalTo(0L));
+    }
+
+    private static ByteBuffer buffer(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readFully(InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buf = new byte[randomIntBetween(1, 32)];
+        int n;
+        while ((n = in.read(buf, 0, buf.length)) >= 0) {
+            out.write(buf, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static class RecordingSubscription implements Subscription {
+        final AtomicLong requested = new AtomicLong();
+        volatile boolean cancelled;
+
+        @Override
+        public void request(long n) {
+            requested.accumulateAndGet(n, (a, b) -> (a + b < 0) ? Long.MAX_VALUE : a + b);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.aws;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+
+public class AwsSdk2TransportStreamingTest extends RandomizedTest {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final List<Thread> executorThreads = new CopyOnWriteArrayList<>();
+    // Plays the event loop of the http client
+    private final ExecutorService eventLoop = Executors.newSingleThreadExecutor(r -> {
+        final Thread thread = new Thread(r);
+        executorThreads.add(thread);
+        return thread;
+    });
+
+    @After
+    public void tearDown() throws InterruptedException {
+        eventLoop.shutdownNow();
+        for (Thread thread : executorThreads) {
+            thread.join(10_000);
+        }
+    }
+
+    @Test
+    public void testResponseIsStreamedWithBoundedBuffering() throws IOException {
+        final int hits = randomIntBetween(500, 2000);
+        final StubAsyncHttpClient httpClient = new StubAsyncHttpClient(searchResponse(hits), null);
+        final AwsSdk2Transport transport = transport(httpClient, AwsSdk2TransportOptions.builder().setResponseBufferSize(4 * CHUNK_SIZE));
+
+        final SearchResponse<JsonData> response = new OpenSearchClient(transport).search(s -> s.index("test"), JsonData.class);
+
+        assertThat(response.hits().hits().size(), equalTo(hits));
+        assertThat(response.hits().hits().get(hits - 1).source().toJson().asJsonObject().getInt("n"), equalTo(hits - 1));
+        // Chunks are requested one at a time, as the parser consumes them
+        assertThat(httpClient.maxDemand.get(), equalTo(1L));
+    }
+
+    @Test
+    public void testAsyncResponseIsStreamedOnExecutor() throws Exception {
+        final int hits = randomIntBetween(500, 2000);
+        final StubAsyncHttpClient httpClient = new StubAsyncHttpClient(searchResponse(hits), null);
+        final ExecutorService parsers = Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r);
+            executorThreads.add(thread);
+            return thread;
+        });
+        try {
+            final AwsSdk2Transport transport = transport(
+                httpClient,
+                AwsSdk2TransportOptions.builder().setResponseBufferSize(4 * CHUNK_SIZE).setResponseExecutor(parsers)
+            );
+            final SearchResponse<JsonData> response = new OpenSearchAsyncClient(transport).search(s -> s.index("test"), JsonData.class)
+                .get(10, TimeUnit.SECONDS);
+
+            assertThat(response.hits().hits().size(), equalTo(hits));
+            assertThat(httpClient.maxDemand.get(), equalTo(1L));
+        } finally {
+            parsers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAsyncResponseIsReceivedInFullWithoutExecutor() throws Exception {
+        final int hits = randomIntBetween(1, 500);
+        final StubAsyncHttpClient httpClient = new StubAsyncHttpClient(searchResponse(hits), null);
+        final AwsSdk2Transport transport = transport(httpClient, AwsSdk2TransportOptions.builder());
+
+        final SearchResponse<JsonData> response = new OpenSearchAsyncClient(transport).search(s -> s.index("test"), JsonData.class)
+            .get(10, TimeUnit.SECONDS);
+
+        assertThat(response.hits().hits().size(), equalTo(hits));
+        assertThat(httpClient.maxDemand.get(), equalTo(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testStreamFailure() throws Exception {
+        final byte[] body = searchResponse(1000);
+        final StubAsyncHttpClient httpClient = new StubAsyncHttpClient(body, new IOException("connection reset"));
+        final AwsSdk2Transport transport = transport(httpClient, AwsSdk2TransportOptions.builder().setResponseBufferSize(CHUNK_SIZE));
+
+        final Exception e = assertThrows(
+            Exception.class,
+            () -> new OpenSearchClient(transport).search(s -> s.index("test"), JsonData.class)
+        );
+        assertThat(hasCause(e, "connection reset"), equalTo(true));
+
+        final ExecutionException async = assertThrows(
+            ExecutionException.class,
+            () -> new OpenSearchAsyncClient(transport).search(s -> s.index("test"), JsonData.class).get(10, TimeUnit.SECONDS)
+        );
+        assertThat(hasCause(async, "connection reset"), equalTo(true));
+    }
+
+    @Test
+    public void testRequestBodyOutlivesATimedOutRequest() throws Exception {
+        final List<BulkOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final String id = Integer.toString(i);
+            operations.add(BulkOperation.of(b -> b.delete(d -> d.index("test").id(id))));
+        }
+        final BulkRequest bulk = BulkRequest.of(b -> b.operations(operations));
+        final OpenSearchRequestBodyBuffer expected = new OpenSearchRequestBodyBuffer(new JacksonJsonpMapper(), Integer.MAX_VALUE);
+        expected.addContent(bulk);
+        final byte[] content = expected.getByteArray();
+        expected.release();
+
+        final TimingOutAsyncHttpClient httpClient = new TimingOutAsyncHttpClient();
+        final AwsSdk2Transport transport = transport(
+            httpClient,
+            AwsSdk2TransportOptions.builder().setRequestCompressionSize(Integer.MAX_VALUE)
+        );
+        final ExecutionException e = assertThrows(
+            ExecutionException.class,
+            () -> new OpenSearchAsyncClient(transport).bulk(bulk).get(10, TimeUnit.SECONDS)
+        );
+        assertThat(hasCause(e, "request timed out"), equalTo(true));
+
+        // Any segment given back to the pool would be overwritten by the next requests
+        final Map<String, String> filler = Collections.singletonMap("filler", String.join("", Collections.nCopies(10 << 20, "x")));
+        final OpenSearchRequestBodyBuffer other = new OpenSearchRequestBodyBuffer(new JacksonJsonpMapper(), Integer.MAX_VALUE);
+        other.addContent(filler);
+        other.close();
+
+        // The http client still reads the request body after the request failed
+        httpClient.requestBody.subscription.request(Long.MAX_VALUE);
+        assertThat(httpClient.requestBody.completed, equalTo(true));
+        assertThat(httpClient.requestBody.content(), equalTo(content));
+        other.release();
+    }
+
+    private static boolean hasCause(Throwable e, String message) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (message.equals(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static AwsSdk2Transport transport(SdkAsyncHttpClient httpClient, AwsSdk2TransportOptions.Builder options) {
+        return new AwsSdk2Transport(
+            httpClient,
+            "localhost",
+            Region.US_EAST_1,
+            options.setCredentials(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret"))).build()
+        );
+    }
+
+    private static byte[] searchResponse(int hits) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("{\"took\":1,\"timed_out\":false,\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},");
+        sb.append("\"hits\":{\"total\":{\"value\":").append(hits).append(",\"relation\":\"eq\"},\"hits\":[");
+        for (int i = 0; i < hits; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"_index\":\"test\",\"_id\":\"").append(i).append("\",\"_source\":{\"n\":").append(i);
+            sb.append(",\"text\":\"some text to make the response a bit larger\"}}");
+        }
+        sb.append("]}}");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the first segment of the request body, and then fails the request as if it had timed out.
+     */
+    private static class TimingOutAsyncHttpClient implements SdkAsyncHttpClient {
+        final RequestBodySubscriber requestBody = new RequestBodySubscriber();
+
+        @Override
+        public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+            request.requestContentPublisher().subscribe(requestBody);
+            requestBody.subscription.request(1);
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            done.completeExceptionally(new IOException("request timed out"));
+            return done;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private static class RequestBodySubscriber implements Subscriber<ByteBuffer> {
+        final List<ByteBuffer> received = new ArrayList<>();
+        Subscription subscription;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            received.add(buffer);
+        }
+
+        @Override
+        public void onError(Throwable t) {}
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+
+        byte[] content() {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (ByteBuffer buffer : received) {
+                final byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Sends a response body in chunks from its event loop, only when they are requested, and tracks the maximum
+     * demand when sending them. Optionally fails half way through the body.
+     */
+    private class StubAsyncHttpClient implements SdkAsyncHttpClient {
+        final byte[] body;
+        final Throwable failure;
+        final AtomicLong maxDemand = new AtomicLong();
+
+        StubAsyncHttpClient(byte[] body, Throwable failure) {
+            this.body = body;
+            this.failure = failure;
+        }
+
+        @Override
+        public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+            final CompletableFuture<Void> done = new CompletableFuture<>();
+            eventLoop.execute(() -> {
+                request.responseHandler()
+                    .onHeaders(SdkHttpResponse.builder().statusCode(200).putHeader("Content-Type", "application/json").build());
+                request.responseHandler().onStream(new ChunkPublisher(done));
+            });
+            return done;
+        }
+
+        @Override
+        public void close() {}
+
+        private class ChunkPublisher implements Publisher<ByteBuffer> {
+            final CompletableFuture<Void> done;
+
+            ChunkPublisher(CompletableFuture<Void> done) {
+                this.done = done;
+            }
+
+            @Override
+            public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+                final AtomicLong demand = new AtomicLong();
+                final int failAt = failure == null ? Integer.MAX_VALUE : body.length / 2;
+                final int[] sent = { 0 };
+                final Runnable drain = new Runnable() {
+                    @Override
+                    public void run() {
+                        while (demand.get() > 0 && sent[0] < body.length && done.isDone() == false) {
+                            if (sent[0] >= failAt) {
+                                done.completeExceptionally(failure);
+                                subscriber.onError(failure);
+                                return;
+                            }
+                            maxDemand.accumulateAndGet(demand.getAndDecrement(), Math::max);
+                            final int length = Math.min(CHUNK_SIZE, body.length - sent[0]);
+                            final ByteBuffer chunk = ByteBuffer.wrap(body, sent[0], length).slice();
+                            sent[0] += length;
+                            subscriber.onNext(chunk);
+                        }
+                        if (sent[0] == body.length && done.isDone() == false) {
+                            subscriber.onComplete();
+                            done.complete(null);
+                        }
+                    }
+                };
+                subscriber.onSubscribe(new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        demand.accumulateAndGet(n, (a, b) -> (a + b < 0) ? Long.MAX_VALUE : a + b);
+                        eventLoop.execute(drain);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        done.cancel(false);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class HedgingPolicyTest extends RandomizedTest {
+
+    @Test
+    public void testIsHedgeable() {
+        assertThat(HedgingPolicy.isHedgeable("GET", "/index/_doc/1"), equalTo(true));
+        assertThat(HedgingPolicy.isHedgeable("HEAD", "/index"), equalTo(true));
+        assertThat(HedgingPolicy.isHedgeable("GET", "/_cat/indices?format=json"), equalTo(true));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/index/_search?typed_keys=true"), equalTo(true));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/_msearch"), equalTo(true));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/index/_count"), equalTo(true));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/_mget"), equalTo(true));
+
+        // Writes
+        assertThat(HedgingPolicy.isHedgeable("PUT", "/index/_doc/1"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/index/_doc"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/_bulk"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("DELETE", "/index"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/index/_search_shards"), equalTo(false));
+
+        // Scrolls
+        assertThat(HedgingPolicy.isHedgeable("POST", "/_search/scroll"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("GET", "/_search/scroll/abc"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/index/_search?scroll=1m"), equalTo(false));
+        assertThat(HedgingPolicy.isHedgeable("POST", "/index/_search?size=10&scroll=1m"), equalTo(false));
+    }
+
+    @Test
+    public void testBudget() {
+        final HedgingPolicy policy = HedgingPolicy.builder().setMaxExtraLoad(0.1).setMaxBurst(2).build();
+
+        // The budget starts full
+        assertThat(policy.tryAcquire(), equalTo(true));
+        assertThat(policy.tryAcquire(), equalTo(true));
+        assertThat(policy.tryAcquire(), equalTo(false));
+
+        // One hedge every ten requests
+        for (int i = 0; i < 9; i++) {
+            policy.onRequest();
+            assertThat(policy.tryAcquire(), equalTo(false));
+        }
+        policy.onRequest();
+        assertThat(policy.tryAcquire(), equalTo(true));
+        assertThat(policy.hedgedRequests(), equalTo(3L));
+
+        // Capped to the burst
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+        }
+        assertThat(policy.tryAcquire(), equalTo(true));
+        assertThat(policy.tryAcquire(), equalTo(true));
+        assertThat(policy.tryAcquire(), equalTo(false));
+    }
+
+    @Test
+    public void testDelayIsPercentileOfResponseTimes() {
+        final HedgingPolicy policy = HedgingPolicy.builder().setDelayPercentile(90).setDelayBounds(1, 500, TimeUnit.MILLISECONDS).build();
+
+        // The maximum delay is used until there are enough samples
+        assertThat(policy.hedgeDelayNanos(), equalTo(TimeUnit.MILLISECONDS.toNanos(500)));
+        for (int i = 1; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertThat(policy.hedgeDelayNanos(), equalTo(TimeUnit.MILLISECONDS.toNanos(500)));
+
+        // 1ms to 100ms
+        for (int i = HedgingPolicy.MIN_SAMPLES; i <= 100; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        for (int i = 101; i <= 128; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(i % 100 + 1));
+        }
+        // 128 samples, the 90th percentile is the 116th smallest one
+        assertThat(policy.hedgeDelayNanos(), equalTo(TimeUnit.MILLISECONDS.toNanos(88)));
+    }
+
+    @Test
+    public void testDelayIsBounded() {
+        final HedgingPolicy policy = HedgingPolicy.builder().setDelayBounds(20, 50, TimeUnit.MILLISECONDS).build();
+        for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+            policy.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assertThat(policy.hedgeDelayNanos(), equalTo(TimeUnit.MILLISECONDS.toNanos(20)));
+        for (int i = 0; i < HedgingPolicy.WINDOW_SIZE; i++) {
+            policy.recordLatency(TimeUnit.SECONDS.toNanos(1));
+        }
+        assertThat(policy.hedgeDelayNanos(), equalTo(TimeUnit.MILLISECONDS.toNanos(50)));
+    }
+
+    @Test
+    public void testBuilderValidation() {
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().setDelayPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().setDelayPercentile(101));
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().setDelayBounds(10, 5, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().setMaxExtraLoad(1.5));
+        assertThrows(IllegalArgumentException.class, () -> HedgingPolicy.builder().setMaxBurst(-1));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.Test;
+import org.opensearch.client.transport.httpclient5.internal.AdaptiveNodeSelector.Strategy;
+
+public class AdaptiveNodeSelectorTest extends RandomizedTest {
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(randomLong());
+    private final Node fast = new Node(new HttpHost("fast", 9200));
+    private final Node medium = new Node(new HttpHost("medium", 9200));
+    private final Node slow = new Node(new HttpHost("slow", 9200));
+
+    @Test
+    public void testLeastLoadedSortsByResponseTime() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.LEAST_LOADED, clock::get);
+        respond(selector, slow, 100);
+        respond(selector, fast, 10);
+        respond(selector, medium, 50);
+
+        final List<Node> nodes = Arrays.asList(slow, medium, fast);
+        assertThat(selector.rank(nodes), equalTo(Arrays.asList(fast, medium, slow)));
+        // The given nodes are not modified
+        assertThat(nodes, equalTo(Arrays.asList(slow, medium, fast)));
+    }
+
+    @Test
+    public void testOutstandingRequestsAreAccountedFor() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.LEAST_LOADED, clock::get);
+        respond(selector, fast, 10);
+        respond(selector, medium, 30);
+
+        // Three requests in flight make the fast node look busier than the medium one
+        for (int i = 0; i < 3; i++) {
+            selector.onRequestStarted(fast);
+        }
+        assertThat(selector.outstandingRequests(fast), equalTo(3));
+
+        final List<Node> nodes = Arrays.asList(fast, medium);
+        assertThat(selector.rank(nodes), equalTo(Arrays.asList(medium, fast)));
+
+        selector.onCancelled(fast);
+        selector.onCancelled(fast);
+        selector.onCancelled(fast);
+        assertThat(selector.outstandingRequests(fast), equalTo(0));
+        assertThat(selector.rank(nodes), equalTo(Arrays.asList(fast, medium)));
+    }
+
+    @Test
+    public void testMovingAverage() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.LEAST_LOADED, clock::get);
+        assertThat(selector.averageResponseTimeNanos(fast), equalTo(-1L));
+
+        respond(selector, fast, 100);
+        assertThat(selector.averageResponseTimeNanos(fast), equalTo(100 * MILLIS));
+        respond(selector, fast, 200);
+        assertThat(selector.averageResponseTimeNanos(fast), equalTo((long) (0.3 * 200 * MILLIS + 0.7 * 100 * MILLIS)));
+
+        // A failure counts at least twice the average
+        final long average = selector.averageResponseTimeNanos(fast);
+        selector.onRequestStarted(fast);
+        selector.onFailure(fast, MILLIS);
+        assertThat(selector.averageResponseTimeNanos(fast), equalTo((long) (0.3 * 2 * average + 0.7 * average)));
+        assertThat(selector.outstandingRequests(fast), equalTo(0));
+    }
+
+    @Test
+    public void testAverageDecaysWithoutSamples() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.LEAST_LOADED, clock::get);
+        respond(selector, slow, 400);
+        respond(selector, fast, 10);
+
+        clock.addAndGet(2 * AdaptiveNodeSelector.DECAY_PERIOD_NANOS);
+        assertThat(selector.averageResponseTimeNanos(slow), equalTo(100 * MILLIS));
+
+        // The slow node is eventually tried again, even though the fast node keeps answering
+        for (int i = 0; i < 6; i++) {
+            clock.addAndGet(AdaptiveNodeSelector.DECAY_PERIOD_NANOS);
+            respond(selector, fast, 10);
+        }
+        assertThat(selector.rank(Arrays.asList(fast, slow)), equalTo(Arrays.asList(slow, fast)));
+    }
+
+    @Test
+    public void testUnknownNodesUseLowestKnownAverage() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.LEAST_LOADED, clock::get);
+        respond(selector, fast, 10);
+        respond(selector, slow, 100);
+        selector.onRequestStarted(fast);
+
+        // The new node scores as well as the fast node without its outstanding request
+        final List<Node> nodes = selector.rank(Arrays.asList(fast, slow, medium));
+        assertThat(nodes, equalTo(Arrays.asList(medium, fast, slow)));
+
+        // Ties keep the round-robin order
+        final AdaptiveNodeSelector fresh = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.LEAST_LOADED, clock::get);
+        assertThat(fresh.rank(nodes), equalTo(Arrays.asList(medium, fast, slow)));
+    }
+
+    @Test
+    public void testPowerOfTwoChoices() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, Strategy.POWER_OF_TWO_CHOICES, clock::get);
+        respond(selector, fast, 10);
+        respond(selector, slow, 100);
+
+        // With two nodes, both are compared
+        for (int i = 0; i < 10; i++) {
+            final List<Node> nodes = randomBoolean() ? Arrays.asList(slow, fast) : Arrays.asList(fast, slow);
+            assertThat(selector.rank(nodes).get(0), equalTo(fast));
+        }
+
+        // With more nodes, the slowest one is never chosen, and the others are kept in round-robin order for retries
+        respond(selector, medium, 50);
+        int fastFirst = 0;
+        final List<Node> nodes = Arrays.asList(slow, medium, fast);
+        for (int i = 0; i < 100; i++) {
+            final List<Node> ranked = selector.rank(nodes);
+            if (ranked.get(0).equals(fast)) {
+                assertThat(ranked, equalTo(Arrays.asList(fast, slow, medium)));
+                fastFirst++;
+            } else {
+                assertThat(ranked, equalTo(Arrays.asList(medium, slow, fast)));
+            }
+        }
+        assertThat(fastFirst > 0, equalTo(true));
+        assertThat(nodes, equalTo(Arrays.asList(slow, medium, fast)));
+    }
+
+    @Test
+    public void testRemovedNodesAreForgotten() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(NodeSelector.ANY, randomFrom(Strategy.values()), clock::get);
+        respond(selector, fast, 10);
+        respond(selector, slow, 100);
+        selector.onRequestStarted(slow);
+
+        selector.retainNodes(Arrays.asList(fast, medium));
+        assertThat(selector.averageResponseTimeNanos(fast), equalTo(10 * MILLIS));
+        assertThat(selector.averageResponseTimeNanos(slow), equalTo(-1L));
+
+        // The request that was in flight doesn't bring the removed node back
+        selector.onResponse(slow, 100 * MILLIS);
+        assertThat(selector.averageResponseTimeNanos(slow), equalTo(-1L));
+        assertThat(selector.outstandingRequests(slow), equalTo(0));
+    }
+
+    @Test
+    public void testSelectIsDelegated() {
+        final AdaptiveNodeSelector selector = new AdaptiveNodeSelector(nodes -> {
+            for (Iterator<Node> itr = nodes.iterator(); itr.hasNext();) {
+                if (itr.next().equals(slow)) {
+                    itr.remove();
+                }
+            }
+        }, randomFrom(Strategy.values()));
+
+        final List<Node> nodes = new ArrayList<>(Arrays.asList(slow, medium, fast));
+        selector.select(nodes);
+        assertThat(nodes, equalTo(Arrays.asList(medium, fast)));
+    }
+
+    private void respond(AdaptiveNodeSelector selector, Node node, long millis) {
+        selector.onRequestStarted(node);
+        selector.onResponse(node, millis * MILLIS);
+    }
+}
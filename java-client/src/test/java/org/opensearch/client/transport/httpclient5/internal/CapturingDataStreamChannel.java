@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+
+/**
+ * A data channel that captures what is written to it, accepting at most {@code capacity} bytes per {@code produce} call.
+ */
+class CapturingDataStreamChannel implements DataStreamChannel {
+    private final int capacity;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private int written;
+    private boolean ended;
+
+    CapturingDataStreamChannel(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Makes room for the next produce call
+     */
+    CapturingDataStreamChannel drain() {
+        written = 0;
+        return this;
+    }
+
+    boolean isEnded() {
+        return ended;
+    }
+
+    int size() {
+        return out.size();
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    @Override
+    public void requestOutput() {}
+
+    @Override
+    public int write(ByteBuffer src) {
+        final int length = Math.min(src.remaining(), capacity - written);
+        out.write(src.array(), src.arrayOffset() + src.position(), length);
+        src.position(src.position() + length);
+        written += length;
+        return length;
+    }
+
+    @Override
+    public void endStream() {
+        ended = true;
+    }
+
+    @Override
+    public void endStream(List<? extends Header> trailers) {
+        ended = true;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.Test;
+import org.opensearch.client.json.JsonpMapper;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.util.BinaryData;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+public class NdJsonEntityProducerTest extends RandomizedTest {
+
+    @Test
+    public void testItemsAreSerializedAsChannelAsksForData() throws Exception {
+        final JsonpMapper mapper = randomMapper();
+        final BulkRequest request = bulkRequest(1000);
+        final NdJsonEntity entity = new NdJsonEntity(request, mapper, ContentType.APPLICATION_JSON, false);
+        assertThat(entity.isChunked(), equalTo(true));
+        assertThat(entity.getContentLength(), equalTo(-1L));
+
+        final int chunkSize = randomIntBetween(1, 16 * 1024);
+        final NdJsonEntityProducer producer = new NdJsonEntityProducer(entity, chunkSize);
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(randomIntBetween(1, 10000));
+        producer.produce(channel.drain());
+        // Only what the channel could take, plus at most an item, has been serialized
+        assertThat(producer.available() < chunkSize + 1024, equalTo(true));
+
+        while (!channel.isEnded()) {
+            producer.produce(channel.drain());
+        }
+
+        assertArrayEquals(buffered(request, mapper), channel.toByteArray());
+        assertArrayEquals(buffered(request, mapper), EntityUtils.toByteArray(entity));
+    }
+
+    @Test
+    public void testCompressedItems() throws Exception {
+        final JsonpMapper mapper = randomMapper();
+        final BulkRequest request = bulkRequest(1000);
+        final NdJsonEntity entity = new NdJsonEntity(request, mapper, ContentType.APPLICATION_JSON, true);
+        assertThat(entity.getContentEncoding(), equalTo("gzip"));
+
+        final NdJsonEntityProducer producer = new NdJsonEntityProducer(entity, randomIntBetween(1, 16 * 1024));
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(randomIntBetween(1, 10000));
+        while (!channel.isEnded()) {
+            producer.produce(channel.drain());
+        }
+
+        assertArrayEquals(buffered(request, mapper), gunzip(channel.toByteArray()));
+    }
+
+    @Test
+    public void testProducerIsRepeatable() throws Exception {
+        final JsonpMapper mapper = randomMapper();
+        final BulkRequest request = bulkRequest(100);
+        final NdJsonEntityProducer producer = new NdJsonEntityProducer(
+            new NdJsonEntity(request, mapper, ContentType.APPLICATION_JSON, randomBoolean()),
+            1024
+        );
+
+        // The first attempt fails after some data has been sent
+        producer.produce(new CapturingDataStreamChannel(100));
+        producer.failed(new IOException("connection reset"));
+
+        final CapturingDataStreamChannel first = new CapturingDataStreamChannel(Integer.MAX_VALUE);
+        producer.produce(first);
+        final CapturingDataStreamChannel second = new CapturingDataStreamChannel(Integer.MAX_VALUE);
+        producer.produce(second);
+
+        assertThat(first.isEnded(), equalTo(true));
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+    }
+
+    @Test
+    public void testEmptyRequest() throws Exception {
+        final BulkRequest request = BulkRequest.of(b -> b.operations(Collections.emptyList()));
+        final NdJsonEntityProducer producer = new NdJsonEntityProducer(
+            new NdJsonEntity(request, randomMapper(), ContentType.APPLICATION_JSON, false)
+        );
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(Integer.MAX_VALUE);
+        producer.produce(channel);
+
+        assertThat(channel.isEnded(), equalTo(true));
+        assertThat(channel.size(), equalTo(0));
+    }
+
+    @Test
+    public void testBinaryDocumentsAreCopied() throws Exception {
+        final JsonpMapper mapper = randomMapper();
+        final byte[] bytes = "[{\"value\":1,\r\n \"text\":\"caf\u00e9\"}]".getBytes(StandardCharsets.UTF_8);
+        final BulkRequest request = BulkRequest.of(
+            b -> b.operations(
+                o -> o.index(i -> i.index("test").id("1").document(BinaryData.of(bytes, 1, bytes.length - 2, "application/json")))
+            ).operations(o -> o.create(c -> c.index("test").id("2").document(BinaryData.of(ByteBuffer.wrap(bytes), "application/json"))))
+        );
+        final NdJsonEntityProducer producer = new NdJsonEntityProducer(
+            new NdJsonEntity(request, mapper, ContentType.APPLICATION_JSON, false),
+            randomIntBetween(1, 1024)
+        );
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(Integer.MAX_VALUE);
+        producer.produce(channel);
+
+        final String[] lines = new String(channel.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, equalTo(4));
+        // Line breaks are the only bytes that are changed
+        assertThat(lines[1], equalTo("{\"value\":1,   \"text\":\"caf\u00e9\"}"));
+        assertThat(lines[3], equalTo("[{\"value\":1,   \"text\":\"caf\u00e9\"}]"));
+        assertArrayEquals(buffered(request, mapper), channel.toByteArray());
+    }
+
+    @Test
+    public void testBinaryDocumentsMustBeJson() {
+        final BulkRequest request = BulkRequest.of(
+            b -> b.operations(o -> o.index(i -> i.index("test").document(BinaryData.of(new byte[] { 1, 2 }, "application/cbor"))))
+        );
+        assertThrows(IllegalStateException.class, () -> buffered(request, randomMapper()));
+
+        final BulkRequest update = BulkRequest.of(
+            b -> b.operations(o -> o.update(u -> u.index("test").id("1").document(BinaryData.of(new byte[] { 1, 2 }, "application/cbor"))))
+        );
+        assertThrows(IllegalStateException.class, () -> buffered(update, randomMapper()));
+
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(randomMapper(), Integer.MAX_VALUE);
+        assertThrows(IllegalStateException.class, () -> body.addContent(BinaryData.of(new byte[] { 1, 2 }, "application/cbor")));
+    }
+
+    @Test
+    public void testNestedBinaryDocumentsNeedOnlyImplementBinaryData() throws Exception {
+        final byte[] bytes = "{\"value\":1}".getBytes(StandardCharsets.UTF_8);
+        final BinaryData document = new BinaryData() {
+            @Override
+            public String contentType() {
+                return "application/json; charset=UTF-8";
+            }
+
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                out.write(bytes);
+            }
+
+            @Override
+            public ByteBuffer asByteBuffer() {
+                return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+            }
+        };
+        final BulkRequest request = BulkRequest.of(
+            b -> b.operations(o -> o.update(u -> u.index("test").id("1").document(document)))
+                .operations(o -> o.index(i -> i.index("test").id("2").document(document)))
+        );
+
+        final String[] lines = new String(buffered(request, randomMapper()), StandardCharsets.UTF_8).split("\n");
+        assertThat(lines.length, equalTo(4));
+        assertThat(lines[1], equalTo("{\"doc\":{\"value\":1}}"));
+        assertThat(lines[3], equalTo("{\"value\":1}"));
+    }
+
+    private static JsonpMapper randomMapper() {
+        return randomBoolean() ? new JsonbJsonpMapper() : new JacksonJsonpMapper();
+    }
+
+    private static BulkRequest bulkRequest(int size) {
+        final List<BulkOperation> operations = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = i;
+            if (randomBoolean()) {
+                operations.add(BulkOperation.of(b -> b.delete(o -> o.index("test").id(Integer.toString(id)))));
+            } else {
+                operations.add(
+                    BulkOperation.of(
+                        b -> b.index(
+                            o -> o.index("test")
+                                .id(Integer.toString(id))
+                                .document(Collections.singletonMap("value", randomAsciiLettersOfLength(randomIntBetween(0, 200))))
+                        )
+                    )
+                );
+            }
+        }
+        return BulkRequest.of(b -> b.operations(operations));
+    }
+
+    private static byte[] buffered(BulkRequest request, JsonpMapper mapper) throws IOException {
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(mapper, Integer.MAX_VALUE);
+        body.addContent(request);
+        body.close();
+        return body.getByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[4096];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                out.write(buf, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.junit.Test;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.opensearch.core.BulkRequest;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+public class RequestBodyBufferEntityProducerTest extends RandomizedTest {
+
+    @Test
+    public void testSegmentsAreWrittenAsChannelAllowsIt() throws Exception {
+        final OpenSearchRequestBodyBuffer body = bulkBody(Integer.MAX_VALUE);
+        final RequestBodyBufferEntity entity = new RequestBodyBufferEntity(body, ContentType.APPLICATION_JSON, false);
+        final byte[] expected = EntityUtils.toByteArray(entity);
+        assertThat(entity.getContentLength(), equalTo((long) expected.length));
+        assertThat(entity.getContentEncoding(), nullValue());
+
+        final RequestBodyBufferEntityProducer producer = new RequestBodyBufferEntityProducer(entity);
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(randomIntBetween(1, 10000));
+        while (!channel.isEnded()) {
+            producer.produce(channel.drain());
+        }
+
+        assertArrayEquals(expected, channel.toByteArray());
+        assertThat(producer.available(), equalTo(0));
+    }
+
+    @Test
+    public void testBodyIsCompressedOnce() throws Exception {
+        final OpenSearchRequestBodyBuffer body = bulkBody(0);
+        final RequestBodyBufferEntity entity = new RequestBodyBufferEntity(body, ContentType.APPLICATION_JSON, true);
+        assertThat(entity.getContentEncoding(), equalTo("gzip"));
+        assertThat(entity.getContentLength(), equalTo(-1L));
+
+        final RequestBodyBufferEntityProducer producer = new RequestBodyBufferEntityProducer(entity);
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(Integer.MAX_VALUE);
+        producer.produce(channel);
+
+        assertThat(channel.isEnded(), equalTo(true));
+        assertThat((long) channel.size(), equalTo(body.getContentLength()));
+        final String json = readGzip(channel.toByteArray());
+        assertThat(json.split("\n").length, equalTo(2000));
+    }
+
+    @Test
+    public void testBodyIsReleasedOnceProducerIsDone() throws Exception {
+        final OpenSearchRequestBodyBuffer body = bulkBody(Integer.MAX_VALUE);
+        final RequestBodyBufferEntity entity = new RequestBodyBufferEntity(body, ContentType.APPLICATION_JSON, false);
+        final RequestBodyBufferEntityProducer producer = new RequestBodyBufferEntityProducer(entity);
+        final RequestBodyBufferEntityProducer retry = new RequestBodyBufferEntityProducer(entity);
+
+        // The request completes while the body is still being written
+        final CapturingDataStreamChannel channel = new CapturingDataStreamChannel(100);
+        producer.produce(channel);
+        entity.close();
+        entity.close();
+        while (!channel.isEnded()) {
+            producer.produce(channel.drain());
+        }
+        assertThat((long) channel.size(), equalTo(producer.getContentLength()));
+
+        // Both references have been given back
+        assertThrows(IllegalStateException.class, body::getByteBuffers);
+        assertThrows(IOException.class, () -> retry.produce(channel.drain()));
+    }
+
+    private static OpenSearchRequestBodyBuffer bulkBody(int requestCompressionSize) throws IOException {
+        final List<BulkOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int id = i;
+            operations.add(
+                BulkOperation.of(b -> b.index(o -> o.index("test").id(Integer.toString(id)).document(new Document("value " + id))))
+            );
+        }
+        final BulkRequest request = BulkRequest.of(b -> b.operations(operations));
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(new JsonbJsonpMapper(), requestCompressionSize);
+        body.addContent(request);
+        body.close();
+        return body;
+    }
+
+    private static String readGzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[4096];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                out.write(buf, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    public static class Document {
+        private String value;
+
+        public Document() {}
+
+        public Document(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
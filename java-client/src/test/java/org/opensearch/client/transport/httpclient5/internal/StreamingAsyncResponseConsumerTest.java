@@ -0,0 +1,185 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityProducer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingAsyncResponseConsumerTest extends RandomizedTest {
+    private static final int BUFFER_CAPACITY = 16 * 1024;
+    private static final int CHUNK_SIZE = 4 * 1024;
+    private static final int BUFFER_LIMIT = 100 * 1024 * 1024 /* 100Mb */;
+
+    private StreamingAsyncResponseConsumer consumer;
+    private AtomicReference<ClassicHttpResponse> result;
+    private AtomicInteger capacity;
+
+    @Before
+    public void setUp() {
+        consumer = new StreamingAsyncResponseConsumer(BUFFER_CAPACITY, CHUNK_SIZE, BUFFER_LIMIT);
+        result = new AtomicReference<>();
+        capacity = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        consumer.releaseResources();
+    }
+
+    @Test
+    public void testSuccessfulResponseIsHandedOverBeforeBody() throws Exception {
+        consumeResponse(200);
+
+        assertThat(result.get(), notNullValue());
+        assertThat(consumer.getStream(), notNullValue());
+        assertThat(result.get().getEntity().getContentType(), equalTo(ContentType.APPLICATION_JSON.toString()));
+    }
+
+    @Test
+    public void testUnsuccessfulResponseIsBuffered() throws Exception {
+        consumeResponse(500);
+        assertThat(result.get(), nullValue());
+        assertThat(consumer.getStream(), nullValue());
+
+        final byte[] body = randomBytesOfLength(1000);
+        consumer.consume(ByteBuffer.wrap(body));
+        consumer.streamEnd(Collections.emptyList());
+
+        assertThat(result.get().getEntity(), instanceOf(ByteArrayEntity.class));
+        assertArrayEquals(body, EntityUtils.toByteArray(result.get().getEntity()));
+    }
+
+    @Test
+    public void testBodyIsStreamedWithBackpressure() throws Exception {
+        consumeResponse(200);
+        consumer.updateCapacity(capacity::addAndGet);
+        assertThat(capacity.get(), equalTo(BUFFER_CAPACITY));
+
+        final byte[] body = randomBytesOfLength(BUFFER_CAPACITY * 4 + 123);
+        final Thread reactor = new Thread(() -> {
+            try {
+                int offset = 0;
+                while (offset < body.length) {
+                    // only push what has been asked for, as the I/O reactor would do
+                    while (capacity.get() == 0) {
+                        Thread.yield();
+                    }
+                    final int length = Math.min(Math.min(capacity.get(), 1000), body.length - offset);
+                    capacity.addAndGet(-length);
+                    consumer.consume(ByteBuffer.wrap(body, offset, length));
+                    assertThat(consumer.getStream().getBufferedBytes() <= BUFFER_CAPACITY, equalTo(true));
+                    offset += length;
+                }
+                consumer.streamEnd(Collections.emptyList());
+            } catch (Exception e) {
+                consumer.failed(e);
+            }
+        });
+        reactor.start();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = result.get().getEntity().getContent()) {
+            final byte[] buf = new byte[randomIntBetween(1, 3 * CHUNK_SIZE)];
+            int read;
+            while ((read = in.read(buf)) != -1) {
+                out.write(buf, 0, read);
+            }
+        }
+        reactor.join();
+
+        assertArrayEquals(body, out.toByteArray());
+    }
+
+    @Test
+    public void testCapacityIsOnlyReleasedPerChunk() throws Exception {
+        consumeResponse(200);
+        consumer.updateCapacity(capacity::addAndGet);
+        consumer.consume(ByteBuffer.wrap(randomBytesOfLength(BUFFER_CAPACITY)));
+        capacity.set(0);
+
+        final InputStream in = result.get().getEntity().getContent();
+        assertThat(in.read(new byte[CHUNK_SIZE / 2]), equalTo(CHUNK_SIZE / 2));
+        assertThat(capacity.get(), equalTo(0));
+
+        assertThat(in.read(new byte[CHUNK_SIZE / 2]), equalTo(CHUNK_SIZE / 2));
+        assertThat(capacity.get(), equalTo(CHUNK_SIZE));
+    }
+
+    @Test
+    public void testFailureIsPropagatedToReader() throws Exception {
+        consumeResponse(200);
+        consumer.consume(ByteBuffer.wrap(randomBytesOfLength(10)));
+        consumer.failed(new IOException("connection reset"));
+
+        final InputStream in = result.get().getEntity().getContent();
+        final IOException ex = assertThrows(IOException.class, () -> in.read(new byte[10]));
+        assertThat(ex.getMessage(), equalTo("connection reset"));
+    }
+
+    @Test
+    public void testClosedStreamDiscardsData() throws Exception {
+        consumeResponse(200);
+        consumer.updateCapacity(capacity::addAndGet);
+        consumer.consume(ByteBuffer.wrap(randomBytesOfLength(BUFFER_CAPACITY)));
+        capacity.set(0);
+
+        result.get().getEntity().getContent().close();
+        assertThat(consumer.getStream().getBufferedBytes(), equalTo(0));
+        assertThat(capacity.get(), equalTo(BUFFER_CAPACITY));
+
+        consumer.consume(ByteBuffer.wrap(randomBytesOfLength(BUFFER_CAPACITY)));
+        assertThat(consumer.getStream().getBufferedBytes(), equalTo(0));
+        assertThat(consumer.getStream().getRequestedBytes(), equalTo(BUFFER_CAPACITY));
+    }
+
+    private void consumeResponse(int status) throws Exception {
+        final BasicHttpResponse response = new BasicHttpResponse(status);
+        consumer.consumeResponse(
+            response,
+            new BasicAsyncEntityProducer(new byte[0], ContentType.APPLICATION_JSON),
+            null,
+            new FutureCallback<ClassicHttpResponse>() {
+                @Override
+                public void completed(ClassicHttpResponse r) {
+                    result.set(r);
+                }
+
+                @Override
+                public void failed(Exception ex) {}
+
+                @Override
+                public void cancelled() {}
+            }
+        );
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.sniff;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import jakarta.json.Json;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.Test;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+public class OpenSearchNodesSnifferTest extends RandomizedTest {
+
+    private static final String NODES_INFO = "{"
+        + "\"_nodes\":{\"total\":3,\"successful\":3,\"failed\":0},"
+        + "\"cluster_name\":\"test\","
+        + "\"nodes\":{"
+        + "  \"node-1\":{"
+        + "    \"name\":\"data-1\",\"version\":\"2.11.0\",\"roles\":[\"data\",\"ingest\"],"
+        + "    \"attributes\":{\"zone\":\"a\",\"shard_indexing_pressure_enabled\":\"true\"},"
+        + "    \"http\":{\"bound_address\":[\"10.0.0.1:9200\",\"[::1]:9200\"],\"publish_address\":\"10.0.0.1:9200\"}"
+        + "  },"
+        + "  \"node-2\":{"
+        + "    \"name\":\"cm-1\",\"version\":\"2.11.0\",\"roles\":[\"cluster_manager\"],"
+        + "    \"http\":{\"bound_address\":[\"10.0.0.2:9201\"],\"publish_address\":\"cm-1.local/10.0.0.2:9201\"}"
+        + "  },"
+        + "  \"node-3\":{"
+        + "    \"name\":\"no-http\",\"version\":\"2.11.0\",\"roles\":[\"data\"]"
+        + "  }"
+        + "}}";
+
+    @Test
+    public void testReadNodes() throws IOException {
+        final OpenSearchNodesSniffer.Scheme scheme = randomFrom(OpenSearchNodesSniffer.Scheme.values());
+        final List<Node> nodes = OpenSearchNodesSniffer.readNodes(parse(NODES_INFO), scheme);
+
+        // Nodes without http are skipped
+        assertThat(nodes.size(), equalTo(2));
+
+        final Node data = nodes.get(0);
+        assertThat(data.getHost(), equalTo(new HttpHost(scheme.toString(), "10.0.0.1", 9200)));
+        assertThat(
+            data.getBoundHosts(),
+            equalTo(
+                new HashSet<>(
+                    Arrays.asList(new HttpHost(scheme.toString(), "10.0.0.1", 9200), new HttpHost(scheme.toString(), "::1", 9200))
+                )
+            )
+        );
+        assertThat(data.getName(), equalTo("data-1"));
+        assertThat(data.getVersion(), equalTo("2.11.0"));
+        assertThat(data.getRoles().isData(), equalTo(true));
+        assertThat(data.getRoles().isIngest(), equalTo(true));
+        assertThat(data.getRoles().isClusterManagerEligible(), equalTo(false));
+        assertThat(data.getAttributes().get("zone"), equalTo(Collections.singletonList("a")));
+
+        // The hostname is kept when the publish address has one
+        final Node clusterManager = nodes.get(1);
+        assertThat(clusterManager.getHost(), equalTo(new HttpHost(scheme.toString(), "cm-1.local", 9201)));
+        assertThat(clusterManager.getRoles().isClusterManagerEligible(), equalTo(true));
+        assertThat(clusterManager.getRoles().isData(), equalTo(false));
+        assertThat(clusterManager.getAttributes().get("zone"), nullValue());
+    }
+
+    @Test
+    public void testNoNodes() throws IOException {
+        assertThat(
+            OpenSearchNodesSniffer.readNodes(parse("{\"cluster_name\":\"test\"}"), OpenSearchNodesSniffer.Scheme.HTTP).size(),
+            equalTo(0)
+        );
+    }
+
+    @Test
+    public void testMissingPublishAddress() {
+        final String info = "{\"nodes\":{\"node-1\":{\"name\":\"data-1\",\"http\":{\"bound_address\":[]}}}}";
+        final IOException e = assertThrows(
+            IOException.class,
+            () -> OpenSearchNodesSniffer.readNodes(parse(info), OpenSearchNodesSniffer.Scheme.HTTP)
+        );
+        assertThat(e.getMessage(), equalTo("node [node-1] has no http publish_address"));
+    }
+
+    private static JsonValue parse(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readValue();
+        }
+    }
+}
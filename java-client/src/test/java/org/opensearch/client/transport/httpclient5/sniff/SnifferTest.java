@@ -0,0 +1,163 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5.sniff;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.fail;
+
+import com.carrotsearch.randomizedtesting.RandomizedTest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.client.json.jsonb.JsonbJsonpMapper;
+import org.opensearch.client.transport.httpclient5.ApacheHttpClient5Transport;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+
+public class SnifferTest extends RandomizedTest {
+
+    private ApacheHttpClient5Transport transport;
+
+    @Before
+    public void createTransport() {
+        // The client isn't started: no request is sent, and it has no threads to wait for
+        transport = new ApacheHttpClient5Transport(
+            HttpAsyncClients.createDefault(),
+            new Header[0],
+            Collections.singletonList(new Node(new HttpHost("http", "localhost", 9200))),
+            new JsonbJsonpMapper(),
+            null,
+            null,
+            null,
+            null,
+            false,
+            false,
+            false
+        );
+    }
+
+    @After
+    public void closeTransport() throws IOException {
+        transport.close();
+    }
+
+    @Test
+    public void testNodesAreSniffedOnStartAndPeriodically() throws Exception {
+        final CountingNodesSniffer nodesSniffer = new CountingNodesSniffer();
+
+        final Sniffer sniffer = Sniffer.builder(transport).setNodesSniffer(nodesSniffer).setSniffIntervalMillis(50).build();
+        try {
+            waitUntil(() -> transport.getNodes().size() >= 3);
+            final List<Node> nodes = transport.getNodes();
+            assertThat(nodes.get(0).getHost(), equalTo(new HttpHost("http", "node-0", 9200)));
+        } finally {
+            sniffer.close();
+        }
+
+        // No more rounds once closed
+        final int rounds = nodesSniffer.rounds.get();
+        Thread.sleep(150);
+        assertThat(nodesSniffer.rounds.get(), equalTo(rounds));
+    }
+
+    @Test
+    public void testEmptyOrFailedSniffKeepsNodes() throws Exception {
+        final List<Node> initialNodes = transport.getNodes();
+        final AtomicInteger rounds = new AtomicInteger();
+        final NodesSniffer nodesSniffer = () -> {
+            if (rounds.incrementAndGet() % 2 == 0) {
+                throw new IOException("connection refused");
+            }
+            return Collections.emptyList();
+        };
+
+        final Sniffer sniffer = Sniffer.builder(transport).setNodesSniffer(nodesSniffer).setSniffIntervalMillis(10).build();
+        try {
+            // Failures don't stop sniffing
+            waitUntil(() -> rounds.get() >= 4);
+        } finally {
+            sniffer.close();
+        }
+        assertThat(transport.getNodes(), equalTo(initialNodes));
+    }
+
+    @Test
+    public void testSniffOnFailure() throws Exception {
+        final CountingNodesSniffer nodesSniffer = new CountingNodesSniffer();
+        final SniffOnFailureListener listener = new SniffOnFailureListener();
+        // Not set yet: ignored
+        listener.onFailure(transport.getNodes().get(0));
+
+        try (
+            Sniffer sniffer = Sniffer.builder(transport)
+                .setNodesSniffer(nodesSniffer)
+                .setSniffIntervalMillis((int) TimeUnit.HOURS.toMillis(1))
+                .setSniffAfterFailureDelayMillis(50)
+                .build()
+        ) {
+            listener.setSniffer(sniffer);
+            assertThrows(IllegalStateException.class, () -> listener.setSniffer(sniffer));
+            waitUntil(() -> nodesSniffer.rounds.get() == 1);
+
+            // Sniffs right away, then after the failure delay rather than the interval. A failure while the first round
+            // is still running is ignored, as that round fetches the current nodes anyway: retry until one is taken.
+            while (nodesSniffer.rounds.get() == 1) {
+                listener.onFailure(transport.getNodes().get(0));
+                Thread.sleep(20);
+            }
+            waitUntil(() -> transport.getNodes().size() >= 3);
+        }
+    }
+
+    @Test
+    public void testBuilderValidation() {
+        assertThrows(NullPointerException.class, () -> Sniffer.builder(null));
+        assertThrows(IllegalArgumentException.class, () -> Sniffer.builder(transport).setSniffIntervalMillis(0));
+        assertThrows(IllegalArgumentException.class, () -> Sniffer.builder(transport).setSniffAfterFailureDelayMillis(-1));
+        assertThrows(NullPointerException.class, () -> Sniffer.builder(transport).setNodesSniffer(null));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (condition.getAsBoolean() == false) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Returns one more node on each round.
+     */
+    private static class CountingNodesSniffer implements NodesSniffer {
+        final AtomicInteger rounds = new AtomicInteger();
+
+        @Override
+        public List<Node> sniff() {
+            final int round = rounds.incrementAndGet();
+            final List<Node> nodes = new ArrayList<>();
+            for (int i = 0; i < round; i++) {
+                nodes.add(new Node(new HttpHost("http", "node-" + i, 9200)));
+            }
+            return nodes;
+        }
+    }
+}
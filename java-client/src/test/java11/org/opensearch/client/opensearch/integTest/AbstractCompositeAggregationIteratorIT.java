@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.integTest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.opensearch.OpenSearchAsyncClient;
+import org.opensearch.client.opensearch._helpers.search.CompositeAggregationIterator;
+import org.opensearch.client.opensearch._types.Refresh;
+import org.opensearch.client.opensearch._types.aggregations.CompositeBucket;
+import org.opensearch.client.opensearch.core.bulk.BulkOperation;
+
+public abstract class AbstractCompositeAggregationIteratorIT extends OpenSearchJavaClientTestCase {
+    private static final int HOSTS = 20;
+    private static final int HOURS = 3;
+
+    @Test
+    public void testIteration() throws Exception {
+        var index = "test-composite-iterator";
+        createMetrics(index);
+
+        var cpus = iterate(index, b -> b);
+
+        assertEquals(HOSTS * HOURS, cpus.size());
+        for (int host = 0; host < HOSTS; host++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                assertEquals(cpu(host, hour), cpus.get(host + "/" + hour), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionedIteration() throws Exception {
+        var index = "test-composite-iterator-partitions";
+        createMetrics(index);
+
+        var cpus = iterate(
+            index,
+            b -> b.partition(p -> p.range(r -> r.field("host").lt(JsonData.of(7))))
+                .partition(p -> p.range(r -> r.field("host").gte(JsonData.of(7)).lt(JsonData.of(13))))
+                .partition(p -> p.range(r -> r.field("host").gte(JsonData.of(13))))
+        );
+
+        assertEquals(HOSTS * HOURS, cpus.size());
+        for (int host = 0; host < HOSTS; host++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                assertEquals(cpu(host, hour), cpus.get(host + "/" + hour), 0.0);
+            }
+        }
+    }
+
+    private Map<String, Double> iterate(
+        String index,
+        Function<CompositeAggregationIterator.Builder, CompositeAggregationIterator.Builder> partitions
+    ) {
+        var asyncClient = new OpenSearchAsyncClient(javaClient()._transport());
+        var cpus = new HashMap<String, Double>();
+        try (
+            var buckets = CompositeAggregationIterator.of(
+                b -> partitions.apply(
+                    b.client(asyncClient)
+                        .index(index)
+                        .source("host", s -> s.terms(t -> t.field("host")))
+                        .source("hour", s -> s.terms(t -> t.field("hour")))
+                        .aggregations("avg_cpu", a -> a.avg(v -> v.field("cpu")))
+                        .size(7)
+                )
+            )
+        ) {
+            buckets.forEachRemaining(bucket -> {
+                assertEquals(1, bucket.docCount());
+                var previous = cpus.put(key(bucket), bucket.aggregations().get("avg_cpu").avg().value());
+                assertNull("Bucket " + key(bucket) + " was returned twice", previous);
+            });
+        }
+        return cpus;
+    }
+
+    private static String key(CompositeBucket bucket) {
+        return bucket.key().get("host").to(Long.class) + "/" + bucket.key().get("hour").to(Long.class);
+    }
+
+    private static double cpu(int host, int hour) {
+        return host * 10 + hour;
+    }
+
+    private void createMetrics(String index) throws IOException {
+        javaClient().indices()
+            .create(
+                c -> c.index(index)
+                    .mappings(
+                        m -> m.properties("host", p -> p.integer(v -> v))
+                            .properties("hour", p -> p.integer(v -> v))
+                            .properties("cpu", p -> p.double_(v -> v))
+                    )
+            );
+        List<BulkOperation> operations = new ArrayList<>();
+        for (int host = 0; host < HOSTS; host++) {
+            for (int hour = 0; hour < HOURS; hour++) {
+                var document = Map.of("host", host, "hour", hour, "cpu", cpu(host, hour));
+                operations.add(BulkOperation.of(b -> b.index(o -> o.index(index).document(document))));
+            }
+        }
+        var response = javaClient().bulk(b -> b.operations(operations).refresh(Refresh.True));
+        assertFalse(response.errors());
+    }
+}
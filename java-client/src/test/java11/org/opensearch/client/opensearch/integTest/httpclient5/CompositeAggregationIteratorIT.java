@@ -0,0 +1,13 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.opensearch.integTest.httpclient5;
+
+import org.opensearch.client.opensearch.integTest.AbstractCompositeAggregationIteratorIT;
+
+public class CompositeAggregationIteratorIT extends AbstractCompositeAggregationIteratorIT implements HttpClient5TransportSupport {}
@@ -0,0 +1,229 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+
+package org.opensearch.client.transport.httpclient5;
+
+import com.sun.net.httpserver.HttpServer;
+import jakarta.json.JsonException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opensearch.client.json.JsonData;
+import org.opensearch.client.json.jackson.JacksonJsonpMapper;
+import org.opensearch.client.opensearch.OpenSearchClient;
+import org.opensearch.client.opensearch.core.IndexResponse;
+import org.opensearch.client.opensearch.core.SearchResponse;
+import org.opensearch.client.transport.httpclient5.internal.AdaptiveNodeSelector;
+import org.opensearch.client.transport.httpclient5.internal.Node;
+import org.opensearch.client.transport.httpclient5.internal.RequestBodyBufferEntity;
+import org.opensearch.client.util.OpenSearchRequestBodyBuffer;
+
+public class ApacheHttpClient5TransportTest extends Assert {
+
+    private static final byte[] SEARCH_RESPONSE = ("{\"took\":1,\"timed_out\":false,"
+        + "\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"hits\":{\"hits\":[]}}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] INDEX_RESPONSE = ("{\"_index\":\"test\",\"_id\":\"1\",\"_version\":1,\"result\":\"created\","
+        + "\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":0,\"_primary_term\":1}").getBytes(StandardCharsets.UTF_8);
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    // The first request to arrive is held for this long, or until the end of the test
+    private volatile long holdFirstRequestMillis;
+    private final CountDownLatch released = new CountDownLatch(1);
+    private HttpHost[] hosts;
+
+    @Before
+    public void startServers() throws IOException {
+        hosts = new HttpHost[2];
+        for (int i = 0; i < hosts.length; i++) {
+            final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            server.createContext("/", ex -> {
+                final boolean first = requests.incrementAndGet() == 1;
+                try (InputStream body = ex.getRequestBody()) {
+                    body.readAllBytes();
+                } catch (IOException e) {
+                    // The client aborted the request
+                }
+                if (first) {
+                    try {
+                        released.await(holdFirstRequestMillis, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                final byte[] response = ex.getRequestURI().getPath().endsWith("/_doc") ? INDEX_RESPONSE : SEARCH_RESPONSE;
+                try {
+                    ex.getResponseHeaders().add("Content-Type", "application/json");
+                    ex.sendResponseHeaders(200, response.length);
+                    ex.getResponseBody().write(response);
+                } catch (IOException e) {
+                    // The client cancelled the request
+                }
+                ex.close();
+            });
+            server.start();
+            servers.add(server);
+            hosts[i] = new HttpHost("http", server.getAddress().getHostString(), server.getAddress().getPort());
+        }
+    }
+
+    @After
+    public void stopServers() {
+        released.countDown();
+        for (HttpServer server : servers) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testSerializationFailureIsNotRetried() throws IOException {
+        final List<Node> failedNodes = new CopyOnWriteArrayList<>();
+        try (
+            ApacheHttpClient5Transport transport = ApacheHttpClient5TransportBuilder.builder(hosts)
+                .setMapper(new JacksonJsonpMapper())
+                .setChunkedEnabled(true)
+                .setFailureListener(new ApacheHttpClient5Transport.FailureListener() {
+                    @Override
+                    public void onFailure(Node node) {
+                        failedNodes.add(node);
+                    }
+                })
+                .build()
+        ) {
+            final OpenSearchClient client = new OpenSearchClient(transport);
+            final RequestSerializationException e = assertThrows(
+                RequestSerializationException.class,
+                () -> client.bulk(
+                    b -> b.operations(o -> o.index(i -> i.index("test").id("1").document(new Unserializable())))
+                        .operations(o -> o.index(i -> i.index("test").id("2").document(new Unserializable())))
+                )
+            );
+            assertTrue(e.getCause() instanceof JsonException);
+
+            assertEquals(0, failedNodes.size());
+            // The request may have reached the first node, but wasn't retried on the other one
+            assertTrue(requests.get() <= 1);
+        }
+    }
+
+    @Test
+    public void testHedgedRequestWinsAndCancelsTheSlowRequest() throws Exception {
+        holdFirstRequestMillis = 10_000;
+        // Long enough for the original request to reach its node before the hedged one
+        final HedgingPolicy hedgingPolicy = HedgingPolicy.builder()
+            .setDelayBounds(500, 500, TimeUnit.MILLISECONDS)
+            .setMaxExtraLoad(1)
+            .build();
+        final AdaptiveNodeSelector nodeSelector = new AdaptiveNodeSelector();
+        try (
+            ApacheHttpClient5Transport transport = ApacheHttpClient5TransportBuilder.builder(hosts)
+                .setMapper(new JacksonJsonpMapper())
+                .setNodeSelector(nodeSelector)
+                .setOptions(ApacheHttpClient5Options.DEFAULT.toBuilder().setHedgingPolicy(hedgingPolicy).build())
+                .build()
+        ) {
+            final OpenSearchClient client = new OpenSearchClient(transport);
+            final Counted document = new Counted();
+            final long start = System.nanoTime();
+            final SearchResponse<Void> response = client.search(
+                s -> s.index("test").query(q -> q.percolate(p -> p.field("query").document(JsonData.of(document)))),
+                Void.class
+            );
+            assertEquals(1, response.took());
+            // The slow request is still being held by the server
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+            assertEquals(2, requests.get());
+            assertEquals(1, hedgingPolicy.hedgedRequests());
+            assertEquals(hedgingPolicy + " " + requests + " " + document.serializations, 1, hedgingPolicy.hedgeWins());
+            // The body was serialized once, and shared by both requests
+            assertEquals(1, document.serializations.get());
+
+            // The slow request was cancelled, which released its body
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            for (Node node : transport.getNodes()) {
+                while (nodeSelector.outstandingRequests(node) > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+                assertEquals(0, nodeSelector.outstandingRequests(node));
+            }
+        }
+    }
+
+    @Test
+    public void testNonHedgeableRequestIsSentOnce() throws IOException {
+        holdFirstRequestMillis = 200;
+        final HedgingPolicy hedgingPolicy = HedgingPolicy.builder().setDelayBounds(0, 0, TimeUnit.MILLISECONDS).setMaxExtraLoad(1).build();
+        try (
+            ApacheHttpClient5Transport transport = ApacheHttpClient5TransportBuilder.builder(hosts)
+                .setMapper(new JacksonJsonpMapper())
+                .setOptions(ApacheHttpClient5Options.DEFAULT.toBuilder().setHedgingPolicy(hedgingPolicy).build())
+                .build()
+        ) {
+            final OpenSearchClient client = new OpenSearchClient(transport);
+            final IndexResponse response = client.index(i -> i.index("test").document(new Counted()));
+            assertEquals("1", response.id());
+
+            assertEquals(1, requests.get());
+            assertEquals(0, hedgingPolicy.hedgedRequests());
+        }
+    }
+
+    @Test
+    public void testDuplicateSharesTheRequestBody() throws IOException {
+        final OpenSearchRequestBodyBuffer body = new OpenSearchRequestBodyBuffer(new JacksonJsonpMapper(), Integer.MAX_VALUE);
+        body.addContent(new Counted());
+        body.close();
+        final HttpUriRequestBase request = new HttpUriRequestBase("POST", URI.create("http://localhost:9200/test/_search?q=a"));
+        request.addHeader("X-Header", "value");
+        request.setEntity(new RequestBodyBufferEntity(body, ApacheHttpClient5Transport.JsonContentType, false));
+
+        final HttpUriRequestBase copy = ApacheHttpClient5Transport.duplicate(request);
+        assertEquals("POST", copy.getMethod());
+        assertEquals(request.getRequestUri(), copy.getRequestUri());
+        assertEquals(request.getAuthority(), copy.getAuthority());
+        assertEquals("value", copy.getFirstHeader("X-Header").getValue());
+        assertSame(body, ((RequestBodyBufferEntity) copy.getEntity()).getBody());
+
+        // Each request releases its own reference on the body
+        request.getEntity().close();
+        assertEquals("{\"value\":\"value\"}", new String(body.getByteArray(), StandardCharsets.UTF_8));
+        copy.getEntity().close();
+        assertThrows(IllegalStateException.class, body::retain);
+    }
+
+    public static class Counted {
+        final AtomicInteger serializations = new AtomicInteger();
+
+        public String getValue() {
+            serializations.incrementAndGet();
+            return "value";
+        }
+    }
+
+    public static class Unserializable {
+        public String getValue() {
+            throw new IllegalStateException("Not serializable");
+        }
+    }
+}